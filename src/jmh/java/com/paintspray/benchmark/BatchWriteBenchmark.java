@@ -0,0 +1,68 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.model.Cliente;
+import com.paintspray.model.Veiculo;
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.JdbcRepository;
+import com.paintspray.repository.VeiculoRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara o cadastro de clientes um a um (autocommit, um fsync por linha) com
+ * {@code saveAll} em lote, e confere as chaves geradas pelo lote de veículos.
+ *
+ * Uso: {@code ... BatchWriteBenchmark [linhas] [tamanhoLote]}
+ */
+public class BatchWriteBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int tamanhoLote = args.length > 1 ? Integer.parseInt(args[1]) : JdbcRepository.DEFAULT_BATCH_SIZE;
+
+        BenchmarkSupport.prepararBanco("bench-batch-loop");
+        ClienteRepository loop = new ClienteRepository();
+        List<Cliente> clientes = gerarClientes(linhas);
+        long nanosLoop = BenchmarkSupport.medir(1, () -> {
+            for (Cliente cliente : clientes) {
+                loop.save(cliente);
+            }
+        });
+
+        BenchmarkSupport.prepararBanco("bench-batch-lote");
+        ClienteRepository lote = new ClienteRepository();
+        lote.setBatchSize(tamanhoLote);
+        long nanosLote = BenchmarkSupport.medir(1, () -> lote.saveAll(clientes));
+
+        System.out.println("== " + linhas + " clientes ==");
+        BenchmarkSupport.imprimir("save() por linha", linhas, nanosLoop);
+        BenchmarkSupport.imprimir("saveAll() lote de " + tamanhoLote, linhas, nanosLote);
+        System.out.printf("ganho: %.1fx%n", (double) nanosLoop / nanosLote);
+
+        // Chaves geradas pelo lote devem bater com as gravadas
+        VeiculoRepository veiculoRepository = new VeiculoRepository();
+        List<Veiculo> veiculos = new ArrayList<>();
+        for (int i = 0; i < linhas; i++) {
+            veiculos.add(new Veiculo("Moto " + i, "Preta", 2020, clientes.get(i).getId()));
+        }
+        long nanosVeiculos = BenchmarkSupport.medir(1, () -> veiculoRepository.saveAll(veiculos));
+        BenchmarkSupport.imprimir("saveAll() veículos", linhas, nanosVeiculos);
+
+        Veiculo ultimo = veiculos.get(veiculos.size() - 1);
+        Veiculo gravado = veiculoRepository.findById(String.valueOf(ultimo.getId()));
+        System.out.println("chave do último veículo confere: "
+                + (gravado != null && gravado.getModelo().equals(ultimo.getModelo())));
+
+        DatabaseConnection.shutdown();
+    }
+
+    private static List<Cliente> gerarClientes(int quantidade) {
+        List<Cliente> clientes = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            clientes.add(new Cliente(String.valueOf(i), "Cliente " + i, "Rua " + i, "8499" + (1_000_000 + i)));
+        }
+        return clientes;
+    }
+}
@@ -0,0 +1,135 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.repository.EntityCaches;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+
+/**
+ * Utilitários compartilhados pelos benchmarks de linha de comando.
+ * Cada benchmark roda sobre um banco temporário próprio, nunca sobre o
+ * paintspray.db da oficina.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Operação medida pelo benchmark.
+     */
+    @FunctionalInterface
+    interface Operacao {
+        void executar() throws Exception;
+    }
+
+    /**
+     * Cria um arquivo SQLite temporário e aponta o {@link DatabaseConnection}
+     * para ele, descartando qualquer instância anterior.
+     *
+     * @param nome Prefixo do arquivo temporário
+     * @return Caminho do banco criado
+     */
+    static Path prepararBanco(String nome) throws IOException {
+        Path arquivo = Files.createTempFile(nome, ".db");
+        Files.deleteIfExists(arquivo);
+        arquivo.toFile().deleteOnExit();
+
+        DatabaseConnection.shutdown();
+        // As entidades em cache pertencem ao banco anterior
+        EntityCaches.clear();
+        System.setProperty("paintspray.db.url", "jdbc:sqlite:" + arquivo.toAbsolutePath());
+        DatabaseConnection.getInstance();
+        return arquivo;
+    }
+
+    /**
+     * Popula o banco atual com um usuário, clientes, veículos e serviços
+     * gerados com semente fixa, em uma única transação.
+     *
+     * @param clientes           Quantidade de clientes
+     * @param veiculosPorCliente Veículos de cada cliente
+     * @param servicosPorVeiculo Serviços de cada veículo
+     */
+    static void popularBanco(int clientes, int veiculosPorCliente, int servicosPorVeiculo) throws SQLException {
+        String[] tipos = { "PINTURA_COMPLETA", "RETOQUE_LOCALIZADO", "PINTURA_DE_PECAS", "ENVERNIZAMENTO" };
+        String[] status = { "PENDENTE", "EM_ANDAMENTO", "AGUARDANDO_PAGAMENTO", "FINALIZADO", "CANCELADO" };
+        Random random = new Random(42);
+
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "INSERT OR IGNORE INTO usuarios (id, nome, email, senha) VALUES ('1', 'Administrador', 'admin', 'admin')")) {
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement cliente = connection.prepareStatement(
+                    "INSERT INTO clientes (id, nome, endereco, numero_telefone) VALUES (?, ?, ?, ?)");
+                    PreparedStatement veiculo = connection.prepareStatement(
+                            "INSERT INTO veiculos (id, modelo, cor, ano_fabricacao, id_cliente) VALUES (?, ?, ?, ?, ?)");
+                    PreparedStatement servico = connection.prepareStatement(
+                            "INSERT INTO servicos (tipo, descricao, preco_centavos, status, forma_pagamento, id_veiculo, id_usuario) "
+                                    + "VALUES (?, ?, ?, ?, 'PIX', ?, '1')")) {
+
+                int idVeiculo = 0;
+                for (int c = 1; c <= clientes; c++) {
+                    String idCliente = String.valueOf(c);
+                    cliente.setString(1, idCliente);
+                    cliente.setString(2, "Cliente " + c);
+                    cliente.setString(3, "Rua " + c);
+                    cliente.setString(4, String.valueOf(84_900_000_000L + c));
+                    cliente.executeUpdate();
+
+                    for (int v = 0; v < veiculosPorCliente; v++) {
+                        idVeiculo++;
+                        veiculo.setInt(1, idVeiculo);
+                        veiculo.setString(2, "Moto " + (idVeiculo % 50));
+                        veiculo.setString(3, "Cor " + (idVeiculo % 12));
+                        veiculo.setInt(4, 2000 + idVeiculo % 25);
+                        veiculo.setString(5, idCliente);
+                        veiculo.executeUpdate();
+
+                        for (int s = 0; s < servicosPorVeiculo; s++) {
+                            servico.setString(1, tipos[random.nextInt(tipos.length)]);
+                            servico.setString(2, "Serviço " + idVeiculo + "-" + s);
+                            servico.setLong(3, (100 + random.nextInt(2_000)) * 100L + random.nextInt(100));
+                            servico.setString(4, status[random.nextInt(status.length)]);
+                            servico.setInt(5, idVeiculo);
+                            servico.executeUpdate();
+                        }
+                    }
+                }
+            }
+
+            connection.commit();
+        }
+    }
+
+    /**
+     * Executa a operação repetidas vezes e retorna o tempo total em nanossegundos.
+     */
+    static long medir(int repeticoes, Operacao operacao) throws Exception {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < repeticoes; i++) {
+            operacao.executar();
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Imprime uma linha de resultado com vazão e tempo médio por operação.
+     */
+    static void imprimir(String rotulo, long operacoes, long nanos) {
+        double segundos = nanos / 1_000_000_000.0;
+        System.out.printf("%-40s %10d ops  %10.1f ms  %12.0f ops/s  %10.3f us/op%n",
+                rotulo, operacoes, nanos / 1_000_000.0, operacoes / segundos,
+                nanos / 1_000.0 / operacoes);
+    }
+}
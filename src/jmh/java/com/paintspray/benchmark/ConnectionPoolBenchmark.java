@@ -0,0 +1,71 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Compara o caminho antigo (abrir o arquivo, aplicar PRAGMA e fechar a cada
+ * chamada) com o empréstimo de conexões do pool.
+ *
+ * Uso: {@code java -cp ... com.paintspray.benchmark.ConnectionPoolBenchmark [iteracoes]}
+ */
+public class ConnectionPoolBenchmark {
+
+    private static final String CONSULTA = "SELECT COUNT(*) FROM clientes WHERE nome LIKE ?";
+
+    public static void main(String[] args) throws Exception {
+        int iteracoes = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+
+        BenchmarkSupport.prepararBanco("bench-pool");
+        DatabaseConnection database = DatabaseConnection.getInstance();
+        String url = database.getUrl();
+
+        // Aquecimento dos dois caminhos
+        reconectando(url, iteracoes / 10);
+        pool(database, iteracoes / 10);
+
+        long nanosReconexao = reconectando(url, iteracoes);
+        long nanosPool = pool(database, iteracoes);
+
+        System.out.println("== Conexão por chamada vs pool ==");
+        BenchmarkSupport.imprimir("reconexão por chamada", iteracoes, nanosReconexao);
+        BenchmarkSupport.imprimir("pool de conexões", iteracoes, nanosPool);
+        System.out.printf("ganho: %.1fx%n", (double) nanosReconexao / nanosPool);
+        System.out.println(database.getPoolStats());
+
+        DatabaseConnection.shutdown();
+    }
+
+    private static long reconectando(String url, int iteracoes) throws Exception {
+        return BenchmarkSupport.medir(iteracoes, () -> {
+            try (Connection connection = DriverManager.getConnection(url)) {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("PRAGMA foreign_keys = ON;");
+                }
+                consultar(connection);
+            }
+        });
+    }
+
+    private static long pool(DatabaseConnection database, int iteracoes) throws Exception {
+        return BenchmarkSupport.medir(iteracoes, () -> {
+            try (Connection connection = database.getConnection()) {
+                consultar(connection);
+            }
+        });
+    }
+
+    private static void consultar(Connection connection) throws Exception {
+        try (PreparedStatement stmt = connection.prepareStatement(CONSULTA)) {
+            stmt.setString(1, "A%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+            }
+        }
+    }
+}
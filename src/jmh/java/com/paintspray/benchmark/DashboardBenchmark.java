@@ -0,0 +1,84 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.ResumoStatus;
+import com.paintspray.model.Servico;
+import com.paintspray.service.HistoricoStatusWriter;
+import com.paintspray.service.ServicoService;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Compara o custo de montar o dashboard: os indicadores carregando quatro
+ * listas completas para ler {@code size()} contra a consulta agregada
+ * {@code resumoPorStatus()}, e o quadro Kanban com uma consulta por coluna
+ * contra {@code carregarQuadro()}.
+ *
+ * Uso: {@code ... DashboardBenchmark [clientes] [repeticoes]} (5 serviços por cliente)
+ */
+public class DashboardBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        BenchmarkSupport.prepararBanco("bench-dashboard");
+        BenchmarkSupport.popularBanco(clientes, 1, 5);
+        ServicoService servicoService = new ServicoService();
+
+        int[] porLista = new int[4];
+        long nanosListas = BenchmarkSupport.medir(repeticoes, () -> {
+            porLista[0] = servicoService.listarTodos().size();
+            porLista[1] = servicoService.listarServicosPendentes().size();
+            porLista[2] = servicoService.listarServicosEmAndamento().size();
+            porLista[3] = servicoService.listarServicosFinalizados().size();
+        });
+
+        int[] porResumo = new int[4];
+        long nanosResumo = BenchmarkSupport.medir(repeticoes, () -> {
+            EnumMap<StatusServico, ResumoStatus> resumo = servicoService.resumoPorStatus();
+            porResumo[0] = resumo.values().stream().mapToInt(ResumoStatus::quantidade).sum();
+            porResumo[1] = resumo.get(StatusServico.PENDENTE).quantidade();
+            porResumo[2] = resumo.get(StatusServico.EM_ANDAMENTO).quantidade();
+            porResumo[3] = resumo.get(StatusServico.FINALIZADO).quantidade();
+        });
+
+        System.out.println("== KPIs com " + clientes * 5 + " serviços ==");
+        BenchmarkSupport.imprimir("4 listas + size()", repeticoes, nanosListas);
+        BenchmarkSupport.imprimir("resumoPorStatus()", repeticoes, nanosResumo);
+        System.out.printf("ganho: %.1fx%n", (double) nanosListas / nanosResumo);
+        System.out.println("contagens conferem: " + Arrays.equals(porLista, porResumo));
+
+        int[] colunas = new int[4];
+        long nanosColunas = BenchmarkSupport.medir(repeticoes, () -> {
+            colunas[0] = servicoService.listarServicosPendentes().size();
+            colunas[1] = servicoService.listarServicosEmAndamento().size();
+            colunas[2] = servicoService.listarServicosAguardandoPagamento().size();
+            colunas[3] = servicoService.listarServicosFinalizados().size();
+        });
+
+        int[] quadroColunas = new int[4];
+        long nanosQuadro = BenchmarkSupport.medir(repeticoes, () -> {
+            EnumMap<StatusServico, List<Servico>> quadro = servicoService.carregarQuadro();
+            quadroColunas[0] = quadro.get(StatusServico.PENDENTE).size();
+            quadroColunas[1] = quadro.get(StatusServico.EM_ANDAMENTO).size();
+            quadroColunas[2] = quadro.get(StatusServico.AGUARDANDO_PAGAMENTO).size();
+            quadroColunas[3] = quadro.get(StatusServico.FINALIZADO).size();
+        });
+
+        System.out.println("== Kanban ==");
+        BenchmarkSupport.imprimir("4 consultas por coluna", repeticoes, nanosColunas);
+        BenchmarkSupport.imprimir("carregarQuadro()", repeticoes, nanosQuadro);
+        System.out.printf("ganho: %.1fx%n", (double) nanosColunas / nanosQuadro);
+        System.out.println("colunas ativas conferem: " + Arrays.equals(
+                Arrays.copyOf(colunas, 3), Arrays.copyOf(quadroColunas, 3))
+                + ", finalizados no quadro: " + quadroColunas[3] + " de " + colunas[3]);
+
+        HistoricoStatusWriter.shutdown();
+
+        DatabaseConnection.shutdown();
+    }
+}
@@ -0,0 +1,53 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.EntityCaches;
+import com.paintspray.repository.VeiculoRepository;
+
+import java.util.Random;
+
+/**
+ * Mede o cache de entidades nas buscas por ID de clientes e veículos,
+ * comparando o cache desligado com o ligado. As chaves seguem uma
+ * distribuição concentrada (poucos clientes recebem a maior parte das
+ * consultas), como na tela de clientes e no cadastro de ordens.
+ *
+ * Uso: {@code ... EntityCacheBenchmark [consultas] [capacidade]}
+ */
+public class EntityCacheBenchmark {
+
+    private static final int CLIENTES = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int consultas = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int capacidade = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+
+        BenchmarkSupport.prepararBanco("bench-entity-cache");
+        BenchmarkSupport.popularBanco(CLIENTES, 2, 0);
+
+        long semCache = executar(0, consultas);
+        long comCache = executar(capacidade, consultas);
+        System.out.printf("ganho: %.2fx%n", (double) semCache / comCache);
+    }
+
+    private static long executar(int capacidade, int consultas) throws Exception {
+        EntityCaches.setCapacity(capacidade);
+        EntityCaches.clear();
+
+        ClienteRepository clientes = new ClienteRepository();
+        VeiculoRepository veiculos = new VeiculoRepository();
+        Random random = new Random(7);
+
+        long nanos = BenchmarkSupport.medir(consultas, () -> {
+            // Quadrado de um uniforme: ~30% das consultas caem em 10% dos clientes
+            double u = random.nextDouble();
+            int cliente = 1 + (int) (u * u * CLIENTES);
+            clientes.findById(String.valueOf(cliente));
+            veiculos.findById(String.valueOf(cliente * 2));
+        });
+
+        BenchmarkSupport.imprimir("cache de entidades = " + capacidade, consultas * 2L, nanos);
+        EntityCaches.stats().forEach((nome, stats) -> System.out.println("  " + nome + ": " + stats));
+        return nanos;
+    }
+}
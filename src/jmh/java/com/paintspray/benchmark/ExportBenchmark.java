@@ -0,0 +1,108 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.TipoExportacao;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.FiltroServicos;
+import com.paintspray.repository.ServicoRepository;
+import com.paintspray.service.ExportacaoService;
+import com.paintspray.util.CsvWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exportação CSV de serviços: o {@link ExportacaoService} (cursor direto para
+ * o arquivo, em blocos por keyset) contra carregar tudo com
+ * {@code findAll()} e depois escrever. Mede linhas por segundo e o maior uso
+ * de heap observado durante cada exportação (amostrado a cada 5 ms, inclui
+ * lixo ainda não coletado).
+ * <p>
+ * Para confirmar que o heap não cresce com o número de linhas, rode com um
+ * heap pequeno ({@code -Xmx64m}): a exportação termina e a carga completa
+ * falha com {@link OutOfMemoryError}.
+ *
+ * Uso: {@code ... ExportBenchmark [servicos] [linhasPorConsulta]}
+ */
+public class ExportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int servicos = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int linhasPorConsulta = args.length > 1 ? Integer.parseInt(args[1]) : ExportacaoService.LINHAS_POR_CONSULTA;
+
+        BenchmarkSupport.prepararBanco("bench-export");
+        BenchmarkSupport.popularBanco(servicos / 5, 1, 5);
+        Path arquivo = Files.createTempFile("bench-export", ".csv");
+        arquivo.toFile().deleteOnExit();
+
+        ExportacaoService exportacao = new ExportacaoService();
+        exportacao.setLinhasPorConsulta(linhasPorConsulta);
+        // Aquecimento
+        exportacao.exportar(TipoExportacao.SERVICOS, arquivo,
+                new FiltroServicos(null, null, null, "1"), null);
+
+        System.out.printf("== %d serviços, heap máximo %d MB ==%n", servicos,
+                Runtime.getRuntime().maxMemory() / (1024 * 1024));
+
+        long[] linhas = new long[1];
+        long[] atualizacoes = new long[1];
+        Medicao streaming = medir(() -> linhas[0] = exportacao.exportar(TipoExportacao.SERVICOS, arquivo,
+                FiltroServicos.TODOS, (feitas, total) -> atualizacoes[0]++));
+        BenchmarkSupport.imprimir("ExportacaoService (" + linhasPorConsulta + " por consulta)", linhas[0],
+                streaming.nanos);
+        System.out.printf("  pico de heap %d MB, arquivo %d MB, %d atualizações de progresso%n",
+                streaming.picoBytes / (1024 * 1024), Files.size(arquivo) / (1024 * 1024), atualizacoes[0]);
+
+        ServicoRepository repository = new ServicoRepository();
+        try {
+            Medicao carga = medir(() -> {
+                List<Servico> todos = repository.findAll();
+                try (CsvWriter csv = CsvWriter.abrir(arquivo)) {
+                    for (Servico servico : todos) {
+                        csv.campo(servico.getIdServico()).campo(servico.getTipo()).campo(servico.getDescricao())
+                                .campo(servico.getPreco()).campo(servico.getStatus())
+                                .campo(servico.getNomeCliente()).fimDaLinha();
+                    }
+                }
+                linhas[0] = todos.size();
+            });
+            BenchmarkSupport.imprimir("findAll + CsvWriter", linhas[0], carga.nanos);
+            System.out.printf("  pico de heap %d MB%n", carga.picoBytes / (1024 * 1024));
+        } catch (OutOfMemoryError e) {
+            System.out.println("findAll + CsvWriter: OutOfMemoryError");
+        }
+
+        DatabaseConnection.shutdown();
+    }
+
+    private record Medicao(long nanos, long picoBytes) {
+    }
+
+    /**
+     * Executa a operação amostrando o heap em uso em uma thread separada.
+     */
+    private static Medicao medir(BenchmarkSupport.Operacao operacao) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        AtomicLong pico = new AtomicLong();
+        Thread amostragem = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                pico.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        try {
+            long nanos = BenchmarkSupport.medir(1, operacao);
+            return new Medicao(nanos, pico.get());
+        } finally {
+            amostragem.interrupt();
+            amostragem.join();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.Cliente;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.Page;
+import com.paintspray.repository.ServicoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtros das telas de serviços e clientes. As telas filtram no banco (busca
+ * FTS5 e páginas por status); os benchmarks {@code emMemoria} repetem o
+ * filtro antigo dos controllers sobre a lista já carregada, como referência
+ * (sem contar a carga da lista, que a versão antiga refazia a cada tecla).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FiltroJmhBenchmark {
+
+    private static final String TEXTO = "123";
+    private static final int LIMITE = 50;
+
+    @State(Scope.Benchmark)
+    public static class Filtros {
+
+        ServicoRepository servicoRepository;
+        ClienteRepository clienteRepository;
+        List<Servico> servicos;
+        List<Cliente> clientes;
+
+        @Setup(Level.Trial)
+        public void carregar(JmhDataset dataset) throws SQLException {
+            servicoRepository = new ServicoRepository();
+            clienteRepository = new ClienteRepository();
+            servicos = servicoRepository.findAll();
+            clientes = clienteRepository.findAll();
+        }
+    }
+
+    @Benchmark
+    public List<Servico> buscarServicos(Filtros f) throws SQLException {
+        return f.servicoRepository.buscar(TEXTO, null, LIMITE);
+    }
+
+    @Benchmark
+    public List<Servico> buscarServicosPorStatus(Filtros f) throws SQLException {
+        return f.servicoRepository.buscar(TEXTO, StatusServico.PENDENTE, LIMITE);
+    }
+
+    @Benchmark
+    public Page<Servico> paginaPorStatus(Filtros f) throws SQLException {
+        return f.servicoRepository.findPageByStatus(StatusServico.PENDENTE, null, LIMITE);
+    }
+
+    @Benchmark
+    public List<Cliente> buscarClientes(Filtros f) throws SQLException {
+        return f.clienteRepository.buscar(TEXTO, LIMITE);
+    }
+
+    /**
+     * Filtro antigo de {@code ServicoController}: texto na descrição, no tipo
+     * ou no modelo, e status pela descrição.
+     */
+    @Benchmark
+    public List<Servico> servicosEmMemoria(Filtros f) {
+        String busca = TEXTO.toLowerCase();
+        String statusFiltro = StatusServico.PENDENTE.getDescricao();
+        return f.servicos.stream()
+                .filter(s -> {
+                    boolean matchBusca = s.getDescricao().toLowerCase().contains(busca) ||
+                            s.getTipo().getDescricao().toLowerCase().contains(busca) ||
+                            s.getVeiculo().getModelo().toLowerCase().contains(busca);
+                    boolean matchStatus = s.getStatus().getDescricao().equals(statusFiltro);
+                    return matchBusca && matchStatus;
+                })
+                .toList();
+    }
+
+    /**
+     * Filtro antigo de {@code ClienteController}: texto no nome ou no
+     * telefone.
+     */
+    @Benchmark
+    public List<Cliente> clientesEmMemoria(Filtros f) {
+        return f.clientes.stream()
+                .filter(c -> c.getNome().toLowerCase().contains(TEXTO.toLowerCase()) ||
+                        c.getNumeroTelefone().contains(TEXTO))
+                .toList();
+    }
+}
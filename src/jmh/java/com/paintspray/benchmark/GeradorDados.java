@@ -0,0 +1,646 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.FormaPagamento;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.enums.TipoServico;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Gera um banco com anos de histórico de uma oficina: usuários, clientes
+ * cadastrados ao longo dos anos, motos de cada cliente e ordens de serviço
+ * distribuídas entre o cadastro da moto e a data final. Os IDs dos serviços
+ * seguem a ordem de criação, como no uso real, e os status em aberto
+ * (pendente, em andamento, aguardando pagamento) ficam com as ordens mais
+ * recentes; as datas de início, conclusão e cancelamento acompanham o
+ * status. Com a mesma semente e a mesma data final o banco sai igual.
+ * <p>
+ * Os registros são gravados com inserts em lote, em transações de
+ * {@link #LINHAS_POR_TRANSACAO} linhas. O histórico de status
+ * ({@code servico_eventos}) não é gerado.
+ *
+ * Uso: {@code ... GeradorDados [--opcao=valor ...]}; {@code --ajuda} lista as
+ * opções. Exemplo com cerca de 1,2 milhão de ordens:
+ * {@code --banco=grande.db --anos=8 --clientes-por-ano=20000 --servicos-por-moto-ano=1.25}
+ */
+public class GeradorDados {
+
+    /**
+     * Linhas gravadas por transação.
+     */
+    public static final int LINHAS_POR_TRANSACAO = 50_000;
+
+    private static final long SEGUNDOS_POR_ANO = 365L * 24 * 60 * 60;
+    private static final long SEGUNDOS_POR_DIA = 24L * 60 * 60;
+
+    private static final String[] NOMES = { "Ana", "Antônio", "Bruno", "Carla", "Daniel", "Fernanda", "Francisco",
+            "Gabriel", "Helena", "João", "José", "Juliana", "Larissa", "Lucas", "Marcos", "Maria", "Paulo", "Pedro",
+            "Rafaela", "Sandra", "Thiago", "Vitória" };
+    private static final String[] SOBRENOMES = { "Almeida", "Alves", "Barbosa", "Cardoso", "Costa", "Ferreira",
+            "Gomes", "Lima", "Martins", "Nascimento", "Oliveira", "Pereira", "Ribeiro", "Rodrigues", "Santos", "Silva",
+            "Souza" };
+    private static final String[] RUAS = { "Rua Delmiro Gouveia", "Avenida Francisco Mota", "Rua Juvenal Lamartine",
+            "Avenida Presidente Dutra", "Rua Coronel Gurgel", "Rua Felipe Camarão", "Avenida Alberto Maranhão" };
+    private static final String[] BAIRROS = { "Centro", "Alto de São Manoel", "Abolição", "Nova Betânia",
+            "Santo Antônio", "Aeroporto", "Costa e Silva" };
+    private static final String[] MODELOS = { "Honda CG 160", "Honda Biz 125", "Honda Pop 110i", "Honda CB 300F",
+            "Honda XRE 300", "Yamaha Fazer 250", "Yamaha Factor 150", "Yamaha MT 03", "Yamaha Lander 250",
+            "Suzuki Intruder 125", "Kawasaki Ninja 400", "BMW G 310 R" };
+    private static final String[] CORES = { "Preta", "Vermelha", "Branca", "Azul", "Prata", "Cinza", "Amarela",
+            "Verde" };
+
+    private static final DateTimeFormatter FORMATO_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneOffset.UTC);
+
+    /**
+     * Intervalo fechado de valores inteiros.
+     */
+    public record Faixa(long minimo, long maximo) {
+
+        public Faixa {
+            if (minimo < 0 || maximo < minimo) {
+                throw new IllegalArgumentException("Faixa inválida: " + minimo + "-" + maximo);
+            }
+        }
+
+        long sortear(Random random) {
+            return minimo + (long) (random.nextDouble() * (maximo - minimo + 1));
+        }
+
+        static Faixa ler(String texto) {
+            int traco = texto.indexOf('-');
+            if (traco < 0) {
+                long valor = Long.parseLong(texto.trim());
+                return new Faixa(valor, valor);
+            }
+            return new Faixa(Long.parseLong(texto.substring(0, traco).trim()),
+                    Long.parseLong(texto.substring(traco + 1).trim()));
+        }
+    }
+
+    /**
+     * Parâmetros da geração. Os pesos de cada enum são relativos (não
+     * precisam somar 100); constantes sem peso não aparecem.
+     *
+     * @param semente            Semente do gerador aleatório
+     * @param ate                Fim do histórico (exclusivo, à meia-noite)
+     * @param anos               Anos de histórico até {@code ate}
+     * @param clientesPorAno     Clientes cadastrados por ano
+     * @param motosPorCliente    Motos de cada cliente
+     * @param servicosPorMotoAno Ordens de serviço por moto por ano (média)
+     * @param tipos              Mistura de tipos de serviço
+     * @param status             Proporção de cada status
+     * @param precos             Faixa de preço de cada tipo, em reais
+     * @param pagamentos         Mistura de formas de pagamento
+     * @param usuarios           Usuários (o primeiro é o administrador)
+     * @param lote               Linhas por {@code executeBatch}
+     */
+    public record Configuracao(long semente, LocalDate ate, int anos, int clientesPorAno, Faixa motosPorCliente,
+            double servicosPorMotoAno, Map<TipoServico, Integer> tipos, Map<StatusServico, Integer> status,
+            Map<TipoServico, Faixa> precos, Map<FormaPagamento, Integer> pagamentos, int usuarios, int lote) {
+
+        public Configuracao {
+            if (anos <= 0 || clientesPorAno <= 0 || usuarios <= 0 || lote <= 0) {
+                throw new IllegalArgumentException("Anos, clientes por ano, usuários e lote devem ser positivos");
+            }
+            if (servicosPorMotoAno < 0) {
+                throw new IllegalArgumentException("Serviços por moto por ano não pode ser negativo");
+            }
+            for (TipoServico tipo : TipoServico.values()) {
+                if (!precos.containsKey(tipo)) {
+                    throw new IllegalArgumentException("Sem faixa de preço para " + tipo.name());
+                }
+            }
+        }
+
+        /**
+         * Uma oficina movimentada: cerca de 7.500 clientes e 35 mil ordens em
+         * cinco anos.
+         */
+        public static Configuracao padrao() {
+            Map<TipoServico, Integer> tipos = new EnumMap<>(TipoServico.class);
+            tipos.put(TipoServico.PINTURA_COMPLETA, 20);
+            tipos.put(TipoServico.RETOQUE_LOCALIZADO, 40);
+            tipos.put(TipoServico.PINTURA_DE_PECAS, 25);
+            tipos.put(TipoServico.ENVERNIZAMENTO, 15);
+
+            Map<StatusServico, Integer> status = new EnumMap<>(StatusServico.class);
+            status.put(StatusServico.FINALIZADO, 86);
+            status.put(StatusServico.CANCELADO, 6);
+            status.put(StatusServico.AGUARDANDO_PAGAMENTO, 2);
+            status.put(StatusServico.EM_ANDAMENTO, 3);
+            status.put(StatusServico.PENDENTE, 3);
+
+            Map<TipoServico, Faixa> precos = new EnumMap<>(TipoServico.class);
+            precos.put(TipoServico.PINTURA_COMPLETA, new Faixa(1_200, 3_500));
+            precos.put(TipoServico.RETOQUE_LOCALIZADO, new Faixa(150, 600));
+            precos.put(TipoServico.PINTURA_DE_PECAS, new Faixa(300, 1_200));
+            precos.put(TipoServico.ENVERNIZAMENTO, new Faixa(250, 800));
+
+            Map<FormaPagamento, Integer> pagamentos = new EnumMap<>(FormaPagamento.class);
+            pagamentos.put(FormaPagamento.PIX, 50);
+            pagamentos.put(FormaPagamento.CREDITO, 25);
+            pagamentos.put(FormaPagamento.DEBITO, 15);
+            pagamentos.put(FormaPagamento.CEDULA, 10);
+
+            return new Configuracao(42, LocalDate.now(), 5, 1_500, new Faixa(1, 2), 1.2, tipos, status, precos,
+                    pagamentos, 3, 1_000);
+        }
+    }
+
+    /**
+     * Quantidades geradas e o tempo gasto.
+     */
+    public record Resumo(int usuarios, int clientes, int veiculos, int servicos, long nanos) {
+
+        public long linhas() {
+            return (long) usuarios + clientes + veiculos + servicos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path banco = Path.of("paintspray.db");
+        boolean substituir = false;
+        Configuracao padrao = Configuracao.padrao();
+        long semente = padrao.semente();
+        LocalDate ate = padrao.ate();
+        int anos = padrao.anos();
+        int clientesPorAno = padrao.clientesPorAno();
+        Faixa motosPorCliente = padrao.motosPorCliente();
+        double servicosPorMotoAno = padrao.servicosPorMotoAno();
+        Map<TipoServico, Integer> tipos = padrao.tipos();
+        Map<StatusServico, Integer> status = padrao.status();
+        Map<TipoServico, Faixa> precos = padrao.precos();
+        Map<FormaPagamento, Integer> pagamentos = padrao.pagamentos();
+        int usuarios = padrao.usuarios();
+        int lote = padrao.lote();
+
+        for (String arg : args) {
+            if (arg.equals("--ajuda")) {
+                imprimirAjuda();
+                return;
+            }
+            if (arg.equals("--substituir")) {
+                substituir = true;
+                continue;
+            }
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException("Opção inválida: " + arg + " (use --ajuda)");
+            }
+            String valor = arg.substring(igual + 1);
+            switch (arg.substring(2, igual)) {
+                case "banco" -> banco = Path.of(valor);
+                case "semente" -> semente = Long.parseLong(valor);
+                case "ate" -> ate = LocalDate.parse(valor);
+                case "anos" -> anos = Integer.parseInt(valor);
+                case "clientes-por-ano" -> clientesPorAno = Integer.parseInt(valor);
+                case "motos-por-cliente" -> motosPorCliente = Faixa.ler(valor);
+                case "servicos-por-moto-ano" -> servicosPorMotoAno = Double.parseDouble(valor);
+                case "tipos" -> tipos = lerPesos(TipoServico.class, valor);
+                case "status" -> status = lerPesos(StatusServico.class, valor);
+                case "precos" -> precos = lerFaixas(precos, valor);
+                case "pagamentos" -> pagamentos = lerPesos(FormaPagamento.class, valor);
+                case "usuarios" -> usuarios = Integer.parseInt(valor);
+                case "lote" -> lote = Integer.parseInt(valor);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + arg + " (use --ajuda)");
+            }
+        }
+        Configuracao configuracao = new Configuracao(semente, ate, anos, clientesPorAno, motosPorCliente,
+                servicosPorMotoAno, tipos, status, precos, pagamentos, usuarios, lote);
+
+        if (Files.exists(banco)) {
+            if (!substituir) {
+                System.err.println(banco + " já existe; use --substituir para apagá-lo e gerar de novo.");
+                System.exit(1);
+            }
+            Files.delete(banco);
+        }
+        System.setProperty("paintspray.db.url", "jdbc:sqlite:" + banco.toAbsolutePath());
+        try {
+            Resumo resumo = gerar(configuracao);
+            System.out.printf("%s: %d usuários, %d clientes, %d veículos, %d serviços até %s (semente %d)%n",
+                    banco, resumo.usuarios(), resumo.clientes(), resumo.veiculos(), resumo.servicos(),
+                    configuracao.ate(), configuracao.semente());
+            BenchmarkSupport.imprimir("linhas gravadas", resumo.linhas(), resumo.nanos());
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    /**
+     * Gera os dados no banco atual do {@link DatabaseConnection}, que deve
+     * estar vazio (os IDs começam em 1).
+     */
+    public static Resumo gerar(Configuracao configuracao) throws SQLException {
+        long inicioNanos = System.nanoTime();
+        Random random = new Random(configuracao.semente());
+        long fim = configuracao.ate().atStartOfDay(ZoneId.systemDefault()).toEpochSecond();
+        long inicio = fim - configuracao.anos() * SEGUNDOS_POR_ANO;
+
+        try (Connection connection = DatabaseConnection.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                Gravacao gravacao = new Gravacao(connection, configuracao.lote());
+                gerarUsuarios(gravacao, configuracao.usuarios());
+                Motos motos = gerarClientesEMotos(gravacao, configuracao, random, inicio, fim);
+                int servicos = gerarServicos(gravacao, configuracao, random, motos, fim);
+                gravacao.terminar();
+                return new Resumo(configuracao.usuarios(), motos.clientes, motos.quantidade, servicos,
+                        System.nanoTime() - inicioNanos);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static void gerarUsuarios(Gravacao gravacao, int usuarios) throws SQLException {
+        PreparedStatement insert = gravacao.preparar("INSERT INTO usuarios (id, nome, email, senha) VALUES (?, ?, ?, ?)");
+        for (int i = 1; i <= usuarios; i++) {
+            insert.setString(1, String.valueOf(i));
+            insert.setString(2, i == 1 ? "Administrador" : "Funcionário " + i);
+            insert.setString(3, i == 1 ? "admin" : "funcionario" + i + "@paintspray.local");
+            insert.setString(4, i == 1 ? "admin" : "senha" + i);
+            gravacao.adicionar(insert);
+        }
+    }
+
+    /**
+     * Motos geradas, com o que os serviços precisam de cada uma.
+     */
+    private static final class Motos {
+        int clientes;
+        int quantidade;
+        long[] cadastro = new long[1024];
+        byte[] modelo = new byte[1024];
+        byte[] cor = new byte[1024];
+
+        void adicionar(long segundo, int indiceModelo, int indiceCor) {
+            if (quantidade == cadastro.length) {
+                cadastro = Arrays.copyOf(cadastro, quantidade * 2);
+                modelo = Arrays.copyOf(modelo, quantidade * 2);
+                cor = Arrays.copyOf(cor, quantidade * 2);
+            }
+            cadastro[quantidade] = segundo;
+            modelo[quantidade] = (byte) indiceModelo;
+            cor[quantidade] = (byte) indiceCor;
+            quantidade++;
+        }
+    }
+
+    /**
+     * Clientes espalhados igualmente por cada ano, em ordem de cadastro; as
+     * motos entram junto com o cliente.
+     */
+    private static Motos gerarClientesEMotos(Gravacao gravacao, Configuracao configuracao, Random random,
+            long inicio, long fim) throws SQLException {
+        PreparedStatement cliente = gravacao.preparar("INSERT INTO clientes "
+                + "(id, nome, endereco, numero_telefone, data_criacao, data_atualizacao) VALUES (?, ?, ?, ?, ?, ?)");
+        PreparedStatement veiculo = gravacao.preparar("INSERT INTO veiculos "
+                + "(id, modelo, cor, ano_fabricacao, id_cliente) VALUES (?, ?, ?, ?, ?)");
+
+        Motos motos = new Motos();
+        long total = (long) configuracao.anos() * configuracao.clientesPorAno();
+        double intervalo = (double) (fim - inicio) / total;
+        for (int c = 0; c < total; c++) {
+            long segundo = inicio + (long) ((c + random.nextDouble()) * intervalo);
+            String idCliente = String.valueOf(c + 1);
+            String dataCadastro = FORMATO_DATETIME.format(Instant.ofEpochSecond(segundo));
+            cliente.setString(1, idCliente);
+            cliente.setString(2, escolher(NOMES, random) + " " + escolher(SOBRENOMES, random) + " "
+                    + escolher(SOBRENOMES, random));
+            cliente.setString(3, escolher(RUAS, random) + ", " + (1 + random.nextInt(2_500)) + " - "
+                    + escolher(BAIRROS, random));
+            cliente.setString(4, "84" + (900_000_000 + random.nextInt(100_000_000)));
+            cliente.setString(5, dataCadastro);
+            cliente.setString(6, dataCadastro);
+            gravacao.adicionar(cliente);
+
+            int anoCadastro = Instant.ofEpochSecond(segundo).atZone(ZoneOffset.UTC).getYear();
+            long quantidade = configuracao.motosPorCliente().sortear(random);
+            for (int m = 0; m < quantidade; m++) {
+                int indiceModelo = random.nextInt(MODELOS.length);
+                int indiceCor = random.nextInt(CORES.length);
+                motos.adicionar(segundo, indiceModelo, indiceCor);
+                veiculo.setInt(1, motos.quantidade);
+                veiculo.setString(2, MODELOS[indiceModelo]);
+                veiculo.setString(3, CORES[indiceCor]);
+                veiculo.setInt(4, anoCadastro - random.nextInt(11));
+                veiculo.setString(5, idCliente);
+                gravacao.adicionar(veiculo);
+            }
+        }
+        motos.clientes = (int) total;
+        return motos;
+    }
+
+    /**
+     * Sorteia as ordens de cada moto (Poisson com a média do período entre o
+     * cadastro e o fim), ordena todas pela data de criação e grava nessa
+     * ordem. Cada ordem é uma chave {@code (segundo << 32) | moto}, então a
+     * ordenação é de um {@code long[]}, sem objetos por ordem.
+     */
+    private static int gerarServicos(Gravacao gravacao, Configuracao configuracao, Random random, Motos motos,
+            long fim) throws SQLException {
+        long[] ordens = new long[Math.max(16, (int) Math.min(Integer.MAX_VALUE - 8,
+                motos.quantidade * configuracao.servicosPorMotoAno() * configuracao.anos() / 2))];
+        int quantidade = 0;
+        for (int m = 0; m < motos.quantidade; m++) {
+            long periodo = fim - motos.cadastro[m];
+            int servicos = poisson(configuracao.servicosPorMotoAno() * periodo / SEGUNDOS_POR_ANO, random);
+            for (int s = 0; s < servicos; s++) {
+                if (quantidade == ordens.length) {
+                    ordens = Arrays.copyOf(ordens, quantidade + quantidade / 2);
+                }
+                long segundo = motos.cadastro[m] + (long) (random.nextDouble() * periodo);
+                ordens[quantidade++] = (segundo << 32) | m;
+            }
+        }
+        Arrays.parallelSort(ordens, 0, quantidade);
+
+        // As mais recentes ficam com os status em aberto
+        StatusServico[] status = new StatusServico[quantidade];
+        Sorteio<StatusServico> abertos = Sorteio.de(StatusServico.class, configuracao.status(), true);
+        Sorteio<StatusServico> encerrados = Sorteio.de(StatusServico.class, configuracao.status(), false);
+        Sorteio<StatusServico> todos = Sorteio.de(StatusServico.class, configuracao.status(), null);
+        int emAberto = (int) Math.round(quantidade * todos.proporcao(abertos));
+        for (int i = 0; i < quantidade; i++) {
+            status[i] = i >= quantidade - emAberto ? abertos.sortear(random) : encerrados.sortear(random);
+        }
+
+        Sorteio<TipoServico> tipos = Sorteio.de(TipoServico.class, configuracao.tipos(), null);
+        Sorteio<FormaPagamento> pagamentos = Sorteio.de(FormaPagamento.class, configuracao.pagamentos(), null);
+        PreparedStatement insert = gravacao.preparar("INSERT INTO servicos (id_servico, tipo, descricao, "
+                + "preco_centavos, status, forma_pagamento, id_veiculo, id_usuario, data_criacao, data_inicio, "
+                + "data_conclusao, data_cancelamento) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        long fimMillis = fim * 1000;
+        for (int i = 0; i < quantidade; i++) {
+            int moto = (int) ordens[i];
+            long criacao = (ordens[i] >>> 32) * 1000 + random.nextInt(1000);
+            TipoServico tipo = tipos.sortear(random);
+            StatusServico situacao = status[i];
+
+            Long inicio = null;
+            Long conclusao = null;
+            Long cancelamento = null;
+            switch (situacao) {
+                case EM_ANDAMENTO -> inicio = depois(criacao, 2, random, fimMillis);
+                case AGUARDANDO_PAGAMENTO, FINALIZADO -> {
+                    inicio = depois(criacao, 2, random, fimMillis);
+                    conclusao = depois(inicio, 5, random, fimMillis);
+                }
+                case CANCELADO -> {
+                    if (random.nextBoolean()) {
+                        inicio = depois(criacao, 2, random, fimMillis);
+                    }
+                    cancelamento = depois(inicio != null ? inicio : criacao, 3, random, fimMillis);
+                }
+                case PENDENTE -> {
+                }
+            }
+
+            insert.setInt(1, i + 1);
+            insert.setString(2, tipo.name());
+            insert.setString(3, tipo.getDescricao() + " - " + MODELOS[motos.modelo[moto]] + " "
+                    + CORES[motos.cor[moto]].toLowerCase(Locale.ROOT));
+            Faixa preco = configuracao.precos().get(tipo);
+            insert.setLong(4, preco.minimo() * 100
+                    + (long) (random.nextDouble() * ((preco.maximo() - preco.minimo()) * 100 + 1)));
+            insert.setString(5, situacao.name());
+            insert.setString(6, pagamentos.sortear(random).name());
+            insert.setInt(7, moto + 1);
+            insert.setString(8, String.valueOf(1 + random.nextInt(configuracao.usuarios())));
+            insert.setLong(9, criacao);
+            definir(insert, 10, inicio);
+            definir(insert, 11, conclusao);
+            definir(insert, 12, cancelamento);
+            gravacao.adicionar(insert);
+        }
+        return quantidade;
+    }
+
+    /**
+     * Momento até {@code dias} depois; perto do fim do histórico o intervalo
+     * encolhe para não passar dele.
+     */
+    private static long depois(long millis, int dias, Random random, long fimMillis) {
+        long intervalo = Math.min(dias * SEGUNDOS_POR_DIA * 1000, fimMillis - 1 - millis);
+        return millis + (long) (random.nextDouble() * Math.max(0, intervalo));
+    }
+
+    private static void definir(PreparedStatement statement, int indice, Long valor) throws SQLException {
+        if (valor != null) {
+            statement.setLong(indice, valor);
+        } else {
+            statement.setNull(indice, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Amostra de Poisson: Knuth para médias pequenas, aproximação normal
+     * acima de 30.
+     */
+    private static int poisson(double media, Random random) {
+        if (media <= 0) {
+            return 0;
+        }
+        if (media > 30) {
+            return (int) Math.max(0, Math.round(media + Math.sqrt(media) * random.nextGaussian()));
+        }
+        double limite = Math.exp(-media);
+        double produto = random.nextDouble();
+        int n = 0;
+        while (produto > limite) {
+            produto *= random.nextDouble();
+            n++;
+        }
+        return n;
+    }
+
+    private static String escolher(String[] opcoes, Random random) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+
+    /**
+     * Escolha ponderada entre constantes de um enum.
+     */
+    private static final class Sorteio<E extends Enum<E>> {
+
+        private final E[] constantes;
+        private final long[] acumulado;
+
+        private Sorteio(E[] constantes, long[] acumulado) {
+            this.constantes = constantes;
+            this.acumulado = acumulado;
+        }
+
+        /**
+         * @param abertos true para só os status em aberto, false para só os
+         *                encerrados, null para todas as constantes
+         */
+        static <E extends Enum<E>> Sorteio<E> de(Class<E> tipo, Map<E, Integer> pesos, Boolean abertos) {
+            E[] constantes = tipo.getEnumConstants();
+            long[] acumulado = new long[constantes.length];
+            long soma = 0;
+            for (int i = 0; i < constantes.length; i++) {
+                boolean incluir = abertos == null
+                        || ((StatusServico) constantes[i]).getDestinos().isEmpty() != abertos;
+                soma += incluir ? pesos.getOrDefault(constantes[i], 0) : 0;
+                acumulado[i] = soma;
+            }
+            if (soma == 0 && abertos == null) {
+                throw new IllegalArgumentException("Nenhum peso positivo em " + tipo.getSimpleName());
+            }
+            return new Sorteio<>(constantes, acumulado);
+        }
+
+        E sortear(Random random) {
+            long total = acumulado[acumulado.length - 1];
+            if (total == 0) {
+                return null;
+            }
+            long valor = (long) (random.nextDouble() * total);
+            for (int i = 0; i < acumulado.length; i++) {
+                if (valor < acumulado[i]) {
+                    return constantes[i];
+                }
+            }
+            return constantes[constantes.length - 1];
+        }
+
+        /**
+         * Fração do peso deste sorteio que cabe ao outro.
+         */
+        double proporcao(Sorteio<E> parte) {
+            return (double) parte.acumulado[parte.acumulado.length - 1] / acumulado[acumulado.length - 1];
+        }
+    }
+
+    /**
+     * Inserts em lote de vários statements na mesma transação, com commit a
+     * cada {@link #LINHAS_POR_TRANSACAO} linhas.
+     */
+    private static final class Gravacao {
+
+        private final Connection connection;
+        private final int lote;
+        private final Map<PreparedStatement, int[]> pendentes = new java.util.LinkedHashMap<>();
+        private long linhas;
+
+        Gravacao(Connection connection, int lote) {
+            this.connection = connection;
+            this.lote = lote;
+        }
+
+        PreparedStatement preparar(String sql) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            pendentes.put(statement, new int[1]);
+            return statement;
+        }
+
+        void adicionar(PreparedStatement statement) throws SQLException {
+            statement.addBatch();
+            int[] contagem = pendentes.get(statement);
+            if (++contagem[0] == lote) {
+                // Envia todos: um lote de veículos não pode ir antes dos seus clientes
+                enviar();
+            }
+            if (++linhas % LINHAS_POR_TRANSACAO == 0) {
+                enviar();
+                connection.commit();
+            }
+        }
+
+        void terminar() throws SQLException {
+            enviar();
+            connection.commit();
+            for (PreparedStatement statement : pendentes.keySet()) {
+                statement.close();
+            }
+        }
+
+        /**
+         * Executa os lotes incompletos, na ordem em que os statements foram
+         * preparados (clientes antes dos veículos que apontam para eles).
+         */
+        private void enviar() throws SQLException {
+            for (Map.Entry<PreparedStatement, int[]> pendente : pendentes.entrySet()) {
+                if (pendente.getValue()[0] > 0) {
+                    pendente.getKey().executeBatch();
+                    pendente.getValue()[0] = 0;
+                }
+            }
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> lerPesos(Class<E> tipo, String texto) {
+        Map<E, Integer> pesos = new EnumMap<>(tipo);
+        for (String item : texto.split(",")) {
+            String[] partes = item.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Peso inválido: " + item + " (use NOME:peso)");
+            }
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo: " + item);
+            }
+            pesos.put(Enum.valueOf(tipo, partes[0].trim().toUpperCase(Locale.ROOT)), peso);
+        }
+        return pesos;
+    }
+
+    private static Map<TipoServico, Faixa> lerFaixas(Map<TipoServico, Faixa> atuais, String texto) {
+        Map<TipoServico, Faixa> faixas = new EnumMap<>(atuais);
+        for (String item : texto.split(",")) {
+            String[] partes = item.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Faixa inválida: " + item + " (use TIPO:min-max)");
+            }
+            faixas.put(TipoServico.valueOf(partes[0].trim().toUpperCase(Locale.ROOT)), Faixa.ler(partes[1]));
+        }
+        return faixas;
+    }
+
+    private static void imprimirAjuda() {
+        Configuracao padrao = Configuracao.padrao();
+        System.out.println("""
+                Gera um banco SQLite com histórico sintético da oficina.
+
+                  --banco=<arquivo>             Banco a criar (padrão paintspray.db)
+                  --substituir                  Apaga o banco se ele existir
+                  --semente=<n>                 Semente (padrão %d)
+                  --ate=<aaaa-mm-dd>            Fim do histórico, exclusivo (padrão hoje)
+                  --anos=<n>                    Anos de histórico (padrão %d)
+                  --clientes-por-ano=<n>        Clientes novos por ano (padrão %d)
+                  --motos-por-cliente=<a-b>     Motos por cliente (padrão %d-%d)
+                  --servicos-por-moto-ano=<x>   Ordens por moto por ano (padrão %s)
+                  --tipos=TIPO:peso,...         Mistura de tipos (padrão %s)
+                  --status=STATUS:peso,...      Proporção de status (padrão %s)
+                  --precos=TIPO:min-max,...     Preços em reais por tipo (padrão %s)
+                  --pagamentos=FORMA:peso,...   Formas de pagamento (padrão %s)
+                  --usuarios=<n>                Usuários; o 1 é admin/admin (padrão %d)
+                  --lote=<n>                    Linhas por executeBatch (padrão %d)""".formatted(
+                padrao.semente(), padrao.anos(), padrao.clientesPorAno(), padrao.motosPorCliente().minimo(),
+                padrao.motosPorCliente().maximo(), padrao.servicosPorMotoAno(), padrao.tipos(), padrao.status(),
+                padrao.precos(), padrao.pagamentos(), padrao.usuarios(), padrao.lote()));
+    }
+}
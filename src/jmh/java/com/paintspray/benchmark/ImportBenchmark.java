@@ -0,0 +1,147 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.TipoImportacao;
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.service.ClienteService;
+import com.paintspray.service.ImportacaoService;
+import com.paintspray.util.CsvReader;
+import com.paintspray.util.CsvWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Importação de clientes e veículos em CSV: o cadastro linha a linha pelo
+ * {@link ClienteService} (checagem de ID e commit por linha) contra o
+ * {@link ImportacaoService} (validação em paralelo e um commit por bloco).
+ * Os arquivos são gerados com semente fixa; 1% das linhas tem nome inválido
+ * e 0,5% repete o ID de uma linha anterior. Por último, interrompe uma
+ * importação no meio e confere que a retomada chega ao mesmo resultado.
+ *
+ * Uso: {@code ... ImportBenchmark [linhas] [linhasCadastro]}
+ */
+public class ImportBenchmark {
+
+    private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Diego", "Elaine", "Fábio", "Gabriela",
+            "Heitor", "Isabela", "João", "Larissa", "Marcos" };
+    private static final String[] SOBRENOMES = { "Silva", "Souza", "Oliveira", "Santos", "Lima", "Pereira",
+            "Costa", "Almeida" };
+    private static final String[] MODELOS = { "Honda CG 160", "Yamaha Fazer 250", "Honda Biz 125",
+            "Yamaha MT 03", "Suzuki Intruder 125" };
+    private static final String[] CORES = { "Preta", "Vermelha", "Branca", "Azul", "Prata" };
+
+    public static void main(String[] args) throws Exception {
+        int linhas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int linhasCadastro = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Path clientes = Files.createTempFile("bench-import-clientes", ".csv");
+        Path veiculos = Files.createTempFile("bench-import-veiculos", ".csv");
+        clientes.toFile().deleteOnExit();
+        veiculos.toFile().deleteOnExit();
+        gerarArquivos(clientes, veiculos, linhas);
+        Path relatorio = clientes.resolveSibling(clientes.getFileName() + ImportacaoService.SUFIXO_RELATORIO);
+        relatorio.toFile().deleteOnExit();
+        veiculos.resolveSibling(veiculos.getFileName() + ImportacaoService.SUFIXO_RELATORIO).toFile().deleteOnExit();
+
+        System.out.printf("== %d linhas, %d processadores ==%n", linhas, Runtime.getRuntime().availableProcessors());
+
+        BenchmarkSupport.prepararBanco("bench-import-cadastro");
+        ClienteService clienteService = new ClienteService();
+        long[] cadastrados = new long[1];
+        long nanosCadastro = BenchmarkSupport.medir(1, () -> {
+            try (CsvReader leitor = CsvReader.abrir(clientes)) {
+                leitor.proximo();
+                String[] registro;
+                while (leitor.getRegistros() <= linhasCadastro && (registro = leitor.proximo()) != null) {
+                    try {
+                        clienteService.cadastrarCliente(registro[0], registro[1], "", "", registro[2], registro[3]);
+                        cadastrados[0]++;
+                    } catch (IllegalArgumentException e) {
+                        // Linha recusada, como no diálogo de cadastro
+                    }
+                }
+            }
+        });
+        BenchmarkSupport.imprimir("cadastrarCliente por linha (" + linhasCadastro + ")", linhasCadastro,
+                nanosCadastro);
+
+        int processadores = Runtime.getRuntime().availableProcessors();
+        for (int paralelismo : processadores > 1 ? new int[] { 1, processadores } : new int[] { 1 }) {
+            BenchmarkSupport.prepararBanco("bench-import-pipeline");
+            ImportacaoService importacao = new ImportacaoService();
+            importacao.setParalelismo(paralelismo);
+            ImportacaoService.Resultado[] resultado = new ImportacaoService.Resultado[1];
+            long nanos = BenchmarkSupport.medir(1,
+                    () -> resultado[0] = importacao.importar(TipoImportacao.CLIENTES, clientes, null));
+            BenchmarkSupport.imprimir("ImportacaoService clientes (" + paralelismo + " thread(s))", linhas, nanos);
+            System.out.printf("  %d importadas, %d recusadas%n", resultado[0].importadas(),
+                    resultado[0].rejeitadas());
+
+            nanos = BenchmarkSupport.medir(1,
+                    () -> resultado[0] = importacao.importar(TipoImportacao.VEICULOS, veiculos, null));
+            BenchmarkSupport.imprimir("ImportacaoService veículos (" + paralelismo + " thread(s))", linhas, nanos);
+            System.out.printf("  %d importadas, %d recusadas%n", resultado[0].importadas(),
+                    resultado[0].rejeitadas());
+        }
+
+        // Retomada: interrompe na metade e importa o mesmo arquivo de novo
+        BenchmarkSupport.prepararBanco("bench-import-retomada");
+        ImportacaoService importacao = new ImportacaoService();
+        try {
+            importacao.importar(TipoImportacao.CLIENTES, clientes, (feitas, importadas, rejeitadas) -> {
+                if (feitas >= linhas / 2) {
+                    throw new CancellationException();
+                }
+            });
+        } catch (CancellationException e) {
+            // Interrupção simulada
+        }
+        ImportacaoService.Resultado retomada = importacao.importar(TipoImportacao.CLIENTES, clientes, null);
+        int gravados = new ClienteRepository().countClientes(null);
+        long linhasRelatorio;
+        try (CsvReader leitor = CsvReader.abrir(relatorio)) {
+            while (leitor.proximo() != null) {
+                // Só conta
+            }
+            linhasRelatorio = leitor.getRegistros() - 1;
+        }
+        System.out.printf("Retomada da linha %d: %d importadas, %d recusadas, %d clientes no banco, "
+                + "%d linhas no relatório%n", retomada.retomadaDaLinha(), retomada.importadas(),
+                retomada.rejeitadas(), gravados, linhasRelatorio);
+
+        DatabaseConnection.shutdown();
+    }
+
+    /**
+     * Um cliente e um veículo por linha. Os veículos das linhas recusadas
+     * apontam para clientes que não existem e também são recusados.
+     */
+    private static void gerarArquivos(Path clientes, Path veiculos, int linhas) throws Exception {
+        Random random = new Random(42);
+        try (CsvWriter csvClientes = CsvWriter.abrir(clientes); CsvWriter csvVeiculos = CsvWriter.abrir(veiculos)) {
+            csvClientes.linha("id", "nome", "endereco", "telefone");
+            csvVeiculos.linha("modelo", "cor", "ano_fabricacao", "id_cliente");
+            for (int i = 1; i <= linhas; i++) {
+                String id = i % 200 == 0 ? String.valueOf(i - 1) : String.valueOf(i);
+                String nome = NOMES[random.nextInt(NOMES.length)] + " "
+                        + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+                if (i % 100 == 50) {
+                    nome += " 2";
+                }
+                csvClientes.campo(id)
+                        .campo(nome)
+                        .campo("Rua " + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + ", " + (1 + random.nextInt(2000)))
+                        .campo(String.valueOf(11_900_000_000L + random.nextInt(99_999_999)))
+                        .fimDaLinha();
+                csvVeiculos.campo(MODELOS[random.nextInt(MODELOS.length)])
+                        .campo(CORES[random.nextInt(CORES.length)])
+                        .campo(2000 + random.nextInt(25))
+                        .campo(String.valueOf(i))
+                        .fimDaLinha();
+            }
+        }
+    }
+}
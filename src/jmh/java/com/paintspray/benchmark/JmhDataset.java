@@ -0,0 +1,64 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.repository.EntityCaches;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Banco dos benchmarks JMH com {@link #servicos} ordens de serviço geradas
+ * com semente fixa por {@link BenchmarkSupport#popularBanco} (um cliente a
+ * cada 10 serviços, dois veículos por cliente). Cada tamanho é gerado uma
+ * vez em {@code target/jmh-datasets} (ou em
+ * {@code -Dpaintspray.jmh.datasets=<pasta>}) e reaproveitado pelos forks e
+ * pelas execuções seguintes, então versões diferentes medem os mesmos dados.
+ */
+@State(Scope.Benchmark)
+public class JmhDataset {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int servicos;
+
+    /**
+     * Cliente no meio da base (10 serviços).
+     */
+    public String idCliente;
+
+    @Setup(Level.Trial)
+    public void abrir() throws Exception {
+        Path pasta = Path.of(System.getProperty("paintspray.jmh.datasets", "target/jmh-datasets"));
+        Files.createDirectories(pasta);
+        Path arquivo = pasta.resolve("paintspray-" + servicos + ".db");
+        if (!Files.exists(arquivo)) {
+            // Gerado ao lado e renomeado no fim: um fork interrompido não deixa base pela metade
+            Path temporario = pasta.resolve(arquivo.getFileName() + ".gerando");
+            Files.deleteIfExists(temporario);
+            apontarPara(temporario);
+            BenchmarkSupport.popularBanco(Math.max(1, servicos / 10), 2, 5);
+            DatabaseConnection.shutdown();
+            Files.move(temporario, arquivo, StandardCopyOption.ATOMIC_MOVE);
+        }
+        apontarPara(arquivo);
+        idCliente = String.valueOf(Math.max(1, servicos / 20));
+    }
+
+    @TearDown(Level.Trial)
+    public void fechar() {
+        DatabaseConnection.shutdown();
+    }
+
+    private static void apontarPara(Path arquivo) {
+        DatabaseConnection.shutdown();
+        EntityCaches.clear();
+        System.setProperty("paintspray.db.url", "jdbc:sqlite:" + arquivo.toAbsolutePath());
+        DatabaseConnection.getInstance();
+    }
+}
@@ -0,0 +1,55 @@
+package com.paintspray.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Ponto de entrada do {@code benchmarks.jar}. Aceita as opções de linha de
+ * comando do JMH e, quando não informadas, liga o profiler de GC
+ * ({@code -prof gc}: alocação por operação e coletas) e grava o resultado em
+ * JSON (ou no formato de {@code -rf}) em
+ * {@code target/jmh-results/jmh-<versão>-<data>.json}, para comparar versões.
+ * <p>
+ * Exemplos: {@code java -jar target/benchmarks.jar} (tudo),
+ * {@code java -jar target/benchmarks.jar RepositoryJmh -p servicos=100000}.
+ */
+public final class JmhRunner {
+
+    private JmhRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linha = new CommandLineOptions(args);
+        if (linha.shouldHelp() || linha.shouldList() || linha.shouldListWithParams()
+                || linha.shouldListProfilers() || linha.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linha);
+        if (linha.getProfilers().isEmpty()) {
+            opcoes.addProfiler(GCProfiler.class);
+        }
+        ResultFormatType formato = linha.getResultFormat().orElse(ResultFormatType.JSON);
+        opcoes.resultFormat(formato);
+        if (!linha.getResult().hasValue()) {
+            String versao = JmhRunner.class.getPackage().getImplementationVersion();
+            Path pasta = Path.of("target", "jmh-results");
+            Files.createDirectories(pasta);
+            opcoes.result(pasta.resolve("jmh-" + (versao != null ? versao : "dev") + "-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + "."
+                    + formato.name().toLowerCase()).toString());
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,200 @@
+package com.paintspray.benchmark;
+
+import atlantafx.base.theme.PrimerLight;
+import com.paintspray.controller.KanbanColumn;
+import com.paintspray.controller.ServicoCardCell;
+import com.paintspray.enums.FormaPagamento;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.enums.TipoServico;
+import com.paintspray.model.Dinheiro;
+import com.paintspray.model.Servico;
+import com.paintspray.model.Usuario;
+import com.paintspray.model.Veiculo;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mede o tempo de quadro (atualização dos nós + CSS + layout do pulse
+ * seguinte) ao mover um card entre colunas de um quadro Kanban com muitos
+ * cards, comparando a reconstrução do quadro inteiro (como o dashboard fazia
+ * a cada movimento) com a atualização incremental das {@link KanbanColumn}.
+ * Os dados ficam em memória: só o custo na thread da interface é medido.
+ * <p>
+ * Ao final imprime a quantidade de nós na cena e o heap usado. Com as colunas
+ * virtualizadas a quantidade de nós não varia com o número de cards (rode com
+ * 2000 e 20000 para comparar); o heap cresce só com os próprios serviços.
+ * <p>
+ * Sem display, rode com o Monocle ({@code org.testfx:openjfx-monocle}) no
+ * lugar da glass nativa: {@code --patch-module javafx.graphics=openjfx-monocle.jar
+ * -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw}.
+ * <p>
+ * O {@code benchmarks.jar} não traz o JavaFX: compile com
+ * {@code mvn -P jmh compile} e rode a partir de {@code target/classes}, com
+ * JavaFX e AtlantaFX no classpath.
+ *
+ * Uso: {@code ... KanbanFrameBenchmark [cards] [movimentos]}
+ */
+public class KanbanFrameBenchmark extends Application {
+
+    private static final StatusServico[] COLUNAS = { StatusServico.PENDENTE, StatusServico.EM_ANDAMENTO,
+            StatusServico.AGUARDANDO_PAGAMENTO, StatusServico.FINALIZADO };
+
+    private int cards;
+    private int movimentos;
+    private HBox quadro;
+    private final Map<StatusServico, KanbanColumn> colunas = new EnumMap<>(StatusServico.class);
+    private final Map<StatusServico, List<Servico>> dados = new EnumMap<>(StatusServico.class);
+
+    private int movimento;
+    private boolean incremental;
+    private long inicio;
+    private long totalNanos;
+    private long maiorNanos;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        List<String> args = getParameters().getRaw();
+        cards = args.size() > 0 ? Integer.parseInt(args.get(0)) : 2_000;
+        movimentos = args.size() > 1 ? Integer.parseInt(args.get(1)) : 50;
+
+        Application.setUserAgentStylesheet(new PrimerLight().getUserAgentStylesheet());
+        gerarDados();
+
+        quadro = new HBox(15);
+        quadro.setPadding(new Insets(20));
+        ScrollPane scroll = new ScrollPane(quadro);
+        scroll.setFitToHeight(true);
+        Scene scene = new Scene(scroll, 1280, 800);
+        scene.getStylesheets().add(
+                KanbanFrameBenchmark.class.getResource("/com/paintspray/css/styles.css").toExternalForm());
+        scene.addPostLayoutPulseListener(this::aoFimDoPulse);
+
+        stage.setScene(scene);
+        stage.show();
+        reconstruir();
+
+        System.out.println("== Movendo cards em um quadro com " + cards + " cards ==");
+        Platform.runLater(this::proximoMovimento);
+    }
+
+    private void gerarDados() {
+        Veiculo veiculo = new Veiculo(1, "Moto 1", "Vermelha", 2020, "1");
+        Usuario usuario = new Usuario("1", "Administrador", "admin", "");
+        for (StatusServico status : COLUNAS) {
+            dados.put(status, new ArrayList<>());
+        }
+        // Distribuição entre as três colunas ativas; os finalizados são limitados no quadro
+        for (int id = cards; id >= 1; id--) {
+            StatusServico status = COLUNAS[id % 3];
+            dados.get(status).add(new Servico(id, TipoServico.PINTURA_COMPLETA, "Serviço " + id, Dinheiro.deCentavos(15_000), status,
+                    FormaPagamento.PIX, veiculo, usuario));
+        }
+    }
+
+    /**
+     * Move o serviço mais recente da coluna Pendente para Em Andamento (ou de
+     * volta) e marca o início do quadro.
+     */
+    private void proximoMovimento() {
+        if (movimento == movimentos * 2) {
+            Platform.exit();
+            return;
+        }
+        if (movimento == movimentos) {
+            imprimir();
+            incremental = true;
+        }
+
+        StatusServico origem = movimento % 2 == 0 ? StatusServico.PENDENTE : StatusServico.EM_ANDAMENTO;
+        StatusServico destino = origem == StatusServico.PENDENTE ? StatusServico.EM_ANDAMENTO : StatusServico.PENDENTE;
+        Servico servico = dados.get(origem).remove(0);
+        servico.setStatus(destino);
+        inserirEmOrdem(dados.get(destino), servico);
+
+        inicio = System.nanoTime();
+        if (incremental) {
+            colunas.get(origem).remove(servico.getIdServico());
+            colunas.get(destino).add(servico);
+        } else {
+            reconstruir();
+        }
+        movimento++;
+    }
+
+    private void aoFimDoPulse() {
+        if (inicio == 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - inicio;
+        inicio = 0;
+        totalNanos += nanos;
+        maiorNanos = Math.max(maiorNanos, nanos);
+        Platform.runLater(this::proximoMovimento);
+    }
+
+    private void reconstruir() {
+        colunas.clear();
+        quadro.getChildren().clear();
+        for (StatusServico status : COLUNAS) {
+            int limite = status == StatusServico.FINALIZADO ? 50 : Integer.MAX_VALUE;
+            KanbanColumn coluna = new KanbanColumn(status.getDescricao(), limite,
+                    lista -> new ServicoCardCell("pendente", servico -> {
+                    }));
+            coluna.setAll(dados.get(status));
+            colunas.put(status, coluna);
+            quadro.getChildren().add(coluna.getNode());
+        }
+    }
+
+    private void imprimir() {
+        System.out.printf("%-28s média %8.2f ms   maior %8.2f ms%n",
+                incremental ? "atualização incremental" : "reconstrução do quadro",
+                totalNanos / 1_000_000.0 / movimentos, maiorNanos / 1_000_000.0);
+        totalNanos = 0;
+        maiorNanos = 0;
+    }
+
+    @Override
+    public void stop() {
+        imprimir();
+
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("nós na cena: %d   heap usado: %.1f MB%n", contarNos(quadro),
+                (runtime.totalMemory() - runtime.freeMemory()) / 1_048_576.0);
+    }
+
+    private static int contarNos(Node node) {
+        int total = 1;
+        if (node instanceof Parent parent) {
+            for (Node filho : parent.getChildrenUnmodifiable()) {
+                total += contarNos(filho);
+            }
+        }
+        return total;
+    }
+
+    private static void inserirEmOrdem(List<Servico> lista, Servico servico) {
+        int posicao = 0;
+        while (posicao < lista.size() && lista.get(posicao).getIdServico() > servico.getIdServico()) {
+            posicao++;
+        }
+        lista.add(posicao, servico);
+    }
+}
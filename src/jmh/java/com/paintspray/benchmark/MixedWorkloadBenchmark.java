@@ -0,0 +1,106 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.config.StorageMode;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.repository.ServicoRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga mista: threads lendo {@code ServicoRepository.findAll()} enquanto uma
+ * thread atualiza status sem parar, como o Kanban faz. Roda nos modos ROLLBACK
+ * e WAL e compara latência de leitura e vazão de escrita.
+ *
+ * Uso: {@code ... MixedWorkloadBenchmark [segundos] [leitores]}
+ */
+public class MixedWorkloadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int segundos = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int leitores = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        for (StorageMode mode : StorageMode.values()) {
+            System.setProperty("paintspray.db.mode", mode.name());
+            BenchmarkSupport.prepararBanco("bench-mixed-" + mode.name().toLowerCase());
+            BenchmarkSupport.popularBanco(200, 2, 5);
+            executar(mode, segundos, leitores);
+            DatabaseConnection.shutdown();
+        }
+        System.clearProperty("paintspray.db.mode");
+    }
+
+    private static void executar(StorageMode mode, int segundos, int leitores) throws Exception {
+        ServicoRepository repository = new ServicoRepository();
+        StatusServico[] status = { StatusServico.PENDENTE, StatusServico.EM_ANDAMENTO };
+        AtomicBoolean rodando = new AtomicBoolean(true);
+        AtomicLong escritas = new AtomicLong();
+        long[][] latencias = new long[leitores][];
+        CountDownLatch fim = new CountDownLatch(leitores + 1);
+
+        Thread escritor = new Thread(() -> {
+            int i = 0;
+            try {
+                while (rodando.get()) {
+                    repository.updateStatus(1 + i % 2_000, status[i % 2]);
+                    escritas.incrementAndGet();
+                    i++;
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            } finally {
+                fim.countDown();
+            }
+        });
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < leitores; t++) {
+            int indice = t;
+            long[] amostras = new long[1_000_000];
+            int[] total = new int[1];
+            Thread leitor = new Thread(() -> {
+                try {
+                    while (rodando.get() && total[0] < amostras.length) {
+                        long inicio = System.nanoTime();
+                        repository.findAll();
+                        amostras[total[0]++] = System.nanoTime() - inicio;
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    latencias[indice] = Arrays.copyOf(amostras, total[0]);
+                    fim.countDown();
+                }
+            });
+            threads.add(leitor);
+        }
+
+        escritor.start();
+        threads.forEach(Thread::start);
+        Thread.sleep(segundos * 1_000L);
+        rodando.set(false);
+        fim.await();
+
+        long[] todas = Arrays.stream(latencias).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("== %s: %d leitores, %d s ==%n", mode, leitores, segundos);
+        System.out.printf("leituras: %d (%.0f/s)  p50=%.2fms  p99=%.2fms  max=%.2fms%n",
+                todas.length, todas.length / (double) segundos,
+                percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 1.0));
+        System.out.printf("escritas: %d (%.0f/s)%n", escritas.get(), escritas.get() / (double) segundos);
+        System.out.println("leitura " + DatabaseConnection.getInstance().getReadPoolStats());
+        System.out.println("escrita " + DatabaseConnection.getInstance().getPoolStats());
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,123 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.Dinheiro;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.ServicoRepository;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.List;
+
+/**
+ * Compara preços em {@code double} com {@link Dinheiro} (centavos inteiros):
+ * <ul>
+ * <li>formatação: {@code DecimalFormat} por instância (como o
+ * {@code Servico} fazia) e {@code String.format} (como as células faziam)
+ * contra {@link Dinheiro#formatar}, medindo também os bytes alocados;</li>
+ * <li>faturamento: somar em Java os preços dos serviços carregados contra o
+ * {@code SUM} feito pelo SQLite, conferindo a diferença entre a soma em
+ * {@code double} e a soma exata.</li>
+ * </ul>
+ *
+ * Uso: {@code ... MoneyBenchmark [clientes] [formatacoes]}
+ */
+public class MoneyBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int formatacoes = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        formatacao(formatacoes);
+
+        BenchmarkSupport.prepararBanco("bench-money");
+        BenchmarkSupport.popularBanco(clientes, 1, 5);
+        faturamento(clientes * 5);
+        DatabaseConnection.shutdown();
+    }
+
+    private static void formatacao(int vezes) throws Exception {
+        long[] precos = new long[1_024];
+        for (int i = 0; i < precos.length; i++) {
+            precos[i] = 10_000 + i * 7_919L;
+        }
+        long[] tamanho = new long[1];
+
+        // Aquecimento
+        for (int i = 0; i < 200_000; i++) {
+            tamanho[0] += new DecimalFormat("0.00").format(precos[i & 1023] / 100.0).length();
+            tamanho[0] += String.format("R$ %.2f", precos[i & 1023] / 100.0).length();
+            tamanho[0] += Dinheiro.deCentavos(precos[i & 1023]).toString().length();
+        }
+
+        System.out.println("== Formatação de " + vezes + " preços ==");
+        medirAlocacao("DecimalFormat por instância", vezes, () -> {
+            for (int i = 0; i < vezes; i++) {
+                tamanho[0] += new DecimalFormat("0.00").format(precos[i & 1023] / 100.0).length();
+            }
+        });
+        medirAlocacao("String.format(\"R$ %.2f\")", vezes, () -> {
+            for (int i = 0; i < vezes; i++) {
+                tamanho[0] += String.format("R$ %.2f", precos[i & 1023] / 100.0).length();
+            }
+        });
+        medirAlocacao("Dinheiro.toString()", vezes, () -> {
+            for (int i = 0; i < vezes; i++) {
+                tamanho[0] += Dinheiro.deCentavos(precos[i & 1023]).toString().length();
+            }
+        });
+        StringBuilder reaproveitado = new StringBuilder(32);
+        medirAlocacao("Dinheiro.formatar(StringBuilder)", vezes, () -> {
+            for (int i = 0; i < vezes; i++) {
+                reaproveitado.setLength(0);
+                tamanho[0] += new Dinheiro(precos[i & 1023]).formatar(reaproveitado).length();
+            }
+        });
+        System.out.println("  (checksum " + tamanho[0] + ")");
+    }
+
+    private static void faturamento(int servicos) throws Exception {
+        ServicoRepository repository = new ServicoRepository();
+        List<Servico> aquecimento = repository.findByStatus(StatusServico.FINALIZADO);
+        repository.somarPrecos(StatusServico.FINALIZADO);
+
+        double[] somaDouble = new double[1];
+        long[] somaJava = new long[1];
+        long nanosJava = BenchmarkSupport.medir(1, () -> {
+            for (Servico servico : repository.findByStatus(StatusServico.FINALIZADO)) {
+                somaJava[0] += servico.getPreco().centavos();
+                // Como a soma era feita com preco em double
+                somaDouble[0] += servico.getPreco().centavos() / 100.0;
+            }
+        });
+
+        Dinheiro[] somaBanco = new Dinheiro[1];
+        long nanosBanco = BenchmarkSupport.medir(1, () -> {
+            somaBanco[0] = repository.somarPrecos(StatusServico.FINALIZADO);
+        });
+
+        System.out.println("== Faturamento de " + aquecimento.size() + " serviços finalizados (de "
+                + servicos + ") ==");
+        BenchmarkSupport.imprimir("findByStatus + soma em Java", aquecimento.size(), nanosJava);
+        BenchmarkSupport.imprimir("SUM(preco_centavos) no SQLite", aquecimento.size(), nanosBanco);
+        BigDecimal exato = BigDecimal.valueOf(somaBanco[0].centavos()).movePointLeft(2);
+        System.out.println("soma exata: " + somaBanco[0] + "   soma em double: " + new BigDecimal(somaDouble[0])
+                + "   erro: " + new BigDecimal(somaDouble[0]).subtract(exato).toPlainString());
+        System.out.println("somas em centavos conferem: " + (somaJava[0] == somaBanco[0].centavos()));
+    }
+
+    private static void medirAlocacao(String rotulo, int vezes, Runnable trecho) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().threadId();
+        long bytesAntes = threads.getThreadAllocatedBytes(id);
+        long inicio = System.nanoTime();
+        trecho.run();
+        long nanos = System.nanoTime() - inicio;
+        long bytes = threads.getThreadAllocatedBytes(id) - bytesAntes;
+        BenchmarkSupport.imprimir(rotulo, vezes, nanos);
+        System.out.printf("  %.1f bytes alocados por preço%n", bytes / (double) vezes);
+    }
+}
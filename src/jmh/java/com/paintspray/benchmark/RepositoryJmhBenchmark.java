@@ -0,0 +1,79 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.Cliente;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.ServicoRepository;
+import com.paintspray.repository.SondaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de leitura dos repositórios sobre o {@link JmhDataset}.
+ * {@link #findManySoIds} roda a mesma consulta de {@link #findAllServicos}
+ * com um mapeamento que só lê o ID: a diferença entre os dois é o custo de
+ * {@code ServicoRepository.mapResultSetToServico}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryJmhBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Repositorios {
+
+        ServicoRepository servicos;
+        ClienteRepository clientes;
+        SondaRepository sonda;
+        String idCliente;
+
+        @Setup(Level.Trial)
+        public void criar(JmhDataset dataset) {
+            servicos = new ServicoRepository();
+            clientes = new ClienteRepository();
+            sonda = new SondaRepository();
+            idCliente = dataset.idCliente;
+        }
+    }
+
+    @Benchmark
+    public List<Integer> findManySoIds(Repositorios r) throws SQLException {
+        return r.sonda.idsDosServicos();
+    }
+
+    @Benchmark
+    public List<Servico> findAllServicos(Repositorios r) throws SQLException {
+        return r.servicos.findAll();
+    }
+
+    @Benchmark
+    public List<Servico> findByStatus(Repositorios r) throws SQLException {
+        return r.servicos.findByStatus(StatusServico.PENDENTE);
+    }
+
+    @Benchmark
+    public List<Servico> findByClienteId(Repositorios r) throws SQLException {
+        return r.servicos.findByClienteId(r.idCliente);
+    }
+
+    @Benchmark
+    public List<Cliente> findAllClientes(Repositorios r) throws SQLException {
+        return r.clientes.findAll();
+    }
+}
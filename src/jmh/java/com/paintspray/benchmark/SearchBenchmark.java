@@ -0,0 +1,72 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.model.Servico;
+import com.paintspray.service.HistoricoStatusWriter;
+import com.paintspray.service.ServicoService;
+
+import java.util.List;
+
+/**
+ * Mede a busca da tela de Ordens de Serviço: carregar todos os serviços e
+ * filtrar em Java (como a tela fazia a cada tecla) contra a busca indexada
+ * FTS5 que devolve só os mais relevantes.
+ *
+ * Uso: {@code ... SearchBenchmark [servicos] [repeticoes]}
+ */
+public class SearchBenchmark {
+
+    private static final int LIMITE = 200;
+    private static final String[] TERMOS = { "Moto 17", "4242", "Serviço 999", "Cor 11" };
+
+    public static void main(String[] args) throws Exception {
+        int servicos = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        BenchmarkSupport.prepararBanco("bench-search");
+        BenchmarkSupport.popularBanco(servicos / 10, 2, 5);
+        ServicoService servicoService = new ServicoService();
+
+        // Aquecimento: JIT e cache de statements
+        for (String termo : TERMOS) {
+            filtrarEmMemoria(servicoService, termo);
+            servicoService.buscarServicos(termo, null, LIMITE);
+        }
+
+        long nanosMemoria = BenchmarkSupport.medir(repeticoes, () -> {
+            for (String termo : TERMOS) {
+                filtrarEmMemoria(servicoService, termo);
+            }
+        });
+        long nanosIndice = BenchmarkSupport.medir(repeticoes, () -> {
+            for (String termo : TERMOS) {
+                servicoService.buscarServicos(termo, null, LIMITE);
+            }
+        });
+
+        System.out.println("== Busca em " + servicos + " serviços ==");
+        for (String termo : TERMOS) {
+            System.out.printf("  '%s': %d em memória, %d pelo índice (limite %d)%n", termo,
+                    filtrarEmMemoria(servicoService, termo).size(),
+                    servicoService.buscarServicos(termo, null, LIMITE).size(), LIMITE);
+        }
+        long buscas = (long) repeticoes * TERMOS.length;
+        BenchmarkSupport.imprimir("findAll + filtro em Java", buscas, nanosMemoria);
+        BenchmarkSupport.imprimir("FTS5 trigram, top " + LIMITE, buscas, nanosIndice);
+        System.out.printf("ganho: %.1fx%n", (double) nanosMemoria / nanosIndice);
+
+        HistoricoStatusWriter.shutdown();
+
+        DatabaseConnection.shutdown();
+    }
+
+    private static List<Servico> filtrarEmMemoria(ServicoService servicoService, String termo) throws Exception {
+        String busca = termo.toLowerCase();
+        return servicoService.listarTodos().stream()
+                .filter(s -> s.getDescricao().toLowerCase().contains(busca)
+                        || s.getTipo().getDescricao().toLowerCase().contains(busca)
+                        || s.getVeiculo().getModelo().toLowerCase().contains(busca)
+                        || s.getVeiculo().getCor().toLowerCase().contains(busca))
+                .toList();
+    }
+}
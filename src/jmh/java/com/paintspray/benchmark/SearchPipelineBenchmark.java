@@ -0,0 +1,75 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.model.Cliente;
+import com.paintspray.service.ClienteService;
+import com.paintspray.util.SearchPipeline;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Simula a digitação de um nome no campo de busca de clientes e compara a
+ * busca a cada tecla (sem debounce) com o {@link SearchPipeline} padrão:
+ * quantas consultas chegam ao banco e quanto tempo passa entre a última tecla
+ * e o resultado. Uma thread única faz o papel da thread da interface.
+ *
+ * Uso: {@code ... SearchPipelineBenchmark [clientes] [intervaloTeclasMs]}
+ */
+public class SearchPipelineBenchmark {
+
+    private static final String TEXTO = "Cliente 4242";
+    private static final long ESPERA_FINAL_MILLIS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long intervaloTeclas = args.length > 1 ? Long.parseLong(args[1]) : 80;
+
+        BenchmarkSupport.prepararBanco("bench-search-pipeline");
+        BenchmarkSupport.popularBanco(clientes, 1, 0);
+
+        System.out.println("== Digitando '" + TEXTO + "' com " + intervaloTeclas + " ms entre teclas ==");
+        executar(Duration.ZERO, intervaloTeclas);
+        executar(SearchPipeline.DEFAULT_DEBOUNCE, intervaloTeclas);
+
+        DatabaseConnection.shutdown();
+    }
+
+    private static void executar(Duration debounce, long intervaloTeclas) throws Exception {
+        ClienteService clienteService = new ClienteService();
+        ExecutorService ui = Executors.newSingleThreadExecutor();
+        ExecutorService banco = Executors.newVirtualThreadPerTaskExecutor();
+
+        SearchPipeline<List<Cliente>> pipeline = new SearchPipeline<>(debounce, ui,
+                texto -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return clienteService.buscarClientes(texto, 200);
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                }, banco),
+                resultado -> {
+                },
+                Throwable::printStackTrace);
+
+        for (int i = 1; i <= TEXTO.length(); i++) {
+            String texto = TEXTO.substring(0, i);
+            ui.execute(() -> pipeline.submit(texto));
+            Thread.sleep(intervaloTeclas);
+        }
+        // Tempo de sobra para o debounce e a última consulta terminarem
+        Thread.sleep(debounce.toMillis() + ESPERA_FINAL_MILLIS);
+
+        CompletableFuture<Object> stats = new CompletableFuture<>();
+        ui.execute(() -> stats.complete(pipeline.getStats()));
+        System.out.printf("debounce %4d ms: %s%n", debounce.toMillis(), stats.get());
+
+        ui.shutdown();
+        banco.shutdown();
+    }
+}
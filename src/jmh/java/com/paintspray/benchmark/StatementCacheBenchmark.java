@@ -0,0 +1,44 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.repository.ServicoRepository;
+
+/**
+ * Mede o efeito do cache de PreparedStatement nas consultas com JOIN do
+ * {@link ServicoRepository}, comparando o cache desligado com o ligado.
+ *
+ * Uso: {@code ... StatementCacheBenchmark [iteracoes]}
+ */
+public class StatementCacheBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int iteracoes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        long semCache = executar("0", iteracoes);
+        long comCache = executar("64", iteracoes);
+        System.out.printf("ganho: %.2fx%n", (double) semCache / comCache);
+        System.clearProperty("paintspray.db.statement.cache.size");
+    }
+
+    private static long executar(String tamanhoCache, int iteracoes) throws Exception {
+        System.setProperty("paintspray.db.statement.cache.size", tamanhoCache);
+        BenchmarkSupport.prepararBanco("bench-stmt-cache");
+        // Poucas linhas: o custo medido é o de preparar o SQL, não o de mapear
+        BenchmarkSupport.popularBanco(5, 1, 1);
+
+        ServicoRepository repository = new ServicoRepository();
+        StatusServico[] status = StatusServico.values();
+
+        BenchmarkSupport.medir(iteracoes / 10, () -> repository.findById("1"));
+        long nanos = BenchmarkSupport.medir(iteracoes, () -> {
+            repository.findById("1");
+            repository.countByStatus(status[(int) (System.nanoTime() % status.length)]);
+        });
+
+        BenchmarkSupport.imprimir("cache de statements = " + tamanhoCache, iteracoes * 2L, nanos);
+        System.out.println(DatabaseConnection.getInstance().getStatementCacheStats());
+        DatabaseConnection.shutdown();
+        return nanos;
+    }
+}
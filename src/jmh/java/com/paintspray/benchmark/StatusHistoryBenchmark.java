@@ -0,0 +1,151 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.config.StorageMode;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.EventoStatus;
+import com.paintspray.model.PermanenciaStatus;
+import com.paintspray.repository.ServicoEventoRepository;
+import com.paintspray.repository.ServicoRepository;
+import com.paintspray.repository.TransicaoStatus;
+import com.paintspray.service.HistoricoStatusWriter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Custo do histórico de status para quem move os cards. Cada serviço passa
+ * por PENDENTE → EM_ANDAMENTO → AGUARDANDO_PAGAMENTO → FINALIZADO em uma
+ * única thread, como a interface faria, de três formas:
+ * <ul>
+ * <li>só a transição, sem histórico (referência);</li>
+ * <li>transição + INSERT do evento na mesma thread (um commit a mais por
+ * mudança);</li>
+ * <li>transição + {@link HistoricoStatusWriter}, que grava os eventos em lote
+ * em segundo plano.</li>
+ * </ul>
+ * As três formas se alternam a cada rodada, para que a variação do disco
+ * afete todas igualmente. Depois mede as consultas de linha do tempo e de
+ * permanência sobre o histórico da última rodada. Roda nos modos ROLLBACK e
+ * WAL.
+ *
+ * Uso: {@code ... StatusHistoryBenchmark [servicos] [rodadas]}
+ */
+public class StatusHistoryBenchmark {
+
+    private static final StatusServico[] FLUXO = {
+            StatusServico.EM_ANDAMENTO, StatusServico.AGUARDANDO_PAGAMENTO, StatusServico.FINALIZADO };
+
+    @FunctionalInterface
+    private interface Historico {
+        void registrar(EventoStatus evento) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int servicos = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        for (StorageMode mode : StorageMode.values()) {
+            System.setProperty("paintspray.db.mode", mode.name());
+            BenchmarkSupport.prepararBanco("bench-status-history-" + mode.name().toLowerCase());
+            BenchmarkSupport.popularBanco(servicos / 5, 1, 5);
+            System.out.printf("== %s: %d serviços, %d transições ==%n", mode, servicos, servicos * FLUXO.length);
+            comparar(servicos, rodadas);
+            HistoricoStatusWriter.shutdown();
+            DatabaseConnection.shutdown();
+        }
+        System.clearProperty("paintspray.db.mode");
+    }
+
+    private static void comparar(int servicos, int rodadas) throws Exception {
+        ServicoRepository servicoRepository = new ServicoRepository();
+        ServicoEventoRepository eventoRepository = new ServicoEventoRepository();
+        HistoricoStatusWriter writer = HistoricoStatusWriter.getInstance();
+
+        // Aquecimento
+        executar(servicoRepository, Math.min(servicos, 200), evento -> {
+        });
+
+        long semHistorico = 0;
+        long sincrono = 0;
+        long assincrono = 0;
+        long ateGravar = 0;
+        long lotesAntes = writer.getLotes();
+        long gravadosAntes = writer.getGravados();
+        for (int r = 0; r < rodadas; r++) {
+            semHistorico += executar(servicoRepository, servicos, evento -> {
+            });
+            sincrono += executar(servicoRepository, servicos, eventoRepository::save);
+
+            long inicio = System.nanoTime();
+            assincrono += executar(servicoRepository, servicos, writer::registrar);
+            writer.aguardarGravacao(60_000);
+            ateGravar += System.nanoTime() - inicio;
+        }
+
+        long transicoes = (long) servicos * FLUXO.length * rodadas;
+        BenchmarkSupport.imprimir("sem histórico", transicoes, semHistorico);
+        BenchmarkSupport.imprimir("histórico com INSERT na mesma thread", transicoes, sincrono);
+        BenchmarkSupport.imprimir("histórico pelo HistoricoStatusWriter", transicoes, assincrono);
+        long lotes = writer.getLotes() - lotesAntes;
+        System.out.printf("  até gravar tudo: %.1f ms por rodada, %d lotes, %.1f eventos por commit, "
+                + "%d gravados direto%n",
+                ateGravar / 1_000_000.0 / rodadas, lotes,
+                (writer.getGravados() - gravadosAntes) / (double) Math.max(lotes, 1), writer.getGravadosDireto());
+        System.out.printf("  custo do histórico por transição: %.1f us síncrono, %.1f us assíncrono%n",
+                (sincrono - semHistorico) / 1_000.0 / transicoes,
+                (assincrono - semHistorico) / 1_000.0 / transicoes);
+
+        int[] trechos = new int[1];
+        long nanosLinha = BenchmarkSupport.medir(servicos, () -> {
+            trechos[0] += eventoRepository.linhaDoTempo(1 + trechos[0] % servicos).size();
+        });
+        BenchmarkSupport.imprimir("linhaDoTempo (um serviço)", servicos, nanosLinha);
+
+        long nanosPermanencia = BenchmarkSupport.medir(10, eventoRepository::permanenciaPorStatus);
+        BenchmarkSupport.imprimir("permanenciaPorStatus (todo o histórico)", 10, nanosPermanencia);
+        EnumMap<StatusServico, PermanenciaStatus> permanencia = eventoRepository.permanenciaPorStatus();
+        for (Map.Entry<StatusServico, PermanenciaStatus> entrada : permanencia.entrySet()) {
+            if (entrada.getValue().trechos() > 0) {
+                System.out.printf("  %-22s %6d trechos, média %d us%n", entrada.getKey().name(),
+                        entrada.getValue().trechos(), entrada.getValue().media().toNanos() / 1_000);
+            }
+        }
+    }
+
+    /**
+     * Leva todos os serviços pelo fluxo, registrando cada transição aplicada
+     * no histórico informado. Retorna o tempo gasto.
+     */
+    private static long executar(ServicoRepository repository, int servicos, Historico historico)
+            throws Exception {
+        reiniciar();
+        long inicio = System.nanoTime();
+        for (int id = 1; id <= servicos; id++) {
+            for (StatusServico novo : FLUXO) {
+                Instant agora = Instant.now();
+                TransicaoStatus transicao = repository.transicionarStatus(id, novo, agora);
+                if (transicao.aplicada()) {
+                    historico.registrar(new EventoStatus(id, transicao.anterior(), novo, agora));
+                }
+            }
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Volta todos os serviços para PENDENTE e limpa o histórico da rodada
+     * anterior.
+     */
+    private static void reiniciar() throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE servicos SET status = 'PENDENTE'");
+            statement.executeUpdate("DELETE FROM servico_eventos");
+        }
+    }
+}
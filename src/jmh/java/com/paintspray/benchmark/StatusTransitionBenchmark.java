@@ -0,0 +1,145 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.config.StorageMode;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.ServicoRepository;
+import com.paintspray.service.HistoricoStatusWriter;
+import com.paintspray.service.ServicoService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Várias threads tentam iniciar os mesmos serviços pendentes ao mesmo tempo,
+ * como dois atendentes arrastando o mesmo card. Compara a forma antiga (ler o
+ * serviço com o JOIN completo, conferir o status em Java e gravar) com a
+ * transição condicional do {@link ServicoService}.
+ * <p>
+ * Além da vazão, conta quantas tentativas foram aceitas: cada serviço só pode
+ * ser iniciado uma vez, então qualquer valor acima da quantidade de serviços
+ * é uma transição duplicada causada pela corrida entre a leitura e o UPDATE.
+ * Roda nos modos ROLLBACK e WAL.
+ *
+ * Uso: {@code ... StatusTransitionBenchmark [threads] [rodadas]}
+ */
+public class StatusTransitionBenchmark {
+
+    @FunctionalInterface
+    private interface Tentativa {
+        boolean iniciar(int servicoId) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int rodadas = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        for (StorageMode mode : StorageMode.values()) {
+            System.setProperty("paintspray.db.mode", mode.name());
+            BenchmarkSupport.prepararBanco("bench-status-transition-" + mode.name().toLowerCase());
+            BenchmarkSupport.popularBanco(400, 2, 5);
+            System.out.printf("== %s: %d threads, %d rodadas ==%n", mode, threads, rodadas);
+            comparar(threads, rodadas, 400 * 2 * 5);
+            HistoricoStatusWriter.shutdown();
+            DatabaseConnection.shutdown();
+        }
+        System.clearProperty("paintspray.db.mode");
+    }
+
+    private static void comparar(int threads, int rodadas, int servicos) throws Exception {
+        ServicoRepository repository = new ServicoRepository();
+        ServicoService service = new ServicoService();
+
+        Tentativa lerEGravar = id -> {
+            Servico servico = repository.findById(String.valueOf(id));
+            if (servico == null || servico.getStatus() != StatusServico.PENDENTE) {
+                return false;
+            }
+            repository.updateStatus(id, StatusServico.EM_ANDAMENTO);
+            return true;
+        };
+        Tentativa condicional = id -> {
+            try {
+                service.iniciarServico(id);
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        };
+
+        // Aquecimento
+        executar("aquecimento", lerEGravar, threads, servicos, 1);
+        executar("aquecimento", condicional, threads, servicos, 1);
+
+        long antigo = executar("findById + UPDATE", lerEGravar, threads, servicos, rodadas);
+        long novo = executar("UPDATE ... WHERE status IN", condicional, threads, servicos, rodadas);
+        System.out.printf("ganho: %.2fx%n", (double) antigo / novo);
+    }
+
+    private static long executar(String rotulo, Tentativa tentativa, int threads, int servicos, int rodadas)
+            throws Exception {
+        long nanosTotal = 0;
+        long aceitasTotal = 0;
+
+        for (int r = 0; r < rodadas; r++) {
+            reiniciar();
+            AtomicLong aceitas = new AtomicLong();
+            CountDownLatch largada = new CountDownLatch(1);
+            CountDownLatch fim = new CountDownLatch(threads);
+
+            for (int t = 0; t < threads; t++) {
+                // Ordens diferentes por thread, para que disputem os mesmos serviços em momentos variados
+                List<Integer> ids = new ArrayList<>(servicos);
+                for (int id = 1; id <= servicos; id++) {
+                    ids.add(id);
+                }
+                Collections.shuffle(ids, new Random(r * 31L + t));
+
+                Thread.ofPlatform().start(() -> {
+                    try {
+                        largada.await();
+                        for (int id : ids) {
+                            if (tentativa.iniciar(id)) {
+                                aceitas.incrementAndGet();
+                            }
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    } finally {
+                        fim.countDown();
+                    }
+                });
+            }
+
+            long inicio = System.nanoTime();
+            largada.countDown();
+            fim.await();
+            nanosTotal += System.nanoTime() - inicio;
+            aceitasTotal += aceitas.get();
+        }
+
+        if (!rotulo.equals("aquecimento")) {
+            BenchmarkSupport.imprimir(rotulo, (long) threads * servicos * rodadas, nanosTotal);
+            System.out.printf("  transições aceitas: %d de %d esperadas%n", aceitasTotal, (long) servicos * rodadas);
+        }
+        return nanosTotal;
+    }
+
+    /**
+     * Volta todos os serviços para PENDENTE antes de cada rodada.
+     */
+    private static void reiniciar() throws SQLException {
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE servicos SET status = 'PENDENTE'");
+        }
+    }
+}
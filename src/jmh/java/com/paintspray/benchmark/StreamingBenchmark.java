@@ -0,0 +1,89 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.ServicoRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compara o total de preços de todos os serviços calculado sobre
+ * {@code findAll()} (lista inteira em memória) com {@code streamAll()} e
+ * {@code forEachServico()}, medindo tempo e o pico de heap usado.
+ *
+ * Uso: {@code ... StreamingBenchmark [clientes]} (5 serviços por cliente)
+ */
+public class StreamingBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 40_000;
+
+        BenchmarkSupport.prepararBanco("bench-streaming");
+        BenchmarkSupport.popularBanco(clientes, 1, 5);
+        ServicoRepository repository = new ServicoRepository();
+        int linhas = clientes * 5;
+
+        long[] totais = new long[3];
+        long[] picos = new long[3];
+
+        long nanosLista = BenchmarkSupport.medir(1, () -> {
+            long base = heapUsado();
+            List<Servico> todos = repository.findAll();
+            picos[0] = heapUsado() - base;
+            totais[0] = todos.stream().mapToLong(s -> s.getPreco().centavos()).sum();
+        });
+
+        long nanosStream = BenchmarkSupport.medir(1, () -> {
+            Amostrador amostrador = new Amostrador();
+            try (Stream<Servico> todos = repository.streamAll()) {
+                totais[1] = todos.peek(s -> amostrador.linha()).mapToLong(s -> s.getPreco().centavos()).sum();
+            }
+            picos[1] = amostrador.pico;
+        });
+
+        long nanosCallback = BenchmarkSupport.medir(1, () -> {
+            Amostrador amostrador = new Amostrador();
+            long[] soma = new long[1];
+            repository.forEachServico(s -> {
+                soma[0] += s.getPreco().centavos();
+                amostrador.linha();
+            });
+            totais[2] = soma[0];
+            picos[2] = amostrador.pico;
+        });
+
+        System.out.println("== " + linhas + " serviços ==");
+        BenchmarkSupport.imprimir("findAll() + soma", linhas, nanosLista);
+        BenchmarkSupport.imprimir("streamAll() + soma", linhas, nanosStream);
+        BenchmarkSupport.imprimir("forEachServico() + soma", linhas, nanosCallback);
+        System.out.printf("heap retido: lista=%.1f MB, stream=%.1f MB, callback=%.1f MB%n",
+                picos[0] / 1e6, picos[1] / 1e6, picos[2] / 1e6);
+        System.out.println("totais conferem: " + (totais[0] == totais[1] && totais[1] == totais[2]));
+        System.out.println(DatabaseConnection.getInstance().getReadPoolStats());
+
+        DatabaseConnection.shutdown();
+    }
+
+    private static long heapUsado() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Mede o heap a cada 10 mil linhas; o GC antes de cada amostra deixa só o
+     * que continua retido pelo consumo.
+     */
+    private static final class Amostrador {
+        private final long base = heapUsado();
+        private long linhas;
+        private long pico;
+
+        void linha() {
+            if (++linhas % 10_000 == 0) {
+                pico = Math.max(pico, heapUsado() - base);
+            }
+        }
+    }
+}
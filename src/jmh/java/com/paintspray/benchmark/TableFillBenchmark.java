@@ -0,0 +1,78 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.model.Servico;
+import com.paintspray.service.ClienteService;
+import com.paintspray.service.HistoricoStatusWriter;
+import com.paintspray.service.ServicoService;
+
+import java.util.List;
+
+/**
+ * Mede o preenchimento da tabela de Ordens de Serviço: carregar os serviços e
+ * obter o valor de todas as colunas de cada linha, como as células fazem ao
+ * serem exibidas. Compara a busca do cliente por linha (como a coluna Cliente
+ * fazia) com o nome do cliente trazido pelo JOIN da consulta.
+ *
+ * Uso: {@code ... TableFillBenchmark [servicos]}
+ */
+public class TableFillBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int servicos = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        BenchmarkSupport.prepararBanco("bench-table-fill");
+        BenchmarkSupport.popularBanco(servicos / 5, 1, 5);
+        ServicoService servicoService = new ServicoService();
+        ClienteService clienteService = new ClienteService();
+
+        // Aquecimento: JIT e cache de statements
+        preencher(servicoService.listarTodos(), clienteService, true);
+
+        long[] consultas = new long[2];
+        long nanosPorLinha = BenchmarkSupport.medir(1, () -> {
+            consultas[0] = preencher(servicoService.listarTodos(), clienteService, true);
+        });
+        long nanosJoin = BenchmarkSupport.medir(1, () -> {
+            consultas[1] = preencher(servicoService.listarTodos(), clienteService, false);
+        });
+
+        System.out.println("== Preenchimento de " + servicos + " linhas ==");
+        BenchmarkSupport.imprimir("cliente buscado por célula", servicos, nanosPorLinha);
+        BenchmarkSupport.imprimir("nome do cliente via JOIN", servicos, nanosJoin);
+        System.out.printf("ganho: %.1fx  (consultas: %d -> %d)%n",
+                (double) nanosPorLinha / nanosJoin, consultas[0], consultas[1]);
+
+        HistoricoStatusWriter.shutdown();
+
+        DatabaseConnection.shutdown();
+    }
+
+    /**
+     * Lê o valor de todas as colunas da tabela para cada serviço.
+     *
+     * @return Quantidade de consultas feitas, incluindo a listagem
+     */
+    private static long preencher(List<Servico> lista, ClienteService clienteService, boolean buscarCliente)
+            throws Exception {
+        long consultas = 1;
+        int tamanhoTotal = 0;
+        for (Servico servico : lista) {
+            String cliente;
+            if (buscarCliente) {
+                cliente = clienteService.buscarClientePorId(servico.getVeiculo().getIdCliente()).getNome();
+                consultas++;
+            } else {
+                cliente = servico.getNomeCliente();
+            }
+            String linha = servico.getIdServico() + servico.getTipo().getDescricao() + servico.getDescricao()
+                    + servico.getPreco() + servico.getStatus().getDescricao()
+                    + servico.getVeiculo().getModelo() + " - " + servico.getVeiculo().getCor() + cliente;
+            tamanhoTotal += linha.length();
+        }
+        if (tamanhoTotal == 0) {
+            throw new IllegalStateException("Nenhuma linha preenchida");
+        }
+        return consultas;
+    }
+}
@@ -0,0 +1,132 @@
+package com.paintspray.benchmark;
+
+import com.paintspray.config.DatabaseConnection;
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.Dinheiro;
+import com.paintspray.model.Servico;
+import com.paintspray.repository.ServicoRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Perguntas de período ("serviços desta semana", "faturamento do mês")
+ * respondidas de duas formas: carregando os serviços e filtrando em Java,
+ * como era preciso antes das colunas de data, e com as consultas por
+ * intervalo do {@link ServicoRepository}, que usam os índices de data.
+ * Os serviços gerados ficam espalhados por dois anos.
+ *
+ * Uso: {@code ... TimeRangeBenchmark [clientes] [repeticoes]}
+ */
+public class TimeRangeBenchmark {
+
+    private static final Instant FIM_DO_HISTORICO = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration HISTORICO = Duration.ofDays(730);
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int repeticoes = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        BenchmarkSupport.prepararBanco("bench-time-range");
+        BenchmarkSupport.popularBanco(clientes, 1, 5);
+        int servicos = clientes * 5;
+        distribuirDatas(servicos);
+
+        ServicoRepository repository = new ServicoRepository();
+        Instant semana = FIM_DO_HISTORICO.minus(Duration.ofDays(7));
+        Instant mes = FIM_DO_HISTORICO.minus(Duration.ofDays(30));
+
+        int[] encontrados = new int[2];
+        long nanosJavaSemana = BenchmarkSupport.medir(repeticoes, () -> {
+            int total = 0;
+            for (Servico servico : repository.findAll()) {
+                Instant criacao = servico.getDataCriacao();
+                if (criacao != null && !criacao.isBefore(semana) && criacao.isBefore(FIM_DO_HISTORICO)) {
+                    total++;
+                }
+            }
+            encontrados[0] = total;
+        });
+        long nanosIndiceSemana = BenchmarkSupport.medir(repeticoes, () -> {
+            encontrados[1] = repository.findCriadosEntre(semana, FIM_DO_HISTORICO).size();
+        });
+
+        long[] somas = new long[2];
+        long nanosJavaMes = BenchmarkSupport.medir(repeticoes, () -> {
+            long total = 0;
+            for (Servico servico : repository.findByStatus(StatusServico.FINALIZADO)) {
+                Instant conclusao = servico.getDataConclusao();
+                if (conclusao != null && !conclusao.isBefore(mes) && conclusao.isBefore(FIM_DO_HISTORICO)) {
+                    total += servico.getPreco().centavos();
+                }
+            }
+            somas[0] = total;
+        });
+        long nanosIndiceMes = BenchmarkSupport.medir(repeticoes, () -> {
+            somas[1] = repository.somarConcluidosEntre(mes, FIM_DO_HISTORICO).centavos();
+        });
+
+        System.out.println("== " + servicos + " serviços em " + HISTORICO.toDays() + " dias ==");
+        BenchmarkSupport.imprimir("semana: findAll + filtro em Java", repeticoes, nanosJavaSemana);
+        BenchmarkSupport.imprimir("semana: findCriadosEntre", repeticoes, nanosIndiceSemana);
+        System.out.printf("  %d serviços na semana, resultados conferem: %b, ganho: %.1fx%n",
+                encontrados[1], encontrados[0] == encontrados[1], (double) nanosJavaSemana / nanosIndiceSemana);
+        BenchmarkSupport.imprimir("mês: findByStatus + soma em Java", repeticoes, nanosJavaMes);
+        BenchmarkSupport.imprimir("mês: somarConcluidosEntre", repeticoes, nanosIndiceMes);
+        System.out.printf("  faturamento %s, resultados conferem: %b, ganho: %.1fx%n",
+                Dinheiro.deCentavos(somas[1]), somas[0] == somas[1], (double) nanosJavaMes / nanosIndiceMes);
+
+        planos(semana, mes);
+        DatabaseConnection.shutdown();
+    }
+
+    /**
+     * Espalha as datas de criação pelo histórico em ordem de ID e preenche
+     * início, conclusão e cancelamento conforme o status de cada serviço.
+     */
+    private static void distribuirDatas(int servicos) throws SQLException {
+        long fim = FIM_DO_HISTORICO.toEpochMilli();
+        long passo = HISTORICO.toMillis() / servicos;
+        long dia = Duration.ofDays(1).toMillis();
+
+        try (Connection connection = DatabaseConnection.getInstance().getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE servicos SET data_criacao = " + (fim - HISTORICO.toMillis())
+                    + " + (id_servico - 1) * " + passo);
+            statement.executeUpdate("UPDATE servicos SET data_inicio = data_criacao + " + dia
+                    + " WHERE status IN ('EM_ANDAMENTO', 'AGUARDANDO_PAGAMENTO', 'FINALIZADO')");
+            statement.executeUpdate("UPDATE servicos SET data_conclusao = data_criacao + " + 3 * dia
+                    + " WHERE status = 'FINALIZADO'");
+            statement.executeUpdate("UPDATE servicos SET data_cancelamento = data_criacao + " + dia
+                    + " WHERE status = 'CANCELADO'");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private static void planos(Instant semana, Instant mes) throws SQLException {
+        String[] consultas = {
+                "SELECT * FROM servicos WHERE data_criacao >= ? AND data_criacao < ? ORDER BY data_criacao DESC",
+                "SELECT SUM(preco_centavos) FROM servicos WHERE data_conclusao >= ? AND data_conclusao < ? "
+                        + "AND status = 'FINALIZADO'" };
+        Instant[] inicios = { semana, mes };
+
+        try (Connection connection = DatabaseConnection.getInstance().getReadConnection()) {
+            for (int i = 0; i < consultas.length; i++) {
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + consultas[i])) {
+                    statement.setLong(1, inicios[i].toEpochMilli());
+                    statement.setLong(2, FIM_DO_HISTORICO.toEpochMilli());
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            System.out.println("plano: " + resultSet.getString("detail"));
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.paintspray.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Acesso ao {@code findMany} do {@link JdbcRepository} para os benchmarks,
+ * com a mesma consulta de {@link ServicoRepository#findAll()} e um
+ * mapeamento que só lê o ID.
+ */
+public class SondaRepository extends JdbcRepository<Integer> {
+
+    private static final String SQL = ServicoRepository.SELECT_SERVICO + "ORDER BY s.id_servico DESC";
+
+    public List<Integer> idsDosServicos() throws SQLException {
+        return findMany(SQL, rs -> rs.getInt("id_servico"));
+    }
+}
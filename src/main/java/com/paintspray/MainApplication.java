@@ -2,6 +2,9 @@ package com.paintspray;
 
 import atlantafx.base.theme.PrimerLight;
 import com.paintspray.config.DatabaseConnection;
+import com.paintspray.service.HistoricoStatusWriter;
+import com.paintspray.util.AsyncExecutors;
+import com.paintspray.util.FxThreadMonitor;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -15,6 +18,8 @@ import java.io.IOException;
  */
 public class MainApplication extends Application {
 
+    private static final long DEFAULT_FX_BLOCK_THRESHOLD_MILLIS = 100;
+
     private static Stage primaryStage;
 
     @Override
@@ -22,7 +27,12 @@ public class MainApplication extends Application {
         primaryStage = stage;
 
         // Inicializa banco de dados
-        DatabaseConnection.getInstance().getConnection();
+        DatabaseConnection.getInstance();
+
+        // Registra os momentos em que a thread da interface ficou travada
+        long limite = Long.getLong("paintspray.fx.monitor.threshold.ms", DEFAULT_FX_BLOCK_THRESHOLD_MILLIS);
+        FxThreadMonitor.start(limite, nanos -> System.err.printf(
+                "Thread da interface bloqueada por %.0f ms%n", nanos / 1_000_000.0));
 
         // Aplica tema AtlantaFX
         Application.setUserAgentStylesheet(new PrimerLight().getUserAgentStylesheet());
@@ -36,6 +46,18 @@ public class MainApplication extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        FxThreadMonitor.stop();
+        AsyncExecutors.shutdown();
+
+        // Grava o histórico pendente antes de fechar o banco
+        HistoricoStatusWriter.shutdown();
+
+        // Fecha as conexões do pool ao encerrar a aplicação
+        DatabaseConnection.shutdown();
+    }
+
     /**
      * Carrega a tela de login
      */
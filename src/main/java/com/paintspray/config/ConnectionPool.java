@@ -0,0 +1,317 @@
+package com.paintspray.config;
+
+import com.paintspray.util.CacheStats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexões SQLite de tamanho fixo.
+ * As conexões físicas são abertas sob demanda, configuradas uma única vez e
+ * mantidas abertas. O {@link Connection} entregue aos repositórios é um proxy:
+ * chamar {@code close()} devolve a conexão ao pool em vez de fechar o arquivo.
+ * Cada conexão física tem seu próprio {@link StatementCache}, usado de forma
+ * transparente por {@code prepareStatement(sql)}.
+ */
+public class ConnectionPool {
+
+    /**
+     * Configuração aplicada a cada conexão física logo após ser aberta
+     * (PRAGMAs, por exemplo).
+     */
+    @FunctionalInterface
+    public interface ConnectionInitializer {
+        void initialize(Connection connection) throws SQLException;
+    }
+
+    private final String url;
+    private final int size;
+    private final long timeoutMillis;
+    private final ConnectionInitializer initializer;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    private final List<Connection> physical = new CopyOnWriteArrayList<>();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * @param url                URL JDBC do banco
+     * @param size               Número máximo de conexões físicas
+     * @param timeoutMillis      Tempo máximo de espera por uma conexão livre
+     * @param initializer        Configuração aplicada a cada conexão nova
+     * @param statementCacheSize Statements mantidos por conexão (0 desliga o cache)
+     */
+    public ConnectionPool(String url, int size, long timeoutMillis, ConnectionInitializer initializer,
+            int statementCacheSize) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("O tamanho do pool deve ser positivo.");
+        }
+        this.url = url;
+        this.size = size;
+        this.timeoutMillis = timeoutMillis;
+        this.initializer = initializer;
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Empresta uma conexão do pool, abrindo uma nova se o limite ainda não foi
+     * atingido ou aguardando a devolução de outra.
+     *
+     * @return Conexão pronta para uso; {@code close()} a devolve ao pool
+     * @throws SQLException Se o pool estiver fechado ou a espera esgotar
+     */
+    public Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("O pool de conexões está fechado.");
+        }
+
+        long inicio = System.nanoTime();
+        Connection connection = idle.poll();
+
+        if (connection == null) {
+            connection = openIfBelowLimit();
+        }
+
+        if (connection == null) {
+            try {
+                connection = idle.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrompido aguardando conexão do pool.", e);
+            }
+            if (connection == null) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Tempo esgotado aguardando conexão livre (" + timeoutMillis + " ms). "
+                        + stats());
+            }
+        }
+
+        // Conexão física perdida (ex.: arquivo removido): descarta e abre outra
+        if (connection.isClosed()) {
+            discard(connection);
+            connection = open();
+        }
+
+        recordWait(System.nanoTime() - inicio);
+        checkouts.incrementAndGet();
+        inUse.incrementAndGet();
+        return wrap(connection);
+    }
+
+    /**
+     * Métricas atuais do pool.
+     */
+    public PoolStats stats() {
+        return new PoolStats(size, opened.get(), inUse.get(), checkouts.get(),
+                totalWaitNanos.get(), maxWaitNanos.get(), timeouts.get());
+    }
+
+    /**
+     * Métricas somadas dos caches de statements de todas as conexões.
+     */
+    public CacheStats statementCacheStats() {
+        CacheStats total = CacheStats.EMPTY;
+        for (StatementCache cache : statementCaches.values()) {
+            total = total.plus(cache.stats());
+        }
+        return total;
+    }
+
+    /**
+     * Fecha todas as conexões físicas. Conexões ainda emprestadas são fechadas
+     * quando devolvidas.
+     */
+    public void close() {
+        closed = true;
+        for (Connection connection : physical) {
+            StatementCache cache = statementCaches.remove(connection);
+            if (cache != null) {
+                cache.close();
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Erro ao fechar conexão do pool: " + e.getMessage());
+            }
+        }
+        physical.clear();
+        idle.clear();
+    }
+
+    private Connection openIfBelowLimit() throws SQLException {
+        while (true) {
+            int atual = opened.get();
+            if (atual >= size) {
+                return null;
+            }
+            if (opened.compareAndSet(atual, atual + 1)) {
+                try {
+                    return openPhysical();
+                } catch (SQLException e) {
+                    opened.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Connection open() throws SQLException {
+        opened.incrementAndGet();
+        try {
+            return openPhysical();
+        } catch (SQLException e) {
+            opened.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try {
+            initializer.initialize(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        physical.add(connection);
+        if (statementCacheSize > 0) {
+            statementCaches.put(connection, new StatementCache(connection, statementCacheSize));
+        }
+        return connection;
+    }
+
+    private void discard(Connection connection) {
+        physical.remove(connection);
+        StatementCache cache = statementCaches.remove(connection);
+        if (cache != null) {
+            cache.close();
+        }
+        opened.decrementAndGet();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Conexão já estava inutilizável
+        }
+    }
+
+    private void release(Connection connection) {
+        inUse.decrementAndGet();
+
+        if (closed) {
+            discard(connection);
+            return;
+        }
+
+        StatementCache cache = statementCaches.get(connection);
+        if (cache != null) {
+            cache.releaseAll();
+        }
+
+        try {
+            // Uma transação esquecida não pode vazar para o próximo usuário
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            idle.offer(connection);
+        } catch (SQLException e) {
+            System.err.println("Conexão descartada ao voltar para o pool: " + e.getMessage());
+            discard(connection);
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new PooledConnectionHandler(connection, statementCaches.get(connection)));
+    }
+
+    /**
+     * Intercepta {@code close()} e {@code isClosed()} da conexão emprestada e
+     * desvia {@code prepareStatement} para o cache; as demais chamadas vão
+     * direto para a conexão física.
+     */
+    private class PooledConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final StatementCache statementCache;
+        private boolean returned;
+
+        PooledConnectionHandler(Connection target, StatementCache statementCache) {
+            this.target = target;
+            this.statementCache = statementCache;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(target);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || target.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + target + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Conexão já foi devolvida ao pool.");
+            }
+
+            if (statementCache != null && method.getName().equals("prepareStatement")) {
+                Class<?>[] tipos = method.getParameterTypes();
+                if (tipos.length == 1) {
+                    return statementCache.prepare((Connection) proxy, (String) args[0],
+                            Statement.NO_GENERATED_KEYS);
+                }
+                if (tipos.length == 2 && tipos[1] == int.class) {
+                    return statementCache.prepare((Connection) proxy, (String) args[0], (Integer) args[1]);
+                }
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
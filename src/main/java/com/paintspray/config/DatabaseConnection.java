@@ -1,103 +1,187 @@
 package com.paintspray.config;
 
+import com.paintspray.util.CacheStats;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 
+/**
+ * Ponto único de acesso ao banco SQLite.
+ * Mantém pools de conexões já configuradas; cada empréstimo volta ao pool no
+ * {@code close()}.
+ * <p>
+ * No modo {@link StorageMode#WAL} as leituras usam um pool próprio
+ * ({@link #getReadConnection()}) e todas as escritas passam por uma única
+ * conexão dedicada ({@link #getConnection()}). No modo
+ * {@link StorageMode#ROLLBACK} os dois métodos usam o mesmo pool.
+ */
 public class DatabaseConnection {
 
+    private static final String DEFAULT_URL = "jdbc:sqlite:paintspray.db";
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final long POOL_TIMEOUT_MILLIS = 10_000;
+    private static final int BUSY_TIMEOUT_MILLIS = 5_000;
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 5_000;
+    private static final long JOURNAL_SIZE_LIMIT_BYTES = 16L * 1024 * 1024;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
     private static DatabaseConnection instance;
-    private Connection connection;
-    private final String URL = "jdbc:sqlite:paintspray.db";
+    private final String url;
+    private final StorageMode mode;
+    private final ConnectionPool writePool;
+    private final ConnectionPool readPool;
+    private final WalCheckpointer checkpointer;
 
     private DatabaseConnection() {
+        this.url = System.getProperty("paintspray.db.url", DEFAULT_URL);
+        this.mode = StorageMode.fromProperty(System.getProperty("paintspray.db.mode"));
+        int poolSize = Integer.getInteger("paintspray.db.pool.size", DEFAULT_POOL_SIZE);
+        int cacheSize = Integer.getInteger("paintspray.db.statement.cache.size", DEFAULT_STATEMENT_CACHE_SIZE);
+
+        if (mode == StorageMode.WAL) {
+            this.writePool = new ConnectionPool(url, 1, POOL_TIMEOUT_MILLIS, DatabaseConnection::configureWriter,
+                    cacheSize);
+            this.readPool = new ConnectionPool(url, poolSize, POOL_TIMEOUT_MILLIS, DatabaseConnection::configureReader,
+                    cacheSize);
+            this.checkpointer = new WalCheckpointer(url, CHECKPOINT_INTERVAL_MILLIS);
+        } else {
+            this.writePool = new ConnectionPool(url, poolSize, POOL_TIMEOUT_MILLIS, DatabaseConnection::configure,
+                    cacheSize);
+            this.readPool = writePool;
+            this.checkpointer = null;
+        }
+
         try {
             Class.forName("org.sqlite.JDBC");
-            this.connection = DriverManager.getConnection(URL);
 
-            try (Statement stmt = connection.createStatement()) {
-                stmt.execute("PRAGMA foreign_keys = ON;");
+            // A primeira conexão de escrita define o journal_mode do arquivo
+            try (Connection connection = writePool.acquire()) {
+                new MigrationRunner(Migrations.all()).migrate(connection);
             }
 
-            createTables();
+            if (checkpointer != null) {
+                checkpointer.start();
+            }
         } catch (ClassNotFoundException | SQLException e) {
             e.printStackTrace();
         }
     }
 
     public static synchronized DatabaseConnection getInstance() {
-        try {
-            if (instance == null) {
-                instance = new DatabaseConnection();
-            } else if (instance.getConnection().isClosed()) {
-                // Reconecta se a conexão foi fechada
-                instance.connection = DriverManager.getConnection(instance.URL);
-                try (Statement stmt = instance.connection.createStatement()) {
-                    stmt.execute("PRAGMA foreign_keys = ON;");
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        if (instance == null) {
+            instance = new DatabaseConnection();
         }
         return instance;
     }
 
-    public Connection getConnection() {
-        try {
-            // Verifica se a conexão está fechada e reconecta
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL);
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.execute("PRAGMA foreign_keys = ON;");
-                }
+    /**
+     * Fecha os pools e descarta a instância atual. A próxima chamada a
+     * {@link #getInstance()} abre o banco novamente.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            if (instance.readPool != instance.writePool) {
+                instance.readPool.close();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            instance.writePool.close();
+            if (instance.checkpointer != null) {
+                instance.checkpointer.stop();
+            }
+            instance = null;
         }
-        return connection;
     }
 
-    private void createTables() throws SQLException {
+    /**
+     * Empresta a conexão de escrita. Deve ser fechada (try-with-resources) para
+     * voltar ao pool.
+     *
+     * @return Conexão configurada com as PRAGMAs do sistema
+     * @throws SQLException Se não houver conexão disponível
+     */
+    public Connection getConnection() throws SQLException {
+        return writePool.acquire();
+    }
+
+    /**
+     * Empresta uma conexão para consultas. No modo WAL ela pertence ao pool de
+     * leitura e não espera por escritas em andamento.
+     *
+     * @return Conexão somente leitura (no modo WAL)
+     * @throws SQLException Se não houver conexão disponível
+     */
+    public Connection getReadConnection() throws SQLException {
+        return readPool.acquire();
+    }
+
+    /**
+     * Métricas do pool de escrita (tamanho, espera e empréstimos).
+     */
+    public PoolStats getPoolStats() {
+        return writePool.stats();
+    }
+
+    /**
+     * Métricas do pool de leitura. No modo ROLLBACK é o mesmo pool de escrita.
+     */
+    public PoolStats getReadPoolStats() {
+        return readPool.stats();
+    }
+
+    /**
+     * Acertos e faltas do cache de PreparedStatement, somados entre as conexões
+     * de leitura e de escrita.
+     */
+    public CacheStats getStatementCacheStats() {
+        CacheStats stats = writePool.statementCacheStats();
+        return readPool == writePool ? stats : stats.plus(readPool.statementCacheStats());
+    }
+
+    public StorageMode getMode() {
+        return mode;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Configuração aplicada uma única vez a cada conexão física do pool.
+     */
+    private static void configure(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON;");
+            // Várias conexões no mesmo arquivo: espera o lock em vez de falhar com SQLITE_BUSY
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS + ";");
+        }
+        // Transações explícitas só são abertas para escrita: com BEGIN IMMEDIATE o
+        // lock de escrita é pedido logo no início (esperando pelo busy_timeout), em
+        // vez de uma leitura dentro da transação precisar promovê-lo depois e
+        // falhar com SQLITE_BUSY quando outra conexão já está escrevendo
+        connection.unwrap(SQLiteConnection.class).getConnectionConfig()
+                .setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+    }
+
+    private static void configureWriter(Connection connection) throws SQLException {
+        configure(connection);
         try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL;");
+            // Em WAL, NORMAL só sincroniza no checkpoint e continua seguro contra corrupção
+            stmt.execute("PRAGMA synchronous = NORMAL;");
+            // O checkpoint fica com o WalCheckpointer, fora do caminho dos commits
+            stmt.execute("PRAGMA wal_autocheckpoint = 0;");
+            // Quando o WAL recomeça do início depois de um checkpoint completo, o
+            // arquivo volta a este tamanho em vez de ficar no maior já alcançado
+            stmt.execute("PRAGMA journal_size_limit = " + JOURNAL_SIZE_LIMIT_BYTES + ";");
+        }
+    }
 
-            // Tabela usuarios - Proprietário da oficina
-            stmt.execute("CREATE TABLE IF NOT EXISTS usuarios (" +
-                    "id TEXT PRIMARY KEY, " +
-                    "nome TEXT NOT NULL, " +
-                    "email TEXT UNIQUE NOT NULL, " +
-                    "senha TEXT NOT NULL)");
-
-            // Tabela clientes
-            stmt.execute("CREATE TABLE IF NOT EXISTS clientes (" +
-                    "id TEXT PRIMARY KEY, " +
-                    "nome TEXT NOT NULL, " +
-                    "endereco TEXT, " +
-                    "numero_telefone TEXT, " +
-                    "data_criacao DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "data_atualizacao DATETIME DEFAULT CURRENT_TIMESTAMP)");
-
-            // Tabela veículos (ajustada para motos)
-            stmt.execute("CREATE TABLE IF NOT EXISTS veiculos (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "modelo TEXT NOT NULL, " +
-                    "cor TEXT, " +
-                    "ano_fabricacao INTEGER, " +
-                    "id_cliente TEXT NOT NULL, " +
-                    "FOREIGN KEY(id_cliente) REFERENCES clientes(id) ON DELETE CASCADE)");
-
-            // Tabela servicos (atualizada com novos campos)
-            stmt.execute("CREATE TABLE IF NOT EXISTS servicos (" +
-                    "id_servico INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "tipo TEXT NOT NULL, " +
-                    "descricao TEXT, " +
-                    "preco REAL, " +
-                    "status TEXT DEFAULT 'PENDENTE', " +
-                    "forma_pagamento TEXT, " +
-                    "id_veiculo INTEGER NOT NULL, " +
-                    "id_usuario TEXT NOT NULL, " +
-                    "FOREIGN KEY(id_veiculo) REFERENCES veiculos(id) ON DELETE CASCADE, " +
-                    "FOREIGN KEY(id_usuario) REFERENCES usuarios(id) ON DELETE CASCADE)");
+    private static void configureReader(Connection connection) throws SQLException {
+        configure(connection);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA query_only = ON;");
         }
     }
-}
\ No newline at end of file
+}
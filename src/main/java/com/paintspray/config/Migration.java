@@ -0,0 +1,40 @@
+package com.paintspray.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Passo de evolução do esquema do banco.
+ * A versão é gravada em {@code PRAGMA user_version} e o checksum em
+ * {@code schema_migrations}, para detectar migrações alteradas depois de
+ * aplicadas.
+ *
+ * @param version     Versão do esquema após aplicar o passo (1, 2, 3...)
+ * @param description Descrição curta do que o passo faz
+ * @param statements  Comandos SQL executados em ordem, na mesma transação
+ */
+public record Migration(int version, String description, List<String> statements) {
+
+    public Migration(int version, String description, String... statements) {
+        this(version, description, List.of(statements));
+    }
+
+    /**
+     * SHA-256 dos comandos da migração, em hexadecimal.
+     */
+    public String checksum() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String statement : statements) {
+                digest.update(statement.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.paintspray.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aplica as migrações pendentes em ordem, usando {@code PRAGMA user_version}
+ * como versão atual do esquema. Quando o banco já está na última versão
+ * nenhum DDL é executado; apenas os checksums gravados são conferidos.
+ */
+public class MigrationRunner {
+
+    private final List<Migration> migrations;
+
+    /**
+     * @param migrations Migrações em ordem crescente de versão, sem lacunas
+     */
+    public MigrationRunner(List<Migration> migrations) {
+        for (int i = 0; i < migrations.size(); i++) {
+            if (migrations.get(i).version() != i + 1) {
+                throw new IllegalArgumentException("Migrações devem ter versões sequenciais a partir de 1: "
+                        + migrations.get(i).description());
+            }
+        }
+        this.migrations = migrations;
+    }
+
+    /**
+     * Leva o banco até a última versão conhecida.
+     *
+     * @param connection Conexão de escrita
+     * @return Quantidade de migrações aplicadas nesta chamada
+     * @throws SQLException Se uma migração falhar, se um checksum não conferir
+     *                      ou se o banco for de uma versão mais nova
+     */
+    public int migrate(Connection connection) throws SQLException {
+        int atual = currentVersion(connection);
+        int ultima = migrations.size();
+
+        if (atual > ultima) {
+            throw new SQLException("Banco na versão " + atual + ", mais nova que a suportada (" + ultima + ").");
+        }
+
+        if (atual > 0) {
+            verifyChecksums(connection, atual);
+        }
+
+        if (atual == ultima) {
+            return 0;
+        }
+
+        createHistoryTable(connection);
+        for (Migration migration : migrations.subList(atual, ultima)) {
+            apply(connection, migration);
+        }
+        return ultima - atual;
+    }
+
+    /**
+     * Versão atual do esquema ({@code PRAGMA user_version}).
+     */
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA user_version;")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : migration.statements()) {
+                stmt.execute(sql);
+            }
+
+            try (PreparedStatement historico = connection.prepareStatement(
+                    "INSERT INTO schema_migrations (versao, descricao, checksum) VALUES (?, ?, ?)")) {
+                historico.setInt(1, migration.version());
+                historico.setString(2, migration.description());
+                historico.setString(3, migration.checksum());
+                historico.executeUpdate();
+            }
+
+            // user_version faz parte do cabeçalho do arquivo e entra na mesma transação
+            stmt.execute("PRAGMA user_version = " + migration.version() + ";");
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Falha na migração " + migration.version() + " ("
+                    + migration.description() + "): " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "versao INTEGER PRIMARY KEY, " +
+                    "descricao TEXT NOT NULL, " +
+                    "checksum TEXT NOT NULL, " +
+                    "aplicada_em DATETIME DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+
+    private void verifyChecksums(Connection connection, int atual) throws SQLException {
+        Map<Integer, String> gravados = new HashMap<>();
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT versao, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                gravados.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+
+        for (Migration migration : migrations.subList(0, atual)) {
+            String gravado = gravados.get(migration.version());
+            if (gravado != null && !gravado.equals(migration.checksum())) {
+                throw new SQLException("A migração " + migration.version() + " (" + migration.description()
+                        + ") foi alterada depois de aplicada.");
+            }
+        }
+    }
+}
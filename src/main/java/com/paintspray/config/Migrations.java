@@ -0,0 +1,223 @@
+package com.paintspray.config;
+
+import java.util.List;
+
+/**
+ * Histórico de migrações do esquema, em ordem de versão.
+ * Migrações já publicadas não devem ser alteradas (o checksum é conferido na
+ * inicialização); mudanças novas entram sempre no fim da lista.
+ */
+public final class Migrations {
+
+    private Migrations() {
+    }
+
+    public static List<Migration> all() {
+        return List.of(
+                // Versão 1: tabelas originais. IF NOT EXISTS mantém compatíveis os
+                // bancos criados antes do controle de versão (user_version = 0)
+                new Migration(1, "Tabelas iniciais",
+
+                        // Tabela usuarios - Proprietário da oficina
+                        "CREATE TABLE IF NOT EXISTS usuarios (" +
+                                "id TEXT PRIMARY KEY, " +
+                                "nome TEXT NOT NULL, " +
+                                "email TEXT UNIQUE NOT NULL, " +
+                                "senha TEXT NOT NULL)",
+
+                        // Tabela clientes
+                        "CREATE TABLE IF NOT EXISTS clientes (" +
+                                "id TEXT PRIMARY KEY, " +
+                                "nome TEXT NOT NULL, " +
+                                "endereco TEXT, " +
+                                "numero_telefone TEXT, " +
+                                "data_criacao DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                                "data_atualizacao DATETIME DEFAULT CURRENT_TIMESTAMP)",
+
+                        // Tabela veículos (ajustada para motos)
+                        "CREATE TABLE IF NOT EXISTS veiculos (" +
+                                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                                "modelo TEXT NOT NULL, " +
+                                "cor TEXT, " +
+                                "ano_fabricacao INTEGER, " +
+                                "id_cliente TEXT NOT NULL, " +
+                                "FOREIGN KEY(id_cliente) REFERENCES clientes(id) ON DELETE CASCADE)",
+
+                        // Tabela servicos
+                        "CREATE TABLE IF NOT EXISTS servicos (" +
+                                "id_servico INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                                "tipo TEXT NOT NULL, " +
+                                "descricao TEXT, " +
+                                "preco REAL, " +
+                                "status TEXT DEFAULT 'PENDENTE', " +
+                                "forma_pagamento TEXT, " +
+                                "id_veiculo INTEGER NOT NULL, " +
+                                "id_usuario TEXT NOT NULL, " +
+                                "FOREIGN KEY(id_veiculo) REFERENCES veiculos(id) ON DELETE CASCADE, " +
+                                "FOREIGN KEY(id_usuario) REFERENCES usuarios(id) ON DELETE CASCADE)"),
+
+                // Versão 2: índices das consultas por status, veículo e cliente
+                new Migration(2, "Índices de status, veículo e cliente",
+
+                        // findByStatus / countByStatus (ORDER BY id_servico sai do próprio índice)
+                        "CREATE INDEX IF NOT EXISTS idx_servicos_status ON servicos (status, id_servico)",
+
+                        // findByVeiculo, JOIN de findByClienteId e ON DELETE CASCADE de veículos
+                        "CREATE INDEX IF NOT EXISTS idx_servicos_id_veiculo ON servicos (id_veiculo)",
+
+                        // VeiculoRepository.findByClienteId / countByClienteId e cascata de clientes
+                        "CREATE INDEX IF NOT EXISTS idx_veiculos_id_cliente ON veiculos (id_cliente)"),
+
+                // Versão 3: cursor da listagem paginada de clientes (nome, id)
+                new Migration(3, "Índice de paginação de clientes",
+                        "CREATE INDEX IF NOT EXISTS idx_clientes_nome ON clientes (nome, id)"),
+
+                // Versão 4: busca textual (FTS5 com trigramas, casa qualquer trecho de 3+
+                // caracteres). Os gatilhos mantêm os índices em dia com as tabelas
+                new Migration(4, "Busca textual de serviços, veículos e clientes",
+
+                        // Serviços e veículos: o índice lê o texto da própria tabela (content=)
+                        "CREATE VIRTUAL TABLE IF NOT EXISTS servicos_fts USING fts5(" +
+                                "descricao, content='servicos', content_rowid='id_servico', tokenize='trigram')",
+                        "CREATE VIRTUAL TABLE IF NOT EXISTS veiculos_fts USING fts5(" +
+                                "modelo, cor, content='veiculos', content_rowid='id', tokenize='trigram')",
+
+                        // clientes não tem rowid estável (o ID é TEXT e o VACUUM pode renumerar),
+                        // então o índice guarda o próprio ID
+                        "CREATE VIRTUAL TABLE IF NOT EXISTS clientes_fts USING fts5(" +
+                                "id UNINDEXED, nome, numero_telefone, endereco, tokenize='trigram')",
+
+                        "CREATE TRIGGER IF NOT EXISTS servicos_fts_ai AFTER INSERT ON servicos BEGIN " +
+                                "INSERT INTO servicos_fts (rowid, descricao) VALUES (new.id_servico, new.descricao); " +
+                                "END",
+                        "CREATE TRIGGER IF NOT EXISTS servicos_fts_ad AFTER DELETE ON servicos BEGIN " +
+                                "INSERT INTO servicos_fts (servicos_fts, rowid, descricao) " +
+                                "VALUES ('delete', old.id_servico, old.descricao); " +
+                                "END",
+                        // Mudanças de status não tocam o índice
+                        "CREATE TRIGGER IF NOT EXISTS servicos_fts_au AFTER UPDATE OF descricao ON servicos " +
+                                "WHEN old.descricao IS NOT new.descricao BEGIN " +
+                                "INSERT INTO servicos_fts (servicos_fts, rowid, descricao) " +
+                                "VALUES ('delete', old.id_servico, old.descricao); " +
+                                "INSERT INTO servicos_fts (rowid, descricao) VALUES (new.id_servico, new.descricao); " +
+                                "END",
+
+                        "CREATE TRIGGER IF NOT EXISTS veiculos_fts_ai AFTER INSERT ON veiculos BEGIN " +
+                                "INSERT INTO veiculos_fts (rowid, modelo, cor) VALUES (new.id, new.modelo, new.cor); " +
+                                "END",
+                        "CREATE TRIGGER IF NOT EXISTS veiculos_fts_ad AFTER DELETE ON veiculos BEGIN " +
+                                "INSERT INTO veiculos_fts (veiculos_fts, rowid, modelo, cor) " +
+                                "VALUES ('delete', old.id, old.modelo, old.cor); " +
+                                "END",
+                        "CREATE TRIGGER IF NOT EXISTS veiculos_fts_au AFTER UPDATE OF modelo, cor ON veiculos " +
+                                "WHEN old.modelo IS NOT new.modelo OR old.cor IS NOT new.cor BEGIN " +
+                                "INSERT INTO veiculos_fts (veiculos_fts, rowid, modelo, cor) " +
+                                "VALUES ('delete', old.id, old.modelo, old.cor); " +
+                                "INSERT INTO veiculos_fts (rowid, modelo, cor) VALUES (new.id, new.modelo, new.cor); " +
+                                "END",
+
+                        "CREATE TRIGGER IF NOT EXISTS clientes_fts_ai AFTER INSERT ON clientes BEGIN " +
+                                "INSERT INTO clientes_fts (id, nome, numero_telefone, endereco) " +
+                                "VALUES (new.id, new.nome, new.numero_telefone, new.endereco); " +
+                                "END",
+                        "CREATE TRIGGER IF NOT EXISTS clientes_fts_ad AFTER DELETE ON clientes BEGIN " +
+                                "DELETE FROM clientes_fts WHERE id = old.id; " +
+                                "END",
+                        "CREATE TRIGGER IF NOT EXISTS clientes_fts_au AFTER UPDATE ON clientes BEGIN " +
+                                "DELETE FROM clientes_fts WHERE id = old.id; " +
+                                "INSERT INTO clientes_fts (id, nome, numero_telefone, endereco) " +
+                                "VALUES (new.id, new.nome, new.numero_telefone, new.endereco); " +
+                                "END",
+
+                        // Indexa os dados já existentes
+                        "INSERT INTO servicos_fts (servicos_fts) VALUES ('rebuild')",
+                        "INSERT INTO veiculos_fts (veiculos_fts) VALUES ('rebuild')",
+                        "INSERT INTO clientes_fts (id, nome, numero_telefone, endereco) " +
+                                "SELECT id, nome, numero_telefone, endereco FROM clientes"),
+
+                // Versão 5: preço em centavos inteiros. REAL acumula erro de
+                // arredondamento nas somas; INTEGER soma exato no próprio SQLite
+                new Migration(5, "Preço dos serviços em centavos",
+                        "ALTER TABLE servicos ADD COLUMN preco_centavos INTEGER NOT NULL DEFAULT 0",
+                        "UPDATE servicos SET preco_centavos = CAST(ROUND(preco * 100) AS INTEGER) " +
+                                "WHERE preco IS NOT NULL",
+                        "ALTER TABLE servicos DROP COLUMN preco"),
+
+                // Versão 6: momentos do ciclo de vida do serviço, em milissegundos desde
+                // 1970 (UTC): comparar e indexar inteiros é mais barato que texto. Serviços
+                // anteriores ficam sem data; os índices parciais ignoram as linhas nulas
+                new Migration(6, "Datas de criação, início, conclusão e cancelamento dos serviços",
+                        "ALTER TABLE servicos ADD COLUMN data_criacao INTEGER",
+                        "ALTER TABLE servicos ADD COLUMN data_inicio INTEGER",
+                        "ALTER TABLE servicos ADD COLUMN data_conclusao INTEGER",
+                        "ALTER TABLE servicos ADD COLUMN data_cancelamento INTEGER",
+                        "CREATE INDEX IF NOT EXISTS idx_servicos_data_criacao ON servicos (data_criacao) " +
+                                "WHERE data_criacao IS NOT NULL",
+                        "CREATE INDEX IF NOT EXISTS idx_servicos_data_inicio ON servicos (data_inicio) " +
+                                "WHERE data_inicio IS NOT NULL",
+                        "CREATE INDEX IF NOT EXISTS idx_servicos_data_conclusao ON servicos (data_conclusao) " +
+                                "WHERE data_conclusao IS NOT NULL",
+                        "CREATE INDEX IF NOT EXISTS idx_servicos_data_cancelamento ON servicos (data_cancelamento) " +
+                                "WHERE data_cancelamento IS NOT NULL"),
+
+                // Versão 7: histórico de status, só de inclusão. Sem chave estrangeira:
+                // o histórico de um serviço removido continua disponível. O índice cobre
+                // as linhas do tempo (id_evento é o rowid, já incluído no índice)
+                new Migration(7, "Histórico de mudanças de status dos serviços",
+                        "CREATE TABLE IF NOT EXISTS servico_eventos (" +
+                                "id_evento INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                                "id_servico INTEGER NOT NULL, " +
+                                "status_anterior TEXT, " +
+                                "status_novo TEXT NOT NULL, " +
+                                "data_evento INTEGER NOT NULL)",
+                        "CREATE INDEX IF NOT EXISTS idx_servico_eventos_linha ON servico_eventos " +
+                                "(id_servico, data_evento, status_novo)"),
+
+                // Versão 8: ponto de retomada das importações CSV. A chave identifica o
+                // arquivo (tipo, caminho, tamanho e data de modificação); a linha é gravada
+                // na mesma transação de cada bloco importado
+                new Migration(8, "Controle de importações CSV",
+                        "CREATE TABLE IF NOT EXISTS importacoes (" +
+                                "chave TEXT PRIMARY KEY, " +
+                                "tipo TEXT NOT NULL, " +
+                                "linha INTEGER NOT NULL DEFAULT 0, " +
+                                "importadas INTEGER NOT NULL DEFAULT 0, " +
+                                "rejeitadas INTEGER NOT NULL DEFAULT 0, " +
+                                "concluida INTEGER NOT NULL DEFAULT 0, " +
+                                "data_atualizacao INTEGER NOT NULL)"),
+
+                // Versão 9: clientes_fts passa a ler o texto da própria tabela pelo rowid,
+                // como servicos_fts e veiculos_fts. O índice da versão 4 guardava uma cópia
+                // com o ID, e o DELETE ... WHERE id = old.id dos gatilhos percorria o índice
+                // inteiro a cada edição ou remoção de cliente. O rowid de clientes é
+                // implícito: depois de um VACUUM o índice precisa de um 'rebuild'
+                new Migration(9, "Busca textual de clientes pelo rowid",
+                        "DROP TRIGGER IF EXISTS clientes_fts_ai",
+                        "DROP TRIGGER IF EXISTS clientes_fts_ad",
+                        "DROP TRIGGER IF EXISTS clientes_fts_au",
+                        "DROP TABLE IF EXISTS clientes_fts",
+                        "CREATE VIRTUAL TABLE clientes_fts USING fts5(" +
+                                "nome, numero_telefone, endereco, content='clientes', content_rowid='rowid', " +
+                                "tokenize='trigram')",
+
+                        "CREATE TRIGGER clientes_fts_ai AFTER INSERT ON clientes BEGIN " +
+                                "INSERT INTO clientes_fts (rowid, nome, numero_telefone, endereco) " +
+                                "VALUES (new.rowid, new.nome, new.numero_telefone, new.endereco); " +
+                                "END",
+                        "CREATE TRIGGER clientes_fts_ad AFTER DELETE ON clientes BEGIN " +
+                                "INSERT INTO clientes_fts (clientes_fts, rowid, nome, numero_telefone, endereco) " +
+                                "VALUES ('delete', old.rowid, old.nome, old.numero_telefone, old.endereco); " +
+                                "END",
+                        // data_atualizacao e os demais campos não tocam o índice
+                        "CREATE TRIGGER clientes_fts_au AFTER UPDATE OF nome, numero_telefone, endereco ON clientes " +
+                                "WHEN old.nome IS NOT new.nome OR old.numero_telefone IS NOT new.numero_telefone " +
+                                "OR old.endereco IS NOT new.endereco BEGIN " +
+                                "INSERT INTO clientes_fts (clientes_fts, rowid, nome, numero_telefone, endereco) " +
+                                "VALUES ('delete', old.rowid, old.nome, old.numero_telefone, old.endereco); " +
+                                "INSERT INTO clientes_fts (rowid, nome, numero_telefone, endereco) " +
+                                "VALUES (new.rowid, new.nome, new.numero_telefone, new.endereco); " +
+                                "END",
+
+                        "INSERT INTO clientes_fts (clientes_fts) VALUES ('rebuild')"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.paintspray.config;
+
+/**
+ * Fotografia das métricas do pool de conexões em um instante.
+ *
+ * @param size           Número máximo de conexões físicas do pool
+ * @param open           Conexões físicas já abertas
+ * @param inUse          Conexões emprestadas no momento
+ * @param checkouts      Total de empréstimos desde a criação do pool
+ * @param totalWaitNanos Tempo total gasto esperando por uma conexão livre
+ * @param maxWaitNanos   Maior espera individual observada
+ * @param timeouts       Empréstimos que falharam por tempo esgotado
+ */
+public record PoolStats(int size, int open, int inUse, long checkouts,
+        long totalWaitNanos, long maxWaitNanos, long timeouts) {
+
+    /**
+     * Espera média por empréstimo, em milissegundos.
+     */
+    public double averageWaitMillis() {
+        return checkouts == 0 ? 0.0 : totalWaitNanos / 1_000_000.0 / checkouts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool[tamanho=%d, abertas=%d, emUso=%d, checkouts=%d, esperaMedia=%.3fms, "
+                + "esperaMax=%.3fms, timeouts=%d]",
+                size, open, inUse, checkouts, averageWaitMillis(), maxWaitNanos / 1_000_000.0, timeouts);
+    }
+}
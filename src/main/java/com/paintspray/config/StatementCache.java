@@ -0,0 +1,238 @@
+package com.paintspray.config;
+
+import com.paintspray.util.CacheStats;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache LRU de {@link PreparedStatement} de uma conexão física, indexado pelo
+ * texto SQL. O statement entregue é um proxy: {@code close()} fecha o
+ * ResultSet aberto, limpa parâmetros e lote e devolve o statement ao cache.
+ * <p>
+ * Só é usado pela thread que detém a conexão no momento; as métricas podem ser
+ * lidas de qualquer thread.
+ */
+class StatementCache {
+
+    private final Connection physical;
+    private final int capacity;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param physical Conexão física dona dos statements
+     * @param capacity Número máximo de statements mantidos abertos
+     */
+    StatementCache(Connection physical, int capacity) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    evictions.incrementAndGet();
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devolve um statement do cache para o SQL ou prepara um novo.
+     *
+     * @param owner             Conexão (proxy) vista pelo chamador
+     * @param sql               Texto SQL
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} ou
+     *                          {@link Statement#NO_GENERATED_KEYS}
+     */
+    PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "#keys#" + sql : sql;
+        Entry entry = entries.get(key);
+
+        // Statement descartado nunca é emprestado de novo
+        if (entry != null && entry.evicted) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+
+        if (entry != null && !entry.inUse) {
+            hits.incrementAndGet();
+            return entry.lease(owner);
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+
+        // O mesmo SQL já está aberto nesta conexão (uso aninhado): statement avulso
+        if (entry != null) {
+            return statement;
+        }
+
+        entry = new Entry(key, statement);
+        entries.put(key, entry);
+        return entry.lease(owner);
+    }
+
+    /**
+     * Recupera statements que não foram fechados antes da conexão voltar ao pool.
+     */
+    void releaseAll() {
+        // Cópia: uma devolução que falha remove a entrada do mapa
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            if (entry.inUse) {
+                entry.giveBack();
+            }
+        }
+    }
+
+    /**
+     * Fecha todos os statements (a conexão física está sendo fechada).
+     */
+    void close() {
+        List<Entry> abertas = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : abertas) {
+            entry.evict();
+        }
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size());
+    }
+
+    /**
+     * Statement físico mantido no cache e o empréstimo atual, se houver.
+     */
+    private class Entry {
+
+        private final String key;
+        private final PreparedStatement statement;
+        private LeaseHandler lease;
+        private ResultSet lastResultSet;
+        private boolean inUse;
+        private boolean evicted;
+
+        Entry(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        PreparedStatement lease(Connection owner) {
+            inUse = true;
+            lease = new LeaseHandler(this, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    lease);
+        }
+
+        void giveBack() {
+            if (lease != null) {
+                lease.closed = true;
+                lease = null;
+            }
+            inUse = false;
+
+            try {
+                if (lastResultSet != null && !lastResultSet.isClosed()) {
+                    lastResultSet.close();
+                }
+                lastResultSet = null;
+
+                if (evicted) {
+                    statement.close();
+                } else {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                }
+            } catch (SQLException e) {
+                // Statement inutilizável: sai do cache agora e é fechado, para
+                // que o próximo prepare() do mesmo SQL prepare outro
+                entries.remove(key, this);
+                evict();
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("Erro ao fechar statement do cache: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Empréstimo de um statement do cache. Depois do {@code close()} o proxy
+     * rejeita novas chamadas, mesmo que o statement físico seja reutilizado.
+     */
+    private static class LeaseHandler implements InvocationHandler {
+
+        private final Entry entry;
+        private final Connection owner;
+        private boolean closed;
+
+        LeaseHandler(Entry entry, Connection owner) {
+            this.entry = entry;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        entry.giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + entry.statement + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement já foi fechado.");
+            }
+
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet resultSet) {
+                    entry.lastResultSet = resultSet;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.paintspray.config;
+
+/**
+ * Modo de armazenamento do SQLite.
+ * Escolhido pela propriedade de sistema {@code paintspray.db.mode}.
+ */
+public enum StorageMode {
+
+    /**
+     * Journal de rollback padrão do SQLite. Leituras e escritas compartilham o
+     * mesmo pool e se bloqueiam mutuamente.
+     */
+    ROLLBACK,
+
+    /**
+     * Write-Ahead Log. Leituras usam um pool próprio e nunca esperam pela
+     * escrita; todas as escritas passam por uma única conexão dedicada e o
+     * checkpoint roda em segundo plano.
+     */
+    WAL;
+
+    /**
+     * Converte o valor da propriedade de sistema, usando ROLLBACK como padrão.
+     */
+    public static StorageMode fromProperty(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return ROLLBACK;
+        }
+        return valueOf(valor.trim().toUpperCase());
+    }
+}
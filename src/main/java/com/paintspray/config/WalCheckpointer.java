@@ -0,0 +1,123 @@
+package com.paintspray.config;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executa checkpoints do WAL periodicamente em uma thread de fundo, com
+ * conexão própria. Assim o custo de copiar o WAL para o banco nunca cai sobre
+ * a conexão de escrita nem sobre a thread da interface.
+ * <p>
+ * O checkpoint PASSIVE não espera por ninguém, mas também não diminui o
+ * arquivo e não termina enquanto houver leituras sobrepostas. Quando o WAL
+ * passa de {@link #FRAMES_PARA_TRUNCAR} frames, o checkpoint seguinte é
+ * TRUNCATE: espera as leituras (até o busy_timeout) e zera o arquivo.
+ */
+public class WalCheckpointer {
+
+    /**
+     * Tamanho do WAL, em frames (páginas), a partir do qual o checkpoint
+     * passa a ser TRUNCATE. Com páginas de 4 KB, cerca de 16 MB.
+     */
+    public static final int FRAMES_PARA_TRUNCAR = 4_000;
+
+    private final String url;
+    private final long intervaloMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong checkpoints = new AtomicLong();
+    private final AtomicLong framesCopiados = new AtomicLong();
+    private final AtomicLong truncamentos = new AtomicLong();
+    private int framesNoLog;
+    private Connection connection;
+
+    /**
+     * @param url             URL JDBC do banco
+     * @param intervaloMillis Intervalo entre checkpoints
+     */
+    public WalCheckpointer(String url, long intervaloMillis) {
+        this.url = url;
+        this.intervaloMillis = intervaloMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sqlite-wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Abre a conexão de checkpoint e agenda a execução periódica.
+     */
+    public void start() throws SQLException {
+        connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 1000;");
+        }
+        scheduler.scheduleWithFixedDelay(this::checkpointPeriodico, intervaloMillis, intervaloMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe o agendamento e faz um checkpoint final que trunca o WAL.
+     */
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(intervaloMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (connection != null) {
+            checkpoint("TRUNCATE");
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Erro ao fechar conexão de checkpoint: " + e.getMessage());
+            }
+        }
+    }
+
+    public long getCheckpoints() {
+        return checkpoints.get();
+    }
+
+    public long getFramesCopiados() {
+        return framesCopiados.get();
+    }
+
+    /**
+     * Checkpoints TRUNCATE que conseguiram zerar o WAL.
+     */
+    public long getTruncamentos() {
+        return truncamentos.get();
+    }
+
+    private synchronized void checkpointPeriodico() {
+        checkpoint(framesNoLog > FRAMES_PARA_TRUNCAR ? "TRUNCATE" : "PASSIVE");
+    }
+
+    private synchronized void checkpoint(String modo) {
+        try (Statement stmt = connection.createStatement();
+                ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + modo + ");")) {
+            // Colunas: busy, frames no log, frames copiados
+            if (rs.next()) {
+                if (rs.getInt(3) > 0) {
+                    framesCopiados.addAndGet(rs.getInt(3));
+                }
+                framesNoLog = rs.getInt(2);
+                if (modo.equals("TRUNCATE") && rs.getInt(1) == 0) {
+                    truncamentos.incrementAndGet();
+                }
+            }
+            checkpoints.incrementAndGet();
+        } catch (SQLException e) {
+            System.err.println("Erro no checkpoint do WAL: " + e.getMessage());
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.paintspray.controller;
 
 import com.paintspray.model.Cliente;
 import com.paintspray.model.Veiculo;
+import com.paintspray.service.ClienteAsyncService;
 import com.paintspray.service.ClienteService;
+import com.paintspray.service.VeiculoAsyncService;
 import com.paintspray.service.VeiculoService;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import com.paintspray.util.AsyncExecutors;
+import com.paintspray.util.PaginatedTableLoader;
+import com.paintspray.util.SearchPipeline;
+import com.paintspray.util.TaskScope;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -23,7 +27,7 @@ import java.util.Optional;
 /**
  * Controller da Central de Clientes e Veículos (SplitPane - Mestre/Detalhe)
  */
-public class ClienteController {
+public class ClienteController implements ScopedView {
 
     @FXML
     private TextField searchField;
@@ -64,9 +68,16 @@ public class ClienteController {
     @FXML
     private Button adicionarVeiculoBtn;
 
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int LIMITE_BUSCA = 200;
+
     private final ClienteService clienteService = new ClienteService();
+    private final ClienteAsyncService clienteAsyncService = new ClienteAsyncService(clienteService);
     private final VeiculoService veiculoService = new VeiculoService();
-    private ObservableList<Cliente> clientes = FXCollections.observableArrayList();
+    private final VeiculoAsyncService veiculoAsyncService = new VeiculoAsyncService(veiculoService);
+    private final TaskScope tarefas = new TaskScope();
+    private SearchPipeline<List<Cliente>> busca;
+    private PaginatedTableLoader<Cliente> clientes;
     private Cliente clienteSelecionado;
 
     @FXML
@@ -84,45 +95,42 @@ public class ClienteController {
             }
         });
 
-        // Busca ao digitar
+        // Busca indexada (FTS5) disparada quando o usuário para de digitar; só o
+        // resultado do texto mais recente chega à tabela
+        busca = new SearchPipeline<>(
+                texto -> clienteAsyncService.buscarClientes(texto, LIMITE_BUSCA),
+                resultado -> clientes.showAll(resultado),
+                e -> mostrarErro("Erro ao filtrar clientes: ", e));
         searchField.textProperty().addListener((obs, oldValue, newValue) -> filtrarClientes(newValue));
 
-        // Carrega clientes
+        // Carrega clientes página por página conforme a rolagem
+        clientes = new PaginatedTableLoader<>(clienteTable, TAMANHO_PAGINA,
+                e -> showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar clientes: " + e.getMessage()));
         carregarClientes();
 
         // Desabilita detalhes inicialmente
         detalhesPane.setDisable(true);
     }
 
+    @Override
+    public void onLeave() {
+        tarefas.cancelAll();
+        busca.cancel();
+        clientes.cancel();
+    }
+
     private void carregarClientes() {
-        try {
-            List<Cliente> listaClientes = clienteService.listarTodos();
-            clientes.clear();
-            clientes.addAll(listaClientes);
-            clienteTable.setItems(clientes);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar clientes: " + e.getMessage());
-        }
+        busca.cancel();
+        clientes.load(clienteAsyncService::listarPagina);
     }
 
     private void filtrarClientes(String filtro) {
-        if (filtro == null || filtro.isEmpty()) {
+        if (filtro == null || filtro.isBlank()) {
             carregarClientes();
             return;
         }
 
-        try {
-            List<Cliente> todos = clienteService.listarTodos();
-            List<Cliente> filtrados = todos.stream()
-                    .filter(c -> c.getNome().toLowerCase().contains(filtro.toLowerCase()) ||
-                            c.getNumeroTelefone().contains(filtro))
-                    .toList();
-
-            clientes.clear();
-            clientes.addAll(filtrados);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao filtrar clientes: " + e.getMessage());
-        }
+        busca.submit(filtro.trim());
     }
 
     private void carregarDetalhesCliente(Cliente cliente) {
@@ -140,21 +148,21 @@ public class ClienteController {
     private void carregarVeiculosCliente(String clienteId) {
         veiculosContainer.getChildren().clear();
 
-        try {
-            List<Veiculo> veiculos = veiculoService.listarVeiculosPorCliente(clienteId);
-
-            if (veiculos.isEmpty()) {
-                Label emptyLabel = new Label("Nenhum veículo cadastrado");
-                emptyLabel.setStyle("-fx-text-fill: #95A5A6; -fx-font-style: italic;");
-                veiculosContainer.getChildren().add(emptyLabel);
-            } else {
-                for (Veiculo veiculo : veiculos) {
-                    veiculosContainer.getChildren().add(criarVeiculoCard(veiculo));
-                }
-            }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar veículos: " + e.getMessage());
-        }
+        // Trocar de cliente descarta os veículos do cliente anterior ainda em carga
+        tarefas.latest("veiculos", veiculoAsyncService.listarVeiculosPorCliente(clienteId))
+                .thenAccept(veiculos -> {
+                    veiculosContainer.getChildren().clear();
+                    if (veiculos.isEmpty()) {
+                        Label emptyLabel = new Label("Nenhum veículo cadastrado");
+                        emptyLabel.setStyle("-fx-text-fill: #95A5A6; -fx-font-style: italic;");
+                        veiculosContainer.getChildren().add(emptyLabel);
+                    } else {
+                        for (Veiculo veiculo : veiculos) {
+                            veiculosContainer.getChildren().add(criarVeiculoCard(veiculo));
+                        }
+                    }
+                })
+                .exceptionally(e -> mostrarErro("Erro ao carregar veículos: ", e));
     }
 
     private HBox criarVeiculoCard(Veiculo veiculo) {
@@ -402,6 +410,13 @@ public class ClienteController {
         return dialog;
     }
 
+    private Void mostrarErro(String mensagem, Throwable erro) {
+        if (!TaskScope.isCancellation(erro)) {
+            showAlert(Alert.AlertType.ERROR, "Erro", mensagem + AsyncExecutors.unwrap(erro).getMessage());
+        }
+        return null;
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
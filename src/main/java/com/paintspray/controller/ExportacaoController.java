@@ -0,0 +1,253 @@
+package com.paintspray.controller;
+
+import com.paintspray.enums.StatusServico;
+import com.paintspray.enums.TipoExportacao;
+import com.paintspray.model.Cliente;
+import com.paintspray.repository.FiltroServicos;
+import com.paintspray.service.ClienteAsyncService;
+import com.paintspray.service.ExportacaoService;
+import com.paintspray.util.AsyncExecutors;
+import com.paintspray.util.TaskScope;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Controller do diálogo de exportação CSV. A exportação roda em um
+ * {@link Task} em segundo plano; a barra de progresso e o texto acompanham o
+ * progresso do Task, que o JavaFX repassa à interface sem enfileirar uma
+ * atualização por linha.
+ */
+public class ExportacaoController {
+
+    @FXML
+    private VBox exportacaoContainer;
+
+    @FXML
+    private GridPane filtrosGrid;
+
+    @FXML
+    private ComboBox<TipoExportacao> tipoCombo;
+
+    @FXML
+    private ComboBox<Cliente> clienteCombo;
+
+    @FXML
+    private ComboBox<StatusServico> statusCombo;
+
+    @FXML
+    private DatePicker inicioPicker;
+
+    @FXML
+    private DatePicker fimPicker;
+
+    @FXML
+    private ProgressBar progressBar;
+
+    @FXML
+    private Label progressoLabel;
+
+    @FXML
+    private Button exportarBtn;
+
+    @FXML
+    private Button cancelarBtn;
+
+    private final ClienteAsyncService clienteAsyncService = new ClienteAsyncService();
+    private final ExportacaoService exportacaoService = new ExportacaoService();
+    private final TaskScope tarefas = new TaskScope();
+    private Task<Long> exportacao;
+
+    @FXML
+    private void initialize() {
+        tipoCombo.getItems().setAll(TipoExportacao.values());
+        tipoCombo.setValue(TipoExportacao.SERVICOS);
+        tipoCombo.setOnAction(e -> atualizarFiltros());
+
+        // O item null representa "sem filtro"
+        statusCombo.getItems().add(null);
+        statusCombo.getItems().addAll(StatusServico.values());
+        statusCombo.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(StatusServico status, boolean empty) {
+                super.updateItem(status, empty);
+                setText(empty ? null : status == null ? "Todos" : status.getDescricao());
+            }
+        });
+        statusCombo.setButtonCell(new ListCell<>() {
+            @Override
+            protected void updateItem(StatusServico status, boolean empty) {
+                super.updateItem(status, empty);
+                setText(status == null ? "Todos" : status.getDescricao());
+            }
+        });
+
+        clienteCombo.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(Cliente cliente, boolean empty) {
+                super.updateItem(cliente, empty);
+                setText(empty ? null : cliente == null ? "Todos" : cliente.getNome());
+            }
+        });
+        clienteCombo.setButtonCell(new ListCell<>() {
+            @Override
+            protected void updateItem(Cliente cliente, boolean empty) {
+                super.updateItem(cliente, empty);
+                setText(cliente == null ? "Todos" : cliente.getNome());
+            }
+        });
+        carregarClientes();
+
+        // Fechar a janela durante a exportação a cancela
+        exportacaoContainer.sceneProperty().addListener((obs, antiga, cena) -> {
+            if (cena != null) {
+                cena.windowProperty().addListener((o, anterior, janela) -> {
+                    if (janela != null) {
+                        janela.setOnCloseRequest(e -> encerrar());
+                    }
+                });
+            }
+        });
+    }
+
+    private void carregarClientes() {
+        clienteCombo.setDisable(true);
+        tarefas.track(clienteAsyncService.listarTodos())
+                .thenAccept(clientes -> {
+                    clienteCombo.getItems().setAll(clientes);
+                    clienteCombo.getItems().add(0, null);
+                    clienteCombo.setDisable(false);
+                })
+                .exceptionally(e -> {
+                    if (!TaskScope.isCancellation(e)) {
+                        showAlert(Alert.AlertType.ERROR, "Erro",
+                                "Erro ao carregar clientes: " + AsyncExecutors.unwrap(e).getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    private void atualizarFiltros() {
+        boolean servicos = tipoCombo.getValue() == TipoExportacao.SERVICOS;
+        statusCombo.setDisable(!servicos);
+        inicioPicker.setDisable(!servicos);
+        fimPicker.setDisable(!servicos);
+    }
+
+    @FXML
+    private void handleExportar() {
+        TipoExportacao tipo = tipoCombo.getValue();
+        LocalDate inicio = inicioPicker.getValue();
+        LocalDate fim = fimPicker.getValue();
+        if (inicio != null && fim != null && fim.isBefore(inicio)) {
+            showAlert(Alert.AlertType.WARNING, "Aviso", "A data final deve ser igual ou posterior à inicial.");
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Salvar exportação");
+        chooser.setInitialFileName(tipo.getArquivoPadrao());
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File arquivo = chooser.showSaveDialog(exportacaoContainer.getScene().getWindow());
+        if (arquivo == null) {
+            return;
+        }
+
+        Cliente cliente = clienteCombo.getValue();
+        boolean servicos = tipo == TipoExportacao.SERVICOS;
+        // O dia final entra inteiro no período
+        FiltroServicos filtro = new FiltroServicos(
+                servicos ? statusCombo.getValue() : null,
+                servicos ? inicioDoDia(inicio) : null,
+                servicos && fim != null ? inicioDoDia(fim.plusDays(1)) : null,
+                cliente != null ? cliente.getId() : null);
+
+        exportacao = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                return exportacaoService.exportar(tipo, arquivo.toPath(), filtro, (linhas, total) -> {
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    updateProgress(linhas, Math.max(total, 1));
+                    updateMessage(String.format("%,d de %,d linhas", linhas, total));
+                });
+            }
+        };
+        exportacao.setOnSucceeded(e -> {
+            terminar();
+            progressoLabel.setText(String.format("%,d linhas exportadas para %s",
+                    exportacao.getValue(), arquivo.getName()));
+        });
+        exportacao.setOnCancelled(e -> {
+            terminar();
+            progressBar.setProgress(0);
+            progressoLabel.setText("Exportação cancelada");
+        });
+        exportacao.setOnFailed(e -> {
+            terminar();
+            progressBar.setProgress(0);
+            progressoLabel.setText("Exportação não concluída");
+            showAlert(Alert.AlertType.ERROR, "Erro",
+                    "Erro ao exportar: " + exportacao.getException().getMessage());
+        });
+
+        progressBar.progressProperty().bind(exportacao.progressProperty());
+        progressoLabel.textProperty().bind(exportacao.messageProperty());
+        filtrosGrid.setDisable(true);
+        exportarBtn.setDisable(true);
+        cancelarBtn.setText("Cancelar");
+        AsyncExecutors.execute(exportacao);
+    }
+
+    @FXML
+    private void handleCancelar() {
+        if (exportacao != null && exportacao.isRunning()) {
+            exportacao.cancel(false);
+            return;
+        }
+        encerrar();
+        Stage stage = (Stage) exportacaoContainer.getScene().getWindow();
+        stage.close();
+    }
+
+    /**
+     * Volta o diálogo ao estado de edição depois de uma exportação.
+     */
+    private void terminar() {
+        progressBar.progressProperty().unbind();
+        progressoLabel.textProperty().unbind();
+        filtrosGrid.setDisable(false);
+        exportarBtn.setDisable(false);
+        cancelarBtn.setText("Fechar");
+    }
+
+    private void encerrar() {
+        tarefas.cancelAll();
+        if (exportacao != null && exportacao.isRunning()) {
+            exportacao.cancel(false);
+        }
+    }
+
+    private static Instant inicioDoDia(LocalDate data) {
+        return data != null ? data.atStartOfDay(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
+    }
+}
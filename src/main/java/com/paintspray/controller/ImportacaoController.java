@@ -0,0 +1,168 @@
+package com.paintspray.controller;
+
+import com.paintspray.enums.TipoImportacao;
+import com.paintspray.service.ImportacaoService;
+import com.paintspray.util.AsyncExecutors;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.control.*;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+
+import java.io.File;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Controller do diálogo de importação CSV. A importação roda em um
+ * {@link Task} em segundo plano; como o total de linhas só é conhecido no
+ * fim, a barra fica indeterminada e o texto mostra as linhas processadas.
+ * Cancelar mantém o que já foi gravado: importar o mesmo arquivo de novo
+ * continua de onde parou.
+ */
+public class ImportacaoController {
+
+    @FXML
+    private VBox importacaoContainer;
+
+    @FXML
+    private GridPane opcoesGrid;
+
+    @FXML
+    private ComboBox<TipoImportacao> tipoCombo;
+
+    @FXML
+    private Label colunasLabel;
+
+    @FXML
+    private ProgressBar progressBar;
+
+    @FXML
+    private Label progressoLabel;
+
+    @FXML
+    private Button importarBtn;
+
+    @FXML
+    private Button cancelarBtn;
+
+    private final ImportacaoService importacaoService = new ImportacaoService();
+    private Task<ImportacaoService.Resultado> importacao;
+
+    @FXML
+    private void initialize() {
+        tipoCombo.getItems().setAll(TipoImportacao.values());
+        tipoCombo.setValue(TipoImportacao.CLIENTES);
+        tipoCombo.setOnAction(e -> atualizarColunas());
+        atualizarColunas();
+
+        // Fechar a janela durante a importação a cancela
+        importacaoContainer.sceneProperty().addListener((obs, antiga, cena) -> {
+            if (cena != null) {
+                cena.windowProperty().addListener((o, anterior, janela) -> {
+                    if (janela != null) {
+                        janela.setOnCloseRequest(e -> encerrar());
+                    }
+                });
+            }
+        });
+    }
+
+    private void atualizarColunas() {
+        colunasLabel.setText("Colunas: " + String.join(", ", tipoCombo.getValue().getColunasObrigatorias()));
+    }
+
+    @FXML
+    private void handleImportar() {
+        TipoImportacao tipo = tipoCombo.getValue();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Importar " + tipo.getDescricao().toLowerCase());
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV", "*.csv"));
+        File arquivo = chooser.showOpenDialog(importacaoContainer.getScene().getWindow());
+        if (arquivo == null) {
+            return;
+        }
+
+        importacao = new Task<>() {
+            @Override
+            protected ImportacaoService.Resultado call() throws Exception {
+                return importacaoService.importar(tipo, arquivo.toPath(), (linhas, importadas, rejeitadas) -> {
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    updateMessage(String.format("%,d linhas: %,d importadas, %,d recusadas",
+                            linhas, importadas, rejeitadas));
+                });
+            }
+        };
+        importacao.setOnSucceeded(e -> {
+            terminar();
+            progressBar.setProgress(1);
+            ImportacaoService.Resultado resultado = importacao.getValue();
+            StringBuilder texto = new StringBuilder(String.format("%,d linhas: %,d importadas, %,d recusadas",
+                    resultado.linhas(), resultado.importadas(), resultado.rejeitadas()));
+            if (resultado.retomadaDaLinha() > 0) {
+                texto.append(String.format(" (retomada depois da linha %,d)", resultado.retomadaDaLinha()));
+            }
+            if (resultado.relatorio() != null) {
+                texto.append("\nLinhas recusadas em ").append(resultado.relatorio().getFileName());
+            }
+            progressoLabel.setText(texto.toString());
+        });
+        importacao.setOnCancelled(e -> {
+            terminar();
+            progressBar.setProgress(0);
+            progressoLabel.setText("Importação interrompida; importe o mesmo arquivo para continuar");
+        });
+        importacao.setOnFailed(e -> {
+            terminar();
+            progressBar.setProgress(0);
+            progressoLabel.setText("Importação não concluída");
+            showAlert(Alert.AlertType.ERROR, "Erro",
+                    "Erro ao importar: " + importacao.getException().getMessage());
+        });
+
+        progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+        progressoLabel.textProperty().bind(importacao.messageProperty());
+        opcoesGrid.setDisable(true);
+        importarBtn.setDisable(true);
+        cancelarBtn.setText("Cancelar");
+        AsyncExecutors.execute(importacao);
+    }
+
+    @FXML
+    private void handleCancelar() {
+        if (importacao != null && importacao.isRunning()) {
+            importacao.cancel(false);
+            return;
+        }
+        encerrar();
+        Stage stage = (Stage) importacaoContainer.getScene().getWindow();
+        stage.close();
+    }
+
+    /**
+     * Volta o diálogo ao estado de edição depois de uma importação.
+     */
+    private void terminar() {
+        progressoLabel.textProperty().unbind();
+        opcoesGrid.setDisable(false);
+        importarBtn.setDisable(false);
+        cancelarBtn.setText("Fechar");
+    }
+
+    private void encerrar() {
+        if (importacao != null && importacao.isRunning()) {
+            importacao.cancel(false);
+        }
+    }
+
+    private void showAlert(Alert.AlertType type, String title, String content) {
+        Alert alert = new Alert(type);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(content);
+        alert.showAndWait();
+    }
+}
@@ -0,0 +1,163 @@
+package com.paintspray.controller;
+
+import com.paintspray.model.Servico;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.util.Callback;
+
+import java.util.List;
+
+/**
+ * Coluna do quadro Kanban: cabeçalho com a contagem e os serviços do mais
+ * recente (maior ID) para o mais antigo. Quando a coluna tem limite, o
+ * cabeçalho mostra quantos cards estão visíveis e o total do status
+ * ({@link #setTotal}).
+ * <p>
+ * Os cards ficam em um {@link ListView}, que só cria nós para as linhas
+ * visíveis e os reaproveita na rolagem: a memória e o layout da coluna não
+ * crescem com a quantidade de serviços. Os serviços são incluídos, trocados e
+ * removidos um a um, para que a mudança de um serviço não reconstrua a coluna.
+ */
+public final class KanbanColumn {
+
+    private final VBox node = new VBox(10);
+    private final Label countLabel = new Label();
+    private final ObservableList<Servico> servicos = FXCollections.observableArrayList();
+    private final ListView<Servico> lista = new ListView<>(servicos);
+    private final int limite;
+    private int total = -1;
+
+    /**
+     * @param titulo           Título exibido no cabeçalho
+     * @param limite           Máximo de serviços; os mais antigos saem primeiro
+     * @param fabricaDeCelulas Cria as células que desenham os cards
+     */
+    public KanbanColumn(String titulo, int limite,
+            Callback<ListView<Servico>, ListCell<Servico>> fabricaDeCelulas) {
+        this.limite = limite;
+
+        node.getStyleClass().add("kanban-column");
+        node.setPrefWidth(280);
+        node.setMinHeight(400);
+
+        HBox header = new HBox(10);
+        header.setAlignment(Pos.CENTER_LEFT);
+        Label titleLabel = new Label(titulo);
+        titleLabel.getStyleClass().add("kanban-column-header");
+        countLabel.setStyle("-fx-text-fill: #7F8C8D;");
+        header.getChildren().addAll(titleLabel, countLabel);
+
+        lista.getStyleClass().add("kanban-list");
+        lista.setCellFactory(fabricaDeCelulas);
+        lista.setFocusTraversable(false);
+        VBox.setVgrow(lista, Priority.ALWAYS);
+
+        node.getChildren().addAll(header, lista);
+        atualizarContagem();
+    }
+
+    public VBox getNode() {
+        return node;
+    }
+
+    /**
+     * Substitui todos os serviços (carga inicial). A lista já vem ordenada.
+     */
+    public void setAll(List<Servico> novos) {
+        servicos.setAll(novos.size() > limite ? novos.subList(0, limite) : novos);
+        atualizarContagem();
+    }
+
+    /**
+     * Inclui o serviço na posição do ID, ou troca o serviço se ele já estiver
+     * na coluna.
+     */
+    public void add(Servico servico) {
+        int posicao = buscar(servico.getIdServico());
+        if (posicao >= 0) {
+            servicos.set(posicao, servico);
+            return;
+        }
+
+        int insercao = -posicao - 1;
+        if (insercao >= limite) {
+            return;
+        }
+        servicos.add(insercao, servico);
+        if (servicos.size() > limite) {
+            servicos.remove(servicos.size() - 1);
+        }
+        atualizarContagem();
+    }
+
+    /**
+     * Troca o serviço, se ele estiver na coluna.
+     */
+    public void replace(Servico servico) {
+        int posicao = buscar(servico.getIdServico());
+        if (posicao >= 0) {
+            servicos.set(posicao, servico);
+        }
+    }
+
+    /**
+     * Remove o serviço, se ele estiver na coluna.
+     */
+    public void remove(int idServico) {
+        int posicao = buscar(idServico);
+        if (posicao >= 0) {
+            servicos.remove(posicao);
+            atualizarContagem();
+        }
+    }
+
+    public int size() {
+        return servicos.size();
+    }
+
+    /**
+     * Total de serviços do status no banco, que pode passar do limite da
+     * coluna.
+     */
+    public void setTotal(int total) {
+        this.total = total;
+        atualizarContagem();
+    }
+
+    private void atualizarContagem() {
+        if (total > size()) {
+            countLabel.setText("(" + size() + " de " + total + ")");
+        } else {
+            countLabel.setText("(" + size() + ")");
+        }
+    }
+
+    /**
+     * Busca binária pelo ID (a lista está em ordem decrescente de ID).
+     *
+     * @return Índice do serviço, ou {@code -(ponto de inserção) - 1} se ausente
+     */
+    private int buscar(int idServico) {
+        int inicio = 0;
+        int fim = servicos.size() - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int id = servicos.get(meio).getIdServico();
+            if (id == idServico) {
+                return meio;
+            } else if (id > idServico) {
+                inicio = meio + 1;
+            } else {
+                fim = meio - 1;
+            }
+        }
+        return -inicio - 1;
+    }
+}
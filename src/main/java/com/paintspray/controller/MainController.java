@@ -1,9 +1,15 @@
 package com.paintspray.controller;
 
 import com.paintspray.MainApplication;
+import com.paintspray.event.EventBus;
+import com.paintspray.event.ServicoEvent;
+import com.paintspray.model.ResumoStatus;
 import com.paintspray.model.Servico;
+import com.paintspray.service.ServicoAsyncService;
 import com.paintspray.service.ServicoService;
 import com.paintspray.enums.StatusServico;
+import com.paintspray.util.AsyncExecutors;
+import com.paintspray.util.TaskScope;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
@@ -17,8 +23,9 @@ import javafx.stage.Stage;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.io.IOException;
-import java.sql.SQLException;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Controller da tela principal (Dashboard)
@@ -46,7 +53,16 @@ public class MainController {
     @FXML
     private Label welcomeLabel;
 
-    private final ServicoService servicoService = new ServicoService();
+    private final ServicoAsyncService servicoAsyncService = new ServicoAsyncService();
+    private final TaskScope dashboardTarefas = new TaskScope();
+    private ScopedView telaAtual;
+
+    // Estado do dashboard aberto, atualizado pelos eventos de serviço
+    private EventBus.Subscription dashboardInscricao;
+    private final Map<StatusServico, KanbanColumn> colunas = new EnumMap<>(StatusServico.class);
+    private final Map<StatusServico, Integer> contagens = new EnumMap<>(StatusServico.class);
+    private final Map<StatusServico, Label> kpiValores = new EnumMap<>(StatusServico.class);
+    private Label kpiTotal;
 
     @FXML
     private void initialize() {
@@ -61,24 +77,28 @@ public class MainController {
 
     @FXML
     private void handleDashboard() {
+        sairDaTelaAtual();
         setActiveButton(dashboardBtn);
         loadDashboardView();
     }
 
     @FXML
     private void handleClientes() {
+        sairDaTelaAtual();
         setActiveButton(clientesBtn);
         loadClientesView();
     }
 
     @FXML
     private void handleServicos() {
+        sairDaTelaAtual();
         setActiveButton(servicosBtn);
         loadServicosView();
     }
 
     @FXML
     private void handleLogout() {
+        sairDaTelaAtual();
         SessionManager.logout();
         try {
             MainApplication.loadLoginScene();
@@ -87,6 +107,46 @@ public class MainController {
         }
     }
 
+    @FXML
+    private void handleExportar() {
+        try {
+            FXMLLoader loader = new FXMLLoader(
+                    getClass().getResource("/com/paintspray/fxml/exportacao.fxml"));
+            Parent root = loader.load();
+
+            Stage dialog = new Stage();
+            dialog.setTitle("Exportar CSV");
+            dialog.initModality(Modality.APPLICATION_MODAL);
+            dialog.initOwner(mainBorderPane.getScene().getWindow());
+            dialog.setScene(new Scene(root));
+            dialog.setResizable(false);
+            dialog.showAndWait();
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    private void handleImportar() {
+        try {
+            FXMLLoader loader = new FXMLLoader(
+                    getClass().getResource("/com/paintspray/fxml/importacao.fxml"));
+            Parent root = loader.load();
+
+            Stage dialog = new Stage();
+            dialog.setTitle("Importar CSV");
+            dialog.initModality(Modality.APPLICATION_MODAL);
+            dialog.initOwner(mainBorderPane.getScene().getWindow());
+            dialog.setScene(new Scene(root));
+            dialog.setResizable(false);
+            dialog.showAndWait();
+
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
     @FXML
     private void handleNovaOrdem() {
         try {
@@ -101,23 +161,34 @@ public class MainController {
             dialog.setScene(new Scene(root));
             dialog.setResizable(false);
 
+            // A nova ordem chega às telas abertas pelo evento de serviço criado
             dialog.showAndWait();
 
-            // Recarrega dashboard após fechar
-            if (dashboardBtn.getStyleClass().contains("active")) {
-                loadDashboardView();
-            }
-
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Cancela as cargas pendentes da tela que está sendo deixada, para que
+     * resultados atrasados não cheguem a uma tela que já não está visível.
+     */
+    private void sairDaTelaAtual() {
+        pararDashboard();
+        if (telaAtual != null) {
+            telaAtual.onLeave();
+            telaAtual = null;
+        }
+    }
+
     /**
      * Carrega a visualização do Dashboard (Kanban)
      */
     private void loadDashboardView() {
+        // Uma recarga substitui a anterior que ainda não terminou
+        pararDashboard();
         contentArea.getChildren().clear();
+        dashboardInscricao = EventBus.getInstance().subscribe(ServicoEvent.class, this::aplicarNoDashboard);
 
         // KPIs no topo
         HBox kpiBox = createKPICards();
@@ -132,6 +203,78 @@ public class MainController {
         contentArea.getChildren().add(scrollPane);
     }
 
+    /**
+     * Cancela as cargas e a inscrição de eventos do dashboard.
+     */
+    private void pararDashboard() {
+        dashboardTarefas.cancelAll();
+        if (dashboardInscricao != null) {
+            dashboardInscricao.cancel();
+            dashboardInscricao = null;
+        }
+        colunas.clear();
+        contagens.clear();
+        kpiValores.clear();
+        kpiTotal = null;
+    }
+
+    /**
+     * Atualiza só o card, as colunas e os indicadores afetados pela mudança.
+     */
+    private void aplicarNoDashboard(ServicoEvent evento) {
+        if (kpiTotal == null || colunas.isEmpty()) {
+            // A carga em andamento pode ter lido o banco antes da mudança
+            loadDashboardView();
+            return;
+        }
+
+        Servico servico = evento.servico();
+        switch (evento) {
+            case ServicoEvent.Criado criado -> {
+                contar(servico.getStatus(), 1);
+                adicionarAoQuadro(servico);
+            }
+            case ServicoEvent.StatusAlterado alterado -> moverNoQuadro(servico, alterado.anterior());
+            case ServicoEvent.Cancelado cancelado -> moverNoQuadro(servico, cancelado.anterior());
+            case ServicoEvent.Atualizado atualizado -> {
+                KanbanColumn coluna = colunas.get(servico.getStatus());
+                if (coluna != null) {
+                    coluna.replace(servico);
+                }
+            }
+            case ServicoEvent.Removido removido -> {
+                contar(servico.getStatus(), -1);
+                removerDoQuadro(servico.getIdServico(), servico.getStatus());
+            }
+        }
+        atualizarKPIs();
+    }
+
+    private void moverNoQuadro(Servico servico, StatusServico anterior) {
+        contar(anterior, -1);
+        contar(servico.getStatus(), 1);
+        removerDoQuadro(servico.getIdServico(), anterior);
+        adicionarAoQuadro(servico);
+    }
+
+    private void adicionarAoQuadro(Servico servico) {
+        KanbanColumn coluna = colunas.get(servico.getStatus());
+        if (coluna != null) {
+            coluna.add(servico);
+        }
+    }
+
+    private void removerDoQuadro(int idServico, StatusServico status) {
+        KanbanColumn coluna = colunas.get(status);
+        if (coluna != null) {
+            coluna.remove(idServico);
+        }
+    }
+
+    private void contar(StatusServico status, int delta) {
+        contagens.merge(status, delta, Integer::sum);
+    }
+
     /**
      * Cria os cards de KPI (indicadores)
      */
@@ -140,28 +283,54 @@ public class MainController {
         kpiBox.setAlignment(Pos.CENTER);
         kpiBox.setPadding(new Insets(20, 20, 10, 20));
 
-        try {
-            int total = servicoService.listarTodos().size();
-            int pendentes = servicoService.listarServicosPendentes().size();
-            int emAndamento = servicoService.listarServicosEmAndamento().size();
-            int finalizados = servicoService.listarServicosFinalizados().size();
-
-            kpiBox.getChildren().addAll(
-                    createKPICard("Total de Serviços", String.valueOf(total), "#3498DB", "mdi2c-clipboard-text"),
-                    createKPICard("Pendentes", String.valueOf(pendentes), "#F39C12", "mdi2c-clock-outline"),
-                    createKPICard("Em Andamento", String.valueOf(emAndamento), "#2980B9", "mdi2p-progress-wrench"),
-                    createKPICard("Finalizados", String.valueOf(finalizados), "#27AE60", "mdi2c-check-circle"));
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        // Uma única consulta agregada por status alimenta todos os cards; depois
+        // disso os eventos de serviço ajustam as contagens
+        dashboardTarefas.track(servicoAsyncService.resumoPorStatus())
+                .thenAccept(resumo -> {
+                    resumo.forEach((status, valores) -> contagens.put(status, valores.quantidade()));
+                    kpiTotal = new Label();
+                    kpiBox.getChildren().addAll(
+                            createKPICard("Total de Serviços", kpiTotal, "#3498DB", "mdi2c-clipboard-text"),
+                            createKPICard("Pendentes", kpiValor(StatusServico.PENDENTE),
+                                    "#F39C12", "mdi2c-clock-outline"),
+                            createKPICard("Em Andamento", kpiValor(StatusServico.EM_ANDAMENTO),
+                                    "#2980B9", "mdi2p-progress-wrench"),
+                            createKPICard("Finalizados", kpiValor(StatusServico.FINALIZADO),
+                                    "#27AE60", "mdi2c-check-circle"));
+                    atualizarKPIs();
+                })
+                .exceptionally(this::registrarErro);
 
         return kpiBox;
     }
 
+    private Label kpiValor(StatusServico status) {
+        Label valor = new Label();
+        kpiValores.put(status, valor);
+        return valor;
+    }
+
+    private void atualizarKPIs() {
+        kpiTotal.setText(String.valueOf(contagens.values().stream().mapToInt(Integer::intValue).sum()));
+        kpiValores.forEach((status, valor) -> valor.setText(String.valueOf(contagens.getOrDefault(status, 0))));
+        atualizarTotaisDoQuadro();
+    }
+
+    /**
+     * Leva as contagens do resumo para os cabeçalhos das colunas; a coluna de
+     * finalizados só mostra os mais recentes, mas o total é o do banco.
+     */
+    private void atualizarTotaisDoQuadro() {
+        if (contagens.isEmpty()) {
+            return;
+        }
+        colunas.forEach((status, coluna) -> coluna.setTotal(contagens.getOrDefault(status, 0)));
+    }
+
     /**
      * Cria um card de KPI individual
      */
-    private VBox createKPICard(String label, String value, String color, String iconLiteral) {
+    private VBox createKPICard(String label, Label valueLabel, String color, String iconLiteral) {
         VBox card = new VBox(10);
         card.getStyleClass().add("kpi-card");
         card.setAlignment(Pos.CENTER);
@@ -172,7 +341,6 @@ public class MainController {
         icon.setIconSize(32);
         icon.setIconColor(javafx.scene.paint.Color.web(color));
 
-        Label valueLabel = new Label(value);
         valueLabel.setStyle("-fx-font-size: 28px; -fx-font-weight: bold; -fx-text-fill: " + color + ";");
 
         Label titleLabel = new Label(label);
@@ -190,44 +358,54 @@ public class MainController {
         kanban.setPadding(new Insets(20));
         kanban.setAlignment(Pos.TOP_LEFT);
 
-        try {
-            List<Servico> pendentes = servicoService.listarServicosPendentes();
-            List<Servico> emAndamento = servicoService.listarServicosEmAndamento();
-            List<Servico> aguardando = servicoService.listarServicosAguardandoPagamento();
-            List<Servico> finalizados = servicoService.listarServicosFinalizados();
-
-            kanban.getChildren().addAll(
-                    createKanbanColumn("Pendente", pendentes, "pendente"),
-                    createKanbanColumn("Em Andamento", emAndamento, "em-andamento"),
-                    createKanbanColumn("Aguardando Pagamento", aguardando, "aguardando-pagamento"),
-                    createKanbanColumn("Finalizado", finalizados, "finalizado"));
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        // Uma única consulta traz as quatro colunas já separadas por status
+        dashboardTarefas.track(servicoAsyncService.carregarQuadro())
+                .thenAccept(quadro -> {
+                    colunas.put(StatusServico.PENDENTE,
+                            createKanbanColumn("Pendente", StatusServico.PENDENTE, Integer.MAX_VALUE));
+                    colunas.put(StatusServico.EM_ANDAMENTO,
+                            createKanbanColumn("Em Andamento", StatusServico.EM_ANDAMENTO, Integer.MAX_VALUE));
+                    colunas.put(StatusServico.AGUARDANDO_PAGAMENTO,
+                            createKanbanColumn("Aguardando Pagamento", StatusServico.AGUARDANDO_PAGAMENTO,
+                                    Integer.MAX_VALUE));
+                    colunas.put(StatusServico.FINALIZADO,
+                            createKanbanColumn("Finalizado", StatusServico.FINALIZADO,
+                                    ServicoService.FINALIZADOS_NO_QUADRO));
+
+                    colunas.forEach((status, coluna) -> {
+                        coluna.setAll(quadro.get(status));
+                        kanban.getChildren().add(coluna.getNode());
+                    });
+                    // O resumo pode ter chegado antes do quadro
+                    atualizarTotaisDoQuadro();
+                })
+                .exceptionally(this::registrarErro);
 
         return kanban;
     }
 
     /**
-     * Cria uma coluna do Kanban com suporte a drop
+     * Cria uma coluna do Kanban com suporte a drop. A coluna só aceita o card
+     * se a tabela de transições de {@link StatusServico} permitir a mudança,
+     * sem consultar o banco durante o arraste.
      */
-    private VBox createKanbanColumn(String title, List<Servico> servicos, String statusClass) {
-        VBox column = new VBox(10);
-        column.getStyleClass().add("kanban-column");
-        column.setPrefWidth(280);
-        column.setMinHeight(400);
-        column.setUserData(statusClass); // Armazena o status da coluna
+    private KanbanColumn createKanbanColumn(String title, StatusServico status, int limite) {
+        String statusClass = status.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        KanbanColumn coluna = new KanbanColumn(title, limite,
+                lista -> new ServicoCardCell(statusClass, this::mostrarDetalhesServico));
+        VBox column = coluna.getNode();
+        column.setUserData(status); // Armazena o status da coluna
 
         // Configurar drop target
         column.setOnDragOver(event -> {
-            if (event.getGestureSource() != column && event.getDragboard().hasString()) {
+            if (podeSoltar(event, status)) {
                 event.acceptTransferModes(javafx.scene.input.TransferMode.MOVE);
             }
             event.consume();
         });
 
         column.setOnDragEntered(event -> {
-            if (event.getGestureSource() != column && event.getDragboard().hasString()) {
+            if (podeSoltar(event, status)) {
                 column.setStyle("-fx-background-color: rgba(41, 128, 185, 0.1);");
             }
             event.consume();
@@ -239,102 +417,45 @@ public class MainController {
         });
 
         column.setOnDragDropped(event -> {
-            javafx.scene.input.Dragboard db = event.getDragboard();
             boolean success = false;
-            if (db.hasString()) {
-                int servicoId = Integer.parseInt(db.getString());
-                StatusServico novoStatus = mapStatusClassToEnum(statusClass);
-
-                try {
-                    Servico servico = servicoService.exibirServico(servicoId);
-
-                    // Validações de transição
-                    if (!validarTransicaoStatus(servico.getStatus(), novoStatus)) {
-                        servicoService.atualizarStatusServico(servicoId, novoStatus);
-                        loadDashboardView(); // Recarrega o dashboard
-                        success = true;
-                    } else {
-                        showAlert(javafx.scene.control.Alert.AlertType.WARNING, "Transição Inválida",
-                                "Não é possível mover este serviço para este status.");
-                    }
-                } catch (Exception e) {
-                    showAlert(javafx.scene.control.Alert.AlertType.ERROR, "Erro",
-                            "Erro ao atualizar status: " + e.getMessage());
-                    e.printStackTrace();
-                }
+            if (podeSoltar(event, status)) {
+                int servicoId = Integer.parseInt(event.getDragboard().getString());
+
+                // A gravação roda em segundo plano; o gesto termina agora e o
+                // evento de status alterado move o card
+                dashboardTarefas.track(servicoAsyncService.atualizarStatusServico(servicoId, status))
+                        .exceptionally(e -> {
+                            if (!TaskScope.isCancellation(e)) {
+                                Throwable causa = AsyncExecutors.unwrap(e);
+                                if (causa instanceof IllegalStateException) {
+                                    // O serviço mudou de status depois que o arraste começou
+                                    showAlert(javafx.scene.control.Alert.AlertType.WARNING, "Transição Inválida",
+                                            "Não é possível mover este serviço para este status.");
+                                } else {
+                                    showAlert(javafx.scene.control.Alert.AlertType.ERROR, "Erro",
+                                            "Erro ao atualizar status: " + causa.getMessage());
+                                    causa.printStackTrace();
+                                }
+                            }
+                            return null;
+                        });
+                success = true;
             }
             event.setDropCompleted(success);
             event.consume();
         });
 
-        // Header da coluna
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-        Label titleLabel = new Label(title);
-        titleLabel.getStyleClass().add("kanban-column-header");
-        Label countLabel = new Label("(" + servicos.size() + ")");
-        countLabel.setStyle("-fx-text-fill: #7F8C8D;");
-        header.getChildren().addAll(titleLabel, countLabel);
-
-        column.getChildren().add(header);
-
-        // Cards de serviço
-        for (Servico servico : servicos) {
-            column.getChildren().add(createServiceCard(servico, statusClass));
-        }
-
-        return column;
+        return coluna;
     }
 
     /**
-     * Cria um card de serviço com drag-and-drop
+     * Verifica se o card arrastado pode ser solto na coluna do status informado.
      */
-    private VBox createServiceCard(Servico servico, String statusClass) {
-        VBox card = new VBox(8);
-        card.getStyleClass().addAll("status-card", statusClass);
-        card.setPadding(new Insets(12));
-        card.setUserData(servico); // Armazena o serviço no card
-
-        // Configurar drag source
-        card.setOnDragDetected(event -> {
-            javafx.scene.input.Dragboard db = card.startDragAndDrop(javafx.scene.input.TransferMode.MOVE);
-            javafx.scene.input.ClipboardContent content = new javafx.scene.input.ClipboardContent();
-            content.putString(String.valueOf(servico.getIdServico()));
-            db.setContent(content);
-            card.setOpacity(0.5);
-            event.consume();
-        });
-
-        card.setOnDragDone(event -> {
-            card.setOpacity(1.0);
-            event.consume();
-        });
-
-        // Tipo de serviço (título)
-        Label tipoLabel = new Label(servico.getTipo().getDescricao());
-        tipoLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-
-        // Descrição
-        Label descLabel = new Label(servico.getDescricao());
-        descLabel.setStyle("-fx-text-fill: #7F8C8D; -fx-font-size: 12px;");
-        descLabel.setWrapText(true);
-
-        // Preço
-        Label precoLabel = new Label(String.format("R$ %.2f", servico.getPreco()));
-        precoLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #27AE60;");
-
-        // Badge de status
-        Label statusBadge = new Label(servico.getStatus().getDescricao());
-        statusBadge.getStyleClass().addAll("badge", "badge-" + statusClass);
-
-        card.getChildren().addAll(tipoLabel, descLabel, precoLabel, statusBadge);
-
-        // Ação ao clicar
-        card.setOnMouseClicked(event -> {
-            mostrarDetalhesServico(servico);
-        });
-
-        return card;
+    private static boolean podeSoltar(javafx.scene.input.DragEvent event, StatusServico destino) {
+        return event.getGestureSource() instanceof ServicoCardCell celula
+                && celula.getItem() != null
+                && event.getDragboard().hasString()
+                && celula.getItem().getStatus().podeMudarPara(destino);
     }
 
     /**
@@ -369,6 +490,9 @@ public class MainController {
             FXMLLoader loader = new FXMLLoader(
                     getClass().getResource("/com/paintspray/fxml/clientes.fxml"));
             Parent clientesView = loader.load();
+            if (loader.getController() instanceof ScopedView tela) {
+                telaAtual = tela;
+            }
 
             contentArea.getChildren().clear();
             contentArea.getChildren().add(clientesView);
@@ -388,6 +512,9 @@ public class MainController {
             FXMLLoader loader = new FXMLLoader(
                     getClass().getResource("/com/paintspray/fxml/servicos.fxml"));
             Parent servicosView = loader.load();
+            if (loader.getController() instanceof ScopedView tela) {
+                telaAtual = tela;
+            }
 
             contentArea.getChildren().clear();
             contentArea.getChildren().add(servicosView);
@@ -435,7 +562,7 @@ public class MainController {
         info.getChildren().addAll(
                 criarInfoRow("Tipo:", servico.getTipo().getDescricao()),
                 criarInfoRow("Descrição:", servico.getDescricao()),
-                criarInfoRow("Preço:", String.format("R$ %.2f", servico.getPreco())),
+                criarInfoRow("Preço:", servico.getPreco().toString()),
                 criarInfoRow("Pagamento:", servico.getFormaPagamento().getDescricao()),
                 new Separator(),
                 criarInfoRow("Veículo:", String.format("%s - %s (%d)",
@@ -480,41 +607,13 @@ public class MainController {
     }
 
     /**
-     * Mapeia a classe CSS do status para o enum correspondente
-     */
-    private StatusServico mapStatusClassToEnum(String statusClass) {
-        return switch (statusClass) {
-            case "pendente" -> StatusServico.PENDENTE;
-            case "em-andamento" -> StatusServico.EM_ANDAMENTO;
-            case "aguardando-pagamento" -> StatusServico.AGUARDANDO_PAGAMENTO;
-            case "finalizado" -> StatusServico.FINALIZADO;
-            case "cancelado" -> StatusServico.CANCELADO;
-            default -> null;
-        };
-    }
-
-    /**
-     * Valida se a transição entre status é inválida
-     * Retorna true se a transição for INVÁLIDA, false se for VÁLIDA
+     * Registra falhas das cargas do dashboard, ignorando cancelamentos
      */
-    private boolean validarTransicaoStatus(StatusServico atual, StatusServico novo) {
-        // Se for para o mesmo status, é inválido
-        if (atual == novo) {
-            return true;
+    private Void registrarErro(Throwable erro) {
+        if (!TaskScope.isCancellation(erro)) {
+            AsyncExecutors.unwrap(erro).printStackTrace();
         }
-
-        // Permite cancelar de qualquer status (exceto já cancelado)
-        if (novo == StatusServico.CANCELADO && atual != StatusServico.CANCELADO) {
-            return false;
-        }
-
-        // Validações de fluxo normal - retorna true se NÃO for permitido
-        return switch (atual) {
-            case PENDENTE -> novo != StatusServico.EM_ANDAMENTO && novo != StatusServico.CANCELADO;
-            case EM_ANDAMENTO -> novo != StatusServico.AGUARDANDO_PAGAMENTO && novo != StatusServico.CANCELADO;
-            case AGUARDANDO_PAGAMENTO -> novo != StatusServico.FINALIZADO && novo != StatusServico.CANCELADO;
-            case FINALIZADO, CANCELADO -> true; // Não permite alterar serviços finalizados ou cancelados
-        };
+        return null;
     }
 
     /**
@@ -3,11 +3,14 @@ package com.paintspray.controller;
 import com.paintspray.enums.FormaPagamento;
 import com.paintspray.enums.TipoServico;
 import com.paintspray.model.Cliente;
+import com.paintspray.model.Dinheiro;
 import com.paintspray.model.Usuario;
 import com.paintspray.model.Veiculo;
-import com.paintspray.service.ClienteService;
+import com.paintspray.service.ClienteAsyncService;
 import com.paintspray.service.ServicoService;
-import com.paintspray.service.VeiculoService;
+import com.paintspray.service.VeiculoAsyncService;
+import com.paintspray.util.AsyncExecutors;
+import com.paintspray.util.TaskScope;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -17,7 +20,6 @@ import javafx.stage.Stage;
 import org.kordamp.ikonli.javafx.FontIcon;
 
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * Controller do formulário de Nova Ordem de Serviço (Wizard em 3 etapas)
@@ -74,9 +76,10 @@ public class NovaOrdemController {
     private Button finalizarBtn;
 
     private int etapaAtual = 1;
-    private final ClienteService clienteService = new ClienteService();
-    private final VeiculoService veiculoService = new VeiculoService();
+    private final ClienteAsyncService clienteAsyncService = new ClienteAsyncService();
+    private final VeiculoAsyncService veiculoAsyncService = new VeiculoAsyncService();
     private final ServicoService servicoService = new ServicoService();
+    private final TaskScope tarefas = new TaskScope();
 
     @FXML
     private void initialize() {
@@ -159,13 +162,13 @@ public class NovaOrdemController {
     }
 
     private void carregarClientes() {
-        try {
-            List<Cliente> clientes = clienteService.listarTodos();
-            clienteCombo.getItems().clear();
-            clienteCombo.getItems().addAll(clientes);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar clientes: " + e.getMessage());
-        }
+        clienteCombo.setDisable(true);
+        tarefas.track(clienteAsyncService.listarTodos())
+                .thenAccept(clientes -> {
+                    clienteCombo.getItems().setAll(clientes);
+                    clienteCombo.setDisable(false);
+                })
+                .exceptionally(e -> mostrarErro("Erro ao carregar clientes: ", e));
     }
 
     private void carregarVeiculosDoCliente() {
@@ -176,19 +179,21 @@ public class NovaOrdemController {
             return;
         }
 
-        try {
-            List<Veiculo> veiculos = veiculoService.listarVeiculosPorCliente(clienteSelecionado.getId());
-            veiculoCombo.getItems().clear();
-            veiculoCombo.getItems().addAll(veiculos);
-            veiculoCombo.setDisable(veiculos.isEmpty());
+        veiculoCombo.getItems().clear();
+        veiculoCombo.setDisable(true);
 
-            if (veiculos.isEmpty()) {
-                showAlert(Alert.AlertType.WARNING, "Aviso",
-                        "Este cliente não possui veículos cadastrados.\nCadastre um veículo primeiro.");
-            }
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar veículos: " + e.getMessage());
-        }
+        // Só os veículos do último cliente selecionado chegam ao combo
+        tarefas.latest("veiculos", veiculoAsyncService.listarVeiculosPorCliente(clienteSelecionado.getId()))
+                .thenAccept(veiculos -> {
+                    veiculoCombo.getItems().setAll(veiculos);
+                    veiculoCombo.setDisable(veiculos.isEmpty());
+
+                    if (veiculos.isEmpty()) {
+                        showAlert(Alert.AlertType.WARNING, "Aviso",
+                                "Este cliente não possui veículos cadastrados.\nCadastre um veículo primeiro.");
+                    }
+                })
+                .exceptionally(e -> mostrarErro("Erro ao carregar veículos: ", e));
     }
 
     @FXML
@@ -229,7 +234,7 @@ public class NovaOrdemController {
             Veiculo veiculo = veiculoCombo.getValue();
             TipoServico tipo = tipoServicoCombo.getValue();
             String descricao = descricaoArea.getText();
-            double preco = Double.parseDouble(precoField.getText());
+            Dinheiro preco = Dinheiro.parse(precoField.getText());
             FormaPagamento formaPagamento = formaPagamentoCombo.getValue();
             Usuario usuario = SessionManager.getUsuarioLogado();
 
@@ -336,8 +341,8 @@ public class NovaOrdemController {
                     return false;
                 }
                 try {
-                    double preco = Double.parseDouble(precoField.getText());
-                    if (preco < 0) {
+                    Dinheiro preco = Dinheiro.parse(precoField.getText());
+                    if (preco.isNegativo()) {
                         showAlert(Alert.AlertType.WARNING, "Atenção", "Preço não pode ser negativo.");
                         return false;
                     }
@@ -357,10 +362,18 @@ public class NovaOrdemController {
     }
 
     private void fecharDialog() {
+        tarefas.cancelAll();
         Stage stage = (Stage) wizardContainer.getScene().getWindow();
         stage.close();
     }
 
+    private Void mostrarErro(String mensagem, Throwable erro) {
+        if (!TaskScope.isCancellation(erro)) {
+            showAlert(Alert.AlertType.ERROR, "Erro", mensagem + AsyncExecutors.unwrap(erro).getMessage());
+        }
+        return null;
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -0,0 +1,11 @@
+package com.paintspray.controller;
+
+/**
+ * Tela exibida na área de conteúdo do {@link MainController}.
+ * Ao navegar para outra tela o MainController chama {@link #onLeave()}, que
+ * deve cancelar as cargas assíncronas ainda em andamento.
+ */
+public interface ScopedView {
+
+    void onLeave();
+}
@@ -0,0 +1,89 @@
+package com.paintspray.controller;
+
+import com.paintspray.model.Servico;
+import javafx.geometry.Insets;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.Dragboard;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.TransferMode;
+import javafx.scene.layout.VBox;
+
+import java.util.function.Consumer;
+
+/**
+ * Célula de uma {@link KanbanColumn}: desenha o card de um serviço.
+ * <p>
+ * A lista só cria células para as linhas visíveis e as reaproveita na
+ * rolagem, então o card é montado uma vez e {@link #updateItem} apenas troca
+ * os textos. Arrastar o card leva o ID do serviço no {@link Dragboard}, como
+ * os cards do quadro sempre fizeram.
+ */
+public final class ServicoCardCell extends ListCell<Servico> {
+
+    private final VBox card = new VBox(8);
+    private final Label tipoLabel = new Label();
+    private final Label descLabel = new Label();
+    private final Label precoLabel = new Label();
+    private final Label statusBadge = new Label();
+
+    /**
+     * @param statusClass Classe CSS do status da coluna (ex.: "pendente")
+     * @param aoClicar    Ação ao clicar no card
+     */
+    public ServicoCardCell(String statusClass, Consumer<Servico> aoClicar) {
+        card.getStyleClass().addAll("status-card", statusClass);
+        card.setPadding(new Insets(12));
+
+        tipoLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        descLabel.setStyle("-fx-text-fill: #7F8C8D; -fx-font-size: 12px;");
+        descLabel.setWrapText(true);
+        precoLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #27AE60;");
+        statusBadge.getStyleClass().addAll("badge", "badge-" + statusClass);
+
+        card.getChildren().addAll(tipoLabel, descLabel, precoLabel, statusBadge);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+
+        // Configurar drag source
+        setOnDragDetected(event -> {
+            if (isEmpty()) {
+                return;
+            }
+            Dragboard db = startDragAndDrop(TransferMode.MOVE);
+            ClipboardContent content = new ClipboardContent();
+            content.putString(String.valueOf(getItem().getIdServico()));
+            db.setContent(content);
+            card.setOpacity(0.5);
+            event.consume();
+        });
+
+        setOnDragDone(event -> {
+            card.setOpacity(1.0);
+            event.consume();
+        });
+
+        // Ação ao clicar
+        setOnMouseClicked(event -> {
+            if (!isEmpty() && event.getButton() == MouseButton.PRIMARY) {
+                aoClicar.accept(getItem());
+            }
+        });
+    }
+
+    @Override
+    protected void updateItem(Servico servico, boolean empty) {
+        super.updateItem(servico, empty);
+        if (empty || servico == null) {
+            setGraphic(null);
+            return;
+        }
+
+        tipoLabel.setText(servico.getTipo().getDescricao());
+        descLabel.setText(servico.getDescricao());
+        precoLabel.setText(servico.getPreco().toString());
+        statusBadge.setText(servico.getStatus().getDescricao());
+        setGraphic(card);
+    }
+}
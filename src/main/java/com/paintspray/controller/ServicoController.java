@@ -1,10 +1,16 @@
 package com.paintspray.controller;
 
 import com.paintspray.enums.StatusServico;
+import com.paintspray.event.EventBus;
+import com.paintspray.event.ServicoEvent;
+import com.paintspray.model.Dinheiro;
 import com.paintspray.model.Servico;
+import com.paintspray.service.ServicoAsyncService;
 import com.paintspray.service.ServicoService;
-import com.paintspray.service.ClienteService;
-import javafx.collections.FXCollections;
+import com.paintspray.util.AsyncExecutors;
+import com.paintspray.util.PaginatedTableLoader;
+import com.paintspray.util.SearchPipeline;
+import com.paintspray.util.TaskScope;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
@@ -22,7 +28,7 @@ import java.util.Optional;
 /**
  * Controller da tela de Ordens de Serviço (Lista completa)
  */
-public class ServicoController {
+public class ServicoController implements ScopedView {
 
     @FXML
     private TextField searchField;
@@ -43,7 +49,7 @@ public class ServicoController {
     private TableColumn<Servico, String> descricaoColumn;
 
     @FXML
-    private TableColumn<Servico, Double> precoColumn;
+    private TableColumn<Servico, Dinheiro> precoColumn;
 
     @FXML
     private TableColumn<Servico, String> statusColumn;
@@ -54,9 +60,14 @@ public class ServicoController {
     @FXML
     private TableColumn<Servico, String> clienteColumn;
 
+    private static final int TAMANHO_PAGINA = 100;
+    private static final int LIMITE_BUSCA = 200;
+
     private final ServicoService servicoService = new ServicoService();
-    private final ClienteService clienteService = new ClienteService();
-    private ObservableList<Servico> servicos = FXCollections.observableArrayList();
+    private final ServicoAsyncService servicoAsyncService = new ServicoAsyncService(servicoService);
+    private PaginatedTableLoader<Servico> servicos;
+    private SearchPipeline<List<Servico>> busca;
+    private EventBus.Subscription inscricao;
 
     @FXML
     private void initialize() {
@@ -70,25 +81,21 @@ public class ServicoController {
                 cellData.getValue().getStatus().getDescricao()));
         veiculoColumn.setCellValueFactory(cellData -> new javafx.beans.property.SimpleStringProperty(
                 cellData.getValue().getVeiculo().getModelo() + " - " + cellData.getValue().getVeiculo().getCor()));
+        // O nome do cliente já vem na consulta do serviço: a célula não acessa o banco
         clienteColumn.setCellValueFactory(cellData -> {
-            try {
-                String idCliente = cellData.getValue().getVeiculo().getIdCliente();
-                String nomeCliente = clienteService.buscarClientePorId(idCliente).getNome();
-                return new javafx.beans.property.SimpleStringProperty(nomeCliente);
-            } catch (Exception e) {
-                return new javafx.beans.property.SimpleStringProperty("N/A");
-            }
+            String nomeCliente = cellData.getValue().getNomeCliente();
+            return new javafx.beans.property.SimpleStringProperty(nomeCliente != null ? nomeCliente : "N/A");
         });
 
         // Formata coluna de preço
         precoColumn.setCellFactory(col -> new TableCell<>() {
             @Override
-            protected void updateItem(Double preco, boolean empty) {
+            protected void updateItem(Dinheiro preco, boolean empty) {
                 super.updateItem(preco, empty);
                 if (empty || preco == null) {
                     setText(null);
                 } else {
-                    setText(String.format("R$ %.2f", preco));
+                    setText(preco.toString());
                 }
             }
         });
@@ -124,8 +131,19 @@ public class ServicoController {
                 "Aguardando Pagamento", "Finalizado", "Cancelado");
         statusFilterCombo.setValue("Todos");
 
-        // Listener para busca
-        searchField.textProperty().addListener((obs, oldValue, newValue) -> filtrarServicos());
+        // Busca indexada (FTS5) com os resultados mais relevantes, disparada quando
+        // o usuário para de digitar; só o resultado do texto mais recente chega à tabela
+        busca = new SearchPipeline<>(
+                texto -> servicoAsyncService.buscarServicos(texto, statusSelecionado(), LIMITE_BUSCA),
+                resultado -> servicos.showAll(resultado),
+                e -> mostrarErro("Erro ao filtrar serviços: ", e));
+        searchField.textProperty().addListener((obs, oldValue, newValue) -> {
+            if (newValue.isBlank()) {
+                filtrarServicos();
+            } else {
+                busca.submit(newValue.trim());
+            }
+        });
         statusFilterCombo.setOnAction(e -> filtrarServicos());
 
         // Double-click para abrir detalhes
@@ -135,48 +153,100 @@ public class ServicoController {
             }
         });
 
-        // Carrega serviços
+        // Carrega serviços página por página conforme a rolagem
+        servicos = new PaginatedTableLoader<>(servicoTable, TAMANHO_PAGINA,
+                e -> showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar serviços: " + e.getMessage()));
         carregarServicos();
+
+        // Mudanças feitas aqui, no quadro ou na nova ordem atualizam só a linha afetada
+        inscricao = EventBus.getInstance().subscribe(ServicoEvent.class, this::aplicarNaTabela);
+    }
+
+    @Override
+    public void onLeave() {
+        inscricao.cancel();
+        busca.cancel();
+        servicos.cancel();
     }
 
     private void carregarServicos() {
-        try {
-            List<Servico> lista = servicoService.listarTodos();
-            servicos.clear();
-            servicos.addAll(lista);
-            servicoTable.setItems(servicos);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao carregar serviços: " + e.getMessage());
-        }
+        filtrarServicos();
     }
 
     private void filtrarServicos() {
-        String busca = searchField.getText().toLowerCase();
-        String statusFiltro = statusFilterCombo.getValue();
+        String texto = searchField.getText().trim();
+        StatusServico status = statusSelecionado();
 
-        try {
-            List<Servico> todos = servicoService.listarTodos();
-            List<Servico> filtrados = todos.stream()
-                    .filter(s -> {
-                        boolean matchBusca = busca.isEmpty() ||
-                                s.getDescricao().toLowerCase().contains(busca) ||
-                                s.getTipo().getDescricao().toLowerCase().contains(busca) ||
-                                s.getVeiculo().getModelo().toLowerCase().contains(busca);
-
-                        boolean matchStatus = statusFiltro.equals("Todos") ||
-                                s.getStatus().getDescricao().equals(statusFiltro);
-
-                        return matchBusca && matchStatus;
-                    })
-                    .toList();
-
-            servicos.clear();
-            servicos.addAll(filtrados);
-        } catch (SQLException e) {
-            showAlert(Alert.AlertType.ERROR, "Erro", "Erro ao filtrar serviços: " + e.getMessage());
+        // Com texto a busca roda na hora (troca de status, recarga após uma ação)
+        if (!texto.isEmpty()) {
+            busca.searchNow(texto);
+            return;
+        }
+
+        // Sem texto de busca o filtro de status vai para o banco e a lista é paginada
+        busca.cancel();
+        if (status == null) {
+            servicos.load(servicoAsyncService::listarPagina);
+        } else {
+            servicos.load((ultimo, tamanho) -> servicoAsyncService.listarPaginaPorStatus(status, ultimo, tamanho));
+        }
+    }
+
+    /**
+     * Atualiza, inclui ou retira a linha do serviço conforme o filtro de status.
+     * Com texto de busca, serviços que não estão na lista não são incluídos,
+     * já que não se sabe se casam com o texto.
+     */
+    private void aplicarNaTabela(ServicoEvent evento) {
+        Servico servico = evento.servico();
+        ObservableList<Servico> itens = servicos.getItems();
+        StatusServico status = statusSelecionado();
+        boolean visivel = !(evento instanceof ServicoEvent.Removido)
+                && (status == null || servico.getStatus() == status);
+
+        int indice = indiceDe(servico.getIdServico());
+        if (indice >= 0) {
+            if (visivel) {
+                itens.set(indice, servico);
+            } else {
+                itens.remove(indice);
+            }
+        } else if (visivel && searchField.getText().isBlank()) {
+            inserirEmOrdem(servico);
         }
     }
 
+    private int indiceDe(int idServico) {
+        List<Servico> itens = servicos.getItems();
+        for (int i = 0; i < itens.size(); i++) {
+            if (itens.get(i).getIdServico() == idServico) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inclui o serviço na posição do ID (lista decrescente). Se ele cair depois
+     * da última linha e ainda houver páginas, vem com a próxima página.
+     */
+    private void inserirEmOrdem(Servico servico) {
+        List<Servico> itens = servicos.getItems();
+        int posicao = 0;
+        while (posicao < itens.size() && itens.get(posicao).getIdServico() > servico.getIdServico()) {
+            posicao++;
+        }
+        if (posicao == itens.size() && servicos.hasNext()) {
+            return;
+        }
+        itens.add(posicao, servico);
+    }
+
+    private StatusServico statusSelecionado() {
+        String statusFiltro = statusFilterCombo.getValue();
+        return statusFiltro.equals("Todos") ? null : StatusServico.fromString(statusFiltro);
+    }
+
     @FXML
     private void handleDetalhes() {
         Servico selecionado = servicoTable.getSelectionModel().getSelectedItem();
@@ -196,14 +266,13 @@ public class ServicoController {
             return;
         }
 
-        if (selecionado.getStatus() != StatusServico.PENDENTE) {
+        if (!selecionado.getStatus().podeMudarPara(StatusServico.EM_ANDAMENTO)) {
             showAlert(Alert.AlertType.WARNING, "Atenção", "Apenas serviços pendentes podem ser iniciados.");
             return;
         }
 
         try {
             servicoService.iniciarServico(selecionado.getIdServico());
-            carregarServicos();
             showAlert(Alert.AlertType.INFORMATION, "Sucesso", "Serviço iniciado!");
         } catch (SQLException | IllegalStateException e) {
             showAlert(Alert.AlertType.ERROR, "Erro", e.getMessage());
@@ -218,15 +287,14 @@ public class ServicoController {
             return;
         }
 
-        if (selecionado.getStatus() == StatusServico.FINALIZADO ||
-                selecionado.getStatus() == StatusServico.CANCELADO) {
-            showAlert(Alert.AlertType.WARNING, "Atenção", "Este serviço já foi finalizado ou cancelado.");
+        if (!selecionado.getStatus().podeMudarPara(StatusServico.FINALIZADO)) {
+            showAlert(Alert.AlertType.WARNING, "Atenção",
+                    "Apenas serviços em andamento ou aguardando pagamento podem ser concluídos.");
             return;
         }
 
         try {
             servicoService.concluirServico(selecionado.getIdServico());
-            carregarServicos();
             showAlert(Alert.AlertType.INFORMATION, "Sucesso", "Serviço concluído!");
         } catch (SQLException | IllegalStateException e) {
             showAlert(Alert.AlertType.ERROR, "Erro", e.getMessage());
@@ -249,7 +317,6 @@ public class ServicoController {
         if (confirmacao.showAndWait().orElse(ButtonType.CANCEL) == ButtonType.OK) {
             try {
                 servicoService.cancelarServico(selecionado.getIdServico());
-                carregarServicos();
                 showAlert(Alert.AlertType.INFORMATION, "Sucesso", "Serviço cancelado!");
             } catch (SQLException | IllegalStateException e) {
                 showAlert(Alert.AlertType.ERROR, "Erro", e.getMessage());
@@ -290,7 +357,7 @@ public class ServicoController {
         info.getChildren().addAll(
                 criarInfoRow("Tipo:", servico.getTipo().getDescricao()),
                 criarInfoRow("Descrição:", servico.getDescricao()),
-                criarInfoRow("Preço:", String.format("R$ %.2f", servico.getPreco())),
+                criarInfoRow("Preço:", servico.getPreco().toString()),
                 criarInfoRow("Pagamento:", servico.getFormaPagamento().getDescricao()),
                 new Separator(),
                 criarInfoRow("Veículo:", String.format("%s - %s (%d)",
@@ -320,6 +387,13 @@ public class ServicoController {
         return row;
     }
 
+    private Void mostrarErro(String mensagem, Throwable erro) {
+        if (!TaskScope.isCancellation(erro)) {
+            showAlert(Alert.AlertType.ERROR, "Erro", mensagem + AsyncExecutors.unwrap(erro).getMessage());
+        }
+        return null;
+    }
+
     private void showAlert(Alert.AlertType type, String title, String content) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
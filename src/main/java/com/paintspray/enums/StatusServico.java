@@ -1,8 +1,21 @@
 package com.paintspray.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enum para definir os status de um serviço no sistema.
  * Representa o pipeline de trabalho da oficina.
+ * <p>
+ * As transições permitidas ficam em uma tabela calculada uma vez
+ * ({@link #podeMudarPara}, {@link #origensPara}); o quadro Kanban, o
+ * {@code ServicoService} e as alterações condicionais do repositório usam a
+ * mesma tabela.
  */
 public enum StatusServico {
     PENDENTE("Pendente"),
@@ -11,30 +24,85 @@ public enum StatusServico {
     CANCELADO("Cancelado"),
     FINALIZADO("Finalizado");
 
+    private static final Map<String, StatusServico> POR_TEXTO = new HashMap<>();
+    private static final Map<StatusServico, Set<StatusServico>> DESTINOS = new EnumMap<>(StatusServico.class);
+    private static final Map<StatusServico, Set<StatusServico>> ORIGENS = new EnumMap<>(StatusServico.class);
+
+    static {
+        for (StatusServico status : values()) {
+            POR_TEXTO.put(status.descricao.toLowerCase(Locale.ROOT), status);
+            POR_TEXTO.put(status.name().toLowerCase(Locale.ROOT), status);
+        }
+
+        permitir(PENDENTE, EM_ANDAMENTO, CANCELADO);
+        permitir(EM_ANDAMENTO, AGUARDANDO_PAGAMENTO, FINALIZADO, CANCELADO);
+        permitir(AGUARDANDO_PAGAMENTO, FINALIZADO, CANCELADO);
+        // Finalizado e cancelado são estados finais
+        permitir(FINALIZADO);
+        permitir(CANCELADO);
+
+        for (StatusServico destino : values()) {
+            EnumSet<StatusServico> origens = EnumSet.noneOf(StatusServico.class);
+            DESTINOS.forEach((origem, destinos) -> {
+                if (destinos.contains(destino)) {
+                    origens.add(origem);
+                }
+            });
+            ORIGENS.put(destino, Collections.unmodifiableSet(origens));
+        }
+    }
+
     private final String descricao;
 
     StatusServico(String descricao) {
         this.descricao = descricao;
     }
 
+    private static void permitir(StatusServico origem, StatusServico... destinos) {
+        EnumSet<StatusServico> conjunto = EnumSet.noneOf(StatusServico.class);
+        Collections.addAll(conjunto, destinos);
+        DESTINOS.put(origem, Collections.unmodifiableSet(conjunto));
+    }
+
     public String getDescricao() {
         return descricao;
     }
 
+    /**
+     * Verifica se um serviço neste status pode passar para o status informado.
+     */
+    public boolean podeMudarPara(StatusServico destino) {
+        return DESTINOS.get(this).contains(destino);
+    }
+
+    /**
+     * Status para os quais um serviço neste status pode passar.
+     */
+    public Set<StatusServico> getDestinos() {
+        return DESTINOS.get(this);
+    }
+
+    /**
+     * Status a partir dos quais um serviço pode chegar ao status informado.
+     */
+    public static Set<StatusServico> origensPara(StatusServico destino) {
+        return ORIGENS.get(destino);
+    }
+
     /**
      * Converte uma string para o enum correspondente.
      * 
-     * @param texto O texto a ser convertido
+     * @param texto O texto a ser convertido (descrição ou nome, sem diferenciar
+     *              maiúsculas)
      * @return O enum correspondente
      * @throws IllegalArgumentException se o texto não corresponder a nenhum enum
      */
     public static StatusServico fromString(String texto) {
-        for (StatusServico status : StatusServico.values()) {
-            if (status.descricao.equalsIgnoreCase(texto) || status.name().equalsIgnoreCase(texto)) {
-                return status;
-            }
+        StatusServico status = texto != null ? POR_TEXTO.get(texto.toLowerCase(Locale.ROOT)) : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Status inválido: " + texto);
         }
-        throw new IllegalArgumentException("Status inválido: " + texto);
+        return status;
     }
 
     @Override
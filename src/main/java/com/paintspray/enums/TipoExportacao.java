@@ -0,0 +1,34 @@
+package com.paintspray.enums;
+
+/**
+ * Conjuntos de dados que podem ser exportados em CSV.
+ */
+public enum TipoExportacao {
+    SERVICOS("Ordens de serviço", "servicos.csv"),
+    CLIENTES("Clientes", "clientes.csv"),
+    VEICULOS("Veículos", "veiculos.csv");
+
+    private final String descricao;
+    private final String arquivoPadrao;
+
+    TipoExportacao(String descricao, String arquivoPadrao) {
+        this.descricao = descricao;
+        this.arquivoPadrao = arquivoPadrao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Nome sugerido para o arquivo exportado.
+     */
+    public String getArquivoPadrao() {
+        return arquivoPadrao;
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
@@ -0,0 +1,34 @@
+package com.paintspray.enums;
+
+/**
+ * Conjuntos de dados que podem ser importados de CSV. As colunas esperadas
+ * são as mesmas da exportação ({@link TipoExportacao}).
+ */
+public enum TipoImportacao {
+    CLIENTES("Clientes", "id", "nome", "endereco", "telefone"),
+    VEICULOS("Veículos", "modelo", "cor", "ano_fabricacao", "id_cliente");
+
+    private final String descricao;
+    private final String[] colunasObrigatorias;
+
+    TipoImportacao(String descricao, String... colunasObrigatorias) {
+        this.descricao = descricao;
+        this.colunasObrigatorias = colunasObrigatorias;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    /**
+     * Colunas que o cabeçalho do arquivo precisa ter (em qualquer ordem).
+     */
+    public String[] getColunasObrigatorias() {
+        return colunasObrigatorias.clone();
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
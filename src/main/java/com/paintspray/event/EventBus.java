@@ -0,0 +1,116 @@
+package com.paintspray.event;
+
+import com.paintspray.util.AsyncExecutors;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos do processo. Os services publicam o que mudou depois
+ * de gravar, e as telas abertas se inscrevem para atualizar só a parte
+ * afetada em vez de recarregar tudo.
+ * <p>
+ * Cada inscrição informa o tipo de evento (classe ou interface) e o executor
+ * em que quer recebê-lo; o padrão é a thread da interface, já que os eventos
+ * costumam ser publicados pelas threads de banco.
+ */
+public class EventBus {
+
+    private static final EventBus INSTANCE = new EventBus();
+
+    private final List<Inscricao<?>> inscricoes = new CopyOnWriteArrayList<>();
+
+    public static EventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Inscrição ativa no barramento.
+     */
+    public interface Subscription {
+        /**
+         * Deixa de receber eventos, inclusive os já publicados e ainda não
+         * entregues.
+         */
+        void cancel();
+    }
+
+    /**
+     * Recebe os eventos do tipo informado na thread da interface.
+     */
+    public <E> Subscription subscribe(Class<E> tipo, Consumer<? super E> listener) {
+        return subscribe(tipo, AsyncExecutors.FX, listener);
+    }
+
+    /**
+     * Recebe os eventos do tipo informado (e subtipos) no executor informado.
+     */
+    public <E> Subscription subscribe(Class<E> tipo, Executor executor, Consumer<? super E> listener) {
+        Inscricao<E> inscricao = new Inscricao<>(tipo, executor, listener);
+        inscricoes.add(inscricao);
+        return inscricao;
+    }
+
+    /**
+     * Entrega o evento a todas as inscrições compatíveis. Não espera os
+     * listeners terminarem.
+     */
+    public void publish(Object evento) {
+        for (Inscricao<?> inscricao : inscricoes) {
+            inscricao.entregar(evento);
+        }
+    }
+
+    /**
+     * Se alguma inscrição ativa receberia eventos do tipo informado. Permite
+     * pular a montagem de um evento caro quando ninguém está ouvindo.
+     */
+    public boolean hasSubscribers(Class<?> tipo) {
+        for (Inscricao<?> inscricao : inscricoes) {
+            if (inscricao.tipo.isAssignableFrom(tipo) || tipo.isAssignableFrom(inscricao.tipo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Inscricao<E> implements Subscription {
+
+        private final Class<E> tipo;
+        private final Executor executor;
+        private final Consumer<? super E> listener;
+        private volatile boolean ativa = true;
+
+        Inscricao(Class<E> tipo, Executor executor, Consumer<? super E> listener) {
+            this.tipo = tipo;
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        void entregar(Object evento) {
+            if (!tipo.isInstance(evento)) {
+                return;
+            }
+            E tipado = tipo.cast(evento);
+            executor.execute(() -> {
+                if (!ativa) {
+                    return;
+                }
+                // A falha de um listener não impede a entrega aos demais
+                try {
+                    listener.accept(tipado);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            ativa = false;
+            inscricoes.remove(this);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.paintspray.event;
+
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.Servico;
+
+/**
+ * Mudanças em ordens de serviço publicadas pelo {@code ServicoService} depois
+ * de gravadas. O serviço de cada evento já reflete o novo estado.
+ */
+public sealed interface ServicoEvent {
+
+    Servico servico();
+
+    /**
+     * Nova ordem de serviço cadastrada.
+     */
+    record Criado(Servico servico) implements ServicoEvent {
+    }
+
+    /**
+     * Status alterado por uma transição do fluxo (iniciar, concluir, mover no
+     * quadro).
+     */
+    record StatusAlterado(Servico servico, StatusServico anterior) implements ServicoEvent {
+    }
+
+    /**
+     * Ordem de serviço cancelada.
+     */
+    record Cancelado(Servico servico, StatusServico anterior) implements ServicoEvent {
+    }
+
+    /**
+     * Tipo, descrição, preço ou forma de pagamento alterados; o status é o mesmo.
+     */
+    record Atualizado(Servico servico) implements ServicoEvent {
+    }
+
+    /**
+     * Ordem de serviço excluída.
+     */
+    record Removido(Servico servico) implements ServicoEvent {
+    }
+}
@@ -0,0 +1,116 @@
+package com.paintspray.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor em reais guardado como centavos inteiros, para que somas de muitos
+ * serviços sejam exatas (sem o arredondamento acumulado de {@code double}).
+ * O banco guarda o mesmo número na coluna {@code preco_centavos}.
+ * <p>
+ * A formatação ({@code R$ 1.234,56}) escreve os dígitos direto no
+ * {@link StringBuilder}, sem {@code DecimalFormat} nem {@code String.format}.
+ *
+ * @param centavos Valor em centavos (pode ser negativo)
+ */
+public record Dinheiro(long centavos) implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    private static final String MOEDA = "R$ ";
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Converte o texto digitado pelo usuário. Aceita vírgula ou ponto como
+     * separador decimal, pontos de milhar e o prefixo "R$" (ex.: "150",
+     * "150,5", "1.234,56", "R$ 99.90").
+     *
+     * @throws NumberFormatException Se o texto não for um valor com até duas
+     *                               casas decimais
+     */
+    public static Dinheiro parse(String texto) {
+        if (texto == null) {
+            throw new NumberFormatException("Valor vazio");
+        }
+        String limpo = texto.replace("R$", "").trim();
+        int virgula = limpo.lastIndexOf(',');
+        if (virgula >= 0) {
+            // Formato brasileiro: pontos são separadores de milhar
+            limpo = limpo.substring(0, virgula).replace(".", "") + "." + limpo.substring(virgula + 1);
+        }
+        try {
+            BigDecimal valor = new BigDecimal(limpo).setScale(2, RoundingMode.UNNECESSARY);
+            return deCentavos(valor.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Valor com mais de duas casas decimais: " + texto);
+        }
+    }
+
+    public Dinheiro mais(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public boolean isNegativo() {
+        return centavos < 0;
+    }
+
+    /**
+     * Escreve o valor formatado ({@code R$ 1.234,56}) no destino.
+     *
+     * @return O próprio destino
+     */
+    public StringBuilder formatar(StringBuilder destino) {
+        long absoluto = Math.abs(centavos);
+        if (centavos < 0) {
+            destino.append('-');
+        }
+        destino.append(MOEDA);
+        acrescentarMilhares(destino, absoluto / 100);
+        long resto = absoluto % 100;
+        destino.append(',').append((char) ('0' + resto / 10)).append((char) ('0' + resto % 10));
+        return destino;
+    }
+
+    /**
+     * Escreve o valor sem moeda nem separador de milhar, com ponto decimal
+     * ({@code 1234.56}), para arquivos lidos por outros programas.
+     *
+     * @return O próprio destino
+     */
+    public StringBuilder formatarDecimal(StringBuilder destino) {
+        long absoluto = Math.abs(centavos);
+        if (centavos < 0) {
+            destino.append('-');
+        }
+        long resto = absoluto % 100;
+        destino.append(absoluto / 100).append('.')
+                .append((char) ('0' + resto / 10)).append((char) ('0' + resto % 10));
+        return destino;
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        return formatar(new StringBuilder(16)).toString();
+    }
+
+    private static void acrescentarMilhares(StringBuilder destino, long reais) {
+        if (reais < 1000) {
+            destino.append(reais);
+            return;
+        }
+        acrescentarMilhares(destino, reais / 1000);
+        long grupo = reais % 1000;
+        destino.append('.')
+                .append((char) ('0' + grupo / 100))
+                .append((char) ('0' + grupo / 10 % 10))
+                .append((char) ('0' + grupo % 10));
+    }
+}
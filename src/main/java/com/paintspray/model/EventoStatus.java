@@ -0,0 +1,16 @@
+package com.paintspray.model;
+
+import com.paintspray.enums.StatusServico;
+
+import java.time.Instant;
+
+/**
+ * Uma mudança de status registrada no histórico ({@code servico_eventos}).
+ *
+ * @param idServico ID do serviço
+ * @param anterior  Status de origem (null no cadastro do serviço)
+ * @param novo      Status de destino
+ * @param quando    Momento da mudança
+ */
+public record EventoStatus(int idServico, StatusServico anterior, StatusServico novo, Instant quando) {
+}
@@ -0,0 +1,36 @@
+package com.paintspray.model;
+
+import com.paintspray.enums.TipoImportacao;
+
+import java.time.Instant;
+
+/**
+ * Andamento de uma importação CSV ({@code importacoes}), usado para retomar
+ * um arquivo interrompido.
+ *
+ * @param chave           Identifica o arquivo (tipo, caminho, tamanho e data de modificação)
+ * @param tipo            Conjunto de dados importado
+ * @param linha           Última linha de dados já processada (0 antes de começar)
+ * @param importadas      Linhas gravadas até a linha processada
+ * @param rejeitadas      Linhas recusadas até a linha processada
+ * @param concluida       Se o arquivo foi lido até o fim
+ * @param dataAtualizacao Momento da última gravação
+ */
+public record Importacao(String chave, TipoImportacao tipo, long linha, long importadas, long rejeitadas,
+        boolean concluida, Instant dataAtualizacao) {
+
+    /**
+     * Importação ainda não iniciada.
+     */
+    public static Importacao nova(String chave, TipoImportacao tipo) {
+        return new Importacao(chave, tipo, 0, 0, 0, false, Instant.now());
+    }
+
+    /**
+     * Andamento depois de mais um bloco processado.
+     */
+    public Importacao avancar(long ultimaLinha, long novasImportadas, long novasRejeitadas, boolean fim) {
+        return new Importacao(chave, tipo, ultimaLinha, importadas + novasImportadas,
+                rejeitadas + novasRejeitadas, fim, Instant.now());
+    }
+}
@@ -0,0 +1,20 @@
+package com.paintspray.model;
+
+import java.time.Duration;
+
+/**
+ * Quanto tempo os serviços ficaram em um status, considerando só os trechos
+ * já encerrados (o serviço saiu do status).
+ *
+ * @param trechos Número de passagens pelo status
+ * @param total   Soma do tempo de todas as passagens
+ * @param maximo  Passagem mais longa
+ */
+public record PermanenciaStatus(long trechos, Duration total, Duration maximo) {
+
+    public static final PermanenciaStatus VAZIA = new PermanenciaStatus(0, Duration.ZERO, Duration.ZERO);
+
+    public Duration media() {
+        return trechos == 0 ? Duration.ZERO : total.dividedBy(trechos);
+    }
+}
@@ -0,0 +1,12 @@
+package com.paintspray.model;
+
+/**
+ * Quantidade de serviços e soma dos preços de um status.
+ *
+ * @param quantidade Número de serviços no status
+ * @param valorTotal Soma exata dos preços desses serviços (SUM no banco)
+ */
+public record ResumoStatus(int quantidade, Dinheiro valorTotal) {
+
+    public static final ResumoStatus VAZIO = new ResumoStatus(0, Dinheiro.ZERO);
+}
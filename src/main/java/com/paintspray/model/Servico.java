@@ -3,22 +3,28 @@ package com.paintspray.model;
 import com.paintspray.enums.StatusServico;
 import com.paintspray.enums.TipoServico;
 import com.paintspray.enums.FormaPagamento;
-import java.text.DecimalFormat;
+import java.time.Instant;
 
 public class Servico {
 
     private int idServico;
     private String descricao;
-    private double preco;
+    private Dinheiro preco = Dinheiro.ZERO;
     private StatusServico status;
     private FormaPagamento formaPagamento;
     private TipoServico tipo;
     private Veiculo veiculo;
     private Usuario usuario;
-    DecimalFormat df = new DecimalFormat("0.00");
+    // Nome do dono do veículo, preenchido pelas consultas (somente leitura)
+    private String nomeCliente;
+    // Momentos do ciclo de vida (nulos até a transição acontecer)
+    private Instant dataCriacao;
+    private Instant dataInicio;
+    private Instant dataConclusao;
+    private Instant dataCancelamento;
 
     // Construtor completo
-    public Servico(int idServico, TipoServico tipo, String descricao, double preco,
+    public Servico(int idServico, TipoServico tipo, String descricao, Dinheiro preco,
             StatusServico status, FormaPagamento formaPagamento, Veiculo veiculo, Usuario usuario) {
         this.idServico = idServico;
         this.tipo = tipo;
@@ -56,11 +62,11 @@ public class Servico {
         this.descricao = descricao;
     }
 
-    public double getPreco() {
+    public Dinheiro getPreco() {
         return preco;
     }
 
-    public void setPreco(double preco) {
+    public void setPreco(Dinheiro preco) {
         this.preco = preco;
     }
 
@@ -104,11 +110,51 @@ public class Servico {
         this.usuario = usuario;
     }
 
+    public String getNomeCliente() {
+        return nomeCliente;
+    }
+
+    public void setNomeCliente(String nomeCliente) {
+        this.nomeCliente = nomeCliente;
+    }
+
+    public Instant getDataCriacao() {
+        return dataCriacao;
+    }
+
+    public void setDataCriacao(Instant dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    public Instant getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(Instant dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public Instant getDataConclusao() {
+        return dataConclusao;
+    }
+
+    public void setDataConclusao(Instant dataConclusao) {
+        this.dataConclusao = dataConclusao;
+    }
+
+    public Instant getDataCancelamento() {
+        return dataCancelamento;
+    }
+
+    public void setDataCancelamento(Instant dataCancelamento) {
+        this.dataCancelamento = dataCancelamento;
+    }
+
     @Override
     public String toString() {
         return "ID: " + idServico +
                 "\nDescrição: " + descricao +
-                "\nPreço: R$" + df.format(preco) +
+                "\nPreço: " + preco +
                 "\nStatus: " + (status != null ? status.getDescricao() : "N/A") +
                 "\nForma de Pagamento: " + (formaPagamento != null ? formaPagamento.getDescricao() : "N/A") +
                 "\nTipo: " + (tipo != null ? tipo.getDescricao() : "N/A") +
@@ -0,0 +1,29 @@
+package com.paintspray.model;
+
+import com.paintspray.enums.StatusServico;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Período em que um serviço ficou em um status, montado a partir do
+ * histórico: começa no evento que o levou ao status e termina no evento
+ * seguinte.
+ *
+ * @param status  Status do período
+ * @param entrada Momento em que o serviço chegou ao status
+ * @param saida   Momento em que saiu dele (null se ainda estiver no status)
+ */
+public record TrechoStatus(StatusServico status, Instant entrada, Instant saida) {
+
+    public boolean isAberto() {
+        return saida == null;
+    }
+
+    /**
+     * Tempo no status; para o trecho aberto, conta até {@code agora}.
+     */
+    public Duration duracao(Instant agora) {
+        return Duration.between(entrada, saida != null ? saida : agora);
+    }
+}
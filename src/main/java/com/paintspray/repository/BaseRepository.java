@@ -1,215 +1,15 @@
 package com.paintspray.repository;
 
-import com.paintspray.config.DatabaseConnection;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Classe base para todos os repositórios.
- * Fornece funcionalidades comuns para operações CRUD.
+ * Classe base para os repositórios com CRUD completo.
+ * As operações JDBC comuns vêm de {@link JdbcRepository}.
  * 
  * @param <T> Tipo da entidade que o repositório manipula
  */
-public abstract class BaseRepository<T> {
-
-    protected DatabaseConnection databaseConnection;
-
-    protected BaseRepository() {
-        this.databaseConnection = DatabaseConnection.getInstance();
-    }
-
-    /**
-     * Obtém uma conexão com o banco de dados.
-     * 
-     * @return Conexão com o banco
-     * @throws SQLException Se houver erro na conexão
-     */
-    protected Connection getConnection() throws SQLException {
-        return databaseConnection.getConnection();
-    }
-
-    /**
-     * Executa uma query que não retorna resultados (INSERT, UPDATE, DELETE).
-     * 
-     * @param sql        Query SQL a ser executada
-     * @param parameters Parâmetros da query
-     * @return Número de linhas afetadas
-     * @throws SQLException Se houver erro na execução
-     */
-    protected int executeUpdate(String sql, Object... parameters) throws SQLException {
-        try (Connection connection = getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            setParameters(statement, parameters);
-            return statement.executeUpdate();
-        }
-    }
-
-    /**
-     * Executa uma query que retorna um único resultado.
-     * 
-     * @param sql        Query SQL a ser executada
-     * @param mapper     Função para mapear o ResultSet para o objeto
-     * @param parameters Parâmetros da query
-     * @return Objeto encontrado ou null se não encontrado
-     * @throws SQLException Se houver erro na execução
-     */
-    protected T findOne(String sql, ResultSetMapper<T> mapper, Object... parameters) throws SQLException {
-        try (Connection connection = getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            setParameters(statement, parameters);
-
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return mapper.map(resultSet);
-                }
-                return null;
-            }
-        }
-    }
-
-    /**
-     * Executa uma query que retorna múltiplos resultados.
-     * 
-     * @param sql        Query SQL a ser executada
-     * @param mapper     Função para mapear o ResultSet para o objeto
-     * @param parameters Parâmetros da query
-     * @return Lista de objetos encontrados
-     * @throws SQLException Se houver erro na execução
-     */
-    protected List<T> findMany(String sql, ResultSetMapper<T> mapper, Object... parameters) throws SQLException {
-        List<T> results = new ArrayList<>();
-
-        try (Connection connection = getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            setParameters(statement, parameters);
-
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    results.add(mapper.map(resultSet));
-                }
-            }
-        }
-
-        return results;
-    }
-
-    /**
-     * Executa uma transação com múltiplas operações.
-     * 
-     * @param transaction Operações a serem executadas na transação
-     * @throws SQLException Se houver erro na execução
-     */
-    protected void executeTransaction(DatabaseTransaction transaction) throws SQLException {
-        Connection connection = null;
-        try {
-            connection = getConnection();
-            connection.setAutoCommit(false);
-
-            transaction.execute(connection);
-
-            connection.commit();
-        } catch (SQLException e) {
-            if (connection != null) {
-                try {
-                    connection.rollback();
-                } catch (SQLException rollbackEx) {
-                    e.addSuppressed(rollbackEx);
-                }
-            }
-            throw e;
-        } finally {
-            if (connection != null) {
-                try {
-                    connection.setAutoCommit(true);
-                    connection.close();
-                } catch (SQLException e) {
-                    // Log do erro, mas não lance exceção
-                    System.err.println("Erro ao fechar conexão: " + e.getMessage());
-                }
-            }
-        }
-    }
-
-    /**
-     * Verifica se um registro existe baseado em uma condição.
-     * 
-     * @param sql        Query SQL de verificação
-     * @param parameters Parâmetros da query
-     * @return true se existe, false caso contrário
-     * @throws SQLException Se houver erro na execução
-     */
-    protected boolean exists(String sql, Object... parameters) throws SQLException {
-        try (Connection connection = getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            setParameters(statement, parameters);
-
-            try (ResultSet resultSet = statement.executeQuery()) {
-                return resultSet.next();
-            }
-        }
-    }
-
-    /**
-     * Conta o número de registros baseado em uma condição.
-     * 
-     * @param sql        Query SQL de contagem
-     * @param parameters Parâmetros da query
-     * @return Número de registros
-     * @throws SQLException Se houver erro na execução
-     */
-    protected int count(String sql, Object... parameters) throws SQLException {
-        try (Connection connection = getConnection();
-                PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            setParameters(statement, parameters);
-
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return resultSet.getInt(1);
-                }
-                return 0;
-            }
-        }
-    }
-
-    /**
-     * Define os parâmetros do PreparedStatement.
-     * 
-     * @param statement  PreparedStatement a ser configurado
-     * @param parameters Parâmetros a serem definidos
-     * @throws SQLException Se houver erro na configuração
-     */
-    private void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
-        for (int i = 0; i < parameters.length; i++) {
-            statement.setObject(i + 1, parameters[i]);
-        }
-    }
-
-    /**
-     * Interface funcional para mapear ResultSet para objeto.
-     * 
-     * @param <T> Tipo do objeto
-     */
-    @FunctionalInterface
-    protected interface ResultSetMapper<T> {
-        T map(ResultSet resultSet) throws SQLException;
-    }
-
-    /**
-     * Interface funcional para operações de transação.
-     */
-    @FunctionalInterface
-    protected interface DatabaseTransaction {
-        void execute(Connection connection) throws SQLException;
-    }
+public abstract class BaseRepository<T> extends JdbcRepository<T> {
 
     // Métodos abstratos que devem ser implementados pelas classes filhas
 
@@ -246,6 +46,34 @@ public abstract class BaseRepository<T> {
      */
     public abstract void delete(String id) throws SQLException;
 
+    /**
+     * Salva várias entidades em lote, em uma única transação.
+     * Entidades com chave gerada pelo banco recebem o ID atribuído.
+     * 
+     * @param entities Entidades a serem salvas
+     * @return Linhas afetadas por entidade
+     * @throws SQLException Se houver erro; nenhuma entidade é salva
+     */
+    public abstract int[] saveAll(List<T> entities) throws SQLException;
+
+    /**
+     * Atualiza várias entidades em lote, em uma única transação.
+     * 
+     * @param entities Entidades a serem atualizadas
+     * @return Linhas afetadas por entidade (0 se o ID não existir)
+     * @throws SQLException Se houver erro; nenhuma entidade é atualizada
+     */
+    public abstract int[] updateAll(List<T> entities) throws SQLException;
+
+    /**
+     * Remove várias entidades por ID, em uma única transação.
+     * 
+     * @param ids IDs das entidades a serem removidas
+     * @return Linhas removidas por ID
+     * @throws SQLException Se houver erro; nenhuma entidade é removida
+     */
+    public abstract int[] deleteAll(List<String> ids) throws SQLException;
+
     /**
      * Lista todas as entidades.
      * 
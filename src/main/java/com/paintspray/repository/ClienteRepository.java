@@ -1,28 +1,38 @@
 package com.paintspray.repository;
 
 import com.paintspray.model.Cliente;
+import com.paintspray.model.Importacao;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Camada de Acesso a Dados (DAO/Repository) para a entidade Cliente.
  * Agora com exclusão em cascata manual para remover também os veículos do cliente.
+ * {@link #findById} passa pelo {@link EntityCaches#CLIENTES}; as escritas
+ * invalidam o cliente e, na exclusão, também os veículos dele.
  */
 public class ClienteRepository extends BaseRepository<Cliente> {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO clientes (id, nome, endereco, numero_telefone) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE clientes SET nome = ?, endereco = ?, numero_telefone = ? WHERE id = ?";
+
+    private final ImportacaoRepository importacaoRepository = new ImportacaoRepository();
+
     /**
      * Salva um novo cliente
      */
     @Override
     public void save(Cliente cliente) throws SQLException {
-        String sql = "INSERT INTO clientes (id, nome, endereco, numero_telefone) VALUES (?, ?, ?, ?)";
-
         try (Connection connection = getConnection();
-             PreparedStatement stmt = connection.prepareStatement(sql)) {
+             PreparedStatement stmt = connection.prepareStatement(INSERT_SQL)) {
 
             stmt.setString(1, cliente.getId());
             stmt.setString(2, cliente.getNome());
@@ -38,10 +48,8 @@ public class ClienteRepository extends BaseRepository<Cliente> {
      */
     @Override
     public void update(Cliente cliente) throws SQLException {
-        String sql = "UPDATE clientes SET nome = ?, endereco = ?, numero_telefone = ? WHERE id = ?";
-
         try (Connection connection = getConnection();
-             PreparedStatement stmt = connection.prepareStatement(sql)) {
+             PreparedStatement stmt = connection.prepareStatement(UPDATE_SQL)) {
 
             stmt.setString(1, cliente.getNome());
             stmt.setString(2, cliente.getEndereco());
@@ -49,6 +57,8 @@ public class ClienteRepository extends BaseRepository<Cliente> {
             stmt.setString(4, cliente.getId());
 
             stmt.executeUpdate();
+        } finally {
+            EntityCaches.CLIENTES.invalidate(cliente.getId());
         }
     }
 
@@ -59,22 +69,111 @@ public class ClienteRepository extends BaseRepository<Cliente> {
     @Override
     public void delete(String idCliente) throws SQLException {
 
-        executeTransaction(connection -> {
+        try {
+            executeTransaction(connection -> {
 
-            // 1. Apagar todos os veículos associados ao cliente
-            String deleteVeiculos = "DELETE FROM veiculos WHERE id_cliente = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(deleteVeiculos)) {
-                stmt.setString(1, idCliente);
-                stmt.executeUpdate();
-            }
+                // 1. Apagar todos os veículos associados ao cliente
+                String deleteVeiculos = "DELETE FROM veiculos WHERE id_cliente = ?";
+                try (PreparedStatement stmt = connection.prepareStatement(deleteVeiculos)) {
+                    stmt.setString(1, idCliente);
+                    stmt.executeUpdate();
+                }
+
+                // 2. Apagar o cliente
+                String deleteCliente = "DELETE FROM clientes WHERE id = ?";
+                try (PreparedStatement stmt = connection.prepareStatement(deleteCliente)) {
+                    stmt.setString(1, idCliente);
+                    stmt.executeUpdate();
+                }
+            });
+        } finally {
+            invalidateCascade(idCliente);
+        }
+    }
+
+    /**
+     * Salva vários clientes em lote (ex.: importação de planilha)
+     */
+    @Override
+    public int[] saveAll(List<Cliente> clientes) throws SQLException {
+        return executeBatch(INSERT_SQL, clientes, cliente -> new Object[] {
+                cliente.getId(),
+                cliente.getNome(),
+                cliente.getEndereco(),
+                cliente.getNumeroTelefone() });
+    }
+
+    /**
+     * Grava um bloco de clientes importados e o andamento da importação na
+     * mesma transação: se ela falhar, nem os clientes nem a linha avançam.
+     */
+    public void importar(List<Cliente> clientes, Importacao andamento) throws SQLException {
+        try {
+            executeTransaction(connection -> {
+                executeBatch(connection, INSERT_SQL, clientes, cliente -> new Object[] {
+                        cliente.getId(),
+                        cliente.getNome(),
+                        cliente.getEndereco(),
+                        cliente.getNumeroTelefone() });
+                importacaoRepository.save(connection, andamento);
+            });
+        } finally {
+            clientes.forEach(cliente -> EntityCaches.CLIENTES.invalidate(cliente.getId()));
+        }
+    }
 
-            // 2. Apagar o cliente
-            String deleteCliente = "DELETE FROM clientes WHERE id = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(deleteCliente)) {
-                stmt.setString(1, idCliente);
-                stmt.executeUpdate();
+    /**
+     * IDs de todos os clientes, lidos direto do índice da chave primária
+     * (ex.: checagem de duplicados na importação).
+     */
+    public Set<String> findAllIds() throws SQLException {
+        Set<String> ids = new HashSet<>();
+        try (Connection connection = getReadConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT id FROM clientes");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getString(1));
             }
-        });
+        }
+        return ids;
+    }
+
+    /**
+     * Atualiza vários clientes em lote
+     */
+    @Override
+    public int[] updateAll(List<Cliente> clientes) throws SQLException {
+        try {
+            return executeBatch(UPDATE_SQL, clientes, cliente -> new Object[] {
+                    cliente.getNome(),
+                    cliente.getEndereco(),
+                    cliente.getNumeroTelefone(),
+                    cliente.getId() });
+        } finally {
+            clientes.forEach(cliente -> EntityCaches.CLIENTES.invalidate(cliente.getId()));
+        }
+    }
+
+    /**
+     * EXCLUSÃO EM CASCATA EM LOTE:
+     * Apaga os veículos e depois os clientes, tudo na mesma transação
+     */
+    @Override
+    public int[] deleteAll(List<String> idsClientes) throws SQLException {
+        int[][] resultado = new int[1][];
+
+        try {
+            executeTransaction(connection -> {
+                executeBatch(connection, "DELETE FROM veiculos WHERE id_cliente = ?", idsClientes,
+                        id -> new Object[] { id });
+                resultado[0] = executeBatch(connection, "DELETE FROM clientes WHERE id = ?", idsClientes,
+                        id -> new Object[] { id });
+            });
+        } finally {
+            idsClientes.forEach(this::invalidateCascade);
+        }
+
+        return resultado[0];
     }
 
     /**
@@ -83,7 +182,7 @@ public class ClienteRepository extends BaseRepository<Cliente> {
     @Override
     public Cliente findById(String id) throws SQLException {
         String sql = "SELECT * FROM clientes WHERE id = ?";
-        return findOne(sql, this::mapResultSetToCliente, id);
+        return EntityCaches.CLIENTES.getOrLoad(id, () -> findOne(sql, this::mapResultSetToCliente, id));
     }
 
     /**
@@ -95,6 +194,91 @@ public class ClienteRepository extends BaseRepository<Cliente> {
         return findMany(sql, this::mapResultSetToCliente);
     }
 
+    /**
+     * Busca uma página de clientes em ordem de nome (desempate pelo ID),
+     * continuando depois do último cliente da página anterior.
+     *
+     * @param apos    Último cliente da página anterior (null na primeira)
+     * @param tamanho Quantidade máxima de clientes na página
+     */
+    public Page<Cliente> findPage(Cliente apos, int tamanho) throws SQLException {
+        if (apos == null) {
+            String sql = "SELECT * FROM clientes ORDER BY nome, id LIMIT ?";
+            return Page.of(findMany(sql, this::mapResultSetToCliente, tamanho + 1), tamanho);
+        }
+
+        String sql = "SELECT * FROM clientes WHERE (nome, id) > (?, ?) ORDER BY nome, id LIMIT ?";
+        return Page.of(findMany(sql, this::mapResultSetToCliente, apos.getNome(), apos.getId(), tamanho + 1),
+                tamanho);
+    }
+
+    /**
+     * Entrega ao callback, em ordem de nome, até {@code limite} clientes depois
+     * de {@code apos}, lidos direto do cursor. Quem percorre todos repete a
+     * chamada a partir do último cliente recebido.
+     *
+     * @param idCliente Só este cliente (null para todos)
+     * @param apos      Último cliente já processado (null para começar)
+     * @return Número de clientes entregues; menor que o limite no último bloco
+     */
+    public long forEachCliente(String idCliente, Cliente apos, int limite, RowCallback<Cliente> callback)
+            throws SQLException {
+        if (idCliente != null) {
+            // Um único cliente cabe no primeiro bloco
+            if (apos != null) {
+                return 0;
+            }
+            return forEach("SELECT * FROM clientes WHERE id = ?", this::mapResultSetToCliente, callback, idCliente);
+        }
+        if (apos == null) {
+            String sql = "SELECT * FROM clientes ORDER BY nome, id LIMIT ?";
+            return forEach(sql, this::mapResultSetToCliente, callback, limite);
+        }
+        String sql = "SELECT * FROM clientes WHERE (nome, id) > (?, ?) ORDER BY nome, id LIMIT ?";
+        return forEach(sql, this::mapResultSetToCliente, callback, apos.getNome(), apos.getId(), limite);
+    }
+
+    /**
+     * Quantidade de clientes (1 ou 0 se o ID for informado).
+     */
+    public int countClientes(String idCliente) throws SQLException {
+        if (idCliente != null) {
+            return count("SELECT COUNT(*) FROM clientes WHERE id = ?", idCliente);
+        }
+        return count("SELECT COUNT(*) FROM clientes");
+    }
+
+    /**
+     * Busca textual de clientes por nome, telefone ou endereço, ordenada por
+     * relevância. Textos com menos de 3 caracteres usam LIKE em ordem de nome.
+     *
+     * @param texto  Texto digitado pelo usuário (não vazio)
+     * @param limite Quantidade máxima de clientes retornados
+     */
+    public List<Cliente> buscar(String texto, int limite) throws SQLException {
+        String match = FullTextQuery.match(texto);
+        if (match != null) {
+            String sql = "SELECT c.* FROM clientes_fts f JOIN clientes c ON c.rowid = f.rowid "
+                    + "WHERE clientes_fts MATCH ? ORDER BY f.rank, c.nome LIMIT ?";
+            return findMany(sql, this::mapResultSetToCliente, match, limite);
+        }
+
+        String like = FullTextQuery.like(texto);
+        String sql = "SELECT * FROM clientes WHERE nome LIKE ? ESCAPE '\\' "
+                + "OR numero_telefone LIKE ? ESCAPE '\\' OR endereco LIKE ? ESCAPE '\\' "
+                + "ORDER BY nome, id LIMIT ?";
+        return findMany(sql, this::mapResultSetToCliente, like, like, like, limite);
+    }
+
+    /**
+     * Remove do cache o cliente excluído e os veículos apagados junto com ele.
+     */
+    private void invalidateCascade(String idCliente) {
+        EntityCaches.CLIENTES.invalidate(idCliente);
+        EntityCaches.VEICULOS.invalidateIf(veiculo -> idCliente.equals(veiculo.getIdCliente()));
+        EntityCaches.VEICULOS_POR_CLIENTE.invalidate(idCliente);
+    }
+
     /**
      * Converte uma linha do ResultSet em um objeto Cliente
      */
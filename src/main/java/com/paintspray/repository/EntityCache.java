@@ -0,0 +1,150 @@
+package com.paintspray.repository;
+
+import com.paintspray.util.CacheStats;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Cache LRU de entidades indexado pelo ID, compartilhado por todas as
+ * instâncias de um repositório. Entidades ausentes são carregadas do banco
+ * pelo próprio cache ({@link #getOrLoad}); as escritas do repositório
+ * invalidam as entradas afetadas.
+ * <p>
+ * Uma carga que começou antes de uma invalidação não é guardada, para que um
+ * valor lido antes da escrita não volte ao cache depois dela.
+ * <p>
+ * A mesma instância é devolvida a todos os leitores, inclusive em outras
+ * threads; as entidades em cache não devem ser alteradas. Quem altera uma
+ * entidade grava uma cópia, e a escrita invalida a entrada.
+ *
+ * @param <V> Tipo da entidade
+ */
+final class EntityCache<V> {
+
+    /**
+     * Leitura da entidade no banco quando ela não está no cache.
+     */
+    @FunctionalInterface
+    interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    private final Map<String, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int capacity;
+
+    private long geracao;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param capacity Número máximo de entidades (0 desliga o cache)
+     */
+    EntityCache(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Entidade em cache ou null, sem contar acerto ou falta. Para quem já tem
+     * os dados em mãos (ex.: colunas de um JOIN) e só quer reaproveitar a
+     * instância, sem distorcer a taxa de acertos.
+     */
+    synchronized V peek(String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Devolve a entidade do cache ou a carrega do banco e a guarda.
+     * Resultados nulos (ID inexistente) não são guardados.
+     */
+    V getOrLoad(String id, Loader<V> loader) throws SQLException {
+        long inicio;
+        synchronized (this) {
+            V valor = entries.get(id);
+            if (valor != null) {
+                hits++;
+                return valor;
+            }
+            misses++;
+            inicio = geracao;
+        }
+
+        V carregado = loader.load();
+        if (carregado != null) {
+            synchronized (this) {
+                if (geracao == inicio) {
+                    store(id, carregado);
+                }
+            }
+        }
+        return carregado;
+    }
+
+    /**
+     * Guarda uma entidade lida por outra consulta.
+     */
+    synchronized void put(String id, V valor) {
+        store(id, valor);
+    }
+
+    synchronized void invalidate(String id) {
+        geracao++;
+        entries.remove(id);
+    }
+
+    /**
+     * Remove todas as entidades que atendem ao critério (ex.: veículos de um
+     * cliente excluído).
+     */
+    synchronized void invalidateIf(Predicate<V> criterio) {
+        geracao++;
+        entries.values().removeIf(criterio);
+    }
+
+    /**
+     * Esvazia o cache e zera as métricas.
+     */
+    synchronized void clear() {
+        geracao++;
+        entries.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Altera a capacidade, descartando as entidades menos usadas se preciso.
+     */
+    synchronized void setCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("A capacidade do cache não pode ser negativa.");
+        }
+        this.capacity = capacity;
+        trim();
+    }
+
+    synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size());
+    }
+
+    private void store(String id, V valor) {
+        if (capacity == 0) {
+            return;
+        }
+        entries.put(id, valor);
+        trim();
+    }
+
+    private void trim() {
+        Iterator<V> maisAntigas = entries.values().iterator();
+        while (entries.size() > capacity && maisAntigas.hasNext()) {
+            maisAntigas.next();
+            maisAntigas.remove();
+            evictions++;
+        }
+    }
+}
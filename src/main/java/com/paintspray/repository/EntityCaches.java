@@ -0,0 +1,69 @@
+package com.paintspray.repository;
+
+import com.paintspray.model.Cliente;
+import com.paintspray.model.Usuario;
+import com.paintspray.model.Veiculo;
+import com.paintspray.util.CacheStats;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches de entidades compartilhados pelos repositórios.
+ * A capacidade de cada cache vem da propriedade de sistema
+ * {@code paintspray.cache.entity.size} (padrão 1000, 0 desliga).
+ */
+public final class EntityCaches {
+
+    private static final int DEFAULT_CAPACITY = 1_000;
+    private static final int CAPACITY = Integer.getInteger("paintspray.cache.entity.size", DEFAULT_CAPACITY);
+
+    static final EntityCache<Cliente> CLIENTES = new EntityCache<>(CAPACITY);
+    static final EntityCache<Veiculo> VEICULOS = new EntityCache<>(CAPACITY);
+    static final EntityCache<List<Veiculo>> VEICULOS_POR_CLIENTE = new EntityCache<>(CAPACITY);
+    static final EntityCache<Usuario> USUARIOS = new EntityCache<>(CAPACITY);
+    /**
+     * Usuários como aparecem nas linhas de serviço (sem a senha). Só serve
+     * para reaproveitar a instância: quem lê confere os dados com a linha.
+     */
+    static final EntityCache<Usuario> RESPONSAVEIS = new EntityCache<>(CAPACITY);
+
+    private EntityCaches() {
+    }
+
+    /**
+     * Acertos, faltas e descartes de cada cache, pelo nome.
+     */
+    public static Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("clientes", CLIENTES.stats());
+        stats.put("veiculos", VEICULOS.stats());
+        stats.put("veiculosPorCliente", VEICULOS_POR_CLIENTE.stats());
+        stats.put("usuarios", USUARIOS.stats());
+        return stats;
+    }
+
+    /**
+     * Altera a capacidade de todos os caches (0 desliga).
+     */
+    public static void setCapacity(int capacity) {
+        CLIENTES.setCapacity(capacity);
+        VEICULOS.setCapacity(capacity);
+        VEICULOS_POR_CLIENTE.setCapacity(capacity);
+        USUARIOS.setCapacity(capacity);
+        RESPONSAVEIS.setCapacity(capacity);
+    }
+
+    /**
+     * Esvazia todos os caches e zera as métricas. Necessário quando o banco é alterado por fora
+     * dos repositórios ou trocado (ex.: benchmarks).
+     */
+    public static void clear() {
+        CLIENTES.clear();
+        VEICULOS.clear();
+        VEICULOS_POR_CLIENTE.clear();
+        USUARIOS.clear();
+        RESPONSAVEIS.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package com.paintspray.repository;
+
+import com.paintspray.enums.StatusServico;
+
+import java.time.Instant;
+
+/**
+ * Filtros opcionais para percorrer serviços (exportação). Campos nulos não
+ * filtram.
+ *
+ * @param status    Status dos serviços
+ * @param inicio    Criados a partir deste momento (inclusive)
+ * @param fim       Criados antes deste momento (exclusive)
+ * @param idCliente Cliente dono do veículo
+ */
+public record FiltroServicos(StatusServico status, Instant inicio, Instant fim, String idCliente) {
+
+    public static final FiltroServicos TODOS = new FiltroServicos(null, null, null, null);
+}
@@ -0,0 +1,45 @@
+package com.paintspray.repository;
+
+import java.util.StringJoiner;
+
+/**
+ * Monta os parâmetros das buscas textuais a partir do texto digitado.
+ * <p>
+ * O tokenizador trigram do FTS5 só casa termos com 3 ou mais caracteres;
+ * buscas mais curtas usam {@link #like(String)} como alternativa.
+ */
+final class FullTextQuery {
+
+    static final int TAMANHO_MINIMO = 3;
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * Expressão MATCH que exige todas as palavras do texto, cada uma como
+     * trecho literal. Palavras com menos de {@value #TAMANHO_MINIMO}
+     * caracteres são ignoradas.
+     *
+     * @return Expressão MATCH, ou null se nenhuma palavra puder ser indexada
+     */
+    static String match(String texto) {
+        StringJoiner expressao = new StringJoiner(" AND ");
+        for (String palavra : texto.trim().split("\\s+")) {
+            if (palavra.length() >= TAMANHO_MINIMO) {
+                expressao.add('"' + palavra.replace("\"", "\"\"") + '"');
+            }
+        }
+        return expressao.length() == 0 ? null : expressao.toString();
+    }
+
+    /**
+     * Padrão LIKE (com {@code ESCAPE '\'}) que casa o texto em qualquer posição.
+     */
+    static String like(String texto) {
+        String escapado = texto.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapado + "%";
+    }
+}
@@ -0,0 +1,108 @@
+package com.paintspray.repository;
+
+import com.paintspray.enums.TipoImportacao;
+import com.paintspray.model.Importacao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository do andamento das importações CSV ({@code importacoes}). Os
+ * repositórios de clientes e veículos gravam o andamento pela
+ * {@link #save(Connection, Importacao)} na mesma transação de cada bloco, de
+ * modo que a linha registrada sempre corresponde ao que foi gravado.
+ */
+public class ImportacaoRepository extends BaseRepository<Importacao> {
+
+    private static final String UPSERT_SQL = "INSERT INTO importacoes " +
+            "(chave, tipo, linha, importadas, rejeitadas, concluida, data_atualizacao) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (chave) DO UPDATE SET tipo = excluded.tipo, linha = excluded.linha, " +
+            "importadas = excluded.importadas, rejeitadas = excluded.rejeitadas, " +
+            "concluida = excluded.concluida, data_atualizacao = excluded.data_atualizacao";
+
+    /**
+     * Grava o andamento, criando ou substituindo o registro da chave.
+     */
+    @Override
+    public void save(Importacao importacao) throws SQLException {
+        executeUpdate(UPSERT_SQL, upsertParameters(importacao));
+    }
+
+    /**
+     * Grava o andamento dentro da transação de quem chama.
+     */
+    void save(Connection connection, Importacao importacao) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_SQL)) {
+            Object[] parametros = upsertParameters(importacao);
+            for (int i = 0; i < parametros.length; i++) {
+                statement.setObject(i + 1, parametros[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    @Override
+    public int[] saveAll(List<Importacao> importacoes) throws SQLException {
+        return executeBatch(UPSERT_SQL, importacoes, this::upsertParameters);
+    }
+
+    @Override
+    public Importacao findById(String chave) throws SQLException {
+        return findOne("SELECT * FROM importacoes WHERE chave = ?", this::mapResultSetToImportacao, chave);
+    }
+
+    @Override
+    public void update(Importacao importacao) throws SQLException {
+        save(importacao);
+    }
+
+    @Override
+    public int[] updateAll(List<Importacao> importacoes) throws SQLException {
+        return saveAll(importacoes);
+    }
+
+    @Override
+    public void delete(String chave) throws SQLException {
+        executeUpdate("DELETE FROM importacoes WHERE chave = ?", chave);
+    }
+
+    @Override
+    public int[] deleteAll(List<String> chaves) throws SQLException {
+        return executeBatch("DELETE FROM importacoes WHERE chave = ?", chaves, chave -> new Object[] { chave });
+    }
+
+    /**
+     * Importações da mais recente para a mais antiga.
+     */
+    @Override
+    public List<Importacao> findAll() throws SQLException {
+        return findMany("SELECT * FROM importacoes ORDER BY data_atualizacao DESC", this::mapResultSetToImportacao);
+    }
+
+    private Object[] upsertParameters(Importacao importacao) {
+        return new Object[] {
+                importacao.chave(),
+                importacao.tipo().name(),
+                importacao.linha(),
+                importacao.importadas(),
+                importacao.rejeitadas(),
+                importacao.concluida() ? 1 : 0,
+                importacao.dataAtualizacao().toEpochMilli() };
+    }
+
+    private Importacao mapResultSetToImportacao(ResultSet rs) throws SQLException {
+        return new Importacao(
+                rs.getString("chave"),
+                TipoImportacao.valueOf(rs.getString("tipo")),
+                rs.getLong("linha"),
+                rs.getLong("importadas"),
+                rs.getLong("rejeitadas"),
+                rs.getInt("concluida") != 0,
+                Instant.ofEpochMilli(rs.getLong("data_atualizacao")));
+    }
+}
@@ -0,0 +1,522 @@
+package com.paintspray.repository;
+
+import com.paintspray.config.DatabaseConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Acesso JDBC comum a todos os repositórios: conexões, consultas, lotes e
+ * transações. Não impõe operações CRUD; repositórios com escrita restrita
+ * (como o histórico de status, só de inclusão) estendem esta classe
+ * diretamente e expõem apenas o que a tabela permite.
+ * 
+ * @param <T> Tipo da entidade que o repositório manipula
+ */
+public abstract class JdbcRepository<T> {
+
+    /**
+     * Quantidade padrão de linhas enviadas por {@code executeBatch}.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /**
+     * Quantidade padrão de linhas pedidas ao driver por vez em {@code stream}
+     * e {@code forEach}.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    protected DatabaseConnection databaseConnection;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    protected JdbcRepository() {
+        this.databaseConnection = DatabaseConnection.getInstance();
+    }
+
+    /**
+     * Obtém a conexão de escrita com o banco de dados.
+     * 
+     * @return Conexão com o banco
+     * @throws SQLException Se houver erro na conexão
+     */
+    protected Connection getConnection() throws SQLException {
+        return databaseConnection.getConnection();
+    }
+
+    /**
+     * Obtém uma conexão para consultas. No modo WAL ela vem do pool de leitura
+     * e não disputa a conexão de escrita.
+     * 
+     * @return Conexão para leitura
+     * @throws SQLException Se houver erro na conexão
+     */
+    protected Connection getReadConnection() throws SQLException {
+        return databaseConnection.getReadConnection();
+    }
+
+    /**
+     * Executa uma query que não retorna resultados (INSERT, UPDATE, DELETE).
+     * 
+     * @param sql        Query SQL a ser executada
+     * @param parameters Parâmetros da query
+     * @return Número de linhas afetadas
+     * @throws SQLException Se houver erro na execução
+     */
+    protected int executeUpdate(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, parameters);
+            return statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Executa uma query que retorna um único resultado.
+     * 
+     * @param sql        Query SQL a ser executada
+     * @param mapper     Função para mapear o ResultSet para o objeto
+     * @param parameters Parâmetros da query
+     * @return Objeto encontrado ou null se não encontrado
+     * @throws SQLException Se houver erro na execução
+     */
+    protected T findOne(String sql, ResultSetMapper<T> mapper, Object... parameters) throws SQLException {
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, parameters);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return mapper.map(resultSet);
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Executa uma query que retorna múltiplos resultados.
+     * 
+     * @param sql        Query SQL a ser executada
+     * @param mapper     Função para mapear o ResultSet para o objeto
+     * @param parameters Parâmetros da query
+     * @return Lista de objetos encontrados
+     * @throws SQLException Se houver erro na execução
+     */
+    protected List<T> findMany(String sql, ResultSetMapper<T> mapper, Object... parameters) throws SQLException {
+        List<T> results = new ArrayList<>();
+
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, parameters);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    results.add(mapper.map(resultSet));
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Executa uma query e entrega as linhas sob demanda, sem montar uma lista.
+     * O ResultSet e a conexão de leitura ficam abertos enquanto o Stream é
+     * consumido e só voltam ao pool quando ele é fechado, então o chamador
+     * deve usar try-with-resources:
+     * 
+     * <pre>{@code
+     * try (Stream<Servico> servicos = repository.streamAll()) {
+     *     long centavos = servicos.mapToLong(s -> s.getPreco().centavos()).sum();
+     * }
+     * }</pre>
+     * 
+     * Falhas de leitura durante o consumo chegam como
+     * {@link IllegalStateException} com a {@link SQLException} como causa.
+     * 
+     * @param sql        Query SQL a ser executada
+     * @param mapper     Função para mapear o ResultSet para o objeto
+     * @param parameters Parâmetros da query
+     * @return Stream sequencial das linhas; fechar libera a conexão
+     * @throws SQLException Se houver erro ao executar a query
+     */
+    protected Stream<T> stream(String sql, ResultSetMapper<T> mapper, Object... parameters) throws SQLException {
+        Connection connection = getReadConnection();
+        PreparedStatement statement = null;
+        ResultSet resultSet;
+
+        try {
+            statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            setParameters(statement, parameters);
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(statement, connection, e);
+            throw e;
+        }
+
+        PreparedStatement aberto = statement;
+        Spliterator<T> linhas = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Erro ao ler linha: " + e.getMessage(), e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(linhas, false).onClose(() -> {
+            try {
+                resultSet.close();
+            } catch (SQLException e) {
+                System.err.println("Erro ao fechar ResultSet: " + e.getMessage());
+            }
+            closeQuietly(aberto, connection, null);
+        });
+    }
+
+    /**
+     * Executa uma query e entrega cada linha ao callback assim que é lida.
+     * A conexão volta ao pool ao final, mesmo se o callback falhar.
+     * 
+     * @param sql        Query SQL a ser executada
+     * @param mapper     Função para mapear o ResultSet para o objeto
+     * @param callback   Ação executada para cada linha
+     * @param parameters Parâmetros da query
+     * @return Número de linhas processadas
+     * @throws SQLException Se houver erro na execução ou no callback
+     */
+    protected long forEach(String sql, ResultSetMapper<T> mapper, RowCallback<T> callback, Object... parameters)
+            throws SQLException {
+        long linhas = 0;
+
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            statement.setFetchSize(fetchSize);
+            setParameters(statement, parameters);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    callback.accept(mapper.map(resultSet));
+                    linhas++;
+                }
+            }
+        }
+
+        return linhas;
+    }
+
+    /**
+     * Executa uma transação com múltiplas operações.
+     * 
+     * @param transaction Operações a serem executadas na transação
+     * @throws SQLException Se houver erro na execução
+     */
+    protected void executeTransaction(DatabaseTransaction transaction) throws SQLException {
+        Connection connection = null;
+        try {
+            connection = getConnection();
+            connection.setAutoCommit(false);
+
+            transaction.execute(connection);
+
+            connection.commit();
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackEx) {
+                    e.addSuppressed(rollbackEx);
+                }
+            }
+            throw e;
+        } finally {
+            if (connection != null) {
+                try {
+                    connection.setAutoCommit(true);
+                    connection.close();
+                } catch (SQLException e) {
+                    // Log do erro, mas não lance exceção
+                    System.err.println("Erro ao fechar conexão: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Executa o mesmo comando para cada item da lista usando
+     * {@code addBatch}/{@code executeBatch}, em uma única transação.
+     * 
+     * @param sql    Comando SQL parametrizado
+     * @param items  Itens a serem gravados
+     * @param binder Função que extrai os parâmetros de cada item
+     * @return Número de linhas afetadas por item, na ordem da lista
+     * @throws SQLException Se houver erro; nenhuma linha é gravada
+     */
+    protected <E> int[] executeBatch(String sql, List<E> items, ParameterBinder<E> binder) throws SQLException {
+        int[][] resultado = new int[1][];
+        executeTransaction(connection -> resultado[0] = executeBatch(connection, sql, items, binder));
+        return resultado[0];
+    }
+
+    /**
+     * Executa um lote dentro de uma transação já aberta, enviando
+     * {@link #getBatchSize()} linhas por vez.
+     * 
+     * @param connection Conexão da transação em andamento
+     * @param sql        Comando SQL parametrizado
+     * @param items      Itens a serem gravados
+     * @param binder     Função que extrai os parâmetros de cada item
+     * @return Número de linhas afetadas por item, na ordem da lista
+     * @throws SQLException Se houver erro na execução
+     */
+    protected <E> int[] executeBatch(Connection connection, String sql, List<E> items, ParameterBinder<E> binder)
+            throws SQLException {
+        int[] resultado = new int[items.size()];
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int inicioLote = 0;
+            for (int i = 0; i < items.size(); i++) {
+                setParameters(statement, binder.bind(items.get(i)));
+                statement.addBatch();
+
+                if (i - inicioLote + 1 == batchSize || i == items.size() - 1) {
+                    int[] lote = statement.executeBatch();
+                    System.arraycopy(lote, 0, resultado, inicioLote, lote.length);
+                    inicioLote = i + 1;
+                }
+            }
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Executa um lote de INSERTs em tabela com chave AUTOINCREMENT e retorna as
+     * chaves geradas, na ordem da lista.
+     * <p>
+     * A transação mantém o lock de escrita do SQLite, então as chaves de cada
+     * bloco são consecutivas e terminam em {@code last_insert_rowid()}. Por
+     * isso o comando não pode informar a chave nem usar {@code OR IGNORE}.
+     * 
+     * @param sql    Comando INSERT parametrizado
+     * @param items  Itens a serem inseridos
+     * @param binder Função que extrai os parâmetros de cada item
+     * @return Chave gerada para cada item
+     * @throws SQLException Se houver erro; nenhuma linha é gravada
+     */
+    protected <E> long[] executeInsertBatch(String sql, List<E> items, ParameterBinder<E> binder)
+            throws SQLException {
+        long[] chaves = new long[items.size()];
+
+        executeTransaction(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                    PreparedStatement ultimaChave = connection.prepareStatement("SELECT last_insert_rowid()")) {
+
+                int inicioLote = 0;
+                for (int i = 0; i < items.size(); i++) {
+                    setParameters(statement, binder.bind(items.get(i)));
+                    statement.addBatch();
+
+                    if (i - inicioLote + 1 == batchSize || i == items.size() - 1) {
+                        statement.executeBatch();
+
+                        try (ResultSet resultSet = ultimaChave.executeQuery()) {
+                            resultSet.next();
+                            long ultima = resultSet.getLong(1);
+                            for (int j = inicioLote; j <= i; j++) {
+                                chaves[j] = ultima - (i - j);
+                            }
+                        }
+                        inicioLote = i + 1;
+                    }
+                }
+            }
+        });
+
+        return chaves;
+    }
+
+    /**
+     * Linhas enviadas ao banco a cada {@code executeBatch}.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Define quantas linhas são enviadas ao banco a cada {@code executeBatch}.
+     * Todos os blocos continuam na mesma transação.
+     * 
+     * @param batchSize Tamanho do bloco (maior que zero)
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser positivo.");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Linhas pedidas ao driver por vez em {@code stream} e {@code forEach}.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Define quantas linhas são pedidas ao driver por vez em {@code stream} e
+     * {@code forEach}.
+     * 
+     * @param fetchSize Linhas por leitura (maior que zero)
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("O fetch size deve ser positivo.");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Verifica se um registro existe baseado em uma condição.
+     * 
+     * @param sql        Query SQL de verificação
+     * @param parameters Parâmetros da query
+     * @return true se existe, false caso contrário
+     * @throws SQLException Se houver erro na execução
+     */
+    protected boolean exists(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, parameters);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    /**
+     * Conta o número de registros baseado em uma condição.
+     * 
+     * @param sql        Query SQL de contagem
+     * @param parameters Parâmetros da query
+     * @return Número de registros
+     * @throws SQLException Se houver erro na execução
+     */
+    protected int count(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+
+            setParameters(statement, parameters);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    return resultSet.getInt(1);
+                }
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Define os parâmetros do PreparedStatement.
+     * 
+     * @param statement  PreparedStatement a ser configurado
+     * @param parameters Parâmetros a serem definidos
+     * @throws SQLException Se houver erro na configuração
+     */
+    private void setParameters(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    /**
+     * Fecha o statement e devolve a conexão ao pool, sem lançar exceção.
+     * 
+     * @param falha Exceção original, que recebe as falhas de fechamento como
+     *              suprimidas (pode ser null)
+     */
+    private void closeQuietly(PreparedStatement statement, Connection connection, SQLException falha) {
+        try {
+            if (statement != null) {
+                statement.close();
+            }
+        } catch (SQLException e) {
+            if (falha != null) {
+                falha.addSuppressed(e);
+            } else {
+                System.err.println("Erro ao fechar statement: " + e.getMessage());
+            }
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            if (falha != null) {
+                falha.addSuppressed(e);
+            } else {
+                System.err.println("Erro ao fechar conexão: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Interface funcional para mapear ResultSet para objeto.
+     * 
+     * @param <T> Tipo do objeto
+     */
+    @FunctionalInterface
+    protected interface ResultSetMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * Interface funcional para processar uma linha lida por {@code forEach}.
+     * 
+     * @param <T> Tipo do objeto
+     */
+    @FunctionalInterface
+    public interface RowCallback<T> {
+        void accept(T item) throws SQLException;
+    }
+
+    /**
+     * Interface funcional para extrair os parâmetros de um item de lote.
+     * 
+     * @param <E> Tipo do item
+     */
+    @FunctionalInterface
+    protected interface ParameterBinder<E> {
+        Object[] bind(E item);
+    }
+
+    /**
+     * Interface funcional para operações de transação.
+     */
+    @FunctionalInterface
+    protected interface DatabaseTransaction {
+        void execute(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,33 @@
+package com.paintspray.repository;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma consulta paginada por cursor (keyset).
+ * A próxima página é pedida a partir do último item desta, nunca por OFFSET,
+ * então o custo de cada página não cresce com o tamanho do histórico.
+ *
+ * @param items   Itens da página, na ordem da consulta
+ * @param hasNext Se existem itens depois do último desta página
+ * @param <T>     Tipo dos itens
+ */
+public record Page<T>(List<T> items, boolean hasNext) {
+
+    /**
+     * Monta a página a partir de uma consulta feita com {@code LIMIT tamanho + 1}:
+     * o item excedente só indica que há próxima página e é descartado.
+     */
+    static <T> Page<T> of(List<T> linhas, int tamanho) {
+        if (linhas.size() > tamanho) {
+            return new Page<>(List.copyOf(linhas.subList(0, tamanho)), true);
+        }
+        return new Page<>(List.copyOf(linhas), false);
+    }
+
+    /**
+     * Último item da página (cursor da próxima) ou null se estiver vazia.
+     */
+    public T last() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+}
@@ -0,0 +1,157 @@
+package com.paintspray.repository;
+
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.EventoStatus;
+import com.paintspray.model.PermanenciaStatus;
+import com.paintspray.model.TrechoStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Repository do histórico de status ({@code servico_eventos}). A tabela é só
+ * de inclusão, por isso o repositório estende {@link JdbcRepository} e não
+ * oferece alteração nem remoção.
+ * <p>
+ * As linhas do tempo e os tempos de permanência são calculados pelo SQLite
+ * com {@code LEAD()}: o fim de cada trecho é o momento do evento seguinte do
+ * mesmo serviço.
+ */
+public class ServicoEventoRepository extends JdbcRepository<EventoStatus> {
+
+    private static final String INSERT_SQL = "INSERT INTO servico_eventos " +
+            "(id_servico, status_anterior, status_novo, data_evento) VALUES (?, ?, ?, ?)";
+
+    private static final String TRECHOS = "SELECT id_servico, status_novo, data_evento AS entrada, " +
+            "LEAD(data_evento) OVER (PARTITION BY id_servico ORDER BY data_evento, id_evento) AS saida " +
+            "FROM servico_eventos ";
+
+    public void save(EventoStatus evento) throws SQLException {
+        executeUpdate(INSERT_SQL, insertParameters(evento));
+    }
+
+    /**
+     * Grava os eventos em uma única transação (um único commit no disco).
+     */
+    public int[] saveAll(List<EventoStatus> eventos) throws SQLException {
+        return executeBatch(INSERT_SQL, eventos, this::insertParameters);
+    }
+
+    public EventoStatus findById(String id) throws SQLException {
+        String sql = "SELECT * FROM servico_eventos WHERE id_evento = ?";
+        return findOne(sql, this::mapResultSetToEvento, Long.parseLong(id));
+    }
+
+    public List<EventoStatus> findAll() throws SQLException {
+        String sql = "SELECT * FROM servico_eventos ORDER BY id_evento";
+        return findMany(sql, this::mapResultSetToEvento);
+    }
+
+    /**
+     * Eventos de um serviço, do mais antigo para o mais recente.
+     */
+    public List<EventoStatus> findByServico(int servicoId) throws SQLException {
+        String sql = "SELECT * FROM servico_eventos WHERE id_servico = ? ORDER BY data_evento, id_evento";
+        return findMany(sql, this::mapResultSetToEvento, servicoId);
+    }
+
+    /**
+     * Linha do tempo de um serviço: cada status por que passou, com entrada e
+     * saída. O último trecho fica aberto (saída null).
+     */
+    public List<TrechoStatus> linhaDoTempo(int servicoId) throws SQLException {
+        String sql = TRECHOS + "WHERE id_servico = ? ORDER BY data_evento, id_evento";
+        List<TrechoStatus> trechos = new ArrayList<>();
+
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, servicoId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    trechos.add(new TrechoStatus(StatusServico.valueOf(resultSet.getString("status_novo")),
+                            Instant.ofEpochMilli(resultSet.getLong("entrada")),
+                            instante(resultSet, "saida")));
+                }
+            }
+        }
+
+        return trechos;
+    }
+
+    /**
+     * Tempo de permanência em cada status, somando os trechos encerrados de
+     * todos os serviços. Todos os status estão presentes no mapa.
+     */
+    public EnumMap<StatusServico, PermanenciaStatus> permanenciaPorStatus() throws SQLException {
+        return permanencia("", new Object[0]);
+    }
+
+    /**
+     * Tempo de permanência em cada status, considerando só os trechos que
+     * começaram no período {@code [inicio, fim)}.
+     */
+    public EnumMap<StatusServico, PermanenciaStatus> permanenciaPorStatus(Instant inicio, Instant fim)
+            throws SQLException {
+        return permanencia("AND entrada >= ? AND entrada < ? ",
+                new Object[] { inicio.toEpochMilli(), fim.toEpochMilli() });
+    }
+
+    private EnumMap<StatusServico, PermanenciaStatus> permanencia(String filtro, Object[] params)
+            throws SQLException {
+        EnumMap<StatusServico, PermanenciaStatus> permanencia = new EnumMap<>(StatusServico.class);
+        for (StatusServico status : StatusServico.values()) {
+            permanencia.put(status, PermanenciaStatus.VAZIA);
+        }
+
+        String sql = "SELECT status_novo, COUNT(*) AS trechos, SUM(saida - entrada) AS total, " +
+                "MAX(saida - entrada) AS maximo " +
+                "FROM (" + TRECHOS + ") WHERE saida IS NOT NULL " + filtro +
+                "GROUP BY status_novo";
+
+        try (Connection connection = getReadConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    permanencia.put(StatusServico.valueOf(resultSet.getString("status_novo")),
+                            new PermanenciaStatus(resultSet.getLong("trechos"),
+                                    Duration.ofMillis(resultSet.getLong("total")),
+                                    Duration.ofMillis(resultSet.getLong("maximo"))));
+                }
+            }
+        }
+
+        return permanencia;
+    }
+
+    private Object[] insertParameters(EventoStatus evento) {
+        return new Object[] {
+                evento.idServico(),
+                evento.anterior() != null ? evento.anterior().name() : null,
+                evento.novo().name(),
+                evento.quando().toEpochMilli() };
+    }
+
+    private EventoStatus mapResultSetToEvento(ResultSet resultSet) throws SQLException {
+        String anterior = resultSet.getString("status_anterior");
+        return new EventoStatus(
+                resultSet.getInt("id_servico"),
+                anterior != null ? StatusServico.valueOf(anterior) : null,
+                StatusServico.valueOf(resultSet.getString("status_novo")),
+                Instant.ofEpochMilli(resultSet.getLong("data_evento")));
+    }
+
+    private static Instant instante(ResultSet resultSet, String coluna) throws SQLException {
+        long millis = resultSet.getLong(coluna);
+        return resultSet.wasNull() ? null : Instant.ofEpochMilli(millis);
+    }
+}
@@ -1,49 +1,98 @@
 package com.paintspray.repository;
 
+import com.paintspray.model.Dinheiro;
+import com.paintspray.model.ResumoStatus;
 import com.paintspray.model.Servico;
 import com.paintspray.model.Veiculo;
 import com.paintspray.model.Usuario;
 import com.paintspray.enums.StatusServico;
 import com.paintspray.enums.TipoServico;
 import com.paintspray.enums.FormaPagamento;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações CRUD da entidade Servico.
  */
 public class ServicoRepository extends BaseRepository<Servico> {
 
+	/**
+	 * SELECT com JOIN de veículo, cliente e usuário usado por todas as consultas
+	 * de serviço. O nome do cliente vem junto para que as listagens não precisem
+	 * buscar o cliente de cada linha.
+	 */
+	static final String SELECT_SERVICO = "SELECT s.*, " +
+			"v.id AS veiculo_id, " +
+			"v.modelo AS veiculo_modelo, " +
+			"v.cor AS veiculo_cor, " +
+			"v.ano_fabricacao AS veiculo_ano, " +
+			"v.id_cliente AS veiculo_id_cliente, " +
+			"c.nome AS cliente_nome, " +
+			"u.id as usuario_id, " +
+			"u.nome as usuario_nome, " +
+			"u.email as usuario_email " +
+			"FROM servicos s " +
+			"LEFT JOIN veiculos v ON s.id_veiculo = v.id " +
+			"LEFT JOIN clientes c ON v.id_cliente = c.id " +
+			"LEFT JOIN usuarios u ON s.id_usuario = u.id ";
+
+	private static final String INSERT_SQL = "INSERT INTO servicos (tipo, descricao, preco_centavos, status, " +
+			"forma_pagamento, id_veiculo, id_usuario, data_criacao) " +
+			"VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+	/**
+	 * Altera os dados do serviço, nunca o status: ele só muda por
+	 * {@link #transicionarStatus}, que grava as datas e o histórico. Serviços
+	 * finalizados não são alterados; a condição fica no próprio UPDATE para
+	 * valer mesmo se o serviço for finalizado depois de lido.
+	 */
+	private static final String UPDATE_SQL = "UPDATE servicos SET tipo = ?, descricao = ?, preco_centavos = ?, " +
+			"forma_pagamento = ?, id_veiculo = ?, id_usuario = ? " +
+			"WHERE id_servico = ? AND status <> 'FINALIZADO'";
+
 	@Override
 	public void save(Servico servico) throws SQLException {
-		String sql = "INSERT INTO servicos (tipo, descricao, preco, status, forma_pagamento, " +
-				"id_veiculo, id_usuario) " +
-				"VALUES (?, ?, ?, ?, ?, ?, ?)";
+		// Lote de um item para receber o ID gerado
+		saveAll(List.of(servico));
+	}
 
-		executeUpdate(sql,
-				servico.getTipo() != null ? servico.getTipo().name() : null,
-				servico.getDescricao(),
-				servico.getPreco(),
-				servico.getStatus() != null ? servico.getStatus().name() : StatusServico.PENDENTE.name(),
-				servico.getFormaPagamento() != null ? servico.getFormaPagamento().name() : null,
-				servico.getVeiculo() != null ? servico.getVeiculo().getId() : null,
-				servico.getUsuario() != null ? servico.getUsuario().getId() : null);
+	/**
+	 * Salva vários serviços em lote e atribui a cada um o ID gerado. Serviços
+	 * sem data de criação recebem o momento atual.
+	 */
+	@Override
+	public int[] saveAll(List<Servico> servicos) throws SQLException {
+		Instant agora = Instant.now();
+		for (Servico servico : servicos) {
+			if (servico.getDataCriacao() == null) {
+				servico.setDataCriacao(agora);
+			}
+		}
+
+		long[] ids = executeInsertBatch(INSERT_SQL, servicos, this::insertParameters);
+		for (int i = 0; i < ids.length; i++) {
+			servicos.get(i).setIdServico((int) ids[i]);
+		}
+
+		int[] resultado = new int[ids.length];
+		Arrays.fill(resultado, 1);
+		return resultado;
 	}
 
 	@Override
 	public Servico findById(String id) throws SQLException {
-		String sql = "SELECT s.*, " +
-				"v.id AS veiculo_id, " +
-				"v.modelo AS veiculo_modelo, " +
-				"v.cor AS veiculo_cor, " +
-				"v.ano_fabricacao AS veiculo_ano, " +
-				"v.id_cliente AS veiculo_id_cliente, " +
-				"u.id as usuario_id, " +
-				"u.nome as usuario_nome, " +
-				"u.email as usuario_email " +
-				"FROM servicos s " +
-				"LEFT JOIN veiculos v ON s.id_veiculo = v.id " +
-				"LEFT JOIN usuarios u ON s.id_usuario = u.id " +
+		String sql = SELECT_SERVICO +
 				"WHERE s.id_servico = ?";
 
 		return findOne(sql, this::mapResultSetToServico, Integer.parseInt(id));
@@ -51,18 +100,22 @@ public class ServicoRepository extends BaseRepository<Servico> {
 
 	@Override
 	public void update(Servico servico) throws SQLException {
-		String sql = "UPDATE servicos SET tipo = ?, descricao = ?, preco = ?, status = ?, " +
-				"forma_pagamento = ?, id_veiculo = ?, id_usuario = ? WHERE id_servico = ?";
+		updateDados(servico);
+	}
 
-		executeUpdate(sql,
-				servico.getTipo() != null ? servico.getTipo().name() : null,
-				servico.getDescricao(),
-				servico.getPreco(),
-				servico.getStatus() != null ? servico.getStatus().name() : null,
-				servico.getFormaPagamento() != null ? servico.getFormaPagamento().name() : null,
-				servico.getVeiculo() != null ? servico.getVeiculo().getId() : null,
-				servico.getUsuario() != null ? servico.getUsuario().getId() : null,
-				servico.getIdServico());
+	/**
+	 * Grava tipo, descrição, preço, forma de pagamento, veículo e usuário do
+	 * serviço. O status do objeto é ignorado.
+	 *
+	 * @return false se o serviço não existe ou está finalizado
+	 */
+	public boolean updateDados(Servico servico) throws SQLException {
+		return executeUpdate(UPDATE_SQL, updateParameters(servico)) > 0;
+	}
+
+	@Override
+	public int[] updateAll(List<Servico> servicos) throws SQLException {
+		return executeBatch(UPDATE_SQL, servicos, this::updateParameters);
 	}
 
 	@Override
@@ -71,41 +124,377 @@ public class ServicoRepository extends BaseRepository<Servico> {
 		executeUpdate(sql, Integer.parseInt(id));
 	}
 
+	@Override
+	public int[] deleteAll(List<String> ids) throws SQLException {
+		String sql = "DELETE FROM servicos WHERE id_servico = ?";
+		return executeBatch(sql, ids, id -> new Object[] { Integer.parseInt(id) });
+	}
+
 	@Override
 	public List<Servico> findAll() throws SQLException {
-		String sql = "SELECT s.*, " +
-				"v.id AS veiculo_id, " +
-				"v.modelo AS veiculo_modelo, " +
-				"v.cor AS veiculo_cor, " +
-				"v.ano_fabricacao AS veiculo_ano, " +
-				"v.id_cliente AS veiculo_id_cliente, " +
-				"u.id as usuario_id, " +
-				"u.nome as usuario_nome, " +
-				"u.email as usuario_email " +
-				"FROM servicos s " +
-				"LEFT JOIN veiculos v ON s.id_veiculo = v.id " +
-				"LEFT JOIN usuarios u ON s.id_usuario = u.id " +
+		String sql = SELECT_SERVICO +
 				"ORDER BY s.id_servico DESC";
 
 		return findMany(sql, this::mapResultSetToServico);
 	}
 
+	/**
+	 * Percorre todos os serviços sob demanda, do mais recente para o mais
+	 * antigo. O Stream deve ser fechado para devolver a conexão ao pool.
+	 */
+	public Stream<Servico> streamAll() throws SQLException {
+		String sql = SELECT_SERVICO +
+				"ORDER BY s.id_servico DESC";
+
+		return stream(sql, this::mapResultSetToServico);
+	}
+
+	/**
+	 * Percorre sob demanda os serviços com o status informado. O Stream deve
+	 * ser fechado para devolver a conexão ao pool.
+	 */
+	public Stream<Servico> streamByStatus(StatusServico status) throws SQLException {
+		String sql = SELECT_SERVICO +
+				"WHERE s.status = ? " +
+				"ORDER BY s.id_servico DESC";
+
+		return stream(sql, this::mapResultSetToServico, status.name());
+	}
+
+	/**
+	 * Entrega cada serviço ao callback assim que é lido, sem montar uma lista.
+	 *
+	 * @return Número de serviços processados
+	 */
+	public long forEachServico(RowCallback<Servico> callback) throws SQLException {
+		String sql = SELECT_SERVICO +
+				"ORDER BY s.id_servico DESC";
+
+		return forEach(sql, this::mapResultSetToServico, callback);
+	}
+
+	/**
+	 * Entrega ao callback, do mais recente para o mais antigo, até
+	 * {@code limite} serviços que atendem ao filtro e têm ID menor que
+	 * {@code antesDe}. As linhas vêm direto do cursor, sem lista; quem percorre
+	 * tudo repete a chamada a partir do último ID recebido, para não manter uma
+	 * leitura aberta (e o lock compartilhado do modo ROLLBACK) durante toda a
+	 * exportação.
+	 *
+	 * @param antesDe ID do último serviço já processado (null para começar)
+	 * @return Número de serviços entregues; menor que o limite no último bloco
+	 */
+	public long forEachServico(FiltroServicos filtro, Integer antesDe, int limite, RowCallback<Servico> callback)
+			throws SQLException {
+		List<Object> params = new ArrayList<>();
+		StringBuilder sql = new StringBuilder(SELECT_SERVICO).append("WHERE 1 = 1 ");
+		condicoes(filtro, sql, params);
+		if (antesDe != null) {
+			sql.append("AND s.id_servico < ? ");
+			params.add(antesDe);
+		}
+		sql.append("ORDER BY s.id_servico DESC LIMIT ?");
+		params.add(limite);
+
+		return forEach(sql.toString(), this::mapResultSetToServico, callback, params.toArray());
+	}
+
+	/**
+	 * Quantidade de serviços que atendem ao filtro.
+	 */
+	public int count(FiltroServicos filtro) throws SQLException {
+		List<Object> params = new ArrayList<>();
+		StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM servicos s ");
+		if (filtro.idCliente() != null) {
+			sql.append("JOIN veiculos v ON s.id_veiculo = v.id ");
+		}
+		sql.append("WHERE 1 = 1 ");
+		condicoes(filtro, sql, params);
+		return count(sql.toString(), params.toArray());
+	}
+
+	private static void condicoes(FiltroServicos filtro, StringBuilder sql, List<Object> params) {
+		if (filtro.status() != null) {
+			sql.append("AND s.status = ? ");
+			params.add(filtro.status().name());
+		}
+		if (filtro.inicio() != null) {
+			sql.append("AND s.data_criacao >= ? ");
+			params.add(filtro.inicio().toEpochMilli());
+		}
+		if (filtro.fim() != null) {
+			sql.append("AND s.data_criacao < ? ");
+			params.add(filtro.fim().toEpochMilli());
+		}
+		if (filtro.idCliente() != null) {
+			sql.append("AND v.id_cliente = ? ");
+			params.add(filtro.idCliente());
+		}
+	}
+
+	/**
+	 * Busca uma página de serviços, do mais recente para o mais antigo.
+	 *
+	 * @param aposId  ID do último serviço da página anterior (null na primeira)
+	 * @param tamanho Quantidade máxima de serviços na página
+	 */
+	public Page<Servico> findPage(Integer aposId, int tamanho) throws SQLException {
+		if (aposId == null) {
+			String sql = SELECT_SERVICO +
+					"ORDER BY s.id_servico DESC LIMIT ?";
+			return Page.of(findMany(sql, this::mapResultSetToServico, tamanho + 1), tamanho);
+		}
+
+		String sql = SELECT_SERVICO +
+				"WHERE s.id_servico < ? " +
+				"ORDER BY s.id_servico DESC LIMIT ?";
+		return Page.of(findMany(sql, this::mapResultSetToServico, aposId, tamanho + 1), tamanho);
+	}
+
+	/**
+	 * Busca uma página de serviços com o status informado, usando o índice
+	 * (status, id_servico).
+	 *
+	 * @param status  Status dos serviços
+	 * @param aposId  ID do último serviço da página anterior (null na primeira)
+	 * @param tamanho Quantidade máxima de serviços na página
+	 */
+	public Page<Servico> findPageByStatus(StatusServico status, Integer aposId, int tamanho) throws SQLException {
+		if (aposId == null) {
+			String sql = SELECT_SERVICO +
+					"WHERE s.status = ? " +
+					"ORDER BY s.id_servico DESC LIMIT ?";
+			return Page.of(findMany(sql, this::mapResultSetToServico, status.name(), tamanho + 1), tamanho);
+		}
+
+		String sql = SELECT_SERVICO +
+				"WHERE s.status = ? AND s.id_servico < ? " +
+				"ORDER BY s.id_servico DESC LIMIT ?";
+		return Page.of(findMany(sql, this::mapResultSetToServico, status.name(), aposId, tamanho + 1), tamanho);
+	}
+
+	/**
+	 * Quantidade e valor total dos serviços de cada status, em uma única
+	 * consulta agregada. Status sem serviços aparecem com
+	 * {@link ResumoStatus#VAZIO}.
+	 */
+	public EnumMap<StatusServico, ResumoStatus> resumoPorStatus() throws SQLException {
+		EnumMap<StatusServico, ResumoStatus> resumo = new EnumMap<>(StatusServico.class);
+		for (StatusServico status : StatusServico.values()) {
+			resumo.put(status, ResumoStatus.VAZIO);
+		}
+
+		String sql = "SELECT status, COUNT(*) AS quantidade, COALESCE(SUM(preco_centavos), 0) AS valor_total " +
+				"FROM servicos GROUP BY status";
+
+		try (Connection connection = getReadConnection();
+				PreparedStatement statement = connection.prepareStatement(sql);
+				ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				resumo.put(StatusServico.valueOf(resultSet.getString("status")),
+						new ResumoStatus(resultSet.getInt("quantidade"),
+								Dinheiro.deCentavos(resultSet.getLong("valor_total"))));
+			}
+		}
+
+		return resumo;
+	}
+
+	/**
+	 * Soma exata dos preços dos serviços com o status informado, calculada pelo
+	 * SQLite sobre os centavos (sem carregar os serviços).
+	 */
+	public Dinheiro somarPrecos(StatusServico status) throws SQLException {
+		String sql = "SELECT COALESCE(SUM(preco_centavos), 0) FROM servicos WHERE status = ?";
+
+		try (Connection connection = getReadConnection();
+				PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, status.name());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				resultSet.next();
+				return Dinheiro.deCentavos(resultSet.getLong(1));
+			}
+		}
+	}
+
+	/**
+	 * Serviços criados no intervalo {@code [inicio, fim)}, do mais recente para
+	 * o mais antigo. Usa o índice de data_criacao: o custo depende do tamanho
+	 * da janela, não do histórico.
+	 */
+	public List<Servico> findCriadosEntre(Instant inicio, Instant fim) throws SQLException {
+		String sql = SELECT_SERVICO +
+				"WHERE s.data_criacao >= ? AND s.data_criacao < ? " +
+				"ORDER BY s.data_criacao DESC";
+
+		return findMany(sql, this::mapResultSetToServico, inicio.toEpochMilli(), fim.toEpochMilli());
+	}
+
+	/**
+	 * Serviços concluídos no intervalo {@code [inicio, fim)}, do mais recente
+	 * para o mais antigo, pelo índice de data_conclusao.
+	 */
+	public List<Servico> findConcluidosEntre(Instant inicio, Instant fim) throws SQLException {
+		String sql = SELECT_SERVICO +
+				"WHERE s.data_conclusao >= ? AND s.data_conclusao < ? " +
+				"ORDER BY s.data_conclusao DESC";
+
+		return findMany(sql, this::mapResultSetToServico, inicio.toEpochMilli(), fim.toEpochMilli());
+	}
+
+	/**
+	 * Quantidade de serviços criados no intervalo {@code [inicio, fim)}, contada
+	 * só no índice de data_criacao.
+	 */
+	public int countCriadosEntre(Instant inicio, Instant fim) throws SQLException {
+		String sql = "SELECT COUNT(*) FROM servicos WHERE data_criacao >= ? AND data_criacao < ?";
+		return count(sql, inicio.toEpochMilli(), fim.toEpochMilli());
+	}
+
+	/**
+	 * Soma exata dos preços dos serviços finalizados com conclusão no intervalo
+	 * {@code [inicio, fim)}, calculada no SQLite pelo índice de data_conclusao.
+	 */
+	public Dinheiro somarConcluidosEntre(Instant inicio, Instant fim) throws SQLException {
+		String sql = "SELECT COALESCE(SUM(preco_centavos), 0) FROM servicos " +
+				"WHERE data_conclusao >= ? AND data_conclusao < ? AND status = ?";
+
+		try (Connection connection = getReadConnection();
+				PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, inicio.toEpochMilli());
+			statement.setLong(2, fim.toEpochMilli());
+			statement.setString(3, StatusServico.FINALIZADO.name());
+			try (ResultSet resultSet = statement.executeQuery()) {
+				resultSet.next();
+				return Dinheiro.deCentavos(resultSet.getLong(1));
+			}
+		}
+	}
+
+	/**
+	 * Carrega o quadro Kanban em uma única consulta: todos os serviços
+	 * pendentes, em andamento e aguardando pagamento, mais os finalizados mais
+	 * recentes. As linhas são distribuídas por status à medida que são lidas.
+	 *
+	 * @param limiteFinalizados Quantos serviços finalizados entram no quadro
+	 * @return Serviços de cada coluna, do mais recente para o mais antigo
+	 */
+	public EnumMap<StatusServico, List<Servico>> findQuadroKanban(int limiteFinalizados) throws SQLException {
+		EnumMap<StatusServico, List<Servico>> quadro = new EnumMap<>(StatusServico.class);
+		quadro.put(StatusServico.PENDENTE, new ArrayList<>());
+		quadro.put(StatusServico.EM_ANDAMENTO, new ArrayList<>());
+		quadro.put(StatusServico.AGUARDANDO_PAGAMENTO, new ArrayList<>());
+		quadro.put(StatusServico.FINALIZADO, new ArrayList<>());
+
+		// A janela de finalizados sai do índice (status, id_servico) sem varrer o histórico
+		String sql = SELECT_SERVICO +
+				"WHERE s.status IN ('PENDENTE', 'EM_ANDAMENTO', 'AGUARDANDO_PAGAMENTO') " +
+				"OR s.id_servico IN (SELECT id_servico FROM servicos WHERE status = 'FINALIZADO' " +
+				"ORDER BY id_servico DESC LIMIT ?) " +
+				"ORDER BY s.id_servico DESC";
+
+		forEach(sql, this::mapResultSetToServico, servico -> quadro.get(servico.getStatus()).add(servico),
+				limiteFinalizados);
+		return quadro;
+	}
+
+	/**
+	 * Busca textual ordenada por relevância. O texto é procurado, como trecho,
+	 * na descrição do serviço, no modelo e cor do veículo, no nome, telefone e
+	 * endereço do cliente e no nome do tipo de serviço.
+	 * <p>
+	 * Com palavras de 3 ou mais caracteres a consulta usa os índices FTS5;
+	 * textos mais curtos caem em um LIKE, limitado aos serviços mais recentes.
+	 *
+	 * @param texto  Texto digitado pelo usuário (não vazio)
+	 * @param status Filtro de status (null para todos)
+	 * @param limite Quantidade máxima de serviços retornados
+	 */
+	public List<Servico> buscar(String texto, StatusServico status, int limite) throws SQLException {
+		List<Object> params = new ArrayList<>();
+		List<String> tipos = tiposComDescricao(texto);
+		String match = FullTextQuery.match(texto);
+		StringBuilder sql = new StringBuilder();
+
+		if (match != null) {
+			// Cada serviço fica com a melhor relevância (bm25 negativo, menor é melhor)
+			// entre os índices onde apareceu; o tipo casado conta como a pior
+			sql.append("WITH resultados (id_servico, relevancia) AS (")
+					.append("SELECT rowid, rank FROM servicos_fts WHERE servicos_fts MATCH ? ")
+					.append("UNION ALL ")
+					.append("SELECT sv.id_servico, f.rank FROM veiculos_fts f ")
+					.append("JOIN servicos sv ON sv.id_veiculo = f.rowid WHERE veiculos_fts MATCH ? ")
+					.append("UNION ALL ")
+					.append("SELECT sc.id_servico, f.rank FROM clientes_fts f ")
+					.append("JOIN clientes cc ON cc.rowid = f.rowid ")
+					.append("JOIN veiculos vc ON vc.id_cliente = cc.id ")
+					.append("JOIN servicos sc ON sc.id_veiculo = vc.id WHERE clientes_fts MATCH ? ");
+			params.add(match);
+			params.add(match);
+			params.add(match);
+			if (!tipos.isEmpty()) {
+				sql.append("UNION ALL SELECT id_servico, 0 FROM servicos WHERE tipo IN (")
+						.append(placeholders(tipos.size())).append(") ");
+				params.addAll(tipos);
+			}
+			sql.append("), melhores AS (SELECT id_servico, MIN(relevancia) AS relevancia ")
+					.append("FROM resultados GROUP BY id_servico) ")
+					.append(SELECT_SERVICO)
+					.append("JOIN melhores m ON m.id_servico = s.id_servico ");
+			if (status != null) {
+				sql.append("WHERE s.status = ? ");
+				params.add(status.name());
+			}
+			sql.append("ORDER BY m.relevancia, s.id_servico DESC LIMIT ?");
+		} else {
+			String like = FullTextQuery.like(texto);
+			sql.append(SELECT_SERVICO)
+					.append("WHERE (s.descricao LIKE ? ESCAPE '\\' OR v.modelo LIKE ? ESCAPE '\\' ")
+					.append("OR v.cor LIKE ? ESCAPE '\\' OR c.nome LIKE ? ESCAPE '\\' ")
+					.append("OR c.numero_telefone LIKE ? ESCAPE '\\' OR c.endereco LIKE ? ESCAPE '\\'");
+			for (int i = 0; i < 6; i++) {
+				params.add(like);
+			}
+			if (!tipos.isEmpty()) {
+				sql.append(" OR s.tipo IN (").append(placeholders(tipos.size())).append(")");
+				params.addAll(tipos);
+			}
+			sql.append(") ");
+			if (status != null) {
+				sql.append("AND s.status = ? ");
+				params.add(status.name());
+			}
+			sql.append("ORDER BY s.id_servico DESC LIMIT ?");
+		}
+		params.add(limite);
+
+		return findMany(sql.toString(), this::mapResultSetToServico, params.toArray());
+	}
+
+	/**
+	 * Tipos de serviço cuja descrição contém o texto. O banco guarda só o nome
+	 * do enum, então essa comparação é feita aqui.
+	 */
+	private static List<String> tiposComDescricao(String texto) {
+		String busca = texto.trim().toLowerCase();
+		List<String> tipos = new ArrayList<>();
+		for (TipoServico tipo : TipoServico.values()) {
+			if (tipo.getDescricao().toLowerCase().contains(busca)) {
+				tipos.add(tipo.name());
+			}
+		}
+		return tipos;
+	}
+
+	private static String placeholders(int quantidade) {
+		return String.join(", ", Collections.nCopies(quantidade, "?"));
+	}
+
 	/**
 	 * Busca serviços por status.
 	 */
 	public List<Servico> findByStatus(StatusServico status) throws SQLException {
-		String sql = "SELECT s.*, " +
-				"v.id AS veiculo_id, " +
-				"v.modelo AS veiculo_modelo, " +
-				"v.cor AS veiculo_cor, " +
-				"v.ano_fabricacao AS veiculo_ano, " +
-				"v.id_cliente AS veiculo_id_cliente, " +
-				"u.id as usuario_id, " +
-				"u.nome as usuario_nome, " +
-				"u.email as usuario_email " +
-				"FROM servicos s " +
-				"LEFT JOIN veiculos v ON s.id_veiculo = v.id " +
-				"LEFT JOIN usuarios u ON s.id_usuario = u.id " +
+		String sql = SELECT_SERVICO +
 				"WHERE s.status = ? " +
 				"ORDER BY s.id_servico DESC";
 
@@ -121,11 +510,115 @@ public class ServicoRepository extends BaseRepository<Servico> {
 	}
 
 	/**
-	 * Cancela um serviço.
+	 * Aplica uma transição do fluxo: o status só é alterado se o atual for uma
+	 * das origens permitidas por {@link StatusServico#origensPara}.
+	 *
+	 * @param quando Momento da transição, gravado na coluna de data do novo
+	 *               status (início, conclusão ou cancelamento)
+	 * @return Status anterior e se a alteração foi aplicada
 	 */
-	public void cancelarServico(int servicoId) throws SQLException {
-		String sql = "UPDATE servicos SET status = ? WHERE id_servico = ?";
-		executeUpdate(sql, StatusServico.CANCELADO.name(), servicoId);
+	public TransicaoStatus transicionarStatus(int servicoId, StatusServico novoStatus, Instant quando)
+			throws SQLException {
+		return transicionarStatus(servicoId, novoStatus, StatusServico.origensPara(novoStatus), quando);
+	}
+
+	/**
+	 * Altera o status só se o status atual estiver entre os permitidos, com um
+	 * {@code UPDATE ... WHERE status IN (...)}: é o próprio comando que decide,
+	 * então duas alterações concorrentes nunca partem do mesmo status lido.
+	 * <p>
+	 * O status anterior (para o evento e a mensagem de erro) é lido pela chave
+	 * primária na mesma transação da conexão de escrita, sem o JOIN de
+	 * {@link #findById}.
+	 *
+	 * @param servicoId  ID do serviço
+	 * @param novoStatus Status a gravar
+	 * @param permitidos Status a partir dos quais a alteração é válida
+	 * @param quando     Momento da transição, gravado em data_inicio,
+	 *                   data_conclusao ou data_cancelamento conforme o novo status
+	 * @return Status anterior e se a alteração foi aplicada
+	 */
+	public TransicaoStatus transicionarStatus(int servicoId, StatusServico novoStatus,
+			Set<StatusServico> permitidos, Instant quando) throws SQLException {
+		String coluna = colunaDeData(novoStatus);
+		List<Object> params = new ArrayList<>();
+		StringBuilder sql = new StringBuilder("UPDATE servicos SET status = ?");
+		params.add(novoStatus.name());
+		if (coluna != null) {
+			sql.append(", ").append(coluna).append(" = ?");
+			params.add(quando.toEpochMilli());
+		}
+		sql.append(" WHERE id_servico = ? AND status IN (").append(placeholders(permitidos.size())).append(")");
+		params.add(servicoId);
+		for (StatusServico status : permitidos) {
+			params.add(status.name());
+		}
+		return executarCondicional(servicoId, sql.toString(), params.toArray());
+	}
+
+	/**
+	 * Remove o serviço só se o status atual estiver entre os permitidos, com um
+	 * {@code DELETE ... WHERE status IN (...)}.
+	 *
+	 * @param servicoId  ID do serviço
+	 * @param permitidos Status em que a remoção é válida
+	 * @return Status no momento da remoção e se ela foi aplicada
+	 */
+	public TransicaoStatus deleteSe(int servicoId, Set<StatusServico> permitidos) throws SQLException {
+		String sql = "DELETE FROM servicos WHERE id_servico = ? AND status IN (" +
+				placeholders(permitidos.size()) + ")";
+
+		Object[] params = new Object[permitidos.size() + 1];
+		params[0] = servicoId;
+		int i = 1;
+		for (StatusServico status : permitidos) {
+			params[i++] = status.name();
+		}
+		return executarCondicional(servicoId, sql, params);
+	}
+
+	/**
+	 * Coluna que registra quando o serviço chegou ao status, ou null se o
+	 * status não tem data própria.
+	 */
+	private static String colunaDeData(StatusServico status) {
+		return switch (status) {
+			case EM_ANDAMENTO -> "data_inicio";
+			case FINALIZADO -> "data_conclusao";
+			case CANCELADO -> "data_cancelamento";
+			case PENDENTE, AGUARDANDO_PAGAMENTO -> null;
+		};
+	}
+
+	/**
+	 * Lê o status atual e executa o comando condicional na mesma transação.
+	 */
+	private TransicaoStatus executarCondicional(int servicoId, String sql, Object[] params) throws SQLException {
+		TransicaoStatus[] resultado = new TransicaoStatus[1];
+		executeTransaction(connection -> {
+			StatusServico anterior = null;
+			try (PreparedStatement consulta = connection.prepareStatement(
+					"SELECT status FROM servicos WHERE id_servico = ?")) {
+				consulta.setInt(1, servicoId);
+				try (ResultSet resultSet = consulta.executeQuery()) {
+					if (resultSet.next()) {
+						anterior = StatusServico.valueOf(resultSet.getString(1));
+					}
+				}
+			}
+			if (anterior == null) {
+				resultado[0] = new TransicaoStatus(null, false);
+				return;
+			}
+
+			try (PreparedStatement comando = connection.prepareStatement(sql)) {
+				for (int i = 0; i < params.length; i++) {
+					comando.setObject(i + 1, params[i]);
+				}
+				resultado[0] = new TransicaoStatus(anterior, comando.executeUpdate() > 0);
+			}
+		});
+		return resultado[0];
 	}
 
 	/**
@@ -140,43 +633,78 @@ public class ServicoRepository extends BaseRepository<Servico> {
 	 * Busca serviços por veículo.
 	 */
 	public List<Servico> findByVeiculo(int veiculoId) throws SQLException {
-		String sql = "SELECT s.*, " +
-				"v.id AS veiculo_id, " +
-				"v.modelo AS veiculo_modelo, " +
-				"v.cor AS veiculo_cor, " +
-				"v.ano_fabricacao AS veiculo_ano, " +
-				"v.id_cliente AS veiculo_id_cliente, " +
-				"u.id as usuario_id, " +
-				"u.nome as usuario_nome, " +
-				"u.email as usuario_email " +
-				"FROM servicos s " +
-				"LEFT JOIN veiculos v ON s.id_veiculo = v.id " +
-				"LEFT JOIN usuarios u ON s.id_usuario = u.id " +
+		String sql = SELECT_SERVICO +
 				"WHERE s.id_veiculo = ? " +
 				"ORDER BY s.id_servico DESC";
 
 		return findMany(sql, this::mapResultSetToServico, veiculoId);
 	}
 
+	private static Instant instante(ResultSet rs, String coluna) throws SQLException {
+		long millis = rs.getLong(coluna);
+		return rs.wasNull() ? null : Instant.ofEpochMilli(millis);
+	}
+
+	private static long centavos(Servico servico) {
+		return servico.getPreco() != null ? servico.getPreco().centavos() : 0;
+	}
+
+	private Object[] insertParameters(Servico servico) {
+		return new Object[] {
+				servico.getTipo() != null ? servico.getTipo().name() : null,
+				servico.getDescricao(),
+				centavos(servico),
+				servico.getStatus() != null ? servico.getStatus().name() : StatusServico.PENDENTE.name(),
+				servico.getFormaPagamento() != null ? servico.getFormaPagamento().name() : null,
+				servico.getVeiculo() != null ? servico.getVeiculo().getId() : null,
+				servico.getUsuario() != null ? servico.getUsuario().getId() : null,
+				servico.getDataCriacao().toEpochMilli() };
+	}
+
+	private Object[] updateParameters(Servico servico) {
+		return new Object[] {
+				servico.getTipo() != null ? servico.getTipo().name() : null,
+				servico.getDescricao(),
+				centavos(servico),
+				servico.getFormaPagamento() != null ? servico.getFormaPagamento().name() : null,
+				servico.getVeiculo() != null ? servico.getVeiculo().getId() : null,
+				servico.getUsuario() != null ? servico.getUsuario().getId() : null,
+				servico.getIdServico() };
+	}
+
 	private Servico mapResultSetToServico(java.sql.ResultSet rs) throws SQLException {
+		// Reaproveita o veículo e o usuário já em cache quando batem com a linha do
+		// JOIN; peek() não conta acerto nem falta, para que as estatísticas do
+		// cache reflitam as buscas por ID e não o tráfego das listagens
 		Veiculo veiculo = null;
-		if (rs.getObject("veiculo_id") != null) {
-			veiculo = new Veiculo(
-					rs.getInt("veiculo_id"),
-					rs.getString("veiculo_modelo"),
-					rs.getString("veiculo_cor"),
-					rs.getInt("veiculo_ano"),
-					rs.getString("veiculo_id_cliente"));
+		String idVeiculo = rs.getString("veiculo_id");
+		if (idVeiculo != null) {
+			String modelo = rs.getString("veiculo_modelo");
+			String cor = rs.getString("veiculo_cor");
+			int ano = rs.getInt("veiculo_ano");
+			String idCliente = rs.getString("veiculo_id_cliente");
+			veiculo = EntityCaches.VEICULOS.peek(idVeiculo);
+			// A linha do JOIN não é guardada porque pode ter sido lida antes de
+			// uma alteração concorrente
+			if (veiculo == null || !Objects.equals(veiculo.getModelo(), modelo)
+					|| !Objects.equals(veiculo.getCor(), cor) || veiculo.getAnoFabricacao() != ano
+					|| !Objects.equals(veiculo.getIdCliente(), idCliente)) {
+				veiculo = new Veiculo(rs.getInt("veiculo_id"), modelo, cor, ano, idCliente);
+			}
 		}
 
 		Usuario usuario = null;
-		if (rs.getString("usuario_id") != null) {
-			usuario = new Usuario(
-					rs.getString("usuario_id"),
-					rs.getString("usuario_nome"),
-					rs.getString("usuario_email"),
-					"" // senha não deve estar na consulta
-			);
+		String idUsuario = rs.getString("usuario_id");
+		if (idUsuario != null) {
+			String nome = rs.getString("usuario_nome");
+			String email = rs.getString("usuario_email");
+			usuario = EntityCaches.RESPONSAVEIS.peek(idUsuario);
+			if (usuario == null || !Objects.equals(usuario.getNome(), nome)
+					|| !Objects.equals(usuario.getEmail(), email)) {
+				// senha não deve estar na consulta
+				usuario = new Usuario(idUsuario, nome, email, "");
+				EntityCaches.RESPONSAVEIS.put(idUsuario, usuario);
+			}
 		}
 
 		// Converte strings do banco para ENUMs
@@ -191,11 +719,16 @@ public class ServicoRepository extends BaseRepository<Servico> {
 				rs.getInt("id_servico"),
 				tipo,
 				rs.getString("descricao"),
-				rs.getDouble("preco"),
+				Dinheiro.deCentavos(rs.getLong("preco_centavos")),
 				status,
 				formaPagamento,
 				veiculo,
 				usuario);
+		servico.setNomeCliente(rs.getString("cliente_nome"));
+		servico.setDataCriacao(instante(rs, "data_criacao"));
+		servico.setDataInicio(instante(rs, "data_inicio"));
+		servico.setDataConclusao(instante(rs, "data_conclusao"));
+		servico.setDataCancelamento(instante(rs, "data_cancelamento"));
 
 		return servico;
 	}
@@ -204,18 +737,7 @@ public class ServicoRepository extends BaseRepository<Servico> {
 	 * Busca todos os serviços associados aos veículos de um cliente específico.
 	 */
 	public List<Servico> findByClienteId(String clienteId) throws SQLException {
-		String sql = "SELECT s.*, " +
-				"v.id AS veiculo_id, " +
-				"v.modelo AS veiculo_modelo, " +
-				"v.cor AS veiculo_cor, " +
-				"v.ano_fabricacao AS veiculo_ano, " +
-				"v.id_cliente AS veiculo_id_cliente, " +
-				"u.id as usuario_id, " +
-				"u.nome as usuario_nome, " +
-				"u.email as usuario_email " +
-				"FROM servicos s " +
-				"LEFT JOIN veiculos v ON s.id_veiculo = v.id " +
-				"LEFT JOIN usuarios u ON s.id_usuario = u.id " +
+		String sql = SELECT_SERVICO +
 				"WHERE v.id_cliente = ? " +
 				"ORDER BY s.id_servico DESC";
 		return findMany(sql, this::mapResultSetToServico, clienteId);
@@ -0,0 +1,21 @@
+package com.paintspray.repository;
+
+import com.paintspray.enums.StatusServico;
+
+/**
+ * Resultado de uma alteração condicional de status (compare-and-set): o
+ * comando só é aplicado se o status atual estiver entre os permitidos.
+ *
+ * @param anterior Status encontrado no momento da alteração (null se o
+ *                 serviço não existe)
+ * @param aplicada Se o comando alterou a linha
+ */
+public record TransicaoStatus(StatusServico anterior, boolean aplicada) {
+
+    /**
+     * Se o serviço existia quando o comando foi executado.
+     */
+    public boolean encontrado() {
+        return anterior != null;
+    }
+}
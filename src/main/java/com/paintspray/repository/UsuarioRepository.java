@@ -8,6 +8,8 @@ import java.util.List;
 
 /**
  * Repository para operações com usuários (proprietário da oficina).
+ * {@link #findById} passa pelo {@link EntityCaches#USUARIOS}; as escritas
+ * invalidam o usuário alterado.
  */
 public class UsuarioRepository extends BaseRepository<Usuario> {
 
@@ -58,26 +60,68 @@ public class UsuarioRepository extends BaseRepository<Usuario> {
                 entity.getSenha());
     }
 
+    @Override
+    public int[] saveAll(List<Usuario> entities) throws SQLException {
+        String sql = "INSERT INTO usuarios (id, nome, email, senha) VALUES (?, ?, ?, ?)";
+        return executeBatch(sql, entities, entity -> new Object[] {
+                entity.getId(),
+                entity.getNome(),
+                entity.getEmail(),
+                entity.getSenha() });
+    }
+
     @Override
     public Usuario findById(String id) throws SQLException {
         String sql = "SELECT * FROM usuarios WHERE id = ?";
-        return findOne(sql, this::mapResultSetToUsuario, id);
+        return EntityCaches.USUARIOS.getOrLoad(id, () -> findOne(sql, this::mapResultSetToUsuario, id));
     }
 
     @Override
     public void update(Usuario entity) throws SQLException {
         String sql = "UPDATE usuarios SET nome = ?, email = ?, senha = ? WHERE id = ?";
-        executeUpdate(sql,
-                entity.getNome(),
-                entity.getEmail(),
-                entity.getSenha(),
-                entity.getId());
+        try {
+            executeUpdate(sql,
+                    entity.getNome(),
+                    entity.getEmail(),
+                    entity.getSenha(),
+                    entity.getId());
+        } finally {
+            EntityCaches.USUARIOS.invalidate(entity.getId());
+        }
+    }
+
+    @Override
+    public int[] updateAll(List<Usuario> entities) throws SQLException {
+        String sql = "UPDATE usuarios SET nome = ?, email = ?, senha = ? WHERE id = ?";
+        try {
+            return executeBatch(sql, entities, entity -> new Object[] {
+                    entity.getNome(),
+                    entity.getEmail(),
+                    entity.getSenha(),
+                    entity.getId() });
+        } finally {
+            entities.forEach(entity -> EntityCaches.USUARIOS.invalidate(entity.getId()));
+        }
     }
 
     @Override
     public void delete(String id) throws SQLException {
         String sql = "DELETE FROM usuarios WHERE id = ?";
-        executeUpdate(sql, id);
+        try {
+            executeUpdate(sql, id);
+        } finally {
+            EntityCaches.USUARIOS.invalidate(id);
+        }
+    }
+
+    @Override
+    public int[] deleteAll(List<String> ids) throws SQLException {
+        String sql = "DELETE FROM usuarios WHERE id = ?";
+        try {
+            return executeBatch(sql, ids, id -> new Object[] { id });
+        } finally {
+            ids.forEach(EntityCaches.USUARIOS::invalidate);
+        }
     }
 
     @Override
@@ -1,48 +1,144 @@
 package com.paintspray.repository;
 
+import com.paintspray.model.Importacao;
 import com.paintspray.model.Veiculo;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repository para operações CRUD da entidade Veiculo.
+ * {@link #findById} e {@link #findByClienteId} passam pelos caches de
+ * {@link EntityCaches}. Como uma alteração pode trocar o veículo de cliente,
+ * toda escrita esvazia o cache de veículos por cliente.
  */
 public class VeiculoRepository extends BaseRepository<Veiculo> {
 
+    private static final String INSERT_SQL = "INSERT INTO veiculos (modelo, cor, ano_fabricacao, id_cliente) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE veiculos SET modelo = ?, cor = ?, ano_fabricacao = ?, id_cliente = ? "
+            + "WHERE id = ?";
+    // Com ID null o SQLite gera um novo
+    private static final String IMPORT_SQL = "INSERT INTO veiculos (id, modelo, cor, ano_fabricacao, id_cliente) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private final ImportacaoRepository importacaoRepository = new ImportacaoRepository();
+
     @Override
     public void save(Veiculo veiculo) throws SQLException {
-        String sql = "INSERT INTO veiculos (modelo, cor, ano_fabricacao, id_cliente) "
-                + "VALUES (?, ?, ?, ?)";
-        executeUpdate(sql,
-                veiculo.getModelo(),
-                veiculo.getCor(),
-                veiculo.getAnoFabricacao(),
-                veiculo.getIdCliente());
+        try {
+            executeUpdate(INSERT_SQL, insertParameters(veiculo));
+        } finally {
+            EntityCaches.VEICULOS_POR_CLIENTE.invalidate(veiculo.getIdCliente());
+        }
+    }
+
+    /**
+     * Salva vários veículos em lote e atribui a cada um o ID gerado.
+     */
+    @Override
+    public int[] saveAll(List<Veiculo> veiculos) throws SQLException {
+        long[] ids;
+        try {
+            ids = executeInsertBatch(INSERT_SQL, veiculos, this::insertParameters);
+        } finally {
+            EntityCaches.VEICULOS_POR_CLIENTE.clear();
+        }
+        for (int i = 0; i < ids.length; i++) {
+            veiculos.get(i).setId((int) ids[i]);
+        }
+
+        int[] resultado = new int[ids.length];
+        Arrays.fill(resultado, 1);
+        return resultado;
+    }
+
+    /**
+     * Grava um bloco de veículos importados e o andamento da importação na
+     * mesma transação. Veículos com ID (ex.: vindos de uma exportação) mantêm
+     * o ID; os demais (ID 0) recebem um novo.
+     */
+    public void importar(List<Veiculo> veiculos, Importacao andamento) throws SQLException {
+        try {
+            executeTransaction(connection -> {
+                executeBatch(connection, IMPORT_SQL, veiculos, veiculo -> new Object[] {
+                        veiculo.getId() > 0 ? veiculo.getId() : null,
+                        veiculo.getModelo(),
+                        veiculo.getCor(),
+                        veiculo.getAnoFabricacao(),
+                        veiculo.getIdCliente() });
+                importacaoRepository.save(connection, andamento);
+            });
+        } finally {
+            EntityCaches.VEICULOS_POR_CLIENTE.clear();
+        }
+    }
+
+    /**
+     * IDs de todos os veículos (ex.: checagem de duplicados na importação).
+     */
+    public Set<Integer> findAllIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (Connection connection = getReadConnection();
+             PreparedStatement stmt = connection.prepareStatement("SELECT id FROM veiculos");
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
     }
 
     @Override
     public Veiculo findById(String id) throws SQLException {
         int veiculoId = Integer.parseInt(id);
         String sql = "SELECT * FROM veiculos WHERE id = ?";
-        return findOne(sql, this::mapResultSetToVeiculo, veiculoId);
+        return EntityCaches.VEICULOS.getOrLoad(id,
+                () -> findOne(sql, this::mapResultSetToVeiculo, veiculoId));
     }
 
     @Override
     public void update(Veiculo veiculo) throws SQLException {
-        String sql = "UPDATE veiculos SET modelo = ?, cor = ?, ano_fabricacao = ?, id_cliente = ? "
-                + "WHERE id = ?";
-        executeUpdate(sql,
-                veiculo.getModelo(),
-                veiculo.getCor(),
-                veiculo.getAnoFabricacao(),
-                veiculo.getIdCliente(),
-                veiculo.getId());
+        try {
+            executeUpdate(UPDATE_SQL, updateParameters(veiculo));
+        } finally {
+            invalidate(String.valueOf(veiculo.getId()));
+        }
+    }
+
+    @Override
+    public int[] updateAll(List<Veiculo> veiculos) throws SQLException {
+        try {
+            return executeBatch(UPDATE_SQL, veiculos, this::updateParameters);
+        } finally {
+            veiculos.forEach(veiculo -> invalidate(String.valueOf(veiculo.getId())));
+        }
     }
 
     @Override
     public void delete(String id) throws SQLException {
         String sql = "DELETE FROM veiculos WHERE id = ?";
-        executeUpdate(sql, Integer.parseInt(id));
+        try {
+            executeUpdate(sql, Integer.parseInt(id));
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public int[] deleteAll(List<String> ids) throws SQLException {
+        String sql = "DELETE FROM veiculos WHERE id = ?";
+        try {
+            return executeBatch(sql, ids, id -> new Object[] { Integer.parseInt(id) });
+        } finally {
+            ids.forEach(this::invalidate);
+        }
     }
 
     @Override
@@ -51,6 +147,23 @@ public class VeiculoRepository extends BaseRepository<Veiculo> {
         return findMany(sql, this::mapResultSetToVeiculo);
     }
 
+    private Object[] insertParameters(Veiculo veiculo) {
+        return new Object[] {
+                veiculo.getModelo(),
+                veiculo.getCor(),
+                veiculo.getAnoFabricacao(),
+                veiculo.getIdCliente() };
+    }
+
+    private Object[] updateParameters(Veiculo veiculo) {
+        return new Object[] {
+                veiculo.getModelo(),
+                veiculo.getCor(),
+                veiculo.getAnoFabricacao(),
+                veiculo.getIdCliente(),
+                veiculo.getId() };
+    }
+
     private Veiculo mapResultSetToVeiculo(java.sql.ResultSet rs) throws SQLException {
         return new Veiculo(
                 rs.getInt("id"),
@@ -60,6 +173,43 @@ public class VeiculoRepository extends BaseRepository<Veiculo> {
                 rs.getString("id_cliente"));
     }
 
+    /**
+     * Entrega ao callback, do mais recente para o mais antigo, até
+     * {@code limite} veículos com ID menor que {@code antesDe}, lidos direto do
+     * cursor. Quem percorre todos repete a chamada a partir do último ID
+     * recebido.
+     *
+     * @param idCliente Só os veículos deste cliente (null para todos)
+     * @param antesDe   ID do último veículo já processado (null para começar)
+     * @return Número de veículos entregues; menor que o limite no último bloco
+     */
+    public long forEachVeiculo(String idCliente, Integer antesDe, int limite, RowCallback<Veiculo> callback)
+            throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM veiculos WHERE 1 = 1 ");
+        if (idCliente != null) {
+            sql.append("AND id_cliente = ? ");
+            params.add(idCliente);
+        }
+        if (antesDe != null) {
+            sql.append("AND id < ? ");
+            params.add(antesDe);
+        }
+        sql.append("ORDER BY id DESC LIMIT ?");
+        params.add(limite);
+        return forEach(sql.toString(), this::mapResultSetToVeiculo, callback, params.toArray());
+    }
+
+    /**
+     * Quantidade de veículos (de um cliente, se informado).
+     */
+    public int countVeiculos(String idCliente) throws SQLException {
+        if (idCliente != null) {
+            return countByClienteId(idCliente);
+        }
+        return count("SELECT COUNT(*) FROM veiculos");
+    }
+
     /**
      * Conta quantos veículos um cliente específico possui.
      * 
@@ -78,7 +228,17 @@ public class VeiculoRepository extends BaseRepository<Veiculo> {
      */
     public List<Veiculo> findByClienteId(String clienteId) throws SQLException {
         String sql = "SELECT * FROM veiculos WHERE id_cliente = ? ORDER BY modelo";
-        return findMany(sql, this::mapResultSetToVeiculo, clienteId);
+        return EntityCaches.VEICULOS_POR_CLIENTE.getOrLoad(clienteId,
+                () -> List.copyOf(findMany(sql, this::mapResultSetToVeiculo, clienteId)));
+    }
+
+    /**
+     * Remove o veículo do cache. O cliente anterior não é conhecido aqui,
+     * então as listas por cliente são todas descartadas.
+     */
+    private void invalidate(String id) {
+        EntityCaches.VEICULOS.invalidate(id);
+        EntityCaches.VEICULOS_POR_CLIENTE.clear();
     }
 
 }
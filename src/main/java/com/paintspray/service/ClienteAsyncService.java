@@ -0,0 +1,42 @@
+package com.paintspray.service;
+
+import com.paintspray.model.Cliente;
+import com.paintspray.repository.Page;
+import com.paintspray.util.AsyncExecutors;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão assíncrona do {@link ClienteService} para uso pelos controllers.
+ * Cada chamada roda em uma thread virtual e o futuro é completado na thread
+ * da interface.
+ */
+public class ClienteAsyncService {
+
+    private final ClienteService clienteService;
+
+    public ClienteAsyncService() {
+        this(new ClienteService());
+    }
+
+    public ClienteAsyncService(ClienteService clienteService) {
+        this.clienteService = clienteService;
+    }
+
+    public CompletableFuture<List<Cliente>> listarTodos() {
+        return AsyncExecutors.supply(clienteService::listarTodos);
+    }
+
+    public CompletableFuture<Page<Cliente>> listarPagina(Cliente ultimo, int tamanho) {
+        return AsyncExecutors.supply(() -> clienteService.listarPagina(ultimo, tamanho));
+    }
+
+    public CompletableFuture<List<Cliente>> buscarClientes(String texto, int limite) {
+        return AsyncExecutors.supply(() -> clienteService.buscarClientes(texto, limite));
+    }
+
+    public CompletableFuture<Cliente> buscarClientePorId(String id) {
+        return AsyncExecutors.supply(() -> clienteService.buscarClientePorId(id));
+    }
+}
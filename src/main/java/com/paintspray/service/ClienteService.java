@@ -3,10 +3,12 @@ package com.paintspray.service;
 import com.paintspray.model.Cliente;
 import com.paintspray.model.Servico;
 import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.Page;
 import com.paintspray.repository.ServicoRepository;
 import com.paintspray.repository.VeiculoRepository;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Camada de Serviço para a entidade Cliente.
@@ -16,6 +18,12 @@ import java.util.List;
  */
 public class ClienteService {
 
+    // Padrões compilados uma vez (a importação valida milhares de linhas)
+    private static final Pattern ID_PATTERN = Pattern.compile("^[1-9]\\d{0,9}$");
+    private static final Pattern NOME_PATTERN = Pattern.compile("^[A-Za-zÀ-ÖØ-öø-ÿ ]+$");
+    private static final Pattern ENDERECO_PATTERN = Pattern.compile("^[A-Za-zÀ-ÖØ-öø-ÿ0-9 ,.-]+$");
+    private static final Pattern TELEFONE_PATTERN = Pattern.compile("^\\+?\\d{8,15}$");
+
     // Dependências necessárias para as operações de cliente.
     private final ClienteRepository repository;
     private final ServicoRepository servicoRepository;
@@ -32,18 +40,36 @@ public class ClienteService {
      */
     public void cadastrarCliente(String id, String nome, String email, String senha, String endereco, String telefone)
             throws SQLException, IllegalArgumentException {
+        validarCliente(id, nome, endereco, telefone);
+
+        // Regra de negócio: não permitir cadastro com ID ou email duplicado
+        if (repository.findById(id) != null)
+            throw new IllegalArgumentException("Já existe um cliente com este ID.");
+
+        // Se tudo estiver válido, cria o objeto e delega a persistência ao repositório
+        Cliente novoCliente = new Cliente(id, nome, endereco, telefone);
+        repository.save(novoCliente);
+    }
+
+    /**
+     * Regras de formato dos dados de um cliente, sem consultar o banco.
+     * Usadas no cadastro e na importação.
+     *
+     * @throws IllegalArgumentException Com a mensagem do primeiro dado inválido
+     */
+    public static void validarCliente(String id, String nome, String endereco, String telefone) {
         // Bloco de validações dos dados de entrada
         if (id == null || id.trim().isEmpty())
             throw new IllegalArgumentException("O ID do cliente não pode ser vazio.");
 
         // só dígitos e não pode começar com zero
-        if (!id.matches("^[1-9]\\d{0,9}$"))
+        if (!ID_PATTERN.matcher(id).matches())
             throw new IllegalArgumentException("ID deve ser número inteiro positivo sem zeros à esquerda.");
 
         if (nome == null || nome.trim().isEmpty())
             throw new IllegalArgumentException("O nome não pode ser vazio.");
 
-        if (!nome.matches("^[A-Za-zÀ-ÖØ-öø-ÿ ]+$"))
+        if (!NOME_PATTERN.matcher(nome).matches())
             throw new IllegalArgumentException("O nome só pode conter letras e espaços.");
 
         if (nome.contains("  "))
@@ -52,7 +78,7 @@ public class ClienteService {
         if (endereco == null || endereco.trim().isEmpty())
             throw new IllegalArgumentException("O endereço não pode ser vazio.");
 
-        if (!endereco.matches("^[A-Za-zÀ-ÖØ-öø-ÿ0-9 ,.-]+$"))
+        if (!ENDERECO_PATTERN.matcher(endereco).matches())
             throw new IllegalArgumentException(
                     "O endereço só pode conter letras, números, espaços, vírgulas, pontos e hífens.");
 
@@ -62,17 +88,9 @@ public class ClienteService {
         if (telefone == null || telefone.trim().isEmpty())
             throw new IllegalArgumentException("O telefone não pode ser vazio.");
 
-        if (!telefone.matches("^\\+?\\d{8,15}$"))
+        if (!TELEFONE_PATTERN.matcher(telefone).matches())
             throw new IllegalArgumentException("Telefone inválido. Deve conter apenas dígitos (8–15 caracteres), "
                     + "podendo começar com '+' para código de país.");
-
-        // Regra de negócio: não permitir cadastro com ID ou email duplicado
-        if (repository.findById(id) != null)
-            throw new IllegalArgumentException("Já existe um cliente com este ID.");
-
-        // Se tudo estiver válido, cria o objeto e delega a persistência ao repositório
-        Cliente novoCliente = new Cliente(id, nome, endereco, telefone);
-        repository.save(novoCliente);
     }
 
     /**
@@ -114,6 +132,37 @@ public class ClienteService {
         return repository.findAll();
     }
 
+    /**
+     * Retorna uma página de clientes em ordem alfabética.
+     *
+     * @param ultimo  Último cliente da página anterior (null na primeira)
+     * @param tamanho Quantidade de clientes por página
+     */
+    public Page<Cliente> listarPagina(Cliente ultimo, int tamanho) throws SQLException {
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser positivo.");
+        }
+        return repository.findPage(ultimo, tamanho);
+    }
+
+    /**
+     * Busca clientes por trecho do nome, telefone ou endereço, do mais
+     * relevante para o menos relevante.
+     *
+     * @param texto  Texto da busca
+     * @param limite Quantidade máxima de clientes
+     * @return Clientes encontrados (vazio se o texto estiver em branco)
+     */
+    public List<Cliente> buscarClientes(String texto, int limite) throws SQLException {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite da busca deve ser positivo.");
+        }
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return repository.buscar(texto, limite);
+    }
+
     /**
      * Busca um cliente pelo ID. Lança uma exceção se não for encontrado.
      */
@@ -140,12 +189,9 @@ public class ClienteService {
         if (novoTelefone == null || novoTelefone.trim().isEmpty())
             throw new IllegalArgumentException("Telefone inválido");
 
-        // Atualiza o objeto com os novos dados
-        cliente.setNome(novoNome);
-        cliente.setEndereco(novoEndereco);
-        cliente.setNumeroTelefone(novoTelefone);
-
-        repository.update(cliente);
+        // O cliente lido é o do cache, compartilhado com outras telas e threads:
+        // os novos dados vão em outro objeto, e o cache só muda depois do UPDATE
+        repository.update(new Cliente(cliente.getId(), novoNome, novoEndereco, novoTelefone));
     }
 
     /**
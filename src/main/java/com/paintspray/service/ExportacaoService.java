@@ -0,0 +1,267 @@
+package com.paintspray.service;
+
+import com.paintspray.enums.TipoExportacao;
+import com.paintspray.model.Cliente;
+import com.paintspray.model.Servico;
+import com.paintspray.model.Veiculo;
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.FiltroServicos;
+import com.paintspray.repository.JdbcRepository.RowCallback;
+import com.paintspray.repository.ServicoRepository;
+import com.paintspray.repository.VeiculoRepository;
+import com.paintspray.util.CsvWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+
+/**
+ * Exporta serviços, clientes e veículos em CSV com memória constante: cada
+ * linha vai do cursor JDBC direto para o {@link CsvWriter}, sem lista
+ * intermediária. A leitura é feita em blocos de {@link #getLinhasPorConsulta()}
+ * linhas, continuando pelo último ID (keyset), para que nenhuma consulta fique
+ * aberta durante a exportação inteira; por isso o arquivo não é uma foto
+ * instantânea do banco se houver gravações no meio.
+ * <p>
+ * O arquivo é escrito ao lado do destino com a extensão {@code .parcial} e só
+ * substitui o destino quando termina: uma exportação cancelada ou com erro não
+ * deixa arquivo pela metade.
+ */
+public class ExportacaoService {
+
+    /**
+     * Linhas lidas por consulta.
+     */
+    public static final int LINHAS_POR_CONSULTA = 5_000;
+
+    /**
+     * A cada quantas linhas o progresso é informado.
+     */
+    public static final int INTERVALO_PROGRESSO = 1_000;
+
+    /**
+     * Recebe o andamento da exportação na thread que exporta. Pode interromper
+     * a exportação lançando uma exceção não verificada (ex.:
+     * {@code CancellationException}).
+     */
+    @FunctionalInterface
+    public interface Progresso {
+        /**
+         * @param linhas Linhas de dados já escritas
+         * @param total  Linhas previstas (contadas no início; pode mudar se
+         *               houver gravações durante a exportação)
+         */
+        void atualizar(long linhas, long total);
+    }
+
+    @FunctionalInterface
+    private interface EscritaCsv<T> {
+        void escrever(T item) throws IOException;
+    }
+
+    private final ServicoRepository servicoRepository;
+    private final ClienteRepository clienteRepository;
+    private final VeiculoRepository veiculoRepository;
+    private int linhasPorConsulta = LINHAS_POR_CONSULTA;
+
+    public ExportacaoService() {
+        this.servicoRepository = new ServicoRepository();
+        this.clienteRepository = new ClienteRepository();
+        this.veiculoRepository = new VeiculoRepository();
+    }
+
+    /**
+     * Exporta o conjunto de dados para o arquivo. Serviços usam todos os
+     * filtros; clientes e veículos, só o cliente.
+     *
+     * @param destino Arquivo CSV (substituído se existir)
+     * @return Linhas de dados exportadas (sem o cabeçalho)
+     */
+    public long exportar(TipoExportacao tipo, Path destino, FiltroServicos filtro, Progresso progresso)
+            throws SQLException, IOException {
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de exportação é obrigatório");
+        }
+        if (destino == null) {
+            throw new IllegalArgumentException("Arquivo de destino é obrigatório");
+        }
+        FiltroServicos filtros = filtro != null ? filtro : FiltroServicos.TODOS;
+        if (filtros.inicio() != null && filtros.fim() != null && !filtros.inicio().isBefore(filtros.fim())) {
+            throw new IllegalArgumentException("Início do período deve ser anterior ao fim");
+        }
+
+        Path parcial = destino.resolveSibling(destino.getFileName() + ".parcial");
+        Contador contador = new Contador(progresso);
+        boolean concluida = false;
+        try {
+            // O arquivo é fechado (e o buffer gravado) antes de substituir o destino
+            try (CsvWriter csv = CsvWriter.abrir(parcial)) {
+                switch (tipo) {
+                    case SERVICOS -> exportarServicos(csv, filtros, contador);
+                    case CLIENTES -> exportarClientes(csv, filtros.idCliente(), contador);
+                    case VEICULOS -> exportarVeiculos(csv, filtros.idCliente(), contador);
+                }
+            }
+            contador.terminar();
+            concluida = true;
+            return contador.linhas;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (concluida) {
+                mover(parcial, destino);
+            } else {
+                Files.deleteIfExists(parcial);
+            }
+        }
+    }
+
+    /**
+     * Linhas lidas por consulta.
+     */
+    public int getLinhasPorConsulta() {
+        return linhasPorConsulta;
+    }
+
+    /**
+     * Define quantas linhas cada consulta lê. Blocos maiores fazem menos
+     * consultas; menores liberam o banco com mais frequência.
+     */
+    public void setLinhasPorConsulta(int linhasPorConsulta) {
+        if (linhasPorConsulta <= 0) {
+            throw new IllegalArgumentException("Linhas por consulta deve ser positivo");
+        }
+        this.linhasPorConsulta = linhasPorConsulta;
+    }
+
+    private void exportarServicos(CsvWriter csv, FiltroServicos filtro, Contador contador)
+            throws SQLException, IOException {
+        contador.total = servicoRepository.count(filtro);
+        csv.linha("id", "tipo", "descricao", "preco", "status", "forma_pagamento", "data_criacao",
+                "data_inicio", "data_conclusao", "data_cancelamento", "id_veiculo", "veiculo", "id_cliente",
+                "cliente");
+
+        Servico[] ultimo = new Servico[1];
+        RowCallback<Servico> callback = escrevendo(contador, servico -> {
+            Veiculo veiculo = servico.getVeiculo();
+            csv.campo(servico.getIdServico())
+                    .campo(servico.getTipo())
+                    .campo(servico.getDescricao())
+                    .campo(servico.getPreco())
+                    .campo(servico.getStatus())
+                    .campo(servico.getFormaPagamento())
+                    .campo(servico.getDataCriacao())
+                    .campo(servico.getDataInicio())
+                    .campo(servico.getDataConclusao())
+                    .campo(servico.getDataCancelamento());
+            if (veiculo != null) {
+                csv.campo(veiculo.getId()).campo(veiculo.getModelo()).campo(veiculo.getIdCliente());
+            } else {
+                csv.campo((String) null).campo((String) null).campo((String) null);
+            }
+            csv.campo(servico.getNomeCliente());
+            csv.fimDaLinha();
+            ultimo[0] = servico;
+        });
+
+        Integer antesDe = null;
+        while (servicoRepository.forEachServico(filtro, antesDe, linhasPorConsulta, callback) == linhasPorConsulta) {
+            antesDe = ultimo[0].getIdServico();
+        }
+    }
+
+    private void exportarClientes(CsvWriter csv, String idCliente, Contador contador)
+            throws SQLException, IOException {
+        contador.total = clienteRepository.countClientes(idCliente);
+        csv.linha("id", "nome", "endereco", "telefone");
+
+        Cliente[] ultimo = new Cliente[1];
+        RowCallback<Cliente> callback = escrevendo(contador, cliente -> {
+            csv.campo(cliente.getId())
+                    .campo(cliente.getNome())
+                    .campo(cliente.getEndereco())
+                    .campo(cliente.getNumeroTelefone())
+                    .fimDaLinha();
+            ultimo[0] = cliente;
+        });
+
+        Cliente apos = null;
+        while (clienteRepository.forEachCliente(idCliente, apos, linhasPorConsulta, callback) == linhasPorConsulta) {
+            apos = ultimo[0];
+        }
+    }
+
+    private void exportarVeiculos(CsvWriter csv, String idCliente, Contador contador)
+            throws SQLException, IOException {
+        contador.total = veiculoRepository.countVeiculos(idCliente);
+        csv.linha("id", "modelo", "cor", "ano_fabricacao", "id_cliente");
+
+        Veiculo[] ultimo = new Veiculo[1];
+        RowCallback<Veiculo> callback = escrevendo(contador, veiculo -> {
+            csv.campo(veiculo.getId())
+                    .campo(veiculo.getModelo())
+                    .campo(veiculo.getCor())
+                    .campo(veiculo.getAnoFabricacao())
+                    .campo(veiculo.getIdCliente())
+                    .fimDaLinha();
+            ultimo[0] = veiculo;
+        });
+
+        Integer antesDe = null;
+        while (veiculoRepository.forEachVeiculo(idCliente, antesDe, linhasPorConsulta, callback)
+                == linhasPorConsulta) {
+            antesDe = ultimo[0].getId();
+        }
+    }
+
+    /**
+     * Adapta a escrita de uma linha ao callback do repositório: conta a linha
+     * e leva a IOException até {@link #exportar} como UncheckedIOException.
+     */
+    private static <T> RowCallback<T> escrevendo(Contador contador, EscritaCsv<T> escrita) {
+        return item -> {
+            try {
+                escrita.escrever(item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            contador.contar();
+        };
+    }
+
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static final class Contador {
+
+        private final Progresso progresso;
+        private long linhas;
+        private long total;
+
+        Contador(Progresso progresso) {
+            this.progresso = progresso;
+        }
+
+        void contar() {
+            linhas++;
+            if (progresso != null && linhas % INTERVALO_PROGRESSO == 0) {
+                progresso.atualizar(linhas, Math.max(linhas, total));
+            }
+        }
+
+        void terminar() {
+            if (progresso != null) {
+                progresso.atualizar(linhas, linhas);
+            }
+        }
+    }
+}
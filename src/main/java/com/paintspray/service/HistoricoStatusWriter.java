@@ -0,0 +1,210 @@
+package com.paintspray.service;
+
+import com.paintspray.model.EventoStatus;
+import com.paintspray.repository.ServicoEventoRepository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grava o histórico de status em segundo plano. Quem muda o status só coloca
+ * o evento em uma fila limitada; uma thread própria junta tudo o que estiver
+ * na fila e grava em uma única transação (group commit), então a mudança de
+ * status no quadro não espera um commit a mais no disco.
+ * <p>
+ * Com a fila cheia, o evento é gravado na própria thread de quem chamou: o
+ * histórico fica mais lento, mas nenhum evento é descartado. Eventos ainda na
+ * fila se perdem se o processo morrer antes de gravá-los; {@link #shutdown()}
+ * grava os pendentes antes de encerrar.
+ */
+public class HistoricoStatusWriter {
+
+    /**
+     * Eventos aguardando gravação antes de a fila recusar novos.
+     */
+    public static final int CAPACIDADE_PADRAO = 10_000;
+
+    /**
+     * Maior quantidade de eventos gravados por transação.
+     */
+    public static final int LOTE_MAXIMO = 500;
+
+    private static HistoricoStatusWriter instance;
+
+    private final BlockingQueue<EventoStatus> fila;
+    private final ServicoEventoRepository repository;
+    private final Thread thread;
+    private final Object monitor = new Object();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong gravadosDireto = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private long pendentes;
+    private volatile boolean ativo = true;
+
+    /**
+     * @param capacidade Tamanho máximo da fila
+     */
+    public HistoricoStatusWriter(int capacidade) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.repository = new ServicoEventoRepository();
+        this.thread = Thread.ofPlatform().name("paintspray-historico").daemon().unstarted(this::executar);
+    }
+
+    /**
+     * Instância do processo, criada e iniciada no primeiro uso.
+     */
+    public static synchronized HistoricoStatusWriter getInstance() {
+        if (instance == null) {
+            instance = new HistoricoStatusWriter(CAPACIDADE_PADRAO);
+            instance.thread.start();
+        }
+        return instance;
+    }
+
+    /**
+     * Grava os eventos pendentes e encerra a instância atual. Deve ser chamado
+     * antes de {@code DatabaseConnection.shutdown()}.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.parar();
+            instance = null;
+        }
+    }
+
+    /**
+     * Coloca o evento na fila de gravação, sem esperar o banco. Se a fila
+     * estiver cheia (ou o gravador encerrado), grava na thread atual.
+     *
+     * @throws SQLException Se a gravação direta falhar
+     */
+    public void registrar(EventoStatus evento) throws SQLException {
+        synchronized (monitor) {
+            pendentes++;
+        }
+        if (ativo && fila.offer(evento)) {
+            return;
+        }
+        try {
+            repository.save(evento);
+            gravadosDireto.incrementAndGet();
+        } finally {
+            concluir(1);
+        }
+    }
+
+    /**
+     * Espera até que todos os eventos registrados antes da chamada estejam
+     * gravados, para que uma consulta ao histórico os enxergue.
+     *
+     * @param timeoutMillis Tempo máximo de espera
+     * @return true se não restou nada pendente dentro do prazo
+     */
+    public boolean aguardarGravacao(long timeoutMillis) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (monitor) {
+            while (pendentes > 0) {
+                long restante = TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+                if (restante <= 0) {
+                    return false;
+                }
+                monitor.wait(restante);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Transações de gravação feitas pela thread de fundo.
+     */
+    public long getLotes() {
+        return lotes.get();
+    }
+
+    /**
+     * Eventos gravados pela thread de fundo.
+     */
+    public long getGravados() {
+        return gravados.get();
+    }
+
+    /**
+     * Eventos gravados na thread de quem chamou, por fila cheia.
+     */
+    public long getGravadosDireto() {
+        return gravadosDireto.get();
+    }
+
+    /**
+     * Eventos perdidos por erro de gravação.
+     */
+    public long getFalhas() {
+        return falhas.get();
+    }
+
+    private void executar() {
+        List<EventoStatus> lote = new ArrayList<>(LOTE_MAXIMO);
+        // Depois de parar(), continua até esvaziar a fila
+        while (ativo || !fila.isEmpty()) {
+            try {
+                EventoStatus primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                // Tudo o que chegou enquanto o lote anterior era gravado vai no mesmo commit
+                lote.add(primeiro);
+                fila.drainTo(lote, LOTE_MAXIMO - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravar(List<EventoStatus> lote) {
+        try {
+            repository.saveAll(lote);
+            lotes.incrementAndGet();
+            gravados.addAndGet(lote.size());
+        } catch (SQLException e) {
+            falhas.addAndGet(lote.size());
+            System.err.println("Erro ao gravar histórico de status (" + lote.size() + " eventos): "
+                    + e.getMessage());
+        } finally {
+            concluir(lote.size());
+        }
+    }
+
+    private void concluir(int quantidade) {
+        synchronized (monitor) {
+            pendentes -= quantidade;
+            if (pendentes == 0) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void parar() {
+        ativo = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Eventos enfileirados durante o encerramento
+        List<EventoStatus> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            gravar(restantes);
+        }
+    }
+}
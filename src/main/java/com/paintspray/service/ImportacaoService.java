@@ -0,0 +1,498 @@
+package com.paintspray.service;
+
+import com.paintspray.enums.TipoImportacao;
+import com.paintspray.model.Cliente;
+import com.paintspray.model.Importacao;
+import com.paintspray.model.Veiculo;
+import com.paintspray.repository.ClienteRepository;
+import com.paintspray.repository.ImportacaoRepository;
+import com.paintspray.repository.VeiculoRepository;
+import com.paintspray.util.CsvReader;
+import com.paintspray.util.CsvWriter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Importa clientes e veículos de CSV em etapas:
+ * <ol>
+ * <li>a leitura separa os registros do arquivo em blocos de
+ * {@link #getLinhasPorBloco()} linhas;</li>
+ * <li>cada bloco é convertido e validado em paralelo, com as mesmas regras
+ * do cadastro ({@link ClienteService#validarCliente},
+ * {@link VeiculoService#validarVeiculo});</li>
+ * <li>os blocos voltam à ordem do arquivo, os duplicados são recusados
+ * contra os IDs carregados do banco no início (e os já importados) e cada
+ * bloco é gravado em uma transação, junto com a linha em que a importação
+ * parou.</li>
+ * </ol>
+ * Uma importação interrompida continua da última linha gravada quando o
+ * mesmo arquivo (mesmo caminho, tamanho e data de modificação) é importado
+ * de novo. As linhas recusadas vão para {@code <arquivo>.rejeitadas.csv},
+ * com o número da linha e o motivo.
+ */
+public class ImportacaoService {
+
+    /**
+     * Linhas por bloco (unidade de validação e de transação).
+     */
+    public static final int LINHAS_POR_BLOCO = 2_000;
+
+    /**
+     * Sufixo do relatório de linhas recusadas, criado ao lado do arquivo.
+     */
+    public static final String SUFIXO_RELATORIO = ".rejeitadas.csv";
+
+    /**
+     * Recebe o andamento depois de cada bloco gravado, na thread que importa.
+     * Pode interromper a importação lançando uma exceção não verificada (ex.:
+     * {@code CancellationException}); o que já foi gravado fica para a
+     * retomada.
+     */
+    @FunctionalInterface
+    public interface Progresso {
+        /**
+         * @param linhas     Linhas de dados processadas (incluindo as de uma execução anterior)
+         * @param importadas Linhas gravadas
+         * @param rejeitadas Linhas recusadas
+         */
+        void atualizar(long linhas, long importadas, long rejeitadas);
+    }
+
+    /**
+     * Resultado de uma importação. As quantidades cobrem o arquivo inteiro,
+     * incluindo execuções anteriores que foram interrompidas.
+     *
+     * @param linhas          Linhas de dados processadas
+     * @param importadas      Linhas gravadas
+     * @param rejeitadas      Linhas recusadas
+     * @param retomadaDaLinha Última linha já processada quando esta execução
+     *                        começou (0 se começou do início)
+     * @param relatorio       Relatório das linhas recusadas (null se nenhuma)
+     */
+    public record Resultado(long linhas, long importadas, long rejeitadas, long retomadaDaLinha, Path relatorio) {
+    }
+
+    private record Linha<T>(long numero, String[] registro, T item) {
+    }
+
+    private record Rejeicao(long numero, String[] registro, String motivo) {
+    }
+
+    private record Bloco<T>(long ultimaLinha, List<Linha<T>> validas, List<Rejeicao> rejeitadas) {
+    }
+
+    private final ClienteRepository clienteRepository;
+    private final VeiculoRepository veiculoRepository;
+    private final ImportacaoRepository importacaoRepository;
+    private int linhasPorBloco = LINHAS_POR_BLOCO;
+    private int paralelismo = Runtime.getRuntime().availableProcessors();
+
+    public ImportacaoService() {
+        this.clienteRepository = new ClienteRepository();
+        this.veiculoRepository = new VeiculoRepository();
+        this.importacaoRepository = new ImportacaoRepository();
+    }
+
+    /**
+     * Importa o arquivo, continuando de onde uma importação anterior do mesmo
+     * arquivo parou. Um arquivo já importado por completo não é lido de novo.
+     *
+     * @param progresso Andamento (pode ser null)
+     * @throws IllegalArgumentException Se o cabeçalho não tiver as colunas do tipo
+     */
+    public Resultado importar(TipoImportacao tipo, Path arquivo, Progresso progresso)
+            throws SQLException, IOException {
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de importação é obrigatório");
+        }
+        if (arquivo == null || !Files.isRegularFile(arquivo)) {
+            throw new IllegalArgumentException("Arquivo de importação não encontrado");
+        }
+
+        String chave = chave(tipo, arquivo);
+        Importacao existente = importacaoRepository.findById(chave);
+        Importacao andamento = existente != null ? existente : Importacao.nova(chave, tipo);
+        long retomada = andamento.linha();
+        Path relatorio = arquivo.resolveSibling(arquivo.getFileName() + SUFIXO_RELATORIO);
+        if (andamento.concluida()) {
+            return resultado(andamento, retomada, relatorio);
+        }
+
+        try (CsvReader leitor = CsvReader.abrir(arquivo)) {
+            String[] cabecalho = leitor.proximo();
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("Arquivo vazio");
+            }
+            Destino<?> destino = switch (tipo) {
+                case CLIENTES -> new DestinoClientes(colunas(tipo, cabecalho));
+                case VEICULOS -> new DestinoVeiculos(colunas(tipo, cabecalho));
+            };
+            try (CsvWriter rejeitadas = abrirRelatorio(relatorio, cabecalho, retomada)) {
+                andamento = processar(leitor, destino, andamento, rejeitadas, progresso);
+            }
+        }
+
+        if (andamento.rejeitadas() == 0) {
+            Files.deleteIfExists(relatorio);
+        }
+        return resultado(andamento, retomada, relatorio);
+    }
+
+    /**
+     * Linhas por bloco.
+     */
+    public int getLinhasPorBloco() {
+        return linhasPorBloco;
+    }
+
+    /**
+     * Define quantas linhas cada bloco tem. Blocos maiores fazem menos
+     * transações; menores perdem menos trabalho numa interrupção.
+     */
+    public void setLinhasPorBloco(int linhasPorBloco) {
+        if (linhasPorBloco <= 0) {
+            throw new IllegalArgumentException("Linhas por bloco deve ser positivo");
+        }
+        this.linhasPorBloco = linhasPorBloco;
+    }
+
+    /**
+     * Quantas threads validam blocos ao mesmo tempo (padrão: um por
+     * processador).
+     */
+    public void setParalelismo(int paralelismo) {
+        if (paralelismo <= 0) {
+            throw new IllegalArgumentException("Paralelismo deve ser positivo");
+        }
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Lê os blocos e os entrega à validação, mantendo até duas vezes o
+     * paralelismo em andamento; enquanto um bloco é gravado, os seguintes
+     * continuam sendo validados.
+     */
+    private <T> Importacao processar(CsvReader leitor, Destino<T> destino, Importacao andamento,
+            CsvWriter rejeitadas, Progresso progresso) throws SQLException, IOException {
+        ExecutorService validacao = Executors.newFixedThreadPool(paralelismo,
+                Thread.ofPlatform().name("paintspray-importacao-", 0).daemon(true).factory());
+        try {
+            Deque<Future<Bloco<T>>> pendentes = new ArrayDeque<>();
+            long linha = 0;
+            String[] registro;
+            List<String[]> registros = new ArrayList<>(linhasPorBloco);
+            while ((registro = leitor.proximo()) != null) {
+                // Linhas já processadas numa execução anterior
+                if (++linha <= andamento.linha()) {
+                    continue;
+                }
+                registros.add(registro);
+                if (registros.size() == linhasPorBloco) {
+                    pendentes.add(validar(validacao, destino, registros, linha));
+                    registros = new ArrayList<>(linhasPorBloco);
+                    if (pendentes.size() >= paralelismo * 2) {
+                        andamento = gravar(aguardar(pendentes.poll()), destino, andamento, rejeitadas, false);
+                        informar(progresso, andamento);
+                    }
+                }
+            }
+            if (!registros.isEmpty()) {
+                pendentes.add(validar(validacao, destino, registros, linha));
+            }
+            while (!pendentes.isEmpty()) {
+                andamento = gravar(aguardar(pendentes.poll()), destino, andamento, rejeitadas, false);
+                informar(progresso, andamento);
+            }
+            Importacao concluida = gravar(new Bloco<>(Math.max(linha, andamento.linha()), List.of(), List.of()),
+                    destino, andamento, rejeitadas, true);
+            informar(progresso, concluida);
+            return concluida;
+        } finally {
+            validacao.shutdownNow();
+        }
+    }
+
+    private static <T> Future<Bloco<T>> validar(ExecutorService validacao, Destino<T> destino,
+            List<String[]> registros, long ultimaLinha) {
+        long primeira = ultimaLinha - registros.size() + 1;
+        return validacao.submit(() -> {
+            List<Linha<T>> validas = new ArrayList<>(registros.size());
+            List<Rejeicao> recusadas = new ArrayList<>();
+            for (int i = 0; i < registros.size(); i++) {
+                String[] registro = registros.get(i);
+                try {
+                    validas.add(new Linha<>(primeira + i, registro, destino.converter(registro)));
+                } catch (IllegalArgumentException e) {
+                    recusadas.add(new Rejeicao(primeira + i, registro, e.getMessage()));
+                }
+            }
+            return new Bloco<>(ultimaLinha, validas, recusadas);
+        });
+    }
+
+    /**
+     * Recusa os duplicados do bloco, escreve as recusas no relatório e grava
+     * o bloco com o novo andamento. O relatório é gravado antes do commit; se
+     * o commit não acontecer, a retomada descarta as recusas a partir da
+     * linha gravada.
+     */
+    private <T> Importacao gravar(Bloco<T> bloco, Destino<T> destino, Importacao andamento,
+            CsvWriter rejeitadas, boolean fim) throws SQLException, IOException {
+        List<T> itens = new ArrayList<>(bloco.validas().size());
+        List<Rejeicao> recusadas = new ArrayList<>(bloco.rejeitadas());
+        for (Linha<T> linha : bloco.validas()) {
+            String motivo = destino.duplicado(linha.item());
+            if (motivo == null) {
+                itens.add(linha.item());
+            } else {
+                recusadas.add(new Rejeicao(linha.numero(), linha.registro(), motivo));
+            }
+        }
+
+        if (!recusadas.isEmpty()) {
+            recusadas.sort((a, b) -> Long.compare(a.numero(), b.numero()));
+            for (Rejeicao rejeicao : recusadas) {
+                rejeitadas.campo(rejeicao.numero()).campo(rejeicao.motivo());
+                for (String campo : rejeicao.registro()) {
+                    rejeitadas.campo(campo);
+                }
+                rejeitadas.fimDaLinha();
+            }
+            rejeitadas.flush();
+        }
+
+        Importacao proximo = andamento.avancar(bloco.ultimaLinha(), itens.size(), recusadas.size(), fim);
+        destino.gravar(itens, proximo);
+        return proximo;
+    }
+
+    private static <T> Bloco<T> aguardar(Future<Bloco<T>> bloco) throws IOException {
+        try {
+            return bloco.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Importação interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void informar(Progresso progresso, Importacao andamento) {
+        if (progresso != null) {
+            progresso.atualizar(andamento.linha(), andamento.importadas(), andamento.rejeitadas());
+        }
+    }
+
+    private static Resultado resultado(Importacao andamento, long retomada, Path relatorio) {
+        return new Resultado(andamento.linha(), andamento.importadas(), andamento.rejeitadas(), retomada,
+                andamento.rejeitadas() > 0 && Files.exists(relatorio) ? relatorio : null);
+    }
+
+    /**
+     * Identifica o arquivo: o mesmo caminho com outro tamanho ou data de
+     * modificação é tratado como um arquivo novo.
+     */
+    private static String chave(TipoImportacao tipo, Path arquivo) throws IOException {
+        return tipo.name() + '|' + arquivo.toAbsolutePath().normalize() + '|' + Files.size(arquivo) + '|'
+                + Files.getLastModifiedTime(arquivo).toMillis();
+    }
+
+    /**
+     * Posição de cada coluna do tipo no cabeçalho (nomes sem diferença de
+     * maiúsculas).
+     */
+    private static Map<String, Integer> colunas(TipoImportacao tipo, String[] cabecalho) {
+        Map<String, Integer> posicoes = new HashMap<>();
+        for (int i = 0; i < cabecalho.length; i++) {
+            posicoes.putIfAbsent(cabecalho[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String coluna : tipo.getColunasObrigatorias()) {
+            if (!posicoes.containsKey(coluna)) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no cabeçalho: " + coluna);
+            }
+        }
+        return posicoes;
+    }
+
+    /**
+     * Abre o relatório de recusas. Numa retomada, mantém só as recusas das
+     * linhas já gravadas no banco.
+     */
+    private static CsvWriter abrirRelatorio(Path relatorio, String[] cabecalho, long retomada) throws IOException {
+        Path anterior = null;
+        if (retomada > 0 && Files.exists(relatorio)) {
+            anterior = relatorio.resolveSibling(relatorio.getFileName() + ".anterior");
+            Files.move(relatorio, anterior, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        CsvWriter csv = CsvWriter.abrir(relatorio);
+        try {
+            String[] colunas = new String[cabecalho.length + 2];
+            colunas[0] = "linha";
+            colunas[1] = "motivo";
+            System.arraycopy(cabecalho, 0, colunas, 2, cabecalho.length);
+            csv.linha(colunas);
+            if (anterior != null) {
+                try (CsvReader leitor = CsvReader.abrir(anterior)) {
+                    leitor.proximo();
+                    String[] registro;
+                    while ((registro = leitor.proximo()) != null) {
+                        if (Long.parseLong(registro[0]) <= retomada) {
+                            csv.linha(registro);
+                        }
+                    }
+                }
+                Files.delete(anterior);
+            }
+            return csv;
+        } catch (IOException | RuntimeException e) {
+            csv.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Conversão (em paralelo) e gravação (em ordem) de um tipo de registro.
+     */
+    private abstract static class Destino<T> {
+
+        private final Map<String, Integer> colunas;
+
+        Destino(Map<String, Integer> colunas) {
+            this.colunas = colunas;
+        }
+
+        /**
+         * Converte e valida o registro; sem acesso ao banco, pode rodar em
+         * qualquer thread.
+         *
+         * @throws IllegalArgumentException Com o motivo da recusa
+         */
+        abstract T converter(String[] registro);
+
+        /**
+         * Motivo da recusa se o item já existe, ou null (e o item passa a
+         * contar como existente). Chamado na ordem do arquivo.
+         */
+        abstract String duplicado(T item);
+
+        abstract void gravar(List<T> itens, Importacao andamento) throws SQLException;
+
+        /**
+         * Valor da coluna, ou null se a coluna não existir ou estiver vazia.
+         */
+        String valor(String[] registro, String coluna) {
+            Integer posicao = colunas.get(coluna);
+            if (posicao == null || posicao >= registro.length || registro[posicao].isEmpty()) {
+                return null;
+            }
+            return registro[posicao];
+        }
+    }
+
+    private final class DestinoClientes extends Destino<Cliente> {
+
+        private final Set<String> ids;
+
+        DestinoClientes(Map<String, Integer> colunas) throws SQLException {
+            super(colunas);
+            this.ids = clienteRepository.findAllIds();
+        }
+
+        @Override
+        Cliente converter(String[] registro) {
+            String id = valor(registro, "id");
+            String nome = valor(registro, "nome");
+            String endereco = valor(registro, "endereco");
+            String telefone = valor(registro, "telefone");
+            ClienteService.validarCliente(id, nome, endereco, telefone);
+            return new Cliente(id, nome, endereco, telefone);
+        }
+
+        @Override
+        String duplicado(Cliente cliente) {
+            return ids.add(cliente.getId()) ? null : "Já existe um cliente com este ID.";
+        }
+
+        @Override
+        void gravar(List<Cliente> clientes, Importacao andamento) throws SQLException {
+            clienteRepository.importar(clientes, andamento);
+        }
+    }
+
+    private final class DestinoVeiculos extends Destino<Veiculo> {
+
+        private final Set<String> clientes;
+        private final Set<Integer> ids;
+
+        DestinoVeiculos(Map<String, Integer> colunas) throws SQLException {
+            super(colunas);
+            this.clientes = clienteRepository.findAllIds();
+            this.ids = veiculoRepository.findAllIds();
+        }
+
+        @Override
+        Veiculo converter(String[] registro) {
+            String idCliente = valor(registro, "id_cliente");
+            String modelo = valor(registro, "modelo");
+            String cor = valor(registro, "cor");
+            int ano = inteiro(valor(registro, "ano_fabricacao"), "Ano de fabricação inválido.");
+            VeiculoService.validarVeiculo(idCliente, modelo, cor, ano);
+
+            // O ID é opcional: sem ele o banco gera um novo
+            String id = valor(registro, "id");
+            int idVeiculo = id != null ? inteiro(id, "ID do veículo inválido.") : 0;
+            if (id != null && idVeiculo <= 0) {
+                throw new IllegalArgumentException("ID do veículo inválido.");
+            }
+            return new Veiculo(idVeiculo, modelo, cor, ano, idCliente);
+        }
+
+        @Override
+        String duplicado(Veiculo veiculo) {
+            if (!clientes.contains(veiculo.getIdCliente())) {
+                return "Cliente com o ID " + veiculo.getIdCliente() + " não encontrado.";
+            }
+            if (veiculo.getId() > 0 && !ids.add(veiculo.getId())) {
+                return "Já existe um veículo com este ID.";
+            }
+            return null;
+        }
+
+        @Override
+        void gravar(List<Veiculo> veiculos, Importacao andamento) throws SQLException {
+            veiculoRepository.importar(veiculos, andamento);
+        }
+
+        private static int inteiro(String texto, String mensagem) {
+            if (texto == null) {
+                throw new IllegalArgumentException(mensagem);
+            }
+            try {
+                return Integer.parseInt(texto.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(mensagem);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.paintspray.service;
+
+import com.paintspray.enums.StatusServico;
+import com.paintspray.model.PermanenciaStatus;
+import com.paintspray.model.ResumoStatus;
+import com.paintspray.model.Servico;
+import com.paintspray.model.TrechoStatus;
+import com.paintspray.repository.Page;
+import com.paintspray.util.AsyncExecutors;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão assíncrona do {@link ServicoService} para uso pelos controllers.
+ * Cada chamada roda em uma thread virtual e o futuro é completado na thread
+ * da interface; falhas chegam como {@code CompletionException} com a causa
+ * original (SQLException, IllegalArgumentException, ...).
+ */
+public class ServicoAsyncService {
+
+    private final ServicoService servicoService;
+
+    public ServicoAsyncService() {
+        this(new ServicoService());
+    }
+
+    public ServicoAsyncService(ServicoService servicoService) {
+        this.servicoService = servicoService;
+    }
+
+    public CompletableFuture<List<Servico>> listarTodos() {
+        return AsyncExecutors.supply(servicoService::listarTodos);
+    }
+
+    public CompletableFuture<Page<Servico>> listarPagina(Servico ultimo, int tamanho) {
+        return AsyncExecutors.supply(() -> servicoService.listarPagina(ultimo, tamanho));
+    }
+
+    public CompletableFuture<Page<Servico>> listarPaginaPorStatus(StatusServico status, Servico ultimo, int tamanho) {
+        return AsyncExecutors.supply(() -> servicoService.listarPaginaPorStatus(status, ultimo, tamanho));
+    }
+
+    public CompletableFuture<List<Servico>> buscarServicos(String texto, StatusServico status, int limite) {
+        return AsyncExecutors.supply(() -> servicoService.buscarServicos(texto, status, limite));
+    }
+
+    public CompletableFuture<EnumMap<StatusServico, List<Servico>>> carregarQuadro() {
+        return AsyncExecutors.supply(servicoService::carregarQuadro);
+    }
+
+    public CompletableFuture<EnumMap<StatusServico, ResumoStatus>> resumoPorStatus() {
+        return AsyncExecutors.supply(servicoService::resumoPorStatus);
+    }
+
+    public CompletableFuture<List<TrechoStatus>> linhaDoTempo(int servicoId) {
+        return AsyncExecutors.supply(() -> servicoService.linhaDoTempo(servicoId));
+    }
+
+    public CompletableFuture<EnumMap<StatusServico, PermanenciaStatus>> permanenciaPorStatus() {
+        return AsyncExecutors.supply(servicoService::permanenciaPorStatus);
+    }
+
+    public CompletableFuture<List<Servico>> listarServicosPendentes() {
+        return AsyncExecutors.supply(servicoService::listarServicosPendentes);
+    }
+
+    public CompletableFuture<List<Servico>> listarServicosEmAndamento() {
+        return AsyncExecutors.supply(servicoService::listarServicosEmAndamento);
+    }
+
+    public CompletableFuture<List<Servico>> listarServicosAguardandoPagamento() {
+        return AsyncExecutors.supply(servicoService::listarServicosAguardandoPagamento);
+    }
+
+    public CompletableFuture<List<Servico>> listarServicosFinalizados() {
+        return AsyncExecutors.supply(servicoService::listarServicosFinalizados);
+    }
+
+    public CompletableFuture<Servico> exibirServico(int servicoId) {
+        return AsyncExecutors.supply(() -> servicoService.exibirServico(servicoId));
+    }
+
+    public CompletableFuture<Void> atualizarStatusServico(int servicoId, StatusServico novoStatus) {
+        return AsyncExecutors.run(() -> servicoService.atualizarStatusServico(servicoId, novoStatus));
+    }
+
+    public CompletableFuture<Void> iniciarServico(int servicoId) {
+        return AsyncExecutors.run(() -> servicoService.iniciarServico(servicoId));
+    }
+
+    public CompletableFuture<Void> concluirServico(int servicoId) {
+        return AsyncExecutors.run(() -> servicoService.concluirServico(servicoId));
+    }
+
+    public CompletableFuture<Void> cancelarServico(int servicoId) {
+        return AsyncExecutors.run(() -> servicoService.cancelarServico(servicoId));
+    }
+}
@@ -1,6 +1,16 @@
 package com.paintspray.service;
 
+import com.paintspray.event.EventBus;
+import com.paintspray.event.ServicoEvent;
+import com.paintspray.model.Dinheiro;
+import com.paintspray.model.EventoStatus;
+import com.paintspray.model.PermanenciaStatus;
+import com.paintspray.model.ResumoStatus;
+import com.paintspray.model.TrechoStatus;
+import com.paintspray.repository.Page;
+import com.paintspray.repository.ServicoEventoRepository;
 import com.paintspray.repository.ServicoRepository;
+import com.paintspray.repository.TransicaoStatus;
 import com.paintspray.model.Servico;
 import com.paintspray.model.Veiculo;
 import com.paintspray.model.Usuario;
@@ -8,17 +18,53 @@ import com.paintspray.enums.StatusServico;
 import com.paintspray.enums.TipoServico;
 import com.paintspray.enums.FormaPagamento;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service para lógica de negócio relacionada a serviços (Ordens de Serviço).
+ * Cada alteração gravada é publicada no {@link EventBus} como um
+ * {@link ServicoEvent}.
+ * <p>
+ * As mudanças de status e a remoção são condicionais no próprio banco
+ * ({@code WHERE status IN (...)}): as origens permitidas de cada transição
+ * vêm da tabela de {@link StatusServico}, e um comando que não alterou nenhuma
+ * linha é convertido no erro de domínio correspondente.
+ * <p>
+ * Cada cadastro e cada transição aplicada também entram no histórico de
+ * status ({@code servico_eventos}) pelo {@link HistoricoStatusWriter}, fora da
+ * transação da mudança; as consultas ao histórico esperam os eventos
+ * pendentes serem gravados.
  */
 public class ServicoService {
 
+    /**
+     * Quantidade de serviços finalizados (os mais recentes) exibidos no quadro.
+     */
+    public static final int FINALIZADOS_NO_QUADRO = 50;
+
+    private static final Set<StatusServico> REMOVIVEIS = EnumSet.complementOf(
+            EnumSet.of(StatusServico.EM_ANDAMENTO, StatusServico.FINALIZADO));
+
+    /**
+     * Espera máxima pelos eventos pendentes antes de consultar o histórico.
+     */
+    private static final long ESPERA_HISTORICO_MILLIS = 2_000;
+
     private final ServicoRepository servicoRepository;
+    private final ServicoEventoRepository eventoRepository;
+    private final HistoricoStatusWriter historico;
+    private final EventBus eventBus;
 
     public ServicoService() {
         this.servicoRepository = new ServicoRepository();
+        this.eventoRepository = new ServicoEventoRepository();
+        this.historico = HistoricoStatusWriter.getInstance();
+        this.eventBus = EventBus.getInstance();
     }
 
     /**
@@ -44,15 +90,21 @@ public class ServicoService {
 
         // Salva no banco
         servicoRepository.save(servico);
+        historico.registrar(new EventoStatus(servico.getIdServico(), null, servico.getStatus(),
+                servico.getDataCriacao()));
+        publicarCriado(servico);
     }
 
     /**
      * Cadastra um novo serviço com preço e forma de pagamento.
      */
-    public void cadastrarServico(TipoServico tipo, String descricao, double preco,
+    public void cadastrarServico(TipoServico tipo, String descricao, Dinheiro preco,
             FormaPagamento formaPagamento, Veiculo veiculo, Usuario usuario) throws SQLException {
 
-        if (preco < 0) {
+        if (preco == null) {
+            throw new IllegalArgumentException("Preço é obrigatório");
+        }
+        if (preco.isNegativo()) {
             throw new IllegalArgumentException("Preço não pode ser negativo");
         }
 
@@ -62,93 +114,79 @@ public class ServicoService {
 
         // Salva no banco
         servicoRepository.save(servico);
+        historico.registrar(new EventoStatus(servico.getIdServico(), null, servico.getStatus(),
+                servico.getDataCriacao()));
+        publicarCriado(servico);
     }
 
     /**
      * Atualiza o status para EM_ANDAMENTO (inicia o serviço).
      */
     public void iniciarServico(int servicoId) throws SQLException {
-        Servico servico = servicoRepository.findById(String.valueOf(servicoId));
-        if (servico == null) {
-            throw new IllegalArgumentException("Serviço não encontrado");
-        }
-
-        if (servico.getStatus() != StatusServico.PENDENTE) {
-            throw new IllegalStateException("Só é possível iniciar serviços pendentes");
-        }
-
-        servicoRepository.updateStatus(servicoId, StatusServico.EM_ANDAMENTO);
+        Instant agora = Instant.now();
+        TransicaoStatus transicao = servicoRepository.transicionarStatus(servicoId,
+                StatusServico.EM_ANDAMENTO, agora);
+        verificar(transicao, "Só é possível iniciar serviços pendentes");
+        registrarTransicao(servicoId, transicao.anterior(), StatusServico.EM_ANDAMENTO, agora);
     }
 
     /**
      * Cancela um serviço.
      */
     public void cancelarServico(int servicoId) throws SQLException {
-        Servico servico = servicoRepository.findById(String.valueOf(servicoId));
-        if (servico == null) {
-            throw new IllegalArgumentException("Serviço não encontrado");
-        }
-
-        if (servico.getStatus() == StatusServico.FINALIZADO) {
-            throw new IllegalStateException("Não é possível cancelar serviços finalizados");
-        }
-
-        servicoRepository.cancelarServico(servicoId);
+        Instant agora = Instant.now();
+        TransicaoStatus transicao = servicoRepository.transicionarStatus(servicoId,
+                StatusServico.CANCELADO, agora);
+        verificar(transicao, transicao.anterior() == StatusServico.CANCELADO
+                ? "Serviço já está cancelado"
+                : "Não é possível cancelar serviços finalizados");
+        registrarTransicao(servicoId, transicao.anterior(), StatusServico.CANCELADO, agora);
     }
 
     /**
      * Conclui um serviço (muda status para FINALIZADO).
      */
     public void concluirServico(int servicoId) throws SQLException {
-        Servico servico = servicoRepository.findById(String.valueOf(servicoId));
-        if (servico == null) {
-            throw new IllegalArgumentException("Serviço não encontrado");
-        }
-
-        if (servico.getStatus() != StatusServico.AGUARDANDO_PAGAMENTO &&
-                servico.getStatus() != StatusServico.EM_ANDAMENTO) {
-            throw new IllegalStateException("Só é possível concluir serviços em andamento ou aguardando pagamento");
-        }
-
-        servicoRepository.updateStatus(servicoId, StatusServico.FINALIZADO);
+        Instant agora = Instant.now();
+        TransicaoStatus transicao = servicoRepository.transicionarStatus(servicoId,
+                StatusServico.FINALIZADO, agora);
+        verificar(transicao, "Só é possível concluir serviços em andamento ou aguardando pagamento");
+        registrarTransicao(servicoId, transicao.anterior(), StatusServico.FINALIZADO, agora);
     }
 
     /**
-     * Atualiza informações de um serviço.
+     * Atualiza informações de um serviço. Campos nulos (e preço negativo)
+     * mantêm o valor atual.
      */
     public void atualizarServico(int servicoId, TipoServico tipo, String descricao,
-            double preco, FormaPagamento formaPagamento) throws SQLException {
+            Dinheiro preco, FormaPagamento formaPagamento) throws SQLException {
 
         Servico servico = servicoRepository.findById(String.valueOf(servicoId));
         if (servico == null) {
             throw new IllegalArgumentException("Serviço não encontrado");
         }
 
-        if (servico.getStatus() == StatusServico.FINALIZADO) {
-            throw new IllegalStateException("Não é possível atualizar serviços finalizados");
-        }
-
         if (tipo != null) {
             servico.setTipo(tipo);
         }
         if (descricao != null) {
             servico.setDescricao(descricao);
         }
-        if (preco >= 0) {
+        if (preco != null && !preco.isNegativo()) {
             servico.setPreco(preco);
         }
         if (formaPagamento != null) {
             servico.setFormaPagamento(formaPagamento);
         }
 
-        servicoRepository.update(servico);
+        gravarDados(servico);
     }
 
     /**
      * Define preço de um serviço.
      */
-    public void definirPreco(int servicoId, double preco) throws SQLException {
-        if (preco < 0) {
+    public void definirPreco(int servicoId, Dinheiro preco) throws SQLException {
+        if (preco == null || preco.isNegativo()) {
             throw new IllegalArgumentException("Preço não pode ser negativo");
         }
 
@@ -158,7 +196,22 @@ public class ServicoService {
         }
 
         servico.setPreco(preco);
-        servicoRepository.update(servico);
+        gravarDados(servico);
+    }
+
+    /**
+     * Grava os dados alterados sem tocar no status, que pode ter mudado depois
+     * da leitura: o UPDATE não altera serviços finalizados, e o evento leva o
+     * serviço relido do banco, com o status atual.
+     */
+    private void gravarDados(Servico servico) throws SQLException {
+        if (!servicoRepository.updateDados(servico)) {
+            throw new IllegalStateException("Não é possível atualizar serviços finalizados");
+        }
+        Servico atualizado = servicoRepository.findById(String.valueOf(servico.getIdServico()));
+        if (atualizado != null) {
+            eventBus.publish(new ServicoEvent.Atualizado(atualizado));
+        }
     }
 
     /**
@@ -175,6 +228,165 @@ public class ServicoService {
         return servicoRepository.findAll();
     }
 
+    /**
+     * Percorre todos os serviços sem carregá-los em memória, para relatórios e
+     * exportações. Use com try-with-resources: fechar o Stream libera a conexão.
+     */
+    public Stream<Servico> streamTodos() throws SQLException {
+        return servicoRepository.streamAll();
+    }
+
+    /**
+     * Percorre os serviços de um status sem carregá-los em memória. Use com
+     * try-with-resources: fechar o Stream libera a conexão.
+     */
+    public Stream<Servico> streamPorStatus(StatusServico status) throws SQLException {
+        if (status == null) {
+            throw new IllegalArgumentException("Status é obrigatório");
+        }
+        return servicoRepository.streamByStatus(status);
+    }
+
+    /**
+     * Lista uma página de serviços, do mais recente para o mais antigo.
+     *
+     * @param ultimo  Último serviço da página anterior (null na primeira)
+     * @param tamanho Quantidade de serviços por página
+     */
+    public Page<Servico> listarPagina(Servico ultimo, int tamanho) throws SQLException {
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser positivo");
+        }
+        return servicoRepository.findPage(ultimo != null ? ultimo.getIdServico() : null, tamanho);
+    }
+
+    /**
+     * Lista uma página de serviços com o status informado.
+     *
+     * @param status  Status dos serviços
+     * @param ultimo  Último serviço da página anterior (null na primeira)
+     * @param tamanho Quantidade de serviços por página
+     */
+    public Page<Servico> listarPaginaPorStatus(StatusServico status, Servico ultimo, int tamanho)
+            throws SQLException {
+        if (status == null) {
+            throw new IllegalArgumentException("Status é obrigatório");
+        }
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser positivo");
+        }
+        return servicoRepository.findPageByStatus(status, ultimo != null ? ultimo.getIdServico() : null, tamanho);
+    }
+
+    /**
+     * Busca serviços por trecho da descrição, do tipo, do veículo ou do
+     * cliente, do mais relevante para o menos relevante.
+     *
+     * @param texto  Texto da busca
+     * @param status Filtro de status (null para todos)
+     * @param limite Quantidade máxima de serviços
+     * @return Serviços encontrados (vazio se o texto estiver em branco)
+     */
+    public List<Servico> buscarServicos(String texto, StatusServico status, int limite) throws SQLException {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite da busca deve ser positivo");
+        }
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        return servicoRepository.buscar(texto, status, limite);
+    }
+
+    /**
+     * Carrega as colunas do quadro Kanban (pendente, em andamento, aguardando
+     * pagamento e os {@value #FINALIZADOS_NO_QUADRO} finalizados mais recentes)
+     * com uma única consulta.
+     */
+    public EnumMap<StatusServico, List<Servico>> carregarQuadro() throws SQLException {
+        return servicoRepository.findQuadroKanban(FINALIZADOS_NO_QUADRO);
+    }
+
+    /**
+     * Quantidade e valor total de serviços por status, para os indicadores do
+     * dashboard. Todos os status estão presentes no mapa.
+     */
+    public EnumMap<StatusServico, ResumoStatus> resumoPorStatus() throws SQLException {
+        return servicoRepository.resumoPorStatus();
+    }
+
+    /**
+     * Faturamento: soma exata dos preços dos serviços finalizados, calculada
+     * no banco.
+     */
+    public Dinheiro calcularFaturamento() throws SQLException {
+        return servicoRepository.somarPrecos(StatusServico.FINALIZADO);
+    }
+
+    /**
+     * Faturamento do período {@code [inicio, fim)}: soma dos serviços
+     * finalizados com conclusão no intervalo.
+     */
+    public Dinheiro calcularFaturamento(Instant inicio, Instant fim) throws SQLException {
+        validarPeriodo(inicio, fim);
+        return servicoRepository.somarConcluidosEntre(inicio, fim);
+    }
+
+    /**
+     * Serviços criados no período {@code [inicio, fim)}, do mais recente para o
+     * mais antigo.
+     */
+    public List<Servico> listarCriadosEntre(Instant inicio, Instant fim) throws SQLException {
+        validarPeriodo(inicio, fim);
+        return servicoRepository.findCriadosEntre(inicio, fim);
+    }
+
+    /**
+     * Serviços concluídos no período {@code [inicio, fim)}, do mais recente
+     * para o mais antigo.
+     */
+    public List<Servico> listarConcluidosEntre(Instant inicio, Instant fim) throws SQLException {
+        validarPeriodo(inicio, fim);
+        return servicoRepository.findConcluidosEntre(inicio, fim);
+    }
+
+    /**
+     * Quantidade de serviços criados no período {@code [inicio, fim)}.
+     */
+    public int contarCriadosEntre(Instant inicio, Instant fim) throws SQLException {
+        validarPeriodo(inicio, fim);
+        return servicoRepository.countCriadosEntre(inicio, fim);
+    }
+
+    /**
+     * Linha do tempo de um serviço a partir do histórico: cada status por que
+     * passou, com entrada e saída. Serviços anteriores ao histórico começam na
+     * primeira mudança registrada.
+     */
+    public List<TrechoStatus> linhaDoTempo(int servicoId) throws SQLException {
+        aguardarHistorico();
+        return eventoRepository.linhaDoTempo(servicoId);
+    }
+
+    /**
+     * Tempo que os serviços passaram em cada status (trechos já encerrados),
+     * para saber, por exemplo, quanto tempo um serviço espera pagamento.
+     */
+    public EnumMap<StatusServico, PermanenciaStatus> permanenciaPorStatus() throws SQLException {
+        aguardarHistorico();
+        return eventoRepository.permanenciaPorStatus();
+    }
+
+    /**
+     * Tempo em cada status considerando os trechos iniciados no período
+     * {@code [inicio, fim)}.
+     */
+    public EnumMap<StatusServico, PermanenciaStatus> permanenciaPorStatus(Instant inicio, Instant fim)
+            throws SQLException {
+        validarPeriodo(inicio, fim);
+        aguardarHistorico();
+        return eventoRepository.permanenciaPorStatus(inicio, fim);
+    }
+
     /**
      * Lista serviços finalizados.
      */
@@ -242,31 +454,105 @@ public class ServicoService {
     }
 
     /**
-     * Atualiza o status de um serviço.
+     * Atualiza o status de um serviço, se a transição for permitida pelo fluxo
+     * ({@link StatusServico#podeMudarPara}).
      */
     public void atualizarStatusServico(int servicoId, StatusServico novoStatus) throws SQLException {
-        Servico servico = servicoRepository.findById(String.valueOf(servicoId));
-        if (servico == null) {
-            throw new IllegalArgumentException("Serviço não encontrado");
-        }
-
-        servicoRepository.updateStatus(servicoId, novoStatus);
+        Instant agora = Instant.now();
+        TransicaoStatus transicao = servicoRepository.transicionarStatus(servicoId, novoStatus, agora);
+        verificar(transicao, "Não é possível mover o serviço de " + transicao.anterior() + " para " + novoStatus);
+        registrarTransicao(servicoId, transicao.anterior(), novoStatus, agora);
     }
 
     /**
      * Remove um serviço (apenas se estiver pendente ou cancelado).
      */
     public void removerServico(int servicoId) throws SQLException {
+        // Depois do DELETE não há mais o que ler para o evento
+        Servico servico = temOuvintes() ? servicoRepository.findById(String.valueOf(servicoId)) : null;
+
+        TransicaoStatus remocao = servicoRepository.deleteSe(servicoId, REMOVIVEIS);
+        verificar(remocao, "Não é possível remover serviços em andamento ou finalizados");
+
+        if (servico != null) {
+            servico.setStatus(remocao.anterior());
+            eventBus.publish(new ServicoEvent.Removido(servico));
+        }
+    }
+
+    /**
+     * Publica o serviço recém-gravado, relido com o JOIN completo (cliente e
+     * veículo) para que as telas possam exibi-lo sem outra consulta.
+     */
+    private void publicarCriado(Servico servico) throws SQLException {
+        Servico gravado = servicoRepository.findById(String.valueOf(servico.getIdServico()));
+        eventBus.publish(new ServicoEvent.Criado(gravado != null ? gravado : servico));
+    }
+
+    /**
+     * Envia a transição aplicada ao histórico e a publica no barramento.
+     */
+    private void registrarTransicao(int servicoId, StatusServico anterior, StatusServico novoStatus,
+            Instant quando) throws SQLException {
+        historico.registrar(new EventoStatus(servicoId, anterior, novoStatus, quando));
+        publicarStatus(servicoId, anterior, novoStatus);
+    }
+
+    /**
+     * Espera os eventos já registrados chegarem ao banco. Se o prazo acabar, a
+     * consulta segue com o que já foi gravado.
+     */
+    private void aguardarHistorico() {
+        try {
+            historico.aguardarGravacao(ESPERA_HISTORICO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Publica uma transição já gravada. O serviço só é relido (com o JOIN
+     * completo) se alguma tela estiver inscrita.
+     */
+    private void publicarStatus(int servicoId, StatusServico anterior, StatusServico novoStatus)
+            throws SQLException {
+        if (!temOuvintes()) {
+            return;
+        }
         Servico servico = servicoRepository.findById(String.valueOf(servicoId));
         if (servico == null) {
-            throw new IllegalArgumentException("Serviço não encontrado");
+            return;
         }
+        // Uma alteração posterior já relida publica o próprio evento
+        servico.setStatus(novoStatus);
+        eventBus.publish(novoStatus == StatusServico.CANCELADO
+                ? new ServicoEvent.Cancelado(servico, anterior)
+                : new ServicoEvent.StatusAlterado(servico, anterior));
+    }
 
-        if (servico.getStatus() == StatusServico.EM_ANDAMENTO ||
-                servico.getStatus() == StatusServico.FINALIZADO) {
-            throw new IllegalStateException("Não é possível remover serviços em andamento ou finalizados");
+    private static void validarPeriodo(Instant inicio, Instant fim) {
+        if (inicio == null || fim == null) {
+            throw new IllegalArgumentException("Início e fim do período são obrigatórios");
         }
+        if (!inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("Início do período deve ser anterior ao fim");
+        }
+    }
 
-        servicoRepository.delete(String.valueOf(servicoId));
+    private boolean temOuvintes() {
+        return eventBus.hasSubscribers(ServicoEvent.class);
+    }
+
+    /**
+     * Converte um comando condicional que não alterou nenhuma linha no erro de
+     * domínio correspondente.
+     */
+    private static void verificar(TransicaoStatus transicao, String mensagemEstadoInvalido) {
+        if (!transicao.encontrado()) {
+            throw new IllegalArgumentException("Serviço não encontrado");
+        }
+        if (!transicao.aplicada()) {
+            throw new IllegalStateException(mensagemEstadoInvalido);
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.paintspray.service;
+
+import com.paintspray.model.Veiculo;
+import com.paintspray.util.AsyncExecutors;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versão assíncrona do {@link VeiculoService} para uso pelos controllers.
+ * Cada chamada roda em uma thread virtual e o futuro é completado na thread
+ * da interface.
+ */
+public class VeiculoAsyncService {
+
+    private final VeiculoService veiculoService;
+
+    public VeiculoAsyncService() {
+        this(new VeiculoService());
+    }
+
+    public VeiculoAsyncService(VeiculoService veiculoService) {
+        this.veiculoService = veiculoService;
+    }
+
+    public CompletableFuture<List<Veiculo>> listarVeiculosPorCliente(String clienteId) {
+        return AsyncExecutors.supply(() -> veiculoService.listarVeiculosPorCliente(clienteId));
+    }
+
+    public CompletableFuture<Veiculo> buscarVeiculoPorId(int id) {
+        return AsyncExecutors.supply(() -> veiculoService.buscarVeiculoPorId(id));
+    }
+}
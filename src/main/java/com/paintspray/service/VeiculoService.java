@@ -3,13 +3,19 @@ package com.paintspray.service;
 import com.paintspray.model.Veiculo;
 import com.paintspray.repository.VeiculoRepository;
 import java.sql.SQLException;
+import java.time.Year;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Service para lógica de negócio relacionada à entidade Veiculo.
  */
 public class VeiculoService {
 
+    // Padrões compilados uma vez (a importação valida milhares de linhas)
+    private static final Pattern MODELO_PATTERN = Pattern.compile("^[A-Za-zÀ-ÖØ-öø-ÿ0-9 ]+$");
+    private static final Pattern COR_PATTERN = Pattern.compile("^[A-Za-zÀ-ÖØ-öø-ÿ ]+$");
+
     private final VeiculoRepository repository;
 
     public VeiculoService() {
@@ -20,6 +26,20 @@ public class VeiculoService {
      * Cadastra um novo veículo no sistema.
      */
     public void cadastrarVeiculo(String idCliente, String modelo, String cor, int anoFabricacao) throws SQLException {
+        validarVeiculo(idCliente, modelo, cor, anoFabricacao);
+
+        // Criação do objeto Veiculo após validações
+        Veiculo veiculo = new Veiculo(modelo, cor, anoFabricacao, idCliente);
+        repository.save(veiculo);
+    }
+
+    /**
+     * Regras de formato dos dados de um veículo, sem consultar o banco.
+     * Usadas no cadastro e na importação.
+     *
+     * @throws IllegalArgumentException Com a mensagem do primeiro dado inválido
+     */
+    public static void validarVeiculo(String idCliente, String modelo, String cor, int anoFabricacao) {
         // Validação do ID do cliente
         if (idCliente == null || idCliente.trim().isEmpty())
             throw new IllegalArgumentException("ID do cliente é obrigatório.");
@@ -28,7 +48,7 @@ public class VeiculoService {
         if (modelo == null || modelo.trim().isEmpty())
             throw new IllegalArgumentException("Modelo do veículo não pode ser vazio.");
 
-        if (!modelo.matches("^[A-Za-zÀ-ÖØ-öø-ÿ0-9 ]+$"))
+        if (!MODELO_PATTERN.matcher(modelo).matches())
             throw new IllegalArgumentException("Modelo só pode conter letras, números e espaços.");
 
         if (modelo.contains("  "))
@@ -38,20 +58,16 @@ public class VeiculoService {
         if (cor == null || cor.trim().isEmpty())
             throw new IllegalArgumentException("Cor do veículo não pode ser vazia.");
 
-        if (!cor.matches("^[A-Za-zÀ-ÖØ-öø-ÿ ]+$"))
+        if (!COR_PATTERN.matcher(cor).matches())
             throw new IllegalArgumentException("Cor só pode conter letras e espaços.");
 
         if (cor.contains("  "))
             throw new IllegalArgumentException("Cor não pode conter espaços duplos.");
 
         // Validação do ano de fabricação
-        int anoAtual = java.time.Year.now().getValue();
+        int anoAtual = Year.now().getValue();
         if (anoFabricacao < 1900 || anoFabricacao > anoAtual)
             throw new IllegalArgumentException("Ano de fabricação inválido.");
-
-        // Criação do objeto Veiculo após validações
-        Veiculo veiculo = new Veiculo(modelo, cor, anoFabricacao, idCliente);
-        repository.save(veiculo);
     }
 
     /**
@@ -86,16 +102,14 @@ public class VeiculoService {
             throw new IllegalArgumentException("Veículo com ID " + id + " não encontrado.");
         }
 
-        if (modelo != null && !modelo.trim().isEmpty()) {
-            existente.setModelo(modelo);
-        }
-        if (cor != null && !cor.trim().isEmpty()) {
-            existente.setCor(cor);
-        }
-        if (anoFabricacao > 0) {
-            existente.setAnoFabricacao(anoFabricacao);
-        }
-        repository.update(existente);
+        // O veículo lido é o do cache, compartilhado com outras telas e threads:
+        // as alterações vão em uma cópia, e o cache só muda depois do UPDATE
+        Veiculo alterado = new Veiculo(existente.getId(),
+                modelo != null && !modelo.trim().isEmpty() ? modelo : existente.getModelo(),
+                cor != null && !cor.trim().isEmpty() ? cor : existente.getCor(),
+                anoFabricacao > 0 ? anoFabricacao : existente.getAnoFabricacao(),
+                existente.getIdCliente());
+        repository.update(alterado);
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.paintspray.util;
+
+import javafx.application.Platform;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executores compartilhados pela camada assíncrona.
+ * O acesso ao banco roda em threads virtuais (uma por tarefa) e o resultado
+ * é entregue na thread da interface, então quem encadeia
+ * {@code thenAccept}/{@code exceptionally} no futuro retornado pode mexer nos
+ * componentes JavaFX diretamente.
+ * <p>
+ * Cancelar o futuro retornado impede que o resultado chegue à interface; a
+ * consulta em andamento termina normalmente e devolve a conexão ao pool.
+ */
+public final class AsyncExecutors {
+
+    /**
+     * Executa na thread da interface (JavaFX Application Thread).
+     */
+    public static final Executor FX = Platform::runLater;
+
+    private static final ExecutorService BACKGROUND = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("paintspray-db-", 0).factory());
+
+    private AsyncExecutors() {
+    }
+
+    /**
+     * Operação de banco que produz um resultado.
+     */
+    @FunctionalInterface
+    public interface SqlSupplier<T> {
+        T get() throws SQLException;
+    }
+
+    /**
+     * Operação de banco sem resultado.
+     */
+    @FunctionalInterface
+    public interface SqlRunnable {
+        void run() throws SQLException;
+    }
+
+    /**
+     * Executa a operação em uma thread virtual e completa o futuro na thread
+     * da interface, tanto com o resultado quanto com a falha.
+     */
+    public static <T> CompletableFuture<T> supply(SqlSupplier<T> operacao) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return operacao.get();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, BACKGROUND).whenCompleteAsync((valor, falha) -> {
+            // thenApplyAsync pularia a troca de thread quando a consulta falha
+            if (falha != null) {
+                resultado.completeExceptionally(falha);
+            } else {
+                resultado.complete(valor);
+            }
+        }, FX);
+        return resultado;
+    }
+
+    /**
+     * Executa a operação em uma thread virtual e completa o futuro na thread
+     * da interface.
+     */
+    public static CompletableFuture<Void> run(SqlRunnable operacao) {
+        return supply(() -> {
+            operacao.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executa em uma thread virtual uma tarefa que cuida da própria entrega à
+     * interface, como um {@code javafx.concurrent.Task} com progresso.
+     */
+    public static void execute(Runnable tarefa) {
+        BACKGROUND.execute(tarefa);
+    }
+
+    /**
+     * Causa original de uma falha assíncrona, sem os invólucros
+     * {@link CompletionException}/{@link ExecutionException}.
+     */
+    public static Throwable unwrap(Throwable erro) {
+        Throwable atual = erro;
+        while ((atual instanceof CompletionException || atual instanceof ExecutionException)
+                && atual.getCause() != null) {
+            atual = atual.getCause();
+        }
+        return atual;
+    }
+
+    /**
+     * Encerra o executor de fundo. Tarefas já iniciadas terminam normalmente.
+     */
+    public static void shutdown() {
+        BACKGROUND.shutdown();
+    }
+}
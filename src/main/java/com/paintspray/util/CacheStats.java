@@ -0,0 +1,36 @@
+package com.paintspray.util;
+
+/**
+ * Métricas de um cache em um instante.
+ *
+ * @param hits      Consultas atendidas pelo cache
+ * @param misses    Consultas que precisaram ir à origem
+ * @param evictions Entradas descartadas por falta de espaço
+ * @param size      Entradas presentes no cache
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0);
+
+    /**
+     * Proporção de acertos entre 0 e 1.
+     */
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Soma as métricas de dois caches (ex.: um cache por conexão).
+     */
+    public CacheStats plus(CacheStats outro) {
+        return new CacheStats(hits + outro.hits, misses + outro.misses,
+                evictions + outro.evictions, size + outro.size);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cache[hits=%d, misses=%d, acerto=%.1f%%, evictions=%d, tamanho=%d]",
+                hits, misses, hitRatio() * 100, evictions, size);
+    }
+}
@@ -0,0 +1,136 @@
+package com.paintspray.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê CSV (RFC 4180, o formato do {@link CsvWriter}) registro a registro, com
+ * buffer próprio e sem carregar o arquivo em memória. Aceita fim de linha
+ * CRLF ou LF, campos entre aspas com vírgulas, aspas duplicadas e quebras de
+ * linha, e ignora o BOM do UTF-8 e linhas em branco. O apóstrofo que o
+ * {@link CsvWriter} põe na frente de texto com cara de fórmula é removido.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final Reader origem;
+    private final char[] buffer = new char[BUFFER];
+    private final StringBuilder valor = new StringBuilder(64);
+    private final List<String> campos = new ArrayList<>();
+    private int posicao;
+    private int limite;
+    private long registros;
+
+    public CsvReader(Reader origem) {
+        this.origem = origem;
+    }
+
+    /**
+     * Abre o arquivo em UTF-8.
+     */
+    public static CsvReader abrir(Path arquivo) throws IOException {
+        return new CsvReader(new InputStreamReader(Files.newInputStream(arquivo), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Próximo registro, com os campos na ordem do arquivo (campo vazio vira
+     * {@code ""}), ou null no fim do arquivo.
+     *
+     * @throws IOException Se o arquivo terminar dentro de um campo entre aspas
+     */
+    public String[] proximo() throws IOException {
+        int c = ler();
+        if (registros == 0 && c == '\uFEFF') {
+            c = ler();
+        }
+        while (c == '\r' || c == '\n') {
+            c = ler();
+        }
+        if (c < 0) {
+            return null;
+        }
+
+        campos.clear();
+        while (true) {
+            valor.setLength(0);
+            if (c == '"') {
+                while (true) {
+                    c = ler();
+                    if (c < 0) {
+                        throw new IOException("Aspas não fechadas no registro " + (registros + 1));
+                    }
+                    if (c == '"') {
+                        c = ler();
+                        if (c != '"') {
+                            break;
+                        }
+                    }
+                    valor.append((char) c);
+                }
+            }
+            // Fora das aspas (ou depois delas) o campo vai até o separador
+            while (c >= 0 && c != ',' && c != '\r' && c != '\n') {
+                valor.append((char) c);
+                c = ler();
+            }
+            if (valor.length() > 1 && valor.charAt(0) == '\'' && CsvWriter.pareceFormula(valor, 1)) {
+                campos.add(valor.substring(1));
+            } else {
+                campos.add(valor.toString());
+            }
+            if (c != ',') {
+                break;
+            }
+            c = ler();
+        }
+        if (c == '\r' && espiar() == '\n') {
+            posicao++;
+        }
+        registros++;
+        return campos.toArray(new String[0]);
+    }
+
+    /**
+     * Registros lidos até agora, incluindo o cabeçalho.
+     */
+    public long getRegistros() {
+        return registros;
+    }
+
+    @Override
+    public void close() throws IOException {
+        origem.close();
+    }
+
+    private int ler() throws IOException {
+        if (posicao == limite && !encher()) {
+            return -1;
+        }
+        return buffer[posicao++];
+    }
+
+    private int espiar() throws IOException {
+        if (posicao == limite && !encher()) {
+            return -1;
+        }
+        return buffer[posicao];
+    }
+
+    private boolean encher() throws IOException {
+        int lidos = origem.read(buffer, 0, buffer.length);
+        if (lidos <= 0) {
+            return false;
+        }
+        posicao = 0;
+        limite = lidos;
+        return true;
+    }
+}
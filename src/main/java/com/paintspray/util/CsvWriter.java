@@ -0,0 +1,187 @@
+package com.paintspray.util;
+
+import com.paintspray.model.Dinheiro;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Escreve CSV (RFC 4180: vírgula, aspas duplas, fim de linha CRLF) campo a
+ * campo em um {@link Writer} com buffer, sem montar a linha inteira em
+ * memória. Valores monetários saem com ponto decimal ({@code 1234.56}) e
+ * datas em ISO-8601 com o fuso local, para que planilhas e outros programas
+ * os leiam sem ambiguidade.
+ * <p>
+ * Texto que uma planilha executaria como fórmula (começa com {@code =},
+ * {@code +}, {@code -}, {@code @}, tabulação ou CR) sai com um apóstrofo na
+ * frente, como o Excel faz ao digitar {@code '=...}. O {@link CsvReader}
+ * remove o apóstrofo, então exportar e importar devolve o texto original.
+ */
+public class CsvWriter implements Closeable {
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final Writer destino;
+    private final DateTimeFormatter formatoData;
+    private final StringBuilder valor = new StringBuilder(32);
+    private boolean inicioDaLinha = true;
+    private long linhas;
+
+    public CsvWriter(Writer destino) {
+        this.destino = destino;
+        this.formatoData = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneId.systemDefault());
+    }
+
+    /**
+     * Cria (ou sobrescreve) o arquivo em UTF-8.
+     */
+    public static CsvWriter abrir(Path arquivo) throws IOException {
+        return new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(arquivo), StandardCharsets.UTF_8), BUFFER));
+    }
+
+    /**
+     * Escreve uma linha inteira (ex.: o cabeçalho).
+     */
+    public void linha(String... campos) throws IOException {
+        for (String campo : campos) {
+            campo(campo);
+        }
+        fimDaLinha();
+    }
+
+    /**
+     * Texto entre aspas só quando contém vírgula, aspas ou quebra de linha,
+     * e com apóstrofo na frente quando seria lido como fórmula. Null vira
+     * campo vazio.
+     */
+    public CsvWriter campo(String texto) throws IOException {
+        separar();
+        if (texto == null || texto.isEmpty()) {
+            return this;
+        }
+        boolean formula = pareceFormula(texto, 0);
+        if (!precisaDeAspas(texto)) {
+            if (formula) {
+                destino.write('\'');
+            }
+            destino.write(texto);
+            return this;
+        }
+        destino.write('"');
+        if (formula) {
+            destino.write('\'');
+        }
+        int inicio = 0;
+        for (int i = texto.indexOf('"'); i >= 0; i = texto.indexOf('"', inicio)) {
+            destino.write(texto, inicio, i + 1 - inicio);
+            destino.write('"');
+            inicio = i + 1;
+        }
+        destino.write(texto, inicio, texto.length() - inicio);
+        destino.write('"');
+        return this;
+    }
+
+    public CsvWriter campo(long numero) throws IOException {
+        separar();
+        valor.setLength(0);
+        destino.append(valor.append(numero));
+        return this;
+    }
+
+    public CsvWriter campo(Dinheiro dinheiro) throws IOException {
+        separar();
+        if (dinheiro != null) {
+            valor.setLength(0);
+            destino.append(dinheiro.formatarDecimal(valor));
+        }
+        return this;
+    }
+
+    public CsvWriter campo(Instant instante) throws IOException {
+        separar();
+        if (instante != null) {
+            valor.setLength(0);
+            formatoData.formatTo(instante, valor);
+            destino.append(valor);
+        }
+        return this;
+    }
+
+    /**
+     * Nome da constante; null vira campo vazio.
+     */
+    public CsvWriter campo(Enum<?> constante) throws IOException {
+        return campo(constante != null ? constante.name() : null);
+    }
+
+    public void fimDaLinha() throws IOException {
+        destino.write("\r\n");
+        inicioDaLinha = true;
+        linhas++;
+    }
+
+    /**
+     * Linhas terminadas até agora, incluindo o cabeçalho.
+     */
+    public long getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Grava no arquivo o que estiver no buffer.
+     */
+    public void flush() throws IOException {
+        destino.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        destino.close();
+    }
+
+    private void separar() throws IOException {
+        if (!inicioDaLinha) {
+            destino.write(',');
+        }
+        inicioDaLinha = false;
+    }
+
+    /**
+     * Se o texto, a partir de {@code inicio} e depois de zero ou mais
+     * apóstrofos, começa com um caractere de fórmula. Contar os apóstrofos
+     * que já existem faz {@code '=x} sair como {@code ''=x}, e o
+     * {@link CsvReader} sabe que deve remover só o primeiro.
+     */
+    static boolean pareceFormula(CharSequence texto, int inicio) {
+        int i = inicio;
+        while (i < texto.length() && texto.charAt(i) == '\'') {
+            i++;
+        }
+        if (i == texto.length()) {
+            return false;
+        }
+        char c = texto.charAt(i);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static boolean precisaDeAspas(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
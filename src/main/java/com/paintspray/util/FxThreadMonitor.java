@@ -0,0 +1,106 @@
+package com.paintspray.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede quanto tempo a thread da interface fica bloqueada.
+ * Uma thread de fundo envia periodicamente uma tarefa vazia para a fila do
+ * JavaFX; o atraso até ela rodar é o tempo em que a thread esteve ocupada.
+ * Atrasos acima do limite são contabilizados e repassados ao {@link Listener}.
+ */
+public final class FxThreadMonitor {
+
+    /**
+     * Recebe cada bloqueio acima do limite.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void blocked(long nanos);
+    }
+
+    private static final long INTERVALO_MILLIS = 50;
+
+    private static ScheduledExecutorService scheduler;
+
+    private static final AtomicBoolean pendente = new AtomicBoolean();
+    private static final AtomicLong bloqueios = new AtomicLong();
+    private static final AtomicLong totalBloqueadoNanos = new AtomicLong();
+    private static final AtomicLong maiorBloqueioNanos = new AtomicLong();
+
+    private FxThreadMonitor() {
+    }
+
+    /**
+     * Começa a monitorar a thread da interface.
+     *
+     * @param limiteMillis Atraso mínimo considerado bloqueio
+     * @param listener     Ação executada a cada bloqueio, já na thread da
+     *                     interface (deve ser rápida)
+     */
+    public static synchronized void start(long limiteMillis, Listener listener) {
+        if (scheduler != null) {
+            return;
+        }
+        long limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMillis);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-thread-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            // Enquanto a batida anterior não rodou a thread continua ocupada
+            if (!pendente.compareAndSet(false, true)) {
+                return;
+            }
+            long enviado = System.nanoTime();
+            Platform.runLater(() -> {
+                long atraso = System.nanoTime() - enviado;
+                pendente.set(false);
+                if (atraso >= limiteNanos) {
+                    bloqueios.incrementAndGet();
+                    totalBloqueadoNanos.addAndGet(atraso);
+                    maiorBloqueioNanos.accumulateAndGet(atraso, Math::max);
+                    listener.blocked(atraso);
+                }
+            });
+        }, INTERVALO_MILLIS, INTERVALO_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Interrompe o monitoramento.
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Quantidade de bloqueios acima do limite desde o início.
+     */
+    public static long getBloqueios() {
+        return bloqueios.get();
+    }
+
+    /**
+     * Soma dos bloqueios acima do limite, em milissegundos.
+     */
+    public static double getTotalBloqueadoMillis() {
+        return totalBloqueadoNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Maior bloqueio observado, em milissegundos.
+     */
+    public static double getMaiorBloqueioMillis() {
+        return maiorBloqueioNanos.get() / 1_000_000.0;
+    }
+}
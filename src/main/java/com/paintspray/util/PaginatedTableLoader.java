@@ -0,0 +1,181 @@
+package com.paintspray.util;
+
+import com.paintspray.repository.Page;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Alimenta uma {@link TableView} página por página.
+ * A primeira página é carregada imediatamente; as seguintes são buscadas
+ * quando a barra de rolagem vertical chega perto do fim. Cada página continua
+ * a partir do último item da página anterior (cursor), então o custo de rolar
+ * não cresce com o número de linhas já carregadas.
+ * <p>
+ * A ordem das linhas é a da fonte: a ordenação pelas colunas fica desligada,
+ * já que reordenar só o que foi carregado mostraria uma ordem falsa e as
+ * linhas incluídas depois ({@link #getItems()}) contam com a ordem da fonte.
+ * <p>
+ * As páginas são buscadas de forma assíncrona: enquanto uma busca está em
+ * andamento a tabela continua respondendo, e trocar a fonte ({@link #load})
+ * ou chamar {@link #cancel()} descarta a página que ainda não chegou.
+ *
+ * @param <T> Tipo das linhas da tabela
+ */
+public final class PaginatedTableLoader<T> {
+
+    /**
+     * Fonte das páginas: recebe o último item da página anterior (null na
+     * primeira página) e completa o futuro na thread da interface.
+     */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        CompletableFuture<Page<T>> fetch(T ultimo, int tamanho);
+    }
+
+    /** Fração da rolagem a partir da qual a próxima página é buscada. */
+    private static final double LIMIAR_ROLAGEM = 0.9;
+
+    private final TableView<T> table;
+    private final int pageSize;
+    private final Consumer<Throwable> onError;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+
+    private PageSource<T> source;
+    private T cursor;
+    private boolean hasNext;
+    private CompletableFuture<Page<T>> emAndamento;
+
+    /**
+     * @param table    Tabela a ser alimentada
+     * @param pageSize Quantidade de linhas buscadas por vez
+     * @param onError  Tratamento de falhas ao buscar uma página
+     */
+    public PaginatedTableLoader(TableView<T> table, int pageSize, Consumer<Throwable> onError) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser positivo");
+        }
+        this.table = table;
+        this.pageSize = pageSize;
+        this.onError = onError;
+
+        table.setItems(items);
+        table.setSortPolicy(t -> false);
+        table.getColumns().forEach(coluna -> coluna.setSortable(false));
+
+        // A barra de rolagem só existe depois que a skin da tabela é criada
+        if (table.getSkin() != null) {
+            attachScrollListener();
+        } else {
+            table.skinProperty().addListener((obs, antiga, nova) -> {
+                if (nova != null) {
+                    attachScrollListener();
+                }
+            });
+        }
+    }
+
+    /**
+     * Troca a fonte das páginas, limpa a tabela e carrega a primeira página.
+     */
+    public void load(PageSource<T> source) {
+        cancel();
+        this.source = source;
+        cursor = null;
+        items.clear();
+        hasNext = true;
+        table.scrollTo(0);
+        loadNext();
+    }
+
+    /**
+     * Recarrega a partir da primeira página com a fonte atual.
+     */
+    public void reload() {
+        if (source != null) {
+            load(source);
+        }
+    }
+
+    /**
+     * Exibe uma lista já pronta, sem paginação (ex.: resultado de uma busca).
+     */
+    public void showAll(List<T> lista) {
+        cancel();
+        source = null;
+        hasNext = false;
+        items.setAll(lista);
+    }
+
+    /**
+     * Busca a próxima página, se houver, e acrescenta ao fim da tabela.
+     */
+    public void loadNext() {
+        if (source == null || !hasNext || emAndamento != null) {
+            return;
+        }
+
+        CompletableFuture<Page<T>> busca = source.fetch(cursor, pageSize);
+        emAndamento = busca;
+
+        busca.whenCompleteAsync((pagina, erro) -> {
+            // Página de uma fonte que já foi trocada ou cancelada
+            if (emAndamento != busca) {
+                return;
+            }
+            emAndamento = null;
+
+            if (erro != null) {
+                hasNext = false;
+                if (!TaskScope.isCancellation(erro)) {
+                    onError.accept(AsyncExecutors.unwrap(erro));
+                }
+                return;
+            }
+            if (!pagina.items().isEmpty()) {
+                cursor = pagina.items().get(pagina.items().size() - 1);
+            }
+            items.addAll(pagina.items());
+            hasNext = pagina.hasNext();
+        }, AsyncExecutors.FX);
+    }
+
+    /**
+     * Descarta a página em andamento, se houver.
+     */
+    public void cancel() {
+        CompletableFuture<Page<T>> busca = emAndamento;
+        emAndamento = null;
+        if (busca != null) {
+            busca.cancel(false);
+        }
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    private void attachScrollListener() {
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar barra && barra.getOrientation() == Orientation.VERTICAL) {
+                barra.valueProperty().addListener((obs, anterior, atual) -> {
+                    if (atual.doubleValue() >= barra.getMax() * LIMIAR_ROLAGEM) {
+                        loadNext();
+                    }
+                });
+                return;
+            }
+        }
+    }
+}
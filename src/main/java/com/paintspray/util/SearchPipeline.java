@@ -0,0 +1,165 @@
+package com.paintspray.util;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Busca por texto das telas de listagem: espera o usuário parar de digitar
+ * (debounce), executa a consulta fora da thread da interface e entrega à tela
+ * só o resultado do texto mais recente.
+ * <p>
+ * Cada nova tecla adia a busca pendente e cancela a que estiver em andamento;
+ * a consulta já enviada ao banco termina normalmente, mas o resultado é
+ * descartado. Os métodos devem ser chamados na thread da interface, e os
+ * callbacks também rodam nela.
+ *
+ * @param <T> Tipo do resultado da busca
+ */
+public class SearchPipeline<T> {
+
+    /**
+     * Espera padrão após a última tecla, configurável pela propriedade
+     * {@code paintspray.search.debounce.ms}.
+     */
+    public static final Duration DEFAULT_DEBOUNCE =
+            Duration.ofMillis(Long.getLong("paintspray.search.debounce.ms", 250));
+
+    private final Duration debounce;
+    private final Executor ui;
+    private final Function<String, CompletableFuture<T>> busca;
+    private final Consumer<T> aplicar;
+    private final Consumer<Throwable> erro;
+
+    // Estado acessado só pela thread da interface
+    private long geracao;
+    private long ultimaTecla;
+    private CompletableFuture<T> emAndamento;
+
+    private long teclas;
+    private long buscas;
+    private long descartadas;
+    private long aplicadas;
+    private long latenciaTotalNanos;
+    private long latenciaMaximaNanos;
+
+    /**
+     * @param busca   Consulta assíncrona para o texto
+     * @param aplicar Recebe o resultado da busca mais recente
+     * @param erro    Recebe falhas da busca mais recente
+     */
+    public SearchPipeline(Function<String, CompletableFuture<T>> busca, Consumer<T> aplicar,
+            Consumer<Throwable> erro) {
+        this(DEFAULT_DEBOUNCE, AsyncExecutors.FX, busca, aplicar, erro);
+    }
+
+    /**
+     * @param debounce Tempo sem teclas antes de disparar a busca
+     * @param ui       Executor da thread da interface
+     * @param busca    Consulta assíncrona para o texto
+     * @param aplicar  Recebe o resultado da busca mais recente
+     * @param erro     Recebe falhas da busca mais recente
+     */
+    public SearchPipeline(Duration debounce, Executor ui, Function<String, CompletableFuture<T>> busca,
+            Consumer<T> aplicar, Consumer<Throwable> erro) {
+        if (debounce.isNegative()) {
+            throw new IllegalArgumentException("O debounce não pode ser negativo.");
+        }
+        this.debounce = debounce;
+        this.ui = ui;
+        this.busca = busca;
+        this.aplicar = aplicar;
+        this.erro = erro;
+    }
+
+    /**
+     * Registra uma tecla: a busca pelo texto só roda se nenhum outro texto
+     * chegar dentro do debounce.
+     */
+    public void submit(String texto) {
+        long minhaGeracao = novaGeracao();
+        cancelarEmAndamento();
+        Executor atrasado = CompletableFuture.delayedExecutor(debounce.toNanos(), TimeUnit.NANOSECONDS, ui);
+        atrasado.execute(() -> {
+            if (minhaGeracao == geracao) {
+                executar(texto, minhaGeracao);
+            }
+        });
+    }
+
+    /**
+     * Busca o texto imediatamente, sem debounce (ex.: troca do filtro de status).
+     */
+    public void searchNow(String texto) {
+        executar(texto, novaGeracao());
+    }
+
+    /**
+     * Descarta a busca pendente e a em andamento (ex.: campo de busca limpo ou
+     * saída da tela).
+     */
+    public void cancel() {
+        geracao++;
+        cancelarEmAndamento();
+    }
+
+    public Duration getDebounce() {
+        return debounce;
+    }
+
+    public SearchStats getStats() {
+        return new SearchStats(teclas, buscas, descartadas, aplicadas,
+                aplicadas == 0 ? 0.0 : latenciaTotalNanos / 1_000_000.0 / aplicadas,
+                TimeUnit.NANOSECONDS.toMillis(latenciaMaximaNanos));
+    }
+
+    private long novaGeracao() {
+        teclas++;
+        ultimaTecla = System.nanoTime();
+        return ++geracao;
+    }
+
+    private void executar(String texto, long minhaGeracao) {
+        cancelarEmAndamento();
+        buscas++;
+
+        CompletableFuture<T> tarefa = busca.apply(texto);
+        emAndamento = tarefa;
+        tarefa.whenCompleteAsync((resultado, falha) -> {
+            if (minhaGeracao != geracao) {
+                // Terminou antes de ser cancelada, mas outro texto já chegou; as
+                // canceladas já foram contadas em cancelarEmAndamento()
+                if (emAndamento == tarefa) {
+                    emAndamento = null;
+                }
+                if (!tarefa.isCancelled()) {
+                    descartadas++;
+                }
+                return;
+            }
+            emAndamento = null;
+            if (falha != null) {
+                if (!TaskScope.isCancellation(falha)) {
+                    erro.accept(AsyncExecutors.unwrap(falha));
+                }
+                return;
+            }
+
+            aplicar.accept(resultado);
+            long latencia = System.nanoTime() - ultimaTecla;
+            aplicadas++;
+            latenciaTotalNanos += latencia;
+            latenciaMaximaNanos = Math.max(latenciaMaximaNanos, latencia);
+        }, ui);
+    }
+
+    private void cancelarEmAndamento() {
+        if (emAndamento != null && emAndamento.cancel(false)) {
+            descartadas++;
+        }
+        emAndamento = null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.paintspray.util;
+
+/**
+ * Métricas de um {@link SearchPipeline} em um instante.
+ *
+ * @param teclas               Textos recebidos (uma entrada por tecla)
+ * @param buscas               Buscas disparadas depois do debounce
+ * @param descartadas          Buscas canceladas por um texto mais novo antes de terminar
+ * @param aplicadas            Resultados entregues à tela
+ * @param latenciaMediaMillis  Tempo médio entre a última tecla e o resultado na tela
+ * @param latenciaMaximaMillis Maior tempo entre a última tecla e o resultado na tela
+ */
+public record SearchStats(long teclas, long buscas, long descartadas, long aplicadas,
+        double latenciaMediaMillis, long latenciaMaximaMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("Busca[teclas=%d, buscas=%d, descartadas=%d, aplicadas=%d, "
+                + "latência média=%.1f ms, máxima=%d ms]",
+                teclas, buscas, descartadas, aplicadas, latenciaMediaMillis, latenciaMaximaMillis);
+    }
+}
@@ -0,0 +1,72 @@
+package com.paintspray.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto das tarefas assíncronas de uma tela.
+ * Ao sair da tela, {@link #cancelAll()} cancela o que ainda não terminou e os
+ * resultados atrasados deixam de chegar à interface.
+ */
+public class TaskScope {
+
+    private final Set<CompletableFuture<?>> pendentes = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletableFuture<?>> ultimas = new ConcurrentHashMap<>();
+
+    /**
+     * Registra uma tarefa no escopo.
+     *
+     * @return A própria tarefa, para encadear o tratamento do resultado
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> tarefa) {
+        pendentes.add(tarefa);
+        tarefa.whenComplete((resultado, erro) -> pendentes.remove(tarefa));
+        return tarefa;
+    }
+
+    /**
+     * Registra uma tarefa cancelando a anterior com a mesma chave: só o
+     * resultado do pedido mais recente (ex.: último cliente selecionado) chega
+     * à interface.
+     */
+    public <T> CompletableFuture<T> latest(String chave, CompletableFuture<T> tarefa) {
+        CompletableFuture<?> anterior = ultimas.put(chave, tarefa);
+        if (anterior != null) {
+            anterior.cancel(false);
+        }
+        tarefa.whenComplete((resultado, erro) -> ultimas.remove(chave, tarefa));
+        return track(tarefa);
+    }
+
+    /**
+     * Cancela a tarefa registrada com a chave, se ainda estiver em andamento.
+     */
+    public void cancel(String chave) {
+        CompletableFuture<?> tarefa = ultimas.remove(chave);
+        if (tarefa != null) {
+            tarefa.cancel(false);
+        }
+    }
+
+    /**
+     * Cancela todas as tarefas que ainda não terminaram.
+     */
+    public void cancelAll() {
+        for (CompletableFuture<?> tarefa : pendentes) {
+            tarefa.cancel(false);
+        }
+        pendentes.clear();
+        ultimas.clear();
+    }
+
+    /**
+     * Indica se a falha é só o cancelamento de uma tarefa obsoleta, que não
+     * deve ser mostrada ao usuário.
+     */
+    public static boolean isCancellation(Throwable erro) {
+        return AsyncExecutors.unwrap(erro) instanceof CancellationException;
+    }
+}